@@ -0,0 +1,91 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.CommandBatch;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receive buffer of new order and cancel pairs applied to the book, decoded into a batch in
+ * place against decoding each new order into an {@link Order} first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CodecBenchmark {
+
+    private static final int PAIRS = 32;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(CodecBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderMessage newOrder = new NewOrderMessage();
+    private final CancelOrderMessage cancelOrder = new CancelOrderMessage();
+    private final CommandDecoder decoder = new CommandDecoder();
+    private final CommandBatch batch = CommandBatch.of(PAIRS * 2);
+    private final int[] results = new int[PAIRS * 2];
+
+    private ByteBuffer buffer;
+    private int limit;
+    private IOrderBook orderBook;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        buffer = ByteBuffer.allocateDirect(4096).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < PAIRS; i++) {
+            limit += newOrder.wrapAndApplyHeader(buffer, limit, header);
+            newOrder.setOrderId(i).setPrice(100L + i % 4).setQuantity(10L).setSide(Side.ASK);
+            limit += cancelOrder.wrapAndApplyHeader(buffer, limit, header);
+            cancelOrder.setOrderId(i);
+        }
+        orderBook = OrderBookImpl.of();
+    }
+
+    @Benchmark
+    public int decodeIntoBatch() {
+        batch.clear();
+        decoder.decode(buffer, 0, limit, batch);
+        return orderBook.tryApply(batch, results);
+    }
+
+    @Benchmark
+    public int decodeIntoOrders() {
+        int rejected = 0;
+        for (int position = 0; position < limit; position += header.getMessageLength()) {
+            header.wrap(buffer, position);
+            final int bodyOffset = position + MessageHeader.ENCODED_LENGTH;
+            if (header.getTemplateId() == NewOrderMessage.TEMPLATE_ID) {
+                newOrder.wrap(buffer, bodyOffset);
+                final Order order =
+                        Order.of(
+                                newOrder.getOrderId(),
+                                newOrder.getPrice(),
+                                newOrder.getQuantity(),
+                                newOrder.getSide(),
+                                0L);
+                rejected += orderBook.tryAddOrder(order) == OrderBookResult.SUCCESS ? 0 : 1;
+            } else {
+                final long orderId = cancelOrder.wrap(buffer, bodyOffset).getOrderId();
+                rejected += orderBook.tryCancelOrder(orderId) == OrderBookResult.SUCCESS ? 0 : 1;
+            }
+        }
+        return rejected;
+    }
+}
@@ -0,0 +1,107 @@
+package com.horacehylee.matching_engine.collection;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Compare order id index against the boxed HashMap it replaced in OrderBookImpl */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LongObjectMapBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder().include(LongObjectMapBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"HASH_MAP", "OPEN_ADDRESSING"})
+    private String implementation;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private ILongObjectMap<Object> map;
+    private final Object value = new Object();
+
+    private long nextOrderId;
+    private long oldestOrderId;
+    private long lookups;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        map =
+                "HASH_MAP".equals(implementation)
+                        ? new BoxedLongObjectMap<>()
+                        : LongObjectHashMap.of(size);
+        for (long orderId = 0; orderId < size; orderId++) {
+            map.put(orderId, value);
+        }
+        oldestOrderId = 0;
+        nextOrderId = size;
+    }
+
+    @Benchmark
+    public Object getExisting() {
+        // Stride through the resting order ids so lookups do not stay in cache
+        final long orderId = oldestOrderId + (lookups++ * 7919L) % (nextOrderId - oldestOrderId);
+        return map.get(orderId);
+    }
+
+    /** Steady state of resting orders: one new order id added while the oldest is removed */
+    @Benchmark
+    public Object addAndRemove() {
+        map.put(nextOrderId++, value);
+        return map.remove(oldestOrderId++);
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return map.containsKey(-nextOrderId);
+    }
+
+    /** Adapter of the HashMap previously used as order id index in OrderBookImpl */
+    private static class BoxedLongObjectMap<V> implements ILongObjectMap<V> {
+        private final Map<Long, V> map = new HashMap<>();
+
+        @Override
+        public V get(long key) {
+            return map.get(key);
+        }
+
+        @Override
+        public V put(long key, V value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public V remove(long key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public boolean containsKey(long key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
+}
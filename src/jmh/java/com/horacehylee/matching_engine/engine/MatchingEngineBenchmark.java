@@ -0,0 +1,103 @@
+package com.horacehylee.matching_engine.engine;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.sequencer.BusySpinWaitStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aggregate orders per second of the engine as shards are added, with one producer per shard.
+ * Scaling is only near linear while there is a free core for every producer and matcher thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MatchingEngineBenchmark {
+
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8};
+    private static final int INSTRUMENTS_PER_SHARD = 32;
+
+    public static void main(String[] args) throws RunnerException {
+        for (int shards : SHARD_COUNTS) {
+            Options opt =
+                    new OptionsBuilder()
+                            .include(MatchingEngineBenchmark.class.getSimpleName())
+                            .param("shards", Integer.toString(shards))
+                            .threads(shards)
+                            .build();
+            new Runner(opt).run();
+        }
+    }
+
+    @Param({"1"})
+    private int shards;
+
+    private MatchingEngine engine;
+
+    private final AtomicInteger producers = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final MatchingEngine.Builder builder =
+                MatchingEngine.Builder.aMatchingEngine()
+                        .withShardCount(shards)
+                        .withWaitStrategy(new BusySpinWaitStrategy());
+        final long instruments = (long) shards * INSTRUMENTS_PER_SHARD;
+        for (long instrumentId = 0; instrumentId < instruments; instrumentId++) {
+            builder.withInstrument(instrumentId);
+        }
+        engine = builder.build().start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        engine.close();
+    }
+
+    /** Each producer feeds the instruments of its own shard with orders resting then cancelled */
+    @State(Scope.Thread)
+    public static class Producer {
+        private long[] instrumentIds;
+        private Order[] orders;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setup(MatchingEngineBenchmark benchmark) {
+            final int producer = benchmark.producers.getAndIncrement();
+            final MatchingEngine engine = benchmark.engine;
+            instrumentIds = new long[INSTRUMENTS_PER_SHARD];
+            int count = 0;
+            for (long instrumentId = 0; count < instrumentIds.length; instrumentId++) {
+                if (engine.shardOf(instrumentId) == producer % engine.getShardCount()) {
+                    instrumentIds[count++] = instrumentId;
+                }
+            }
+            orders = new Order[1 << 12];
+            for (int i = 0; i < orders.length; i++) {
+                final Side side = i % 2 == 0 ? Side.BID : Side.ASK;
+                final long price = side == Side.BID ? 1_000L - i % 8 : 2_000L + i % 8;
+                orders[i] = Order.of(((long) producer << 40) + i, price, 10L, side, 0L);
+            }
+        }
+    }
+
+    @Benchmark
+    public long addAndCancel(Producer producer) {
+        final int next = producer.next;
+        producer.next = (next + 1) & (producer.orders.length - 1);
+        final Order order = producer.orders[next];
+        final long instrumentId = producer.instrumentIds[next & (INSTRUMENTS_PER_SHARD - 1)];
+        engine.addOrder(instrumentId, order);
+        return engine.cancelOrder(instrumentId, order.getOrderId());
+    }
+}
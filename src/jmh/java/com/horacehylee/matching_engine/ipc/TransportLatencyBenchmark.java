@@ -0,0 +1,138 @@
+package com.horacehylee.matching_engine.ipc;
+
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.gateway.GatewayConfig;
+import com.horacehylee.matching_engine.gateway.LoadClient;
+import com.horacehylee.matching_engine.gateway.OrderGateway;
+import com.horacehylee.matching_engine.metrics.LatencyHistogram;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.sequencer.IWaitStrategy;
+import com.horacehylee.matching_engine.sequencer.YieldingWaitStrategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Round trip latency of single orders from this process to an engine in a child process, over
+ * the shared memory ring against loopback TCP. Both transports see the same flow of one new
+ * order per round, every other one followed by a cancel, and wait for every answer.
+ *
+ * <p>Not a JMH benchmark, as it needs two processes. Run its main on the jmh classpath with
+ * {@code [rounds]}.
+ */
+public class TransportLatencyBenchmark {
+    private static final long MID_PRICE = 10_000L;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 1 && "engine".equals(args[0])) {
+            runEngine(Paths.get(args[1]));
+            return;
+        }
+        final int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final Path file = Files.createTempFile("engine", ".ring");
+        final Process engine =
+                new ProcessBuilder(
+                                ProcessHandle.current().info().command().orElse("java"),
+                                "-cp",
+                                System.getProperty("java.class.path"),
+                                TransportLatencyBenchmark.class.getName(),
+                                "engine",
+                                file.toString())
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+        try {
+            final BufferedReader output =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    engine.getInputStream(), StandardCharsets.US_ASCII));
+            final int port = Integer.parseInt(output.readLine());
+
+            final LatencyHistogram ipcLatency = runIpc(file, rounds);
+            System.out.println("ipc " + ipcLatency.toSummary());
+            final InetSocketAddress address =
+                    new InetSocketAddress(GatewayConfig.defaults().getHost(), port);
+            System.out.println("tcp " + LoadClient.run(address, rounds, 1).toSummary());
+        } finally {
+            engine.getOutputStream().close();
+            engine.waitFor();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Serve both transports until the benchmark process closes standard input */
+    private static void runEngine(Path file) throws Exception {
+        try (IpcGateway ipcGateway = IpcGateway.of(file, 1 << 12, OrderBookConfig.defaults());
+                OrderGateway tcpGateway =
+                        OrderGateway.of(OrderBookConfig.defaults(), GatewayConfig.defaults())) {
+            ipcGateway.start();
+            tcpGateway.start();
+            System.out.println(tcpGateway.getPort());
+            System.out.flush();
+            while (System.in.read() >= 0) {
+                // Wait for end of stream
+            }
+        }
+    }
+
+    /** Warm up with as many rounds as measured, then measure */
+    private static LatencyHistogram runIpc(Path file, int rounds) throws IOException {
+        try (IpcClient client = IpcClient.open(file)) {
+            final LatencyHistogram latency = new LatencyHistogram();
+            final AnswerCounter answers = new AnswerCounter();
+            final Random random = new Random(42L);
+            // Yields once spinning a while, so the engine gets a core even on a single one
+            final IWaitStrategy waitStrategy = new YieldingWaitStrategy();
+            long nextOrderId = 1;
+            for (int run = 0; run < 2; run++) {
+                latency.reset();
+                for (int round = 0; round < rounds; round++) {
+                    final long orderId = nextOrderId++;
+                    final Side side = random.nextBoolean() ? Side.BID : Side.ASK;
+                    final long offset = random.nextInt(10) - 2;
+                    final long price = side == Side.BID ? MID_PRICE - offset : MID_PRICE + offset;
+                    final long quantity = 1L + random.nextInt(10);
+
+                    final long start = System.nanoTime();
+                    client.addOrder(orderId, price, quantity, side);
+                    int commands = 1;
+                    if ((orderId & 1) == 0) {
+                        client.cancelOrder(orderId - 1 - random.nextInt(10));
+                        commands++;
+                    }
+                    answers.count = 0;
+                    for (int attempt = 0; answers.count < commands; ) {
+                        if (client.poll(answers, 64) == 0) {
+                            waitStrategy.idle(attempt++);
+                        }
+                    }
+                    latency.record(System.nanoTime() - start);
+                }
+            }
+            if (client.getLostEvents() > 0) {
+                throw new IllegalStateException("Lost events: " + client.getLostEvents());
+            }
+            return latency;
+        }
+    }
+
+    private static class AnswerCounter implements IIpcEventHandler {
+        private int count;
+
+        @Override
+        public void onAck(long orderId, int commandTemplateId) {
+            count++;
+        }
+
+        @Override
+        public void onReject(long orderId, int result, int commandTemplateId) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.horacehylee.matching_engine.journal;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/** Cost of journaling an add and cancel ahead of the order book, by sync policy */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JournalBenchmark {
+
+    private static final int REPLAY_COMMANDS = 1 << 20;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(JournalBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"OFF", "NONE", "BATCH"})
+    private String syncPolicy;
+
+    private Path directory;
+    private Path replayDirectory;
+    private Journal journal;
+    private IOrderBook orderBook;
+
+    private long nextOrderId;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("journal-benchmark");
+        final IOrderBook orderBook = OrderBookImpl.of();
+        if ("OFF".equals(syncPolicy)) {
+            this.orderBook = orderBook;
+        } else {
+            journal =
+                    Journal.open(
+                            directory,
+                            JournalConfig.Builder.aConfig()
+                                    .withSyncPolicy(SyncPolicy.valueOf(syncPolicy))
+                                    .build());
+            this.orderBook = new JournalingOrderBook(orderBook, journal);
+        }
+
+        replayDirectory = Files.createTempDirectory("journal-benchmark-replay");
+        try (Journal replayJournal = Journal.open(replayDirectory, JournalConfig.defaults())) {
+            for (long orderId = 1; orderId <= REPLAY_COMMANDS / 2; orderId++) {
+                replayJournal.appendAddOrder(
+                        Order.of(orderId, 100L + orderId % 100, 10L, Side.BID, 0L));
+                replayJournal.appendCancelOrder(orderId);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        delete(directory);
+        delete(replayDirectory);
+    }
+
+    /** Resting order added then cancelled, so the book stays empty */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void addAndCancel() throws Exception {
+        final long orderId = nextOrderId++;
+        orderBook.addOrder(Order.of(orderId, 100L, 10L, Side.BID, 0L));
+        orderBook.cancelOrder(orderId);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = 1)
+    @Measurement(iterations = 5, batchSize = 1)
+    public long replay() throws IOException {
+        return JournalReplayer.replay(replayDirectory, OrderBookImpl.of());
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a burst of passive adds in runs of the same price followed by their cancels,
+ * applied call by call or as one {@link CommandBatch}. Calls create the {@link Order} a gateway
+ * would decode, while the batch is filled with primitives.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BatchBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(BatchBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    private static final long MID_PRICE = 100_000L;
+    private static final int RESTING_LEVELS = 100;
+
+    /** Number of adds in the burst, each followed by its cancel later in the burst */
+    private static final int BURST_ORDERS = 128;
+
+    @Param({"1", "16"})
+    private int runLength;
+
+    private IOrderBook orderBook;
+    private CommandBatch batch;
+    private int[] results;
+
+    private long[] orderIds;
+    private long[] prices;
+    private Side[] sides;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        orderBook = OrderBookImpl.of();
+        long orderId = 0;
+        for (int level = 1; level <= RESTING_LEVELS; level++) {
+            orderBook.tryAddOrder(Order.of(++orderId, MID_PRICE - level, 100L, Side.BID, 0L));
+            orderBook.tryAddOrder(Order.of(++orderId, MID_PRICE + level, 100L, Side.ASK, 0L));
+        }
+
+        orderIds = new long[BURST_ORDERS];
+        prices = new long[BURST_ORDERS];
+        sides = new Side[BURST_ORDERS];
+        for (int i = 0; i < BURST_ORDERS; i++) {
+            final int run = i / runLength;
+            final Side side = run % 2 == 0 ? Side.BID : Side.ASK;
+            final long offset = 1 + run % RESTING_LEVELS;
+            orderIds[i] = ++orderId;
+            prices[i] = side == Side.BID ? MID_PRICE - offset : MID_PRICE + offset;
+            sides[i] = side;
+        }
+
+        batch = CommandBatch.of(BURST_ORDERS * 2);
+        results = new int[batch.getCapacity()];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_ORDERS * 2)
+    public int perCall() {
+        int rejected = 0;
+        for (int i = 0; i < BURST_ORDERS; i++) {
+            rejected += orderBook.tryAddOrder(Order.of(orderIds[i], prices[i], 10L, sides[i], 0L));
+        }
+        for (int i = 0; i < BURST_ORDERS; i++) {
+            rejected += orderBook.tryCancelOrder(orderIds[i]);
+        }
+        return rejected;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_ORDERS * 2)
+    public int batch() {
+        batch.clear();
+        for (int i = 0; i < BURST_ORDERS; i++) {
+            batch.addOrder(orderIds[i], prices[i], 10L, sides[i]);
+        }
+        for (int i = 0; i < BURST_ORDERS; i++) {
+            batch.cancelOrder(orderIds[i]);
+        }
+        return orderBook.tryApply(batch, results);
+    }
+}
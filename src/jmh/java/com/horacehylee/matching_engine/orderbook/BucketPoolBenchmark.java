@@ -0,0 +1,50 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/** Levels flickering in and out at the touch, with and without the pool of price levels */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BucketPoolBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder().include(BucketPoolBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"0", "64"})
+    private int bucketPoolSize;
+
+    private IOrderBook orderBook;
+    private long nextOrderId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final OrderBookConfig config =
+                OrderBookConfig.Builder.aConfig().withBucketPoolSize(bucketPoolSize).build();
+        orderBook = OrderBookImpl.of(config);
+        orderBook.tryAddOrder(Order.of(nextOrderId++, 10_000L, 10L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(nextOrderId++, 10_002L, 10L, Side.ASK, 0L));
+    }
+
+    /** Improve the best bid with a new level, then cancel it */
+    @Benchmark
+    public int addAndCancelAtTouch() {
+        final long orderId = nextOrderId++;
+        orderBook.tryAddOrder(Order.of(orderId, 10_001L, 10L, Side.BID, 0L));
+        return orderBook.tryCancelOrder(orderId);
+    }
+}
@@ -0,0 +1,84 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/** Read top 10 bid levels from the maintained depth, against aggregating the resting orders */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DepthBenchmark {
+
+    private static final int LEVELS = 10;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(DepthBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"100", "1000"})
+    private int levels;
+
+    @Param({"10"})
+    private int ordersPerLevel;
+
+    private IOrderBook orderBook;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        orderBook =
+                OrderBookImpl.of(OrderBookConfig.Builder.aConfig().withDepthLevels(LEVELS).build());
+        long orderId = 0;
+        for (int level = 0; level < levels; level++) {
+            for (int i = 0; i < ordersPerLevel; i++) {
+                orderBook.tryAddOrder(Order.of(orderId++, 10_000L - level, 10L, Side.BID, 0L));
+            }
+        }
+    }
+
+    @Benchmark
+    public void readDepth(Blackhole blackhole) {
+        final OrderBookDepth depth = orderBook.getDepth();
+        for (int level = 0; level < depth.getLevelCount(Side.BID); level++) {
+            blackhole.consume(depth.getPrice(Side.BID, level));
+            blackhole.consume(depth.getVolume(Side.BID, level));
+            blackhole.consume(depth.getOrderCount(Side.BID, level));
+        }
+    }
+
+    @Benchmark
+    public void aggregateOrders(Blackhole blackhole) {
+        long price = Long.MIN_VALUE;
+        long volume = 0;
+        int count = 0;
+        int level = 0;
+        for (Order order : orderBook.getBidOrders()) {
+            if (order.getPrice() != price) {
+                if (count > 0) {
+                    blackhole.consume(price);
+                    blackhole.consume(volume);
+                    blackhole.consume(count);
+                    if (++level == LEVELS) {
+                        return;
+                    }
+                }
+                price = order.getPrice();
+                volume = 0;
+                count = 0;
+            }
+            volume += order.getQuantity() - order.getFilled();
+            count++;
+        }
+    }
+}
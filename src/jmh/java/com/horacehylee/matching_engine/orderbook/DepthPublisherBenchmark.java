@@ -0,0 +1,92 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of publishing top 10 levels after each quantity amend on the matching thread, alone and
+ * while a reader thread keeps copying them
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DepthPublisherBenchmark {
+
+    private static final int LEVELS = 10;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder().include(DepthPublisherBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    private IOrderBook orderBook;
+    private DepthPublisher publisher;
+    private long quantity = 10L;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        orderBook = OrderBookImpl.of();
+        for (int level = 0; level < LEVELS; level++) {
+            orderBook.tryAddOrder(Order.of(level, 10_000L - level, 10L, Side.BID, 0L));
+            orderBook.tryAddOrder(Order.of(LEVELS + level, 10_001L + level, 10L, Side.ASK, 0L));
+        }
+        publisher = DepthPublisher.of(LEVELS);
+    }
+
+    @State(Scope.Thread)
+    public static class Reader {
+        DepthSnapshot snapshot;
+
+        @Setup(Level.Trial)
+        public void setup(DepthPublisherBenchmark benchmark) {
+            snapshot = benchmark.publisher.newSnapshot();
+        }
+    }
+
+    @Benchmark
+    @Group("amendOnly")
+    public int amendOnly() {
+        return orderBook.tryChangeOrderQuantity(0L, nextQuantity());
+    }
+
+    @Benchmark
+    @Group("amendAndPublish")
+    public int amendAndPublish() {
+        final int result = orderBook.tryChangeOrderQuantity(0L, nextQuantity());
+        publisher.publish(orderBook);
+        return result;
+    }
+
+    @Benchmark
+    @Group("amendAndPublishWithReader")
+    @GroupThreads(1)
+    public int publishing() {
+        final int result = orderBook.tryChangeOrderQuantity(0L, nextQuantity());
+        publisher.publish(orderBook);
+        return result;
+    }
+
+    @Benchmark
+    @Group("amendAndPublishWithReader")
+    @GroupThreads(1)
+    public long reading(Reader reader) {
+        publisher.read(reader.snapshot);
+        return reader.snapshot.getVersion();
+    }
+
+    private long nextQuantity() {
+        quantity = quantity == 10L ? 20L : 10L;
+        return quantity;
+    }
+}
@@ -0,0 +1,295 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline of {@link OrderBookImpl} operations on a book of {@code depth} levels per side, each
+ * holding {@code ordersPerLevel} orders of quantity {@link #QUANTITY}. Bids rest below {@link
+ * #MID_PRICE} and asks above it.
+ *
+ * <p>Every benchmark keeps the book in steady state, so each notes what else its operation
+ * includes to restore the book.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderBookBenchmark {
+
+    static final long MID_PRICE = 1_000_000L;
+    static final long QUANTITY = 10L;
+
+    /** Orders added by the passive add benchmark before the oldest of them is cancelled */
+    private static final int PASSIVE_ORDERS = 1 << 10;
+
+    /** Random choices are drawn ahead, so the random generator is not measured */
+    private static final int RANDOM_CHOICES = 1 << 16;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(OrderBookBenchmark.class.getSimpleName())
+                        .addProfiler("gc")
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Param({"10", "1000"})
+    int depth;
+
+    @Param({"1", "100"})
+    int ordersPerLevel;
+
+    @Param({"TREE"})
+    PriceLadderType ladder;
+
+    IOrderBook orderBook;
+    long nextOrderId;
+
+    /** Order id of the first resting order of every level, bids then asks */
+    private long[] levelFirstOrderIds;
+
+    private int[] randomLevels;
+    private int[] randomPositions;
+    private int nextRandom;
+
+    private final long[] passiveOrderIds = new long[PASSIVE_ORDERS];
+    private int nextPassiveOrder;
+
+    private long amendPrice = MID_PRICE - 1;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        orderBook =
+                OrderBookImpl.of(
+                        OrderBookConfig.Builder.aConfig()
+                                .withExpectedOrders(
+                                        2 * depth * ordersPerLevel + PASSIVE_ORDERS + 1)
+                                .withOrderPoolSize(2 * depth * ordersPerLevel + PASSIVE_ORDERS)
+                                .withPriceLadderType(ladder)
+                                .withPriceLadderCapacity(4 * depth)
+                                .build());
+        levelFirstOrderIds = new long[2 * depth];
+        for (int level = 0; level < depth; level++) {
+            levelFirstOrderIds[level] = fillLevel(Side.BID, MID_PRICE - 1 - level);
+            levelFirstOrderIds[depth + level] = fillLevel(Side.ASK, MID_PRICE + 1 + level);
+        }
+
+        final Random random = new Random(42L);
+        randomLevels = new int[RANDOM_CHOICES];
+        randomPositions = new int[RANDOM_CHOICES];
+        for (int i = 0; i < RANDOM_CHOICES; i++) {
+            randomLevels[i] = random.nextInt(depth);
+            randomPositions[i] = random.nextInt(ordersPerLevel);
+        }
+        for (int i = 0; i < PASSIVE_ORDERS; i++) {
+            passiveOrderIds[i] = addPassiveOrder(Side.BID, i % depth);
+        }
+    }
+
+    /** @return order id of the first order added to the level */
+    long fillLevel(Side side, long price) {
+        final long firstOrderId = nextOrderId;
+        for (int i = 0; i < ordersPerLevel; i++) {
+            orderBook.tryAddOrder(Order.of(nextOrderId++, price, QUANTITY, side, 0L));
+        }
+        return firstOrderId;
+    }
+
+    private long addPassiveOrder(Side side, int level) {
+        final long price = side == Side.BID ? MID_PRICE - 1 - level : MID_PRICE + 1 + level;
+        final long orderId = nextOrderId++;
+        orderBook.tryAddOrder(Order.of(orderId, price, QUANTITY, side, 0L));
+        return orderId;
+    }
+
+    private int nextRandom() {
+        final int next = nextRandom;
+        nextRandom = (next + 1) & (RANDOM_CHOICES - 1);
+        return next;
+    }
+
+    /**
+     * Add bid to the tail of a random level of the book, including cancel of the bid added {@link
+     * #PASSIVE_ORDERS} operations before
+     */
+    @Benchmark
+    public int passiveAdd() {
+        final int index = nextPassiveOrder;
+        nextPassiveOrder = (index + 1) & (PASSIVE_ORDERS - 1);
+        orderBook.tryCancelOrder(passiveOrderIds[index]);
+        passiveOrderIds[index] = addPassiveOrder(Side.BID, randomLevels[nextRandom()]);
+        return index;
+    }
+
+    /**
+     * Cancel an order from a random position of a random bid level, including adding it back to
+     * the tail of its level. Positions drift as orders move to tails, but stay uniform.
+     */
+    @Benchmark
+    public int cancelFromMiddleOfLevel() {
+        final int random = nextRandom();
+        final int level = randomLevels[random];
+        final long orderId = levelFirstOrderIds[level] + randomPositions[random];
+        orderBook.tryCancelOrder(orderId);
+        return orderBook.tryAddOrder(
+                Order.of(orderId, MID_PRICE - 1 - level, QUANTITY, Side.BID, 0L));
+    }
+
+    /** Change quantity of a random bid between its original and half of it, keeping priority */
+    @Benchmark
+    public int amendQuantity() {
+        final int random = nextRandom();
+        final long orderId = levelFirstOrderIds[randomLevels[random]] + randomPositions[random];
+        final long quantity = (random & 1) == 0 ? QUANTITY / 2 : QUANTITY;
+        return orderBook.tryChangeOrderQuantity(orderId, quantity);
+    }
+
+    /** Move one passive bid between two levels deep in the book, losing priority each time */
+    @Benchmark
+    public int amendPrice() {
+        amendPrice = amendPrice == MID_PRICE - 1 ? MID_PRICE - depth : MID_PRICE - 1;
+        return orderBook.tryChangeOrderPrice(passiveOrderIds[0], amendPrice);
+    }
+
+    /**
+     * Bids sweeping {@code levels} ask levels in full, each order of which is a separate trade.
+     * Swept levels are refilled before every invocation, outside of the measurement.
+     */
+    @State(Scope.Thread)
+    public static class Sweep {
+        @Param({"5"})
+        int levels;
+
+        int sweptLevels;
+        long sweepQuantity;
+        long sweepPrice;
+
+        /** Whether swept levels are full, as they are in the initial book */
+        boolean full = true;
+
+        @Setup(Level.Trial)
+        public void setup(OrderBookBenchmark benchmark) {
+            sweptLevels = Math.min(levels, benchmark.depth);
+            sweepQuantity = sweptLevels * benchmark.ordersPerLevel * QUANTITY;
+            sweepPrice = MID_PRICE + sweptLevels;
+        }
+
+        @Setup(Level.Invocation)
+        public void refill(OrderBookBenchmark benchmark) {
+            if (!full) {
+                for (int level = 0; level < sweptLevels; level++) {
+                    benchmark.fillLevel(Side.ASK, MID_PRICE + 1 + level);
+                }
+                full = true;
+            }
+        }
+    }
+
+    @Benchmark
+    public int aggressiveSweep(Sweep sweep) {
+        sweep.full = false;
+        return orderBook.tryAddOrder(
+                Order.of(nextOrderId++, sweep.sweepPrice, sweep.sweepQuantity, Side.BID, 0L));
+    }
+
+    /**
+     * Random mix of passive adds, cancels of random resting orders and aggressive orders taking one
+     * resting order at the best price, in {@code add:cancel:trade} ratio. A ratio where adds equal
+     * cancels and trades keeps the book size steady.
+     */
+    @State(Scope.Thread)
+    public static class Mixed {
+        @Param({"50:40:10"})
+        String ratio;
+
+        /** Operation of each random choice, 0 add, 1 cancel, 2 trade */
+        int[] operations;
+
+        /** Non negative random number of each random choice, to pick the order to cancel */
+        int[] cancelIndexes;
+
+        /** Order ids added by the mixed workload, cancelled at random */
+        long[] orderIds;
+        int orderCount;
+
+        @Setup(Level.Trial)
+        public void setup(OrderBookBenchmark benchmark) {
+            final String[] parts = ratio.split(":");
+            final int add = Integer.parseInt(parts[0]);
+            final int cancel = Integer.parseInt(parts[1]);
+            final int trade = Integer.parseInt(parts[2]);
+            final Random random = new Random(7L);
+            operations = new int[RANDOM_CHOICES];
+            cancelIndexes = new int[RANDOM_CHOICES];
+            for (int i = 0; i < RANDOM_CHOICES; i++) {
+                cancelIndexes[i] = random.nextInt(Integer.MAX_VALUE);
+                final int choice = random.nextInt(add + cancel + trade);
+                operations[i] = choice < add ? 0 : choice < add + cancel ? 1 : 2;
+            }
+            orderIds = new long[1 << 20];
+            // Resting orders of the book are cancelled at random too
+            for (long orderId = 0; orderId < benchmark.nextOrderId; orderId++) {
+                orderIds[orderCount++] = orderId;
+            }
+        }
+    }
+
+    /**
+     * Cancels may hit orders already traded away, which are then rejected. Sides alternate with
+     * every operation.
+     */
+    @Benchmark
+    public int mixedWorkload(Mixed mixed) {
+        final int random = nextRandom();
+        final Side side = (random & 1) == 0 ? Side.BID : Side.ASK;
+        switch (mixed.operations[random]) {
+            case 0:
+                {
+                    final int level = randomLevels[random];
+                    final long price =
+                            side == Side.BID ? MID_PRICE - 1 - level : MID_PRICE + 1 + level;
+                    final long orderId = nextOrderId++;
+                    if (mixed.orderCount < mixed.orderIds.length) {
+                        mixed.orderIds[mixed.orderCount++] = orderId;
+                    }
+                    return orderBook.tryAddOrder(Order.of(orderId, price, QUANTITY, side, 0L));
+                }
+            case 1:
+                {
+                    if (mixed.orderCount == 0) {
+                        return OrderBookResult.UNKNOWN_ORDER_ID;
+                    }
+                    // Swap the cancelled order id with the last one
+                    final int index = mixed.cancelIndexes[random] % mixed.orderCount;
+                    final long orderId = mixed.orderIds[index];
+                    mixed.orderIds[index] = mixed.orderIds[--mixed.orderCount];
+                    return orderBook.tryCancelOrder(orderId);
+                }
+            default:
+                {
+                    final long price =
+                            side == Side.BID
+                                    ? orderBook.getBestAskPrice()
+                                    : orderBook.getBestBidPrice();
+                    if (price == IReadOnlyOrderBook.NO_PRICE) {
+                        return OrderBookResult.SUCCESS;
+                    }
+                    return orderBook.tryAddOrder(
+                            Order.of(nextOrderId++, price, QUANTITY, side, 0L));
+                }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady churn of a book holding many resting orders, kept as heap objects or off heap rows. Run
+ * with the gc profiler to compare allocation and collection pauses as resting orders grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class OrderStoreBenchmark {
+
+    private static final long BEST_PRICE = 10_000L;
+    private static final int LEVELS = 1_000;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder().include(OrderStoreBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"HEAP", "OFF_HEAP"})
+    private OrderStoreType orderStoreType;
+
+    @Param({"10000", "1000000"})
+    private int restingOrders;
+
+    private IOrderBook orderBook;
+    private long nextOrderId;
+    private long oldestOrderId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final OrderBookConfig config =
+                OrderBookConfig.Builder.aConfig()
+                        .withExpectedOrders(restingOrders)
+                        .withOrderStoreType(orderStoreType)
+                        .build();
+        orderBook =
+                orderStoreType == OrderStoreType.HEAP
+                        ? OrderBookImpl.of(config)
+                        : OffHeapOrderBook.of(config);
+        for (nextOrderId = 0; nextOrderId < restingOrders; nextOrderId++) {
+            orderBook.tryAddOrder(newOrder(nextOrderId));
+        }
+        oldestOrderId = 0;
+    }
+
+    /** One new resting order added while the oldest one is cancelled */
+    @Benchmark
+    public int addAndCancel() {
+        orderBook.tryAddOrder(newOrder(nextOrderId++));
+        return orderBook.tryCancelOrder(oldestOrderId++);
+    }
+
+    /** Resting order moved to another level and back, as a quoting strategy would */
+    @Benchmark
+    public int changePrice() {
+        final long orderId = oldestOrderId + (nextOrderId * 7919L) % restingOrders;
+        final Order order = newOrder(orderId);
+        orderBook.tryChangeOrderPrice(orderId, order.getPrice() + 1);
+        return orderBook.tryChangeOrderPrice(orderId, order.getPrice());
+    }
+
+    private static Order newOrder(long orderId) {
+        // Asks only, so that orders rest without trading
+        return Order.of(orderId, BEST_PRICE + orderId % LEVELS, 10L, Side.ASK, 0L);
+    }
+}
@@ -0,0 +1,116 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bytes retained per resting order and garbage collection time of a book holding millions of
+ * resting orders, kept as heap objects or off heap rows. Every store and size runs in its own
+ * child process with the same fixed heap, so neither sees garbage nor heap sizing of another.
+ *
+ * <p>Full collection time is what tracing the live book costs. Steady adds and cancels allocate
+ * nothing in either store, see {@link OrderStoreBenchmark}, so the live book is what collections
+ * pay for.
+ *
+ * <p>Not a JMH benchmark, as it measures retained memory rather than time per operation. Run its
+ * main on the jmh classpath with {@code [restingOrders...]}.
+ */
+public class OrderStoreFootprintBenchmark {
+    private static final long BEST_PRICE = 10_000L;
+    private static final int LEVELS = 1_000;
+    private static final int FULL_COLLECTIONS = 5;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 2 && "measure".equals(args[0])) {
+            measure(OrderStoreType.valueOf(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        final String[] sizes = args.length > 0 ? args : new String[] {"1000000", "4000000"};
+        for (String restingOrders : sizes) {
+            for (OrderStoreType orderStoreType : OrderStoreType.values()) {
+                runChild(orderStoreType, restingOrders);
+            }
+        }
+    }
+
+    private static void runChild(OrderStoreType orderStoreType, String restingOrders)
+            throws IOException, InterruptedException {
+        final Process child =
+                new ProcessBuilder(
+                                ProcessHandle.current().info().command().orElse("java"),
+                                "-Xms3g",
+                                "-Xmx3g",
+                                "-XX:+UseG1GC",
+                                "-cp",
+                                System.getProperty("java.class.path"),
+                                OrderStoreFootprintBenchmark.class.getName(),
+                                "measure",
+                                orderStoreType.name(),
+                                restingOrders)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+        try (BufferedReader output =
+                new BufferedReader(
+                        new InputStreamReader(
+                                child.getInputStream(), StandardCharsets.US_ASCII))) {
+            for (String line = output.readLine(); line != null; line = output.readLine()) {
+                System.out.println(line);
+            }
+        }
+        if (child.waitFor() != 0) {
+            throw new IllegalStateException("Measurement failed: " + orderStoreType);
+        }
+    }
+
+    private static void measure(OrderStoreType orderStoreType, int restingOrders) {
+        final long baseline = usedHeapAfterFullCollection();
+        final OrderBookConfig config =
+                OrderBookConfig.Builder.aConfig()
+                        .withExpectedOrders(restingOrders)
+                        .withOrderStoreType(orderStoreType)
+                        .build();
+        final IOrderBook orderBook =
+                orderStoreType == OrderStoreType.HEAP
+                        ? OrderBookImpl.of(config)
+                        : OffHeapOrderBook.of(config);
+        for (long orderId = 0; orderId < restingOrders; orderId++) {
+            orderBook.tryAddOrder(newOrder(orderId));
+        }
+        final long heapBytes = usedHeapAfterFullCollection() - baseline;
+        final long offHeapBytes =
+                orderBook instanceof OffHeapOrderBook
+                        ? ((OffHeapOrderBook) orderBook).getOffHeapBytes()
+                        : 0L;
+
+        final long fullStart = System.nanoTime();
+        for (int i = 0; i < FULL_COLLECTIONS; i++) {
+            System.gc();
+        }
+        final double fullMillis = (System.nanoTime() - fullStart) / 1e6 / FULL_COLLECTIONS;
+
+        System.out.printf(
+                "%-8s %,10d orders: heap %6.1f B/order, off heap %5.1f B/order, full gc %7.1f ms%n",
+                orderStoreType,
+                orderBook.getOrderCount(Side.ASK),
+                (double) heapBytes / restingOrders,
+                (double) offHeapBytes / restingOrders,
+                fullMillis);
+    }
+
+    private static long usedHeapAfterFullCollection() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static Order newOrder(long orderId) {
+        // Asks only, so that orders rest without trading
+        return Order.of(orderId, BEST_PRICE + orderId % LEVELS, 10L, Side.ASK, 0L);
+    }
+}
@@ -0,0 +1,85 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sum remaining quantity of all bid orders through the list, visitor and cursor read APIs. Run
+ * with {@code -prof gc} to compare their allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReadApiBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(ReadApiBenchmark.class.getSimpleName())
+                        .addProfiler("gc")
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Param({"1000"})
+    private int orders;
+
+    private IOrderBook orderBook;
+    private IOrderCursor cursor;
+    private final RemainingQuantityVisitor visitor = new RemainingQuantityVisitor();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        orderBook = OrderBookImpl.of();
+        for (long orderId = 0; orderId < orders; orderId++) {
+            orderBook.tryAddOrder(Order.of(orderId, 10_000L - orderId % 100, 10L, Side.BID, 0L));
+        }
+        cursor = orderBook.newOrderCursor();
+    }
+
+    @Benchmark
+    public long list() {
+        long remainingQuantity = 0;
+        for (Order order : orderBook.getBidOrders()) {
+            remainingQuantity += order.getQuantity() - order.getFilled();
+        }
+        return remainingQuantity;
+    }
+
+    @Benchmark
+    public long visitor() {
+        visitor.remainingQuantity = 0;
+        orderBook.forEachOrder(Side.BID, visitor);
+        return visitor.remainingQuantity;
+    }
+
+    @Benchmark
+    public long cursor() {
+        long remainingQuantity = 0;
+        cursor.reset(Side.BID);
+        while (cursor.next()) {
+            remainingQuantity += cursor.getQuantity() - cursor.getFilled();
+        }
+        return remainingQuantity;
+    }
+
+    private static class RemainingQuantityVisitor implements IOrderVisitor {
+        private long remainingQuantity;
+
+        @Override
+        public boolean visit(long orderId, long price, long quantity, Side side, long filled) {
+            remainingQuantity += quantity - filled;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/** Cost of rejecting a cancel of an order which is already filled, by exception or result code */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RejectBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(RejectBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    private final IOrderBook orderBook = OrderBookImpl.of();
+
+    private long orderId;
+
+    @Benchmark
+    public boolean cancelUnknownThrowing() {
+        try {
+            orderBook.cancelOrder(orderId++);
+            return true;
+        } catch (UnknownOrderIdException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public int cancelUnknownResultCode() {
+        return orderBook.tryCancelOrder(orderId++);
+    }
+}
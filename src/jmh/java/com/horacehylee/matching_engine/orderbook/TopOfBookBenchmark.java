@@ -0,0 +1,62 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/** Read best bid and offer from the cached top of book, against taking the head of all orders */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TopOfBookBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder().include(TopOfBookBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"1000"})
+    private int ordersPerSide;
+
+    private IOrderBook orderBook;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        orderBook = OrderBookImpl.of();
+        for (long orderId = 0; orderId < ordersPerSide; orderId++) {
+            orderBook.tryAddOrder(Order.of(orderId, 10_000L - orderId % 100, 10L, Side.BID, 0L));
+            orderBook.tryAddOrder(
+                    Order.of(ordersPerSide + orderId, 10_001L + orderId % 100, 10L, Side.ASK, 0L));
+        }
+    }
+
+    @Benchmark
+    public long bestBidPrice() {
+        return orderBook.getBestBidPrice();
+    }
+
+    @Benchmark
+    public long spread() {
+        return orderBook.getSpread();
+    }
+
+    @Benchmark
+    public long bestBidAndAskVolume() {
+        return orderBook.getBestBidVolume() + orderBook.getBestAskVolume();
+    }
+
+    @Benchmark
+    public long bestBidPriceFromOrders() {
+        return orderBook.getBidOrders().get(0).getPrice();
+    }
+}
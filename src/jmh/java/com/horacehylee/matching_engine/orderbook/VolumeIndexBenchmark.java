@@ -0,0 +1,64 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/** Ask volume up to a price deep in the book from the volume index, against walking the levels */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VolumeIndexBenchmark {
+
+    private static final long BEST_PRICE = 10_000L;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder().include(VolumeIndexBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"10", "1000"})
+    private int levels;
+
+    private IOrderBook orderBook;
+    private long price;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        orderBook = OrderBookImpl.of();
+        for (int level = 0; level < levels; level++) {
+            orderBook.tryAddOrder(Order.of(level, BEST_PRICE + level, 10L, Side.ASK, 0L));
+        }
+        price = BEST_PRICE + levels * 3 / 4;
+    }
+
+    @Benchmark
+    public long indexedVolume() {
+        return orderBook.getCumulativeVolume(Side.ASK, price);
+    }
+
+    @Benchmark
+    public long walkedVolume() {
+        final ILevelCursor cursor = orderBook.newLevelCursor().reset(Side.ASK);
+        long volume = 0;
+        while (cursor.next() && cursor.getPrice() <= price) {
+            volume += cursor.getVolume();
+        }
+        return volume;
+    }
+
+    @Benchmark
+    public long indexedFillPrice() {
+        return orderBook.getFillPrice(Side.ASK, levels * 5L);
+    }
+}
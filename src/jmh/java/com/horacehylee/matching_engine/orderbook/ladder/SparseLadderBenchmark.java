@@ -0,0 +1,87 @@
+package com.horacehylee.matching_engine.orderbook.ladder;
+
+import com.horacehylee.matching_engine.domain.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remove and re-add the best level of a sparse ask ladder, whose next level sits far away, and
+ * walk all levels with next, where finding the next occupied slot dominates
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SparseLadderBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder().include(SparseLadderBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"ARRAY", "TREE"})
+    private PriceLadderType ladderType;
+
+    /** Ticks between adjacent levels */
+    @Param({"1", "1000"})
+    private int gap;
+
+    private static final int CAPACITY = 1 << 16;
+    private static final int LEVELS = 32;
+
+    private IPriceLadder<PriceLevel> ladder;
+    private long bestPrice;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ladder =
+                ladderType == PriceLadderType.ARRAY
+                        ? ArrayPriceLadder.of(Side.ASK, 1L, CAPACITY, PriceLevel::new)
+                        : TreePriceLadder.of(Side.ASK, PriceLevel::new);
+        // Centre the window on the first price, levels spread towards worse prices
+        bestPrice = 1_000_000L;
+        for (int i = 0; i < LEVELS; i++) {
+            ladder.getOrCreate(bestPrice + (long) i * gap);
+        }
+    }
+
+    @Benchmark
+    public PriceLevel removeAndAddBest() {
+        ladder.remove(ladder.best());
+        final PriceLevel next = ladder.best();
+        ladder.getOrCreate(bestPrice);
+        return next;
+    }
+
+    @Benchmark
+    public long walkLevels() {
+        long sum = 0;
+        PriceLevel level = ladder.best();
+        while (level != null) {
+            sum += level.getPrice();
+            level = ladder.next(level.getPrice());
+        }
+        return sum;
+    }
+
+    public static class PriceLevel implements IPriceLevel {
+        private final long price;
+
+        PriceLevel(long price) {
+            this.price = price;
+        }
+
+        @Override
+        public long getPrice() {
+            return price;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.horacehylee.matching_engine.sequencer;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of producers submitting into the sequencer, and latency from submit until the matcher
+ * processed the command. Run through {@link #main} to cover increasing producer counts.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CommandSequencerBenchmark {
+
+    private static final int[] PRODUCER_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws RunnerException {
+        for (int producers : PRODUCER_COUNTS) {
+            Options opt =
+                    new OptionsBuilder()
+                            .include(CommandSequencerBenchmark.class.getSimpleName())
+                            .threads(producers)
+                            .build();
+            new Runner(opt).run();
+        }
+    }
+
+    @Param({"BUSY_SPIN", "YIELDING", "PARKING"})
+    private String waitStrategy;
+
+    @Param({"65536"})
+    private int capacity;
+
+    private CommandSequencer sequencer;
+
+    private final AtomicInteger producers = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sequencer =
+                CommandSequencer.of(
+                                capacity,
+                                createWaitStrategy(),
+                                new OrderBookCommandHandler(OrderBookImpl.of(1 << 16)))
+                        .start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        sequencer.close();
+    }
+
+    private IWaitStrategy createWaitStrategy() {
+        switch (waitStrategy) {
+            case "BUSY_SPIN":
+                return new BusySpinWaitStrategy();
+            case "YIELDING":
+                return new YieldingWaitStrategy();
+            case "PARKING":
+                return new ParkingWaitStrategy(TimeUnit.MICROSECONDS.toNanos(50));
+            default:
+                throw new IllegalArgumentException("Unexpected wait strategy: " + waitStrategy);
+        }
+    }
+
+    /** Orders of each producer rest on their own price, and are cancelled right after */
+    @State(Scope.Thread)
+    public static class Producer {
+        private Order[] orders;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setup(CommandSequencerBenchmark benchmark) {
+            final int producer = benchmark.producers.getAndIncrement();
+            final Side side = producer % 2 == 0 ? Side.BID : Side.ASK;
+            final long price = side == Side.BID ? 1_000L - producer : 2_000L + producer;
+            orders = new Order[1 << 12];
+            for (int i = 0; i < orders.length; i++) {
+                orders[i] = Order.of(((long) producer << 40) + i, price, 10L, side, 0L);
+            }
+        }
+
+        Order nextOrder() {
+            final Order order = orders[next];
+            next = (next + 1) & (orders.length - 1);
+            return order;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long submitThroughput(Producer producer) {
+        final Order order = producer.nextOrder();
+        sequencer.addOrder(order);
+        return sequencer.cancelOrder(order.getOrderId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long roundTripLatency(Producer producer) {
+        final Order order = producer.nextOrder();
+        sequencer.addOrder(order);
+        final long sequence = sequencer.cancelOrder(order.getOrderId());
+        sequencer.awaitProcessed(sequence);
+        return sequence;
+    }
+}
@@ -0,0 +1,53 @@
+package com.horacehylee.matching_engine.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Event of a command accepted by the book:
+ *
+ * <pre>
+ * 0   i64 order id
+ * 8   u16 template id of the accepted command
+ * </pre>
+ */
+public final class AckMessage extends MessageFlyweight {
+    public static final int TEMPLATE_ID = 7;
+    public static final int BLOCK_LENGTH = 16;
+
+    private static final int ORDER_ID = 0;
+    private static final int COMMAND_TEMPLATE_ID = 8;
+
+    @Override
+    public AckMessage wrap(ByteBuffer buffer, int offset) {
+        super.wrap(buffer, offset);
+        return this;
+    }
+
+    @Override
+    public int getTemplateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int getBlockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long getOrderId() {
+        return buffer.getLong(offset + ORDER_ID);
+    }
+
+    public AckMessage setOrderId(long orderId) {
+        buffer.putLong(offset + ORDER_ID, orderId);
+        return this;
+    }
+
+    public int getCommandTemplateId() {
+        return Short.toUnsignedInt(buffer.getShort(offset + COMMAND_TEMPLATE_ID));
+    }
+
+    public AckMessage setCommandTemplateId(int commandTemplateId) {
+        buffer.putShort(offset + COMMAND_TEMPLATE_ID, (short) commandTemplateId);
+        return this;
+    }
+}
@@ -0,0 +1,68 @@
+package com.horacehylee.matching_engine.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Command changing price, quantity or both of a resting order. A field holding {@link
+ * #NULL_VALUE} is left unchanged.
+ *
+ * <pre>
+ * 0   i64 order id
+ * 8   i64 price
+ * 16  i64 quantity
+ * </pre>
+ */
+public final class AmendOrderMessage extends MessageFlyweight {
+    public static final int TEMPLATE_ID = 3;
+    public static final int BLOCK_LENGTH = 24;
+    public static final long NULL_VALUE = Long.MIN_VALUE;
+
+    private static final int ORDER_ID = 0;
+    private static final int PRICE = 8;
+    private static final int QUANTITY = 16;
+
+    @Override
+    public AmendOrderMessage wrap(ByteBuffer buffer, int offset) {
+        super.wrap(buffer, offset);
+        return this;
+    }
+
+    @Override
+    public int getTemplateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int getBlockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long getOrderId() {
+        return buffer.getLong(offset + ORDER_ID);
+    }
+
+    public AmendOrderMessage setOrderId(long orderId) {
+        buffer.putLong(offset + ORDER_ID, orderId);
+        return this;
+    }
+
+    /** @return new price, or {@link #NULL_VALUE} to keep the price */
+    public long getPrice() {
+        return buffer.getLong(offset + PRICE);
+    }
+
+    public AmendOrderMessage setPrice(long price) {
+        buffer.putLong(offset + PRICE, price);
+        return this;
+    }
+
+    /** @return new quantity, or {@link #NULL_VALUE} to keep the quantity */
+    public long getQuantity() {
+        return buffer.getLong(offset + QUANTITY);
+    }
+
+    public AmendOrderMessage setQuantity(long quantity) {
+        buffer.putLong(offset + QUANTITY, quantity);
+        return this;
+    }
+}
@@ -0,0 +1,42 @@
+package com.horacehylee.matching_engine.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Command cancelling a resting order:
+ *
+ * <pre>
+ * 0   i64 order id
+ * </pre>
+ */
+public final class CancelOrderMessage extends MessageFlyweight {
+    public static final int TEMPLATE_ID = 2;
+    public static final int BLOCK_LENGTH = 8;
+
+    private static final int ORDER_ID = 0;
+
+    @Override
+    public CancelOrderMessage wrap(ByteBuffer buffer, int offset) {
+        super.wrap(buffer, offset);
+        return this;
+    }
+
+    @Override
+    public int getTemplateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int getBlockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long getOrderId() {
+        return buffer.getLong(offset + ORDER_ID);
+    }
+
+    public CancelOrderMessage setOrderId(long orderId) {
+        buffer.putLong(offset + ORDER_ID, orderId);
+        return this;
+    }
+}
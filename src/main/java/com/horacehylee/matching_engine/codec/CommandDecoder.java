@@ -0,0 +1,137 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.codec.exception.MalformedFrameException;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.CommandBatch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decode command messages straight from a receive buffer into a {@link CommandBatch}, reading
+ * fields in place so that no {@code Order} is created between the bytes and the book.
+ */
+public final class CommandDecoder {
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderMessage newOrder = new NewOrderMessage();
+    private final CancelOrderMessage cancelOrder = new CancelOrderMessage();
+    private final AmendOrderMessage amendOrder = new AmendOrderMessage();
+
+    /**
+     * Decode whole messages between offset and limit, stopping before a message which is only
+     * partly received or does not fit into the batch.
+     * @return number of bytes decoded
+     * @throws MalformedFrameException if a message is not a command of this schema, or its body
+     *     is shorter than the fields of its template
+     */
+    public int decode(ByteBuffer buffer, int offset, int limit, CommandBatch batch) {
+        final MessageHeader header = this.header;
+        int position = offset;
+        while (limit - position >= MessageHeader.ENCODED_LENGTH) {
+            header.wrap(buffer, position);
+            // Any version is accepted, as newer ones only append fields skipped by block length
+            if (header.getSchemaId() != MessageHeader.SCHEMA_ID) {
+                throw new MalformedFrameException("Unexpected schema id: " + header.getSchemaId());
+            }
+            final int messageLength = header.getMessageLength();
+            if (limit - position < messageLength) {
+                break;
+            }
+            final int bodyOffset = position + MessageHeader.ENCODED_LENGTH;
+            final int templateId = header.getTemplateId();
+            final int free = batch.getCapacity() - batch.size();
+            switch (templateId) {
+                case NewOrderMessage.TEMPLATE_ID:
+                    checkBlockLength(header, NewOrderMessage.BLOCK_LENGTH);
+                    if (free < 1) {
+                        return position - offset;
+                    }
+                    final NewOrderMessage newOrder = this.newOrder.wrap(buffer, bodyOffset);
+                    batch.addOrder(
+                            newOrder.getOrderId(),
+                            newOrder.getPrice(),
+                            newOrder.getQuantity(),
+                            getSide(newOrder));
+                    break;
+                case CancelOrderMessage.TEMPLATE_ID:
+                    checkBlockLength(header, CancelOrderMessage.BLOCK_LENGTH);
+                    if (free < 1) {
+                        return position - offset;
+                    }
+                    batch.cancelOrder(cancelOrder.wrap(buffer, bodyOffset).getOrderId());
+                    break;
+                case AmendOrderMessage.TEMPLATE_ID:
+                    checkBlockLength(header, AmendOrderMessage.BLOCK_LENGTH);
+                    final AmendOrderMessage amendOrder = this.amendOrder.wrap(buffer, bodyOffset);
+                    if (free < getCommandCount(amendOrder)) {
+                        return position - offset;
+                    }
+                    addAmend(amendOrder, batch);
+                    break;
+                default:
+                    throw new MalformedFrameException("Unexpected template id: " + templateId);
+            }
+            position += messageLength;
+        }
+        return position - offset;
+    }
+
+    /** Reject body too short to hold the fields of its template, which would be read past it */
+    private static void checkBlockLength(MessageHeader header, int blockLength) {
+        if (header.getBlockLength() < blockLength) {
+            throw new MalformedFrameException(
+                    "Block length "
+                            + header.getBlockLength()
+                            + " of template id "
+                            + header.getTemplateId()
+                            + " is shorter than "
+                            + blockLength);
+        }
+    }
+
+    private static Side getSide(NewOrderMessage newOrder) {
+        try {
+            return newOrder.getSide();
+        } catch (IllegalArgumentException e) {
+            throw new MalformedFrameException(
+                    "Unexpected side of order: " + newOrder.getOrderId(), e);
+        }
+    }
+
+    /** @return number of batch commands an amend is decoded into */
+    private static int getCommandCount(AmendOrderMessage amendOrder) {
+        final int count =
+                (amendOrder.getPrice() != AmendOrderMessage.NULL_VALUE ? 1 : 0)
+                        + (amendOrder.getQuantity() != AmendOrderMessage.NULL_VALUE ? 1 : 0);
+        if (count == 0) {
+            throw new MalformedFrameException(
+                    "Amend changes neither price nor quantity: " + amendOrder.getOrderId());
+        }
+        return count;
+    }
+
+    /** Change quantity first, so a reduced order does not trade its old quantity at new price */
+    private static void addAmend(AmendOrderMessage amendOrder, CommandBatch batch) {
+        final long orderId = amendOrder.getOrderId();
+        if (amendOrder.getQuantity() != AmendOrderMessage.NULL_VALUE) {
+            batch.changeOrderQuantity(orderId, amendOrder.getQuantity());
+        }
+        if (amendOrder.getPrice() != AmendOrderMessage.NULL_VALUE) {
+            batch.changeOrderPrice(orderId, amendOrder.getPrice());
+        }
+    }
+
+    /** @return template id of the message a command of the batch is decoded from */
+    public static int getTemplateId(int commandType) {
+        switch (commandType) {
+            case CommandBatch.ADD_ORDER:
+                return NewOrderMessage.TEMPLATE_ID;
+            case CommandBatch.CANCEL_ORDER:
+                return CancelOrderMessage.TEMPLATE_ID;
+            case CommandBatch.CHANGE_ORDER_PRICE:
+            case CommandBatch.CHANGE_ORDER_QUANTITY:
+                return AmendOrderMessage.TEMPLATE_ID;
+            default:
+                throw new IllegalArgumentException("Unexpected command type: " + commandType);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Listener encoding fills and level updates of the book as messages appended to a send buffer,
+ * with acks and rejects added by the caller from command results.
+ */
+public final class EventEncoder implements IOrderBookListener {
+    private final MessageHeader header = new MessageHeader();
+    private final FillMessage fill = new FillMessage();
+    private final AckMessage ack = new AckMessage();
+    private final RejectMessage reject = new RejectMessage();
+    private final LevelUpdateMessage levelUpdate = new LevelUpdateMessage();
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int position;
+
+    /** Append following events to the buffer from the offset */
+    public EventEncoder wrap(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.position = offset;
+        return this;
+    }
+
+    /** @return number of bytes encoded since wrapped */
+    public int getLength() {
+        return position - offset;
+    }
+
+    /** @return number of bytes left in the buffer for further events */
+    public int getRemaining() {
+        return buffer.capacity() - position;
+    }
+
+    /** Restart appending from the offset the encoder was wrapped at */
+    public void reset() {
+        position = offset;
+    }
+
+    @Override
+    public void onTrade(
+            long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {
+        final FillMessage fill = this.fill;
+        position += claim(fill);
+        fill.setTakerOrderId(takerOrderId)
+                .setMakerOrderId(makerOrderId)
+                .setPrice(price)
+                .setQuantity(quantity)
+                .setTakerSide(takerSide);
+    }
+
+    @Override
+    public void onLevelChange(Side side, long price, long volume, int orderCount) {
+        final LevelUpdateMessage levelUpdate = this.levelUpdate;
+        position += claim(levelUpdate);
+        levelUpdate.setPrice(price).setVolume(volume).setOrderCount(orderCount).setSide(side);
+    }
+
+    /** @param commandTemplateId of the accepted command */
+    public void onAck(long orderId, int commandTemplateId) {
+        final AckMessage ack = this.ack;
+        position += claim(ack);
+        ack.setOrderId(orderId).setCommandTemplateId(commandTemplateId);
+    }
+
+    /**
+     * @param result of the command, one of {@code OrderBookResult} other than success
+     * @param commandTemplateId of the refused command
+     */
+    public void onReject(long orderId, int result, int commandTemplateId) {
+        final RejectMessage reject = this.reject;
+        position += claim(reject);
+        reject.setOrderId(orderId).setResult(result).setCommandTemplateId(commandTemplateId);
+    }
+
+    private int claim(MessageFlyweight message) {
+        final int length = MessageHeader.ENCODED_LENGTH + message.getBlockLength();
+        if (buffer.capacity() - position < length) {
+            throw new IllegalStateException("Event buffer is full: " + position);
+        }
+        return message.wrapAndApplyHeader(buffer, position, header);
+    }
+}
@@ -0,0 +1,88 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Event of an incoming order trading against a resting order, at the price of the resting order:
+ *
+ * <pre>
+ * 0   i64 taker order id
+ * 8   i64 maker order id
+ * 16  i64 price
+ * 24  i64 quantity
+ * 32  u8  taker side code
+ * </pre>
+ */
+public final class FillMessage extends MessageFlyweight {
+    public static final int TEMPLATE_ID = 4;
+    public static final int BLOCK_LENGTH = 40;
+
+    private static final int TAKER_ORDER_ID = 0;
+    private static final int MAKER_ORDER_ID = 8;
+    private static final int PRICE = 16;
+    private static final int QUANTITY = 24;
+    private static final int TAKER_SIDE = 32;
+
+    @Override
+    public FillMessage wrap(ByteBuffer buffer, int offset) {
+        super.wrap(buffer, offset);
+        return this;
+    }
+
+    @Override
+    public int getTemplateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int getBlockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long getTakerOrderId() {
+        return buffer.getLong(offset + TAKER_ORDER_ID);
+    }
+
+    public FillMessage setTakerOrderId(long takerOrderId) {
+        buffer.putLong(offset + TAKER_ORDER_ID, takerOrderId);
+        return this;
+    }
+
+    public long getMakerOrderId() {
+        return buffer.getLong(offset + MAKER_ORDER_ID);
+    }
+
+    public FillMessage setMakerOrderId(long makerOrderId) {
+        buffer.putLong(offset + MAKER_ORDER_ID, makerOrderId);
+        return this;
+    }
+
+    public long getPrice() {
+        return buffer.getLong(offset + PRICE);
+    }
+
+    public FillMessage setPrice(long price) {
+        buffer.putLong(offset + PRICE, price);
+        return this;
+    }
+
+    public long getQuantity() {
+        return buffer.getLong(offset + QUANTITY);
+    }
+
+    public FillMessage setQuantity(long quantity) {
+        buffer.putLong(offset + QUANTITY, quantity);
+        return this;
+    }
+
+    public Side getTakerSide() {
+        return Side.of((char) buffer.get(offset + TAKER_SIDE));
+    }
+
+    public FillMessage setTakerSide(Side takerSide) {
+        buffer.put(offset + TAKER_SIDE, (byte) takerSide.getCode());
+        return this;
+    }
+}
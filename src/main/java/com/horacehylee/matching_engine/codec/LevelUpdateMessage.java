@@ -0,0 +1,77 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Event of a price level changing, with zero volume once the level is empty:
+ *
+ * <pre>
+ * 0   i64 price
+ * 8   i64 volume
+ * 16  i32 order count
+ * 20  u8  side code
+ * </pre>
+ */
+public final class LevelUpdateMessage extends MessageFlyweight {
+    public static final int TEMPLATE_ID = 6;
+    public static final int BLOCK_LENGTH = 24;
+
+    private static final int PRICE = 0;
+    private static final int VOLUME = 8;
+    private static final int ORDER_COUNT = 16;
+    private static final int SIDE = 20;
+
+    @Override
+    public LevelUpdateMessage wrap(ByteBuffer buffer, int offset) {
+        super.wrap(buffer, offset);
+        return this;
+    }
+
+    @Override
+    public int getTemplateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int getBlockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long getPrice() {
+        return buffer.getLong(offset + PRICE);
+    }
+
+    public LevelUpdateMessage setPrice(long price) {
+        buffer.putLong(offset + PRICE, price);
+        return this;
+    }
+
+    public long getVolume() {
+        return buffer.getLong(offset + VOLUME);
+    }
+
+    public LevelUpdateMessage setVolume(long volume) {
+        buffer.putLong(offset + VOLUME, volume);
+        return this;
+    }
+
+    public int getOrderCount() {
+        return buffer.getInt(offset + ORDER_COUNT);
+    }
+
+    public LevelUpdateMessage setOrderCount(int orderCount) {
+        buffer.putInt(offset + ORDER_COUNT, orderCount);
+        return this;
+    }
+
+    public Side getSide() {
+        return Side.of((char) buffer.get(offset + SIDE));
+    }
+
+    public LevelUpdateMessage setSide(Side side) {
+        buffer.put(offset + SIDE, (byte) side.getCode());
+        return this;
+    }
+}
@@ -0,0 +1,51 @@
+package com.horacehylee.matching_engine.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * View over the fields of one message at an offset of a little endian buffer. Fields are read and
+ * written in place with absolute accessors, so a flyweight is wrapped again for every message
+ * instead of being allocated.
+ */
+public abstract class MessageFlyweight {
+    protected ByteBuffer buffer;
+    protected int offset;
+
+    /** Point the flyweight at the message body starting at the offset of the buffer */
+    public MessageFlyweight wrap(ByteBuffer buffer, int offset) {
+        if (buffer.order() != ByteOrder.LITTLE_ENDIAN) {
+            throw new IllegalArgumentException("Buffer must be little endian");
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Write the message header at the offset, then point the flyweight at the body following it
+     * @return number of bytes of header and body
+     */
+    public int wrapAndApplyHeader(ByteBuffer buffer, int offset, MessageHeader header) {
+        header.wrap(buffer, offset)
+                .setBlockLength(getBlockLength())
+                .setTemplateId(getTemplateId())
+                .setSchemaId(MessageHeader.SCHEMA_ID)
+                .setVersion(MessageHeader.SCHEMA_VERSION);
+        wrap(buffer, offset + MessageHeader.ENCODED_LENGTH);
+        return MessageHeader.ENCODED_LENGTH + getBlockLength();
+    }
+
+    public abstract int getTemplateId();
+
+    /** @return number of bytes of the message body, excluding header */
+    public abstract int getBlockLength();
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+}
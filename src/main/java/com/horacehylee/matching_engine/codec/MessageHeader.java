@@ -0,0 +1,81 @@
+package com.horacehylee.matching_engine.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Header in front of every message, telling length and type of the body following it:
+ *
+ * <pre>
+ * 0  u16 block length
+ * 2  u16 template id
+ * 4  u16 schema id
+ * 6  u16 schema version
+ * </pre>
+ *
+ * Decoders skip the body by its block length rather than by the length they know, so fields can
+ * be appended to a message without breaking older readers.
+ */
+public final class MessageHeader {
+    public static final int ENCODED_LENGTH = 8;
+    public static final int SCHEMA_ID = 1;
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final int BLOCK_LENGTH = 0;
+    private static final int TEMPLATE_ID = 2;
+    private static final int SCHEMA_ID_OFFSET = 4;
+    private static final int VERSION = 6;
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    public MessageHeader wrap(ByteBuffer buffer, int offset) {
+        if (buffer.order() != ByteOrder.LITTLE_ENDIAN) {
+            throw new IllegalArgumentException("Buffer must be little endian");
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    public int getBlockLength() {
+        return Short.toUnsignedInt(buffer.getShort(offset + BLOCK_LENGTH));
+    }
+
+    public MessageHeader setBlockLength(int blockLength) {
+        buffer.putShort(offset + BLOCK_LENGTH, (short) blockLength);
+        return this;
+    }
+
+    public int getTemplateId() {
+        return Short.toUnsignedInt(buffer.getShort(offset + TEMPLATE_ID));
+    }
+
+    public MessageHeader setTemplateId(int templateId) {
+        buffer.putShort(offset + TEMPLATE_ID, (short) templateId);
+        return this;
+    }
+
+    public int getSchemaId() {
+        return Short.toUnsignedInt(buffer.getShort(offset + SCHEMA_ID_OFFSET));
+    }
+
+    public MessageHeader setSchemaId(int schemaId) {
+        buffer.putShort(offset + SCHEMA_ID_OFFSET, (short) schemaId);
+        return this;
+    }
+
+    public int getVersion() {
+        return Short.toUnsignedInt(buffer.getShort(offset + VERSION));
+    }
+
+    public MessageHeader setVersion(int version) {
+        buffer.putShort(offset + VERSION, (short) version);
+        return this;
+    }
+
+    /** @return number of bytes of header and body of the message */
+    public int getMessageLength() {
+        return ENCODED_LENGTH + getBlockLength();
+    }
+}
@@ -0,0 +1,77 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Command adding an order to the book:
+ *
+ * <pre>
+ * 0   i64 order id
+ * 8   i64 price
+ * 16  i64 quantity
+ * 24  u8  side code
+ * </pre>
+ */
+public final class NewOrderMessage extends MessageFlyweight {
+    public static final int TEMPLATE_ID = 1;
+    public static final int BLOCK_LENGTH = 32;
+
+    private static final int ORDER_ID = 0;
+    private static final int PRICE = 8;
+    private static final int QUANTITY = 16;
+    private static final int SIDE = 24;
+
+    @Override
+    public NewOrderMessage wrap(ByteBuffer buffer, int offset) {
+        super.wrap(buffer, offset);
+        return this;
+    }
+
+    @Override
+    public int getTemplateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int getBlockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long getOrderId() {
+        return buffer.getLong(offset + ORDER_ID);
+    }
+
+    public NewOrderMessage setOrderId(long orderId) {
+        buffer.putLong(offset + ORDER_ID, orderId);
+        return this;
+    }
+
+    public long getPrice() {
+        return buffer.getLong(offset + PRICE);
+    }
+
+    public NewOrderMessage setPrice(long price) {
+        buffer.putLong(offset + PRICE, price);
+        return this;
+    }
+
+    public long getQuantity() {
+        return buffer.getLong(offset + QUANTITY);
+    }
+
+    public NewOrderMessage setQuantity(long quantity) {
+        buffer.putLong(offset + QUANTITY, quantity);
+        return this;
+    }
+
+    public Side getSide() {
+        return Side.of((char) buffer.get(offset + SIDE));
+    }
+
+    public NewOrderMessage setSide(Side side) {
+        buffer.put(offset + SIDE, (byte) side.getCode());
+        return this;
+    }
+}
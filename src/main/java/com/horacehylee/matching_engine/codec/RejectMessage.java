@@ -0,0 +1,66 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Event of a command refused by the book:
+ *
+ * <pre>
+ * 0   i64 order id
+ * 8   i32 result, one of {@link OrderBookResult}
+ * 12  u16 template id of the refused command
+ * </pre>
+ */
+public final class RejectMessage extends MessageFlyweight {
+    public static final int TEMPLATE_ID = 5;
+    public static final int BLOCK_LENGTH = 16;
+
+    private static final int ORDER_ID = 0;
+    private static final int RESULT = 8;
+    private static final int COMMAND_TEMPLATE_ID = 12;
+
+    @Override
+    public RejectMessage wrap(ByteBuffer buffer, int offset) {
+        super.wrap(buffer, offset);
+        return this;
+    }
+
+    @Override
+    public int getTemplateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int getBlockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long getOrderId() {
+        return buffer.getLong(offset + ORDER_ID);
+    }
+
+    public RejectMessage setOrderId(long orderId) {
+        buffer.putLong(offset + ORDER_ID, orderId);
+        return this;
+    }
+
+    public int getResult() {
+        return buffer.getInt(offset + RESULT);
+    }
+
+    public RejectMessage setResult(int result) {
+        buffer.putInt(offset + RESULT, result);
+        return this;
+    }
+
+    public int getCommandTemplateId() {
+        return Short.toUnsignedInt(buffer.getShort(offset + COMMAND_TEMPLATE_ID));
+    }
+
+    public RejectMessage setCommandTemplateId(int commandTemplateId) {
+        buffer.putShort(offset + COMMAND_TEMPLATE_ID, (short) commandTemplateId);
+        return this;
+    }
+}
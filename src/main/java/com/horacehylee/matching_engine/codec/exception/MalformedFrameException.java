@@ -0,0 +1,12 @@
+package com.horacehylee.matching_engine.codec.exception;
+
+/** Bytes received do not form a command message of this schema */
+public class MalformedFrameException extends IllegalArgumentException {
+    public MalformedFrameException(String message) {
+        super(message);
+    }
+
+    public MalformedFrameException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,33 @@
+package com.horacehylee.matching_engine.collection;
+
+/**
+ * Map keyed by primitive long, so lookups on hot paths do not box the key.
+ *
+ * @param <V> type of value, null values are not supported
+ */
+public interface ILongObjectMap<V> {
+
+    /**
+     * Get value of the key
+     * @return value, or null if key is not found
+     */
+    V get(long key);
+
+    /**
+     * Put value for the key
+     * @return previous value, or null if key is not found
+     */
+    V put(long key, V value);
+
+    /**
+     * Remove value of the key
+     * @return removed value, or null if key is not found
+     */
+    V remove(long key);
+
+    boolean containsKey(long key);
+
+    int size();
+
+    void clear();
+}
@@ -0,0 +1,173 @@
+package com.horacehylee.matching_engine.collection;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from long to non negative int, such as order id to slot index of an
+ * order store. Same layout as {@link LongObjectHashMap}, with empty slots marked by {@link
+ * #NO_VALUE} in the value array, so entries add no objects at all.
+ */
+public class LongIntHashMap {
+
+    /** Value returned for keys not found */
+    public static final int NO_VALUE = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    private LongIntHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Expected size must not be negative: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Create map pre-sized so that given number of entries can be stored without resizing
+     * @param expectedSize number of entries expected
+     */
+    public static LongIntHashMap of(int expectedSize) {
+        return new LongIntHashMap(expectedSize);
+    }
+
+    /** @return value of the key, or {@link #NO_VALUE} if key is not found */
+    public int get(long key) {
+        final long[] keys = this.keys;
+        final int[] values = this.values;
+        final int mask = this.mask;
+        for (int index = hash(key, mask); ; index = (index + 1) & mask) {
+            final int value = values[index];
+            if (value == NO_VALUE || keys[index] == key) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Put value for the key
+     * @param value not negative
+     * @return previous value, or {@link #NO_VALUE} if key is not found
+     */
+    public int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        final long[] keys = this.keys;
+        final int[] values = this.values;
+        final int mask = this.mask;
+        int index = hash(key, mask);
+        for (int existing = values[index]; existing != NO_VALUE; existing = values[index]) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            resize(values.length << 1);
+        }
+        return NO_VALUE;
+    }
+
+    /** @return removed value, or {@link #NO_VALUE} if key is not found */
+    public int remove(long key) {
+        final long[] keys = this.keys;
+        final int[] values = this.values;
+        final int mask = this.mask;
+        for (int index = hash(key, mask); ; index = (index + 1) & mask) {
+            final int value = values[index];
+            if (value == NO_VALUE) {
+                return NO_VALUE;
+            }
+            if (keys[index] == key) {
+                values[index] = NO_VALUE;
+                size--;
+                shiftBackward(index);
+                return value;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(values, NO_VALUE);
+        size = 0;
+    }
+
+    /** Same backward shift deletion as {@link LongObjectHashMap}, leaving no tombstones */
+    private void shiftBackward(int removedIndex) {
+        final long[] keys = this.keys;
+        final int[] values = this.values;
+        final int mask = this.mask;
+        int gap = removedIndex;
+        for (int index = (gap + 1) & mask; values[index] != NO_VALUE; index = (index + 1) & mask) {
+            final int home = hash(keys[index], mask);
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                values[index] = NO_VALUE;
+                gap = index;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Map capacity exceeded " + MAX_CAPACITY);
+        }
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(capacity);
+        final long[] keys = this.keys;
+        final int[] values = this.values;
+        final int mask = this.mask;
+        for (int i = 0; i < oldValues.length; i++) {
+            final int value = oldValues[i];
+            if (value != NO_VALUE) {
+                int index = hash(oldKeys[i], mask);
+                while (values[index] != NO_VALUE) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        final long required = (long) Math.ceil(Math.max(expectedSize, 1) / (double) LOAD_FACTOR);
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+        return Math.max(2, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+    private static int hash(long key, int mask) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
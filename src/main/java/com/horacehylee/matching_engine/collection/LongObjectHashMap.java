@@ -0,0 +1,180 @@
+package com.horacehylee.matching_engine.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Open addressing hash map with linear probing over parallel key and value arrays.
+ *
+ * <p>Removal shifts the following entries of the probe sequence backward instead of leaving
+ * tombstones, so lookups never slow down after heavy add and cancel churn.
+ */
+public class LongObjectHashMap<V> implements ILongObjectMap<V> {
+
+    public static final int DEFAULT_EXPECTED_SIZE = 1 << 10;
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private V[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    private LongObjectHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Expected size must not be negative: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    public static <V> LongObjectHashMap<V> of() {
+        return new LongObjectHashMap<>(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Create map pre-sized so that given number of entries can be stored without resizing
+     * @param expectedSize number of entries expected
+     */
+    public static <V> LongObjectHashMap<V> of(int expectedSize) {
+        return new LongObjectHashMap<>(expectedSize);
+    }
+
+    @Override
+    public V get(long key) {
+        final long[] keys = this.keys;
+        final V[] values = this.values;
+        final int mask = this.mask;
+        for (int index = hash(key, mask); ; index = (index + 1) & mask) {
+            final V value = values[index];
+            if (value == null || keys[index] == key) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        final long[] keys = this.keys;
+        final V[] values = this.values;
+        final int mask = this.mask;
+        int index = hash(key, mask);
+        for (V existing = values[index]; existing != null; existing = values[index]) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            resize(values.length << 1);
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(long key) {
+        final long[] keys = this.keys;
+        final V[] values = this.values;
+        final int mask = this.mask;
+        for (int index = hash(key, mask); ; index = (index + 1) & mask) {
+            final V value = values[index];
+            if (value == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                values[index] = null;
+                size--;
+                shiftBackward(index);
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Move entries after the removed slot back into it when their probe sequence passes through
+     * the slot, until an empty slot ends the cluster.
+     */
+    private void shiftBackward(int removedIndex) {
+        final long[] keys = this.keys;
+        final V[] values = this.values;
+        final int mask = this.mask;
+        int gap = removedIndex;
+        for (int index = (gap + 1) & mask; values[index] != null; index = (index + 1) & mask) {
+            final int home = hash(keys[index], mask);
+            // Entry can fill the gap only if its home slot is not cyclically within (gap, index]
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                values[index] = null;
+                gap = index;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Map capacity exceeded " + MAX_CAPACITY);
+        }
+        final long[] oldKeys = keys;
+        final V[] oldValues = values;
+        allocate(capacity);
+        final long[] keys = this.keys;
+        final V[] values = this.values;
+        final int mask = this.mask;
+        for (int i = 0; i < oldValues.length; i++) {
+            final V value = oldValues[i];
+            if (value != null) {
+                int index = hash(oldKeys[i], mask);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = value;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        final long required = (long) Math.ceil(Math.max(expectedSize, 1) / (double) LOAD_FACTOR);
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+        return Math.max(2, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+    private static int hash(long key, int mask) {
+        // Fibonacci hashing spreads sequential order ids across the table
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
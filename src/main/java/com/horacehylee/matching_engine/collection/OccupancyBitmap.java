@@ -0,0 +1,151 @@
+package com.horacehylee.matching_engine.collection;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size bit set with a summary hierarchy: each level above the bits holds one bit per word
+ * of the level below, set while that word is non zero. Finding the next or previous set bit climbs
+ * only as far as the first level with a set bit in range, then descends with one count of
+ * trailing or leading zeros per level, so it takes at most two steps per level whatever the gap.
+ * Four levels cover 2^24 bits.
+ */
+public class OccupancyBitmap {
+    public static final int NO_INDEX = -1;
+
+    /** Words of each level, from the bits themselves up to a single top word */
+    private final long[][] levels;
+    private final int size;
+
+    private OccupancyBitmap(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive: " + size);
+        }
+        this.size = size;
+        int depth = 1;
+        for (long bits = size; bits > Long.SIZE; bits = wordsOf(bits)) {
+            depth++;
+        }
+        this.levels = new long[depth][];
+        long bits = size;
+        for (int level = 0; level < depth; level++) {
+            levels[level] = new long[(int) wordsOf(bits)];
+            bits = wordsOf(bits);
+        }
+    }
+
+    /** @param size number of bits */
+    public static OccupancyBitmap of(int size) {
+        return new OccupancyBitmap(size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean get(int index) {
+        return (levels[0][index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void set(int index) {
+        final long[][] levels = this.levels;
+        for (int level = 0; level < levels.length; level++) {
+            final long[] words = levels[level];
+            final int word = index >>> 6;
+            final long old = words[word];
+            words[word] = old | (1L << index);
+            if (old != 0) {
+                // Summary bits above are already set
+                return;
+            }
+            index = word;
+        }
+    }
+
+    public void clear(int index) {
+        final long[][] levels = this.levels;
+        for (int level = 0; level < levels.length; level++) {
+            final long[] words = levels[level];
+            final int word = index >>> 6;
+            final long remaining = words[word] & ~(1L << index);
+            words[word] = remaining;
+            if (remaining != 0) {
+                // Word is still occupied, summary bits above stay set
+                return;
+            }
+            index = word;
+        }
+    }
+
+    /** @return index of the first set bit at or after the index, or NO_INDEX if there is none */
+    public int nextSetBit(int index) {
+        if (index < 0) {
+            index = 0;
+        }
+        if (index >= size) {
+            return NO_INDEX;
+        }
+        final long[][] levels = this.levels;
+        for (int level = 0; level < levels.length; level++) {
+            final long[] words = levels[level];
+            final int word = index >>> 6;
+            final long bits = words[word] & (-1L << index);
+            if (bits != 0) {
+                return descendToFirst(level, (word << 6) + Long.numberOfTrailingZeros(bits));
+            }
+            index = word + 1;
+            if (index >= words.length) {
+                return NO_INDEX;
+            }
+        }
+        return NO_INDEX;
+    }
+
+    /** @return index of the last set bit at or before the index, or NO_INDEX if there is none */
+    public int previousSetBit(int index) {
+        if (index >= size) {
+            index = size - 1;
+        }
+        if (index < 0) {
+            return NO_INDEX;
+        }
+        final long[][] levels = this.levels;
+        for (int level = 0; level < levels.length; level++) {
+            final int word = index >>> 6;
+            final long bits = levels[level][word] & (-1L >>> (63 - (index & 63)));
+            if (bits != 0) {
+                return descendToLast(level, (word << 6) + 63 - Long.numberOfLeadingZeros(bits));
+            }
+            index = word - 1;
+            if (index < 0) {
+                return NO_INDEX;
+            }
+        }
+        return NO_INDEX;
+    }
+
+    /** @return first set bit under the set summary bit of the level */
+    private int descendToFirst(int level, int index) {
+        for (int below = level - 1; below >= 0; below--) {
+            index = (index << 6) + Long.numberOfTrailingZeros(levels[below][index]);
+        }
+        return index;
+    }
+
+    /** @return last set bit under the set summary bit of the level */
+    private int descendToLast(int level, int index) {
+        for (int below = level - 1; below >= 0; below--) {
+            index = (index << 6) + 63 - Long.numberOfLeadingZeros(levels[below][index]);
+        }
+        return index;
+    }
+
+    public void clear() {
+        for (long[] words : levels) {
+            Arrays.fill(words, 0L);
+        }
+    }
+
+    private static long wordsOf(long bits) {
+        return (bits + Long.SIZE - 1) >>> 6;
+    }
+}
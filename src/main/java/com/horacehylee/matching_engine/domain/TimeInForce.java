@@ -0,0 +1,10 @@
+package com.horacehylee.matching_engine.domain;
+
+public enum TimeInForce {
+    /** Rest whatever is not filled on arrival */
+    GOOD_TILL_CANCEL,
+    /** Fill as much as possible on arrival, then drop the rest */
+    IMMEDIATE_OR_CANCEL,
+    /** Fill the whole quantity on arrival, or reject the order */
+    FILL_OR_KILL
+}
@@ -0,0 +1,38 @@
+package com.horacehylee.matching_engine.engine;
+
+import com.horacehylee.matching_engine.collection.ILongObjectMap;
+import com.horacehylee.matching_engine.collection.LongObjectHashMap;
+
+/**
+ * Explicit shard of each instrument, e.g. to give the busiest instruments a matcher thread of
+ * their own. Instruments without an assignment fall back to another policy.
+ */
+public class FixedShardingPolicy implements IShardingPolicy {
+    private final ILongObjectMap<Integer> shards = LongObjectHashMap.of();
+    private final IShardingPolicy fallback;
+
+    public FixedShardingPolicy(IShardingPolicy fallback) {
+        this.fallback = fallback;
+    }
+
+    public FixedShardingPolicy assign(long instrumentId, int shard) {
+        if (shard < 0) {
+            throw new IllegalArgumentException("Shard must not be negative: " + shard);
+        }
+        shards.put(instrumentId, shard);
+        return this;
+    }
+
+    @Override
+    public int shardOf(long instrumentId, int shardCount) {
+        final Integer shard = shards.get(instrumentId);
+        if (shard == null) {
+            return fallback.shardOf(instrumentId, shardCount);
+        }
+        if (shard >= shardCount) {
+            throw new IllegalStateException(
+                    "Instrument " + instrumentId + " is assigned to unknown shard " + shard);
+        }
+        return shard;
+    }
+}
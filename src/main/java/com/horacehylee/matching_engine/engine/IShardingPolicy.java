@@ -0,0 +1,13 @@
+package com.horacehylee.matching_engine.engine;
+
+/** Decides which matcher thread owns the order book of an instrument */
+public interface IShardingPolicy {
+
+    /**
+     * Get shard of instrument, must always give the same shard for the same instrument
+     * @param instrumentId to be assigned
+     * @param shardCount number of shards
+     * @return shard index from 0 until shard count
+     */
+    int shardOf(long instrumentId, int shardCount);
+}
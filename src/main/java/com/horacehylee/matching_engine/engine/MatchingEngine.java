@@ -0,0 +1,258 @@
+package com.horacehylee.matching_engine.engine;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+import com.horacehylee.matching_engine.metrics.MeteredOrderBook;
+import com.horacehylee.matching_engine.metrics.OrderBookMetrics;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OffHeapOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.sequencer.CommandSequencer;
+import com.horacehylee.matching_engine.sequencer.IWaitStrategy;
+import com.horacehylee.matching_engine.sequencer.YieldingWaitStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Order books of many instruments, sharded over matcher threads. Each shard owns its books
+ * exclusively behind its own {@link CommandSequencer}, so commands of different shards never
+ * contend and no book needs locking. Commands are routed by instrument id, and commands of the
+ * same instrument are processed in submission order of each producer.
+ */
+public class MatchingEngine implements AutoCloseable {
+    private final IShardingPolicy shardingPolicy;
+    private final OrderBookShard[] shards;
+    private final CommandSequencer[] sequencers;
+
+    private MatchingEngine(Builder builder) {
+        if (builder.shardCount <= 0) {
+            throw new IllegalArgumentException(
+                    "Shard count must be positive: " + builder.shardCount);
+        }
+        this.shardingPolicy = builder.shardingPolicy;
+        this.shards = new OrderBookShard[builder.shardCount];
+        this.sequencers = new CommandSequencer[builder.shardCount];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new OrderBookShard();
+            sequencers[i] =
+                    CommandSequencer.of(
+                            builder.ringCapacity,
+                            builder.waitStrategy,
+                            shards[i],
+                            builder.threadFactory.apply(i));
+        }
+        for (long instrumentId : builder.instrumentIds) {
+            final OrderBookShard shard = shards[shardOf(instrumentId)];
+            if (shard.getOrderBook(instrumentId) != null) {
+                throw new IllegalArgumentException("Duplicate instrument id: " + instrumentId);
+            }
+            shard.addOrderBook(
+                    instrumentId,
+                    createOrderBook(
+                            builder.orderBookConfig,
+                            builder.listenerFactory.apply(instrumentId),
+                            builder.metricsFactory == null
+                                    ? null
+                                    : builder.metricsFactory.apply(instrumentId)));
+        }
+    }
+
+    /** @param metrics to record commands of the book into, or null to leave it unmetered */
+    private static IOrderBook createOrderBook(
+            OrderBookConfig config, IOrderBookListener listener, OrderBookMetrics metrics) {
+        if (metrics != null) {
+            return MeteredOrderBook.of(
+                    meteredListener -> createOrderBook(config, meteredListener, null),
+                    listener,
+                    metrics);
+        }
+        switch (config.getOrderStoreType()) {
+            case HEAP:
+                return OrderBookImpl.of(config, listener);
+            case OFF_HEAP:
+                return OffHeapOrderBook.of(config, listener);
+            default:
+                throw new IllegalArgumentException(
+                        "Unexpected order store type: " + config.getOrderStoreType());
+        }
+    }
+
+    public MatchingEngine start() {
+        for (CommandSequencer sequencer : sequencers) {
+            sequencer.start();
+        }
+        return this;
+    }
+
+    /** @return sequence of the command within the shard of the instrument */
+    public long addOrder(long instrumentId, Order order) {
+        return sequencerOf(instrumentId).addOrder(instrumentId, order);
+    }
+
+    /** @return sequence of the command within the shard of the instrument */
+    public long cancelOrder(long instrumentId, long orderId) {
+        return sequencerOf(instrumentId).cancelOrder(instrumentId, orderId);
+    }
+
+    /** @return sequence of the command within the shard of the instrument */
+    public long changeOrderPrice(long instrumentId, long orderId, long price) {
+        return sequencerOf(instrumentId).changeOrderPrice(instrumentId, orderId, price);
+    }
+
+    /** @return sequence of the command within the shard of the instrument */
+    public long changeOrderQuantity(long instrumentId, long orderId, long quantity) {
+        return sequencerOf(instrumentId).changeOrderQuantity(instrumentId, orderId, quantity);
+    }
+
+    /** Wait until command of the sequence is processed by the shard of the instrument */
+    public void awaitProcessed(long instrumentId, long sequence) {
+        sequencerOf(instrumentId).awaitProcessed(sequence);
+    }
+
+    public int shardOf(long instrumentId) {
+        return shardingPolicy.shardOf(instrumentId, shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /** @return number of order books owned by the shard */
+    public int getOrderBookCount(int shard) {
+        return shards[shard].getOrderBookCount();
+    }
+
+    /**
+     * Get order book of the instrument. Books are owned by their matcher thread, so it is only
+     * safe to read them once the engine is closed.
+     * @return order book, or null if instrument is unknown
+     */
+    public IOrderBook getOrderBook(long instrumentId) {
+        return shards[shardOf(instrumentId)].getOrderBook(instrumentId);
+    }
+
+    /** @return number of commands processed over all shards */
+    public long getProcessedCommands() {
+        long processedCommands = 0;
+        for (OrderBookShard shard : shards) {
+            processedCommands += shard.getProcessedCommands();
+        }
+        return processedCommands;
+    }
+
+    /**
+     * @return number of commands rejected over all shards, including unknown instruments and
+     *     commands their book threw on
+     */
+    public long getRejectedCommands() {
+        long rejectedCommands = 0;
+        for (int i = 0; i < shards.length; i++) {
+            rejectedCommands += shards[i].getRejectedCommands();
+            rejectedCommands += sequencers[i].getFailedCommands();
+        }
+        return rejectedCommands;
+    }
+
+    /** Stop all matcher threads once every command submitted so far is processed */
+    @Override
+    public void close() throws InterruptedException {
+        for (CommandSequencer sequencer : sequencers) {
+            sequencer.close();
+        }
+    }
+
+    private CommandSequencer sequencerOf(long instrumentId) {
+        return sequencers[shardOf(instrumentId)];
+    }
+
+    public static final class Builder {
+        private int shardCount = 1;
+        private IShardingPolicy shardingPolicy = new ModuloShardingPolicy();
+        private int ringCapacity = 1 << 16;
+        private IWaitStrategy waitStrategy = new YieldingWaitStrategy();
+        private OrderBookConfig orderBookConfig = OrderBookConfig.defaults();
+        private LongFunction<IOrderBookListener> listenerFactory =
+                instrumentId -> IOrderBookListener.NO_OP;
+        private LongFunction<OrderBookMetrics> metricsFactory;
+        private IntFunction<ThreadFactory> threadFactory =
+                shard -> r -> new Thread(r, "matcher-" + shard);
+        private final List<Long> instrumentIds = new ArrayList<>();
+
+        private Builder() {}
+
+        public static Builder aMatchingEngine() {
+            return new Builder();
+        }
+
+        public Builder withShardCount(int shardCount) {
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        public Builder withShardingPolicy(IShardingPolicy shardingPolicy) {
+            this.shardingPolicy = shardingPolicy;
+            return this;
+        }
+
+        /** @param ringCapacity number of commands queued per shard, power of two */
+        public Builder withRingCapacity(int ringCapacity) {
+            this.ringCapacity = ringCapacity;
+            return this;
+        }
+
+        public Builder withWaitStrategy(IWaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        public Builder withOrderBookConfig(OrderBookConfig orderBookConfig) {
+            this.orderBookConfig = orderBookConfig;
+            return this;
+        }
+
+        /** @param listenerFactory to create listener of the order book of an instrument */
+        public Builder withListenerFactory(LongFunction<IOrderBookListener> listenerFactory) {
+            this.listenerFactory = listenerFactory;
+            return this;
+        }
+
+        /**
+         * @param metricsFactory to create metrics the order book of an instrument records its
+         *     commands into. Books are not metered unless it is given.
+         */
+        public Builder withMetricsFactory(LongFunction<OrderBookMetrics> metricsFactory) {
+            this.metricsFactory = metricsFactory;
+            return this;
+        }
+
+        /**
+         * @param threadFactory to create factory of the matcher thread of a shard, which is where
+         *     to pin the thread to a core through an affinity library
+         */
+        public Builder withThreadFactory(IntFunction<ThreadFactory> threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        public Builder withInstrument(long instrumentId) {
+            instrumentIds.add(instrumentId);
+            return this;
+        }
+
+        public Builder withInstruments(long... instrumentIds) {
+            for (long instrumentId : instrumentIds) {
+                withInstrument(instrumentId);
+            }
+            return this;
+        }
+
+        public MatchingEngine build() {
+            return new MatchingEngine(this);
+        }
+    }
+}
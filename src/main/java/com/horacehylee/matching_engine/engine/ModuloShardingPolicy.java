@@ -0,0 +1,10 @@
+package com.horacehylee.matching_engine.engine;
+
+/** Spread instruments over shards by instrument id, suiting densely numbered instruments */
+public class ModuloShardingPolicy implements IShardingPolicy {
+
+    @Override
+    public int shardOf(long instrumentId, int shardCount) {
+        return (int) Math.floorMod(instrumentId, (long) shardCount);
+    }
+}
@@ -0,0 +1,48 @@
+package com.horacehylee.matching_engine.engine;
+
+import com.horacehylee.matching_engine.collection.ILongObjectMap;
+import com.horacehylee.matching_engine.collection.LongObjectHashMap;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.sequencer.Command;
+import com.horacehylee.matching_engine.sequencer.ICommandHandler;
+import com.horacehylee.matching_engine.sequencer.OrderBookCommandHandler;
+
+/**
+ * Order books owned exclusively by one matcher thread. Books are only registered before the
+ * thread starts, so none of them needs locking.
+ */
+class OrderBookShard implements ICommandHandler {
+    private final ILongObjectMap<IOrderBook> orderBooks = LongObjectHashMap.of();
+
+    private volatile long processedCommands = 0;
+    private volatile long rejectedCommands = 0;
+
+    void addOrderBook(long instrumentId, IOrderBook orderBook) {
+        orderBooks.put(instrumentId, orderBook);
+    }
+
+    IOrderBook getOrderBook(long instrumentId) {
+        return orderBooks.get(instrumentId);
+    }
+
+    @Override
+    public void onCommand(long sequence, Command command) {
+        final IOrderBook orderBook = orderBooks.get(command.getInstrumentId());
+        if (orderBook == null || !OrderBookCommandHandler.apply(orderBook, command)) {
+            rejectedCommands++;
+        }
+        processedCommands++;
+    }
+
+    int getOrderBookCount() {
+        return orderBooks.size();
+    }
+
+    long getProcessedCommands() {
+        return processedCommands;
+    }
+
+    long getRejectedCommands() {
+        return rejectedCommands;
+    }
+}
@@ -0,0 +1,162 @@
+package com.horacehylee.matching_engine.event;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Preallocated single producer ring buffer of order book events, broadcasting to any number of
+ * {@link EventSubscriber}s polling on their own threads.
+ *
+ * <p>Each event is a fixed layout slot of longs in one array. The producer never waits for
+ * subscribers: it overwrites the oldest slot once the ring wraps, and guards every slot with its
+ * sequence like a seqlock, so a subscriber falling a full ring behind detects the overrun instead
+ * of reading torn events. Size the ring to cover the longest expected subscriber stall.
+ */
+public class EventRingBuffer implements IOrderBookListener {
+
+    static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle CURSOR;
+
+    static {
+        try {
+            CURSOR =
+                    MethodHandles.lookup()
+                            .findVarHandle(EventRingBuffer.class, "cursor", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Number of longs per event slot, one cache line */
+    static final int SLOT_LONGS = 8;
+
+    static final int SEQUENCE = 0;
+    /** Event type ordinal in the low byte, side code in the next two bytes */
+    static final int HEADER = 1;
+    static final int ORDER_ID = 2;
+    static final int MAKER_ORDER_ID = 3;
+    static final int PRICE = 4;
+    /** Quantity, remaining quantity of cancel, or volume of level change */
+    static final int QUANTITY = 5;
+    /** Filled quantity of amend, or order count of level change */
+    static final int VALUE = 6;
+
+    /** Sequence of a slot being written */
+    static final long WRITING = -1L;
+
+    private final long[] slots;
+    private final int mask;
+
+    private long nextSequence = 0;
+
+    /** Sequence of last published event */
+    @SuppressWarnings("unused")
+    private volatile long cursor = -1L;
+
+    private EventRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new long[capacity * SLOT_LONGS];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i * SLOT_LONGS + SEQUENCE] = WRITING;
+        }
+    }
+
+    /** @param capacity number of events kept, power of two */
+    public static EventRingBuffer of(int capacity) {
+        return new EventRingBuffer(capacity);
+    }
+
+    /** Create subscriber starting from the next published event */
+    public EventSubscriber newSubscriber() {
+        return new EventSubscriber(this, getCursor() + 1);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /** @return sequence of last published event, or -1 if none is published */
+    public long getCursor() {
+        return (long) CURSOR.getAcquire(this);
+    }
+
+    long[] getSlots() {
+        return slots;
+    }
+
+    int offsetOf(long sequence) {
+        return (int) (sequence & mask) * SLOT_LONGS;
+    }
+
+    @Override
+    public void onAccept(long orderId, Side side, long price, long quantity) {
+        final long sequence = nextSequence++;
+        final int offset = claim(sequence, EventType.ACCEPT, side);
+        slots[offset + ORDER_ID] = orderId;
+        slots[offset + PRICE] = price;
+        slots[offset + QUANTITY] = quantity;
+        publish(offset, sequence);
+    }
+
+    @Override
+    public void onTrade(
+            long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {
+        final long sequence = nextSequence++;
+        final int offset = claim(sequence, EventType.TRADE, takerSide);
+        slots[offset + ORDER_ID] = takerOrderId;
+        slots[offset + MAKER_ORDER_ID] = makerOrderId;
+        slots[offset + PRICE] = price;
+        slots[offset + QUANTITY] = quantity;
+        publish(offset, sequence);
+    }
+
+    @Override
+    public void onCancel(long orderId, Side side, long price, long remainingQuantity) {
+        final long sequence = nextSequence++;
+        final int offset = claim(sequence, EventType.CANCEL, side);
+        slots[offset + ORDER_ID] = orderId;
+        slots[offset + PRICE] = price;
+        slots[offset + QUANTITY] = remainingQuantity;
+        publish(offset, sequence);
+    }
+
+    @Override
+    public void onAmend(long orderId, Side side, long price, long quantity, long filled) {
+        final long sequence = nextSequence++;
+        final int offset = claim(sequence, EventType.AMEND, side);
+        slots[offset + ORDER_ID] = orderId;
+        slots[offset + PRICE] = price;
+        slots[offset + QUANTITY] = quantity;
+        slots[offset + VALUE] = filled;
+        publish(offset, sequence);
+    }
+
+    @Override
+    public void onLevelChange(Side side, long price, long volume, int orderCount) {
+        final long sequence = nextSequence++;
+        final int offset = claim(sequence, EventType.LEVEL_CHANGE, side);
+        slots[offset + PRICE] = price;
+        slots[offset + QUANTITY] = volume;
+        slots[offset + VALUE] = orderCount;
+        publish(offset, sequence);
+    }
+
+    private int claim(long sequence, EventType type, Side side) {
+        final int offset = offsetOf(sequence);
+        SLOTS.setOpaque(slots, offset + SEQUENCE, WRITING);
+        // Subscribers must observe the slot as being written before any field changes
+        VarHandle.storeStoreFence();
+        slots[offset + HEADER] = type.ordinal() | ((long) side.getCode() << 8);
+        return offset;
+    }
+
+    private void publish(int offset, long sequence) {
+        SLOTS.setRelease(slots, offset + SEQUENCE, sequence);
+        CURSOR.setRelease(this, sequence);
+    }
+}
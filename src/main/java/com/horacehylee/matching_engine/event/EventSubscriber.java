@@ -0,0 +1,120 @@
+package com.horacehylee.matching_engine.event;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.lang.invoke.VarHandle;
+
+import static com.horacehylee.matching_engine.event.EventRingBuffer.HEADER;
+import static com.horacehylee.matching_engine.event.EventRingBuffer.MAKER_ORDER_ID;
+import static com.horacehylee.matching_engine.event.EventRingBuffer.ORDER_ID;
+import static com.horacehylee.matching_engine.event.EventRingBuffer.PRICE;
+import static com.horacehylee.matching_engine.event.EventRingBuffer.QUANTITY;
+import static com.horacehylee.matching_engine.event.EventRingBuffer.SEQUENCE;
+import static com.horacehylee.matching_engine.event.EventRingBuffer.SLOTS;
+import static com.horacehylee.matching_engine.event.EventRingBuffer.VALUE;
+
+/**
+ * Reads events of an {@link EventRingBuffer} in sequence order. Each subscriber is owned by a
+ * single consumer thread.
+ */
+public class EventSubscriber {
+    private final EventRingBuffer ringBuffer;
+    private final long[] slots;
+    private final int capacity;
+
+    private long nextSequence;
+    private long lostEvents = 0;
+
+    EventSubscriber(EventRingBuffer ringBuffer, long nextSequence) {
+        this.ringBuffer = ringBuffer;
+        this.slots = ringBuffer.getSlots();
+        this.capacity = ringBuffer.getCapacity();
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Dispatch published events to the listener on the calling thread
+     * @param listener to receive events
+     * @param limit maximum number of events to dispatch
+     * @return number of events dispatched
+     */
+    public int poll(IOrderBookListener listener, int limit) {
+        final long cursor = ringBuffer.getCursor();
+        int count = 0;
+        while (count < limit && nextSequence <= cursor) {
+            if (cursor - nextSequence >= capacity) {
+                skipOverrun(cursor);
+                continue;
+            }
+            final long sequence = nextSequence;
+            final int offset = ringBuffer.offsetOf(sequence);
+            if ((long) SLOTS.getAcquire(slots, offset + SEQUENCE) != sequence) {
+                skipOverrun(ringBuffer.getCursor());
+                continue;
+            }
+            final long header = slots[offset + HEADER];
+            final long orderId = slots[offset + ORDER_ID];
+            final long makerOrderId = slots[offset + MAKER_ORDER_ID];
+            final long price = slots[offset + PRICE];
+            final long quantity = slots[offset + QUANTITY];
+            final long value = slots[offset + VALUE];
+            // Fields must be read before checking the slot was not overwritten meanwhile
+            VarHandle.loadLoadFence();
+            if ((long) SLOTS.getOpaque(slots, offset + SEQUENCE) != sequence) {
+                skipOverrun(ringBuffer.getCursor());
+                continue;
+            }
+            nextSequence++;
+            count++;
+            dispatch(listener, header, orderId, makerOrderId, price, quantity, value);
+        }
+        return count;
+    }
+
+    /** @return sequence of next event to be read */
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    /** @return number of events overwritten before they could be read */
+    public long getLostEvents() {
+        return lostEvents;
+    }
+
+    /** Jump to the oldest event still held by the ring */
+    private void skipOverrun(long cursor) {
+        final long oldestSequence = Math.max(nextSequence + 1, cursor - capacity + 1);
+        lostEvents += oldestSequence - nextSequence;
+        nextSequence = oldestSequence;
+    }
+
+    private static void dispatch(
+            IOrderBookListener listener,
+            long header,
+            long orderId,
+            long makerOrderId,
+            long price,
+            long quantity,
+            long value) {
+        final Side side = Side.of((char) (header >>> 8));
+        switch (EventType.of((int) (header & 0xFF))) {
+            case ACCEPT:
+                listener.onAccept(orderId, side, price, quantity);
+                break;
+            case TRADE:
+                listener.onTrade(orderId, makerOrderId, side, price, quantity);
+                break;
+            case CANCEL:
+                listener.onCancel(orderId, side, price, quantity);
+                break;
+            case AMEND:
+                listener.onAmend(orderId, side, price, quantity, value);
+                break;
+            case LEVEL_CHANGE:
+                listener.onLevelChange(side, price, quantity, (int) value);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected event header: " + header);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.horacehylee.matching_engine.event;
+
+public enum EventType {
+    ACCEPT,
+    TRADE,
+    CANCEL,
+    AMEND,
+    LEVEL_CHANGE;
+
+    private static final EventType[] VALUES = values();
+
+    public static EventType of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,35 @@
+package com.horacehylee.matching_engine.event;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+/**
+ * Receives events of the order book as they happen. Invoked on the matching thread, so
+ * implementations must not block or allocate; use {@link EventRingBuffer} to hand events over to
+ * other threads.
+ */
+public interface IOrderBookListener {
+
+    IOrderBookListener NO_OP = new IOrderBookListener() {};
+
+    /** Order is accepted by the book, before it is matched */
+    default void onAccept(long orderId, Side side, long price, long quantity) {}
+
+    /**
+     * Aggressive order traded with a resting order
+     * @param price of the resting order
+     */
+    default void onTrade(
+            long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {}
+
+    /** Resting order is cancelled with its remaining quantity */
+    default void onCancel(long orderId, Side side, long price, long remainingQuantity) {}
+
+    /**
+     * Price or quantity of resting order is changed. Order is removed from the book once quantity
+     * is not more than filled quantity.
+     */
+    default void onAmend(long orderId, Side side, long price, long quantity, long filled) {}
+
+    /** Volume or order count of a price level is changed, level is removed once volume is zero */
+    default void onLevelChange(Side side, long price, long volume, int orderCount) {}
+}
@@ -0,0 +1,110 @@
+package com.horacehylee.matching_engine.gateway;
+
+public class GatewayConfig {
+    private final String host;
+    private final int port;
+    private final int receiveBufferSize;
+    private final int sendBufferSize;
+    private final int batchCapacity;
+
+    private GatewayConfig(
+            String host, int port, int receiveBufferSize, int sendBufferSize, int batchCapacity) {
+        this.host = host;
+        this.port = port;
+        this.receiveBufferSize = receiveBufferSize;
+        this.sendBufferSize = sendBufferSize;
+        this.batchCapacity = batchCapacity;
+    }
+
+    public static GatewayConfig defaults() {
+        return Builder.aConfig().build();
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    /** @return port to listen on, or 0 for any free port */
+    public int getPort() {
+        return port;
+    }
+
+    /** @return bytes of the receive buffer of a session, bounding the largest frame */
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    /**
+     * @return bytes of each of the two send buffers of a session. A session whose events outgrow
+     *     it is disconnected as a slow consumer.
+     */
+    public int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    /** @return maximum number of commands applied to the book at once */
+    public int getBatchCapacity() {
+        return batchCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "GatewayConfig{"
+                + "host='"
+                + host
+                + '\''
+                + ", port="
+                + port
+                + ", receiveBufferSize="
+                + receiveBufferSize
+                + ", sendBufferSize="
+                + sendBufferSize
+                + ", batchCapacity="
+                + batchCapacity
+                + '}';
+    }
+
+    public static final class Builder {
+        private String host = "127.0.0.1";
+        private int port = 0;
+        private int receiveBufferSize = 1 << 16;
+        private int sendBufferSize = 1 << 18;
+        private int batchCapacity = 256;
+
+        private Builder() {}
+
+        public static Builder aConfig() {
+            return new Builder();
+        }
+
+        public Builder withHost(String host) {
+            this.host = host;
+            return this;
+        }
+
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder withReceiveBufferSize(int receiveBufferSize) {
+            this.receiveBufferSize = receiveBufferSize;
+            return this;
+        }
+
+        public Builder withSendBufferSize(int sendBufferSize) {
+            this.sendBufferSize = sendBufferSize;
+            return this;
+        }
+
+        public Builder withBatchCapacity(int batchCapacity) {
+            this.batchCapacity = batchCapacity;
+            return this;
+        }
+
+        public GatewayConfig build() {
+            return new GatewayConfig(
+                    host, port, receiveBufferSize, sendBufferSize, batchCapacity);
+        }
+    }
+}
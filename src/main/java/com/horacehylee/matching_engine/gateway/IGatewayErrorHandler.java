@@ -0,0 +1,30 @@
+package com.horacehylee.matching_engine.gateway;
+
+/**
+ * Receives failures of the gateway thread other than broken connections and malformed frames,
+ * which only close their session. Invoked on the gateway thread.
+ */
+public interface IGatewayErrorHandler {
+
+    /** Print failures to standard error */
+    IGatewayErrorHandler STDERR =
+            new IGatewayErrorHandler() {
+                @Override
+                public void onSessionError(int sessionId, Throwable error) {
+                    System.err.println("Gateway session " + sessionId + " failed, closing it");
+                    error.printStackTrace();
+                }
+
+                @Override
+                public void onGatewayError(Throwable error) {
+                    System.err.println("Gateway failed, stopping it");
+                    error.printStackTrace();
+                }
+            };
+
+    /** Handling commands or events of the session failed, and the session is closed */
+    void onSessionError(int sessionId, Throwable error);
+
+    /** Selector failed, and the gateway thread stops */
+    void onGatewayError(Throwable error);
+}
@@ -0,0 +1,196 @@
+package com.horacehylee.matching_engine.gateway;
+
+import com.horacehylee.matching_engine.codec.AckMessage;
+import com.horacehylee.matching_engine.codec.CancelOrderMessage;
+import com.horacehylee.matching_engine.codec.FillMessage;
+import com.horacehylee.matching_engine.codec.MessageHeader;
+import com.horacehylee.matching_engine.codec.NewOrderMessage;
+import com.horacehylee.matching_engine.codec.RejectMessage;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.metrics.LatencyHistogram;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+
+/**
+ * Load generating client of {@link OrderGateway}. Each round sends one frame of new orders around
+ * a fixed mid price, every other one followed by a cancel of an older order, and waits for an ack
+ * or reject of every command. Round trip time of each frame is recorded from send to last answer.
+ */
+public class LoadClient implements AutoCloseable {
+    private static final long MID_PRICE = 10_000L;
+
+    private final SocketChannel channel;
+    private final ByteBuffer sendBuffer;
+    private final ByteBuffer receiveBuffer;
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderMessage newOrder = new NewOrderMessage();
+    private final CancelOrderMessage cancelOrder = new CancelOrderMessage();
+    private final Random random;
+
+    private long nextOrderId;
+    private long fills;
+    private long rejects;
+
+    private LoadClient(SocketChannel channel, long firstOrderId, long seed) {
+        this.channel = channel;
+        this.sendBuffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        this.receiveBuffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        this.random = new Random(seed);
+        this.nextOrderId = firstOrderId;
+    }
+
+    /**
+     * Connect to the gateway
+     * @param firstOrderId of the orders of this client, apart from those of other clients
+     * @param seed of the order flow
+     */
+    public static LoadClient connect(InetSocketAddress address, long firstOrderId, long seed)
+            throws IOException {
+        final SocketChannel channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return new LoadClient(channel, firstOrderId, seed);
+    }
+
+    /** Usage: {@code LoadClient [rounds] [ordersPerFrame] [host:port]} */
+    public static void main(String[] args) throws Exception {
+        final int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final int ordersPerFrame = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        if (args.length > 2) {
+            final String[] hostPort = args[2].split(":");
+            final InetSocketAddress address =
+                    new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1]));
+            System.out.println(run(address, rounds, ordersPerFrame));
+            return;
+        }
+        // Without an address, measure against a gateway of this process over loopback
+        try (OrderGateway gateway =
+                OrderGateway.of(OrderBookConfig.defaults(), GatewayConfig.defaults()).start()) {
+            final InetSocketAddress address =
+                    new InetSocketAddress(GatewayConfig.defaults().getHost(), gateway.getPort());
+            System.out.println(run(address, rounds, ordersPerFrame));
+        }
+    }
+
+    /**
+     * Warm up with as many rounds as measured, then measure
+     * @return round trip times in nanoseconds of the measured rounds
+     */
+    public static LatencyHistogram run(InetSocketAddress address, int rounds, int ordersPerFrame)
+            throws IOException {
+        try (LoadClient client = connect(address, 1L, 42L)) {
+            final LatencyHistogram latency = new LatencyHistogram();
+            client.run(rounds, ordersPerFrame, latency);
+            latency.reset();
+            client.run(rounds, ordersPerFrame, latency);
+            return latency;
+        }
+    }
+
+    /** Send rounds one after the other, recording their round trip time in nanoseconds */
+    public void run(int rounds, int ordersPerFrame, LatencyHistogram latency) throws IOException {
+        for (int round = 0; round < rounds; round++) {
+            final int commands = encodeFrame(ordersPerFrame);
+            final long start = System.nanoTime();
+            sendBuffer.flip();
+            while (sendBuffer.hasRemaining()) {
+                channel.write(sendBuffer);
+            }
+            awaitAnswers(commands);
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /** @return number of commands in the frame */
+    private int encodeFrame(int ordersPerFrame) {
+        final ByteBuffer buffer = sendBuffer;
+        buffer.clear();
+        int position = OrderGateway.FRAME_HEADER_LENGTH;
+        int commands = 0;
+        for (int i = 0; i < ordersPerFrame; i++) {
+            final long orderId = nextOrderId++;
+            final Side side = random.nextBoolean() ? Side.BID : Side.ASK;
+            // Mostly resting a few ticks away, sometimes crossing the spread
+            final long offset = random.nextInt(10) - 2;
+            final long price = side == Side.BID ? MID_PRICE - offset : MID_PRICE + offset;
+            position += newOrder.wrapAndApplyHeader(buffer, position, header);
+            newOrder.setOrderId(orderId)
+                    .setPrice(price)
+                    .setQuantity(1L + random.nextInt(10))
+                    .setSide(side);
+            commands++;
+            if ((orderId & 1) == 0) {
+                position += cancelOrder.wrapAndApplyHeader(buffer, position, header);
+                cancelOrder.setOrderId(orderId - 1 - random.nextInt(10));
+                commands++;
+            }
+        }
+        buffer.putInt(0, position - OrderGateway.FRAME_HEADER_LENGTH);
+        buffer.position(position);
+        return commands;
+    }
+
+    /** Read frames until every command is answered, counting fills on the way */
+    private void awaitAnswers(int commands) throws IOException {
+        final ByteBuffer buffer = receiveBuffer;
+        int answers = 0;
+        while (answers < commands) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Gateway closed the connection");
+            }
+            final int limit = buffer.position();
+            int position = 0;
+            while (limit - position >= OrderGateway.FRAME_HEADER_LENGTH) {
+                final int frameEnd =
+                        position + OrderGateway.FRAME_HEADER_LENGTH + buffer.getInt(position);
+                if (frameEnd > limit) {
+                    break;
+                }
+                position += OrderGateway.FRAME_HEADER_LENGTH;
+                while (position < frameEnd) {
+                    header.wrap(buffer, position);
+                    switch (header.getTemplateId()) {
+                        case AckMessage.TEMPLATE_ID:
+                            answers++;
+                            break;
+                        case RejectMessage.TEMPLATE_ID:
+                            answers++;
+                            rejects++;
+                            break;
+                        case FillMessage.TEMPLATE_ID:
+                            fills++;
+                            break;
+                        default:
+                            throw new IOException(
+                                    "Unexpected template id: " + header.getTemplateId());
+                    }
+                    position += header.getMessageLength();
+                }
+            }
+            buffer.limit(limit);
+            buffer.position(position);
+            buffer.compact();
+        }
+    }
+
+    /** @return number of fill messages received */
+    public long getFills() {
+        return fills;
+    }
+
+    /** @return number of commands rejected, mostly cancels of orders already filled */
+    public long getRejects() {
+        return rejects;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
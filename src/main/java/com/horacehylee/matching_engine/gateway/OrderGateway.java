@@ -0,0 +1,403 @@
+package com.horacehylee.matching_engine.gateway;
+
+import com.horacehylee.matching_engine.codec.AckMessage;
+import com.horacehylee.matching_engine.codec.CommandDecoder;
+import com.horacehylee.matching_engine.codec.FillMessage;
+import com.horacehylee.matching_engine.codec.MessageHeader;
+import com.horacehylee.matching_engine.codec.RejectMessage;
+import com.horacehylee.matching_engine.codec.exception.MalformedFrameException;
+import com.horacehylee.matching_engine.collection.LongIntHashMap;
+import com.horacehylee.matching_engine.collection.LongObjectHashMap;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+import com.horacehylee.matching_engine.orderbook.CommandBatch;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * Non blocking TCP order entry in front of one order book. A single thread runs the selector loop
+ * and is the only writer of the book, so no command crosses threads or queues.
+ *
+ * <p>Both directions carry frames of a little endian int length followed by that many bytes of
+ * codec messages. Every complete frame of a read is decoded into one {@link CommandBatch} and
+ * applied at once. Each command is answered with an ack or a reject, after the fills it caused.
+ * Fills also go to the session owning the resting order. Pending events of a session are written
+ * as one frame once all ready sessions are read.
+ *
+ * <p>An amend of both price and quantity is applied as two commands, and answered with two acks.
+ * Sessions are trusted to only cancel and amend their own orders. Resting orders of a closed
+ * session stay in the book.
+ *
+ * <p>A session sending a malformed frame is closed without an answer. Any other failure while
+ * serving a session also closes it, and is reported to the {@link IGatewayErrorHandler}, so that
+ * one session never stops the gateway thread.
+ */
+public class OrderGateway implements IOrderBookListener, AutoCloseable {
+    public static final int FRAME_HEADER_LENGTH = 4;
+
+    private static final int FILL_LENGTH = MessageHeader.ENCODED_LENGTH + FillMessage.BLOCK_LENGTH;
+    private static final int RESULT_LENGTH =
+            MessageHeader.ENCODED_LENGTH
+                    + Math.max(AckMessage.BLOCK_LENGTH, RejectMessage.BLOCK_LENGTH);
+
+    private final GatewayConfig config;
+    private final IGatewayErrorHandler errorHandler;
+    private final IOrderBook orderBook;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private final Consumer<SelectionKey> selectedKeyHandler = this::onSelected;
+
+    private final CommandDecoder decoder = new CommandDecoder();
+    private final CommandBatch batch;
+    private final int[] results;
+
+    private final LongObjectHashMap<Session> sessions = LongObjectHashMap.of();
+    /** Session id of each resting order */
+    private final LongIntHashMap owners;
+
+    /** Sessions with events to flush after the current select */
+    private Session[] dirtySessions = new Session[16];
+    private int dirtySessionCount;
+    /** Resting orders traded by the current batch, some of which may have left the book */
+    private long[] tradedMakers = new long[64];
+    private int tradedMakerCount;
+
+    /** Session whose batch is being applied */
+    private Session current;
+    private int nextSessionId;
+
+    private volatile boolean running = true;
+
+    private OrderGateway(
+            OrderBookConfig orderBookConfig,
+            GatewayConfig config,
+            ThreadFactory threadFactory,
+            IGatewayErrorHandler errorHandler)
+            throws IOException {
+        this.config = config;
+        this.errorHandler = errorHandler;
+        this.orderBook = OrderBookImpl.of(orderBookConfig, this);
+        this.batch = CommandBatch.of(config.getBatchCapacity());
+        this.results = new int[config.getBatchCapacity()];
+        this.owners = LongIntHashMap.of(orderBookConfig.getExpectedOrders());
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(config.getHost(), config.getPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+        this.thread = threadFactory.newThread(this::run);
+    }
+
+    /** Bind the listening socket, leaving the gateway to be started */
+    public static OrderGateway of(OrderBookConfig orderBookConfig, GatewayConfig config)
+            throws IOException {
+        return of(orderBookConfig, config, Thread::new);
+    }
+
+    /** @param threadFactory to create the gateway thread, e.g. to name it or pin it to a core */
+    public static OrderGateway of(
+            OrderBookConfig orderBookConfig, GatewayConfig config, ThreadFactory threadFactory)
+            throws IOException {
+        return of(orderBookConfig, config, threadFactory, IGatewayErrorHandler.STDERR);
+    }
+
+    /** @param errorHandler to be told of failures closing a session or stopping the gateway */
+    public static OrderGateway of(
+            OrderBookConfig orderBookConfig,
+            GatewayConfig config,
+            ThreadFactory threadFactory,
+            IGatewayErrorHandler errorHandler)
+            throws IOException {
+        return new OrderGateway(orderBookConfig, config, threadFactory, errorHandler);
+    }
+
+    /** Usage: {@code OrderGateway [port]} */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final GatewayConfig config =
+                GatewayConfig.Builder.aConfig()
+                        .withHost("0.0.0.0")
+                        .withPort(args.length > 0 ? Integer.parseInt(args[0]) : 7001)
+                        .build();
+        final OrderGateway gateway = of(OrderBookConfig.defaults(), config).start();
+        System.out.println("Listening on port " + gateway.getPort());
+        gateway.thread.join();
+    }
+
+    public OrderGateway start() {
+        thread.start();
+        return this;
+    }
+
+    /** @return port the gateway listens on */
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** @return book of the gateway, only to be read once the gateway is closed */
+    public IOrderBook getOrderBook() {
+        return orderBook;
+    }
+
+    /** Stop the gateway thread and close every connection */
+    @Override
+    public void close() throws InterruptedException, IOException {
+        if (!selector.isOpen()) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        if (thread.isAlive()) {
+            thread.join();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select(selectedKeyHandler);
+                flushDirtySessions();
+            }
+        } catch (IOException | RuntimeException e) {
+            running = false;
+            errorHandler.onGatewayError(e);
+        }
+    }
+
+    private void onSelected(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        final Session session = (Session) key.attachment();
+        try {
+            if (key.isReadable()) {
+                read(session);
+            }
+            if (!session.closed && key.isWritable()) {
+                flush(session);
+            }
+        } catch (IOException | MalformedFrameException e) {
+            // Peer reset or malformed frame, nothing to answer
+            failSession(session);
+        } catch (RuntimeException e) {
+            failSession(session);
+            errorHandler.onSessionError(session.sessionId, e);
+        }
+    }
+
+    /** Drop what is left of the batch of the session, then close it */
+    private void failSession(Session session) {
+        batch.clear();
+        tradedMakerCount = 0;
+        closeSession(session);
+    }
+
+    private void accept() {
+        try {
+            final SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            final Session session = new Session(nextSessionId++, channel, config);
+            session.key = channel.register(selector, SelectionKey.OP_READ, session);
+            sessions.put(session.sessionId, session);
+        } catch (IOException e) {
+            // Connection reset before accepted, listening socket is still fine
+        }
+    }
+
+    /** Read what is available and apply every complete frame in it */
+    private void read(Session session) throws IOException {
+        final ByteBuffer buffer = session.receiveBuffer;
+        if (session.channel.read(buffer) < 0) {
+            closeSession(session);
+            return;
+        }
+        final int limit = buffer.position();
+        int position = 0;
+        while (limit - position >= FRAME_HEADER_LENGTH) {
+            final int frameLength = buffer.getInt(position);
+            if (frameLength < 0 || frameLength > buffer.capacity() - FRAME_HEADER_LENGTH) {
+                throw new MalformedFrameException("Unexpected frame length: " + frameLength);
+            }
+            final int frameEnd = position + FRAME_HEADER_LENGTH + frameLength;
+            if (frameEnd > limit) {
+                break;
+            }
+            decodeFrame(session, buffer, position + FRAME_HEADER_LENGTH, frameEnd);
+            position = frameEnd;
+        }
+        if (batch.size() > 0) {
+            apply(session);
+        }
+        buffer.limit(limit);
+        buffer.position(position);
+        buffer.compact();
+    }
+
+    private void decodeFrame(Session session, ByteBuffer buffer, int position, int frameEnd) {
+        while (position < frameEnd) {
+            position += decoder.decode(buffer, position, frameEnd, batch);
+            if (position < frameEnd) {
+                if (batch.size() == 0) {
+                    throw new MalformedFrameException("Frame ends within a message");
+                }
+                // Batch is full, make room for the rest of the frame
+                apply(session);
+            }
+        }
+    }
+
+    private void apply(Session session) {
+        final CommandBatch batch = this.batch;
+        final int[] results = this.results;
+        current = session;
+        orderBook.tryApply(batch, results);
+
+        for (int i = 0; i < batch.size(); i++) {
+            final long orderId = batch.getOrderId(i);
+            final int templateId = CommandDecoder.getTemplateId(batch.getType(i));
+            if (results[i] == OrderBookResult.SUCCESS) {
+                if (orderBook.containsOrder(orderId)) {
+                    owners.put(orderId, session.sessionId);
+                } else {
+                    owners.remove(orderId);
+                }
+                if (reserve(session, RESULT_LENGTH)) {
+                    session.encoder.onAck(orderId, templateId);
+                }
+            } else if (reserve(session, RESULT_LENGTH)) {
+                session.encoder.onReject(orderId, results[i], templateId);
+            }
+        }
+        for (int i = 0; i < tradedMakerCount; i++) {
+            final long makerOrderId = tradedMakers[i];
+            if (!orderBook.containsOrder(makerOrderId)) {
+                owners.remove(makerOrderId);
+            }
+        }
+        tradedMakerCount = 0;
+        batch.clear();
+    }
+
+    @Override
+    public void onTrade(
+            long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {
+        if (reserve(current, FILL_LENGTH)) {
+            current.encoder.onTrade(takerOrderId, makerOrderId, takerSide, price, quantity);
+        }
+        final int makerSessionId = owners.get(makerOrderId);
+        if (makerSessionId != LongIntHashMap.NO_VALUE && makerSessionId != current.sessionId) {
+            final Session maker = sessions.get(makerSessionId);
+            if (maker != null && reserve(maker, FILL_LENGTH)) {
+                maker.encoder.onTrade(takerOrderId, makerOrderId, takerSide, price, quantity);
+            }
+        }
+        if (tradedMakerCount == tradedMakers.length) {
+            tradedMakers = Arrays.copyOf(tradedMakers, tradedMakerCount << 1);
+        }
+        tradedMakers[tradedMakerCount++] = makerOrderId;
+    }
+
+    /**
+     * Make sure the session has room for an event, or mark it to be closed as a slow consumer
+     * @return whether the event can be encoded
+     */
+    private boolean reserve(Session session, int length) {
+        if (session.closing || session.closed) {
+            return false;
+        }
+        if (session.encoder.getRemaining() < length) {
+            session.closing = true;
+        }
+        if (!session.dirty) {
+            session.dirty = true;
+            if (dirtySessionCount == dirtySessions.length) {
+                dirtySessions = Arrays.copyOf(dirtySessions, dirtySessionCount << 1);
+            }
+            dirtySessions[dirtySessionCount++] = session;
+        }
+        return !session.closing;
+    }
+
+    private void flushDirtySessions() {
+        for (int i = 0; i < dirtySessionCount; i++) {
+            final Session session = dirtySessions[i];
+            dirtySessions[i] = null;
+            session.dirty = false;
+            if (session.closing) {
+                closeSession(session);
+            } else if (!session.closed) {
+                try {
+                    flush(session);
+                } catch (IOException e) {
+                    closeSession(session);
+                } catch (RuntimeException e) {
+                    closeSession(session);
+                    errorHandler.onSessionError(session.sessionId, e);
+                }
+            }
+        }
+        dirtySessionCount = 0;
+    }
+
+    /** Write pending events, waiting for the socket to be writable if they do not fit */
+    private static void flush(Session session) throws IOException {
+        final int interestOps =
+                session.flush()
+                        ? SelectionKey.OP_READ
+                        : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+        if (session.key.interestOps() != interestOps) {
+            session.key.interestOps(interestOps);
+        }
+    }
+
+    private void closeSession(Session session) {
+        if (session.closed) {
+            return;
+        }
+        session.closed = true;
+        sessions.remove(session.sessionId);
+        session.key.cancel();
+        try {
+            session.channel.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+}
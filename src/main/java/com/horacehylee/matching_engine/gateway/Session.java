@@ -0,0 +1,87 @@
+package com.horacehylee.matching_engine.gateway;
+
+import com.horacehylee.matching_engine.codec.EventEncoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Connection of one client to the gateway, owning its direct receive buffer and two send buffers.
+ * Events are encoded into one send buffer while the other is written as a frame, so a slow write
+ * never blocks encoding.
+ */
+final class Session {
+    final int sessionId;
+    final SocketChannel channel;
+    final ByteBuffer receiveBuffer;
+    final EventEncoder encoder = new EventEncoder();
+
+    SelectionKey key;
+    /** Whether events were encoded since the last flush */
+    boolean dirty;
+    /** Whether session is to be closed once current commands are applied */
+    boolean closing;
+    boolean closed;
+
+    private final ByteBuffer frameHeader;
+    private final ByteBuffer[] frame;
+    private ByteBuffer sending;
+    private ByteBuffer filling;
+    /** Whether a frame is partly written */
+    private boolean inFlight;
+
+    Session(int sessionId, SocketChannel channel, GatewayConfig config) {
+        this.sessionId = sessionId;
+        this.channel = channel;
+        this.receiveBuffer = allocate(config.getReceiveBufferSize());
+        this.frameHeader = allocate(OrderGateway.FRAME_HEADER_LENGTH);
+        this.sending = allocate(config.getSendBufferSize());
+        this.filling = allocate(config.getSendBufferSize());
+        this.frame = new ByteBuffer[] {frameHeader, sending};
+        encoder.wrap(filling, 0);
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Write the frame in flight, then the events encoded since as the next frame, header and
+     * events gathered in one write
+     * @return true once every encoded event is written
+     */
+    boolean flush() throws IOException {
+        if (inFlight) {
+            channel.write(frame);
+            if (sending.hasRemaining()) {
+                return false;
+            }
+            inFlight = false;
+        }
+        final int length = encoder.getLength();
+        if (length == 0) {
+            return true;
+        }
+        final ByteBuffer encoded = filling;
+        filling = sending;
+        filling.clear();
+        encoder.wrap(filling, 0);
+        sending = encoded;
+        sending.limit(length);
+        sending.position(0);
+        frameHeader.putInt(0, length);
+        frameHeader.clear();
+        frame[1] = sending;
+        inFlight = true;
+
+        channel.write(frame);
+        if (sending.hasRemaining()) {
+            return false;
+        }
+        inFlight = false;
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.horacehylee.matching_engine.ipc;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+/** Receives events of the commands of one {@link IpcClient}, on its polling thread */
+public interface IIpcEventHandler {
+
+    /** Command on the order is applied */
+    default void onAck(long orderId, int commandTemplateId) {}
+
+    /** Command on the order is refused, with one of {@code OrderBookResult} */
+    default void onReject(long orderId, int result, int commandTemplateId) {}
+
+    /** Order of the client traded, either as taker or as maker */
+    default void onFill(
+            long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {}
+}
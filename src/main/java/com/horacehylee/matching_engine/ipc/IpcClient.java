@@ -0,0 +1,225 @@
+package com.horacehylee.matching_engine.ipc;
+
+import com.horacehylee.matching_engine.codec.AckMessage;
+import com.horacehylee.matching_engine.codec.AmendOrderMessage;
+import com.horacehylee.matching_engine.codec.CancelOrderMessage;
+import com.horacehylee.matching_engine.codec.FillMessage;
+import com.horacehylee.matching_engine.codec.MessageFlyweight;
+import com.horacehylee.matching_engine.codec.MessageHeader;
+import com.horacehylee.matching_engine.codec.NewOrderMessage;
+import com.horacehylee.matching_engine.codec.RejectMessage;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.sequencer.IWaitStrategy;
+import com.horacehylee.matching_engine.sequencer.YieldingWaitStrategy;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.COMMAND_CLAIM;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.COMMAND_CONSUMED;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.EVENT_CURSOR;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.MAX_MESSAGE_LENGTH;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.NEXT_CLIENT_ID;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.SLOT_CLIENT_ID;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.SLOT_MESSAGE;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.SLOT_SEQUENCE;
+
+/**
+ * Client side of the shared memory transport of an {@link IpcGateway}, usable from any process
+ * on the host. Any number of clients publish commands concurrently: a slot is claimed by
+ * compare and set on the shared claim sequence, written, then published by its own sequence. A
+ * client dying between the two stalls the command ring, as later slots wait for its slot.
+ *
+ * <p>Events are read from the shared event ring, keeping those of this client. Each client is
+ * owned by a single thread.
+ */
+public class IpcClient implements AutoCloseable {
+    private final IpcRingFile ringFile;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final IWaitStrategy waitStrategy;
+    private final int clientId;
+
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderMessage newOrder = new NewOrderMessage();
+    private final CancelOrderMessage cancelOrder = new CancelOrderMessage();
+    private final AmendOrderMessage amendOrder = new AmendOrderMessage();
+
+    /** Copy of the event being read, decoded once it is known not to be overwritten */
+    private final ByteBuffer event =
+            ByteBuffer.allocateDirect(MAX_MESSAGE_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+    private final MessageHeader eventHeader = new MessageHeader();
+    private final AckMessage ack = new AckMessage();
+    private final RejectMessage reject = new RejectMessage();
+    private final FillMessage fill = new FillMessage();
+
+    private long nextEventSequence;
+    private long lostEvents;
+
+    private IpcClient(IpcRingFile ringFile, IWaitStrategy waitStrategy) {
+        this.ringFile = ringFile;
+        this.buffer = ringFile.getBuffer();
+        this.capacity = ringFile.getCapacity();
+        this.waitStrategy = waitStrategy;
+        this.clientId = (int) ringFile.getAndAdd(NEXT_CLIENT_ID, 1L);
+        this.nextEventSequence = ringFile.getAcquire(EVENT_CURSOR) + 1;
+    }
+
+    /** Map the ring file of a running gateway, receiving events from now on */
+    public static IpcClient open(Path file) throws IOException {
+        return new IpcClient(IpcRingFile.open(file), new YieldingWaitStrategy());
+    }
+
+    /** @param waitStrategy for waiting on a full command ring */
+    public static IpcClient open(Path file, IWaitStrategy waitStrategy) throws IOException {
+        return new IpcClient(IpcRingFile.open(file), waitStrategy);
+    }
+
+    /** @return id tagging commands and events of this client, unique within the file */
+    public int getClientId() {
+        return clientId;
+    }
+
+    /** @return sequence of the command in the command ring */
+    public long addOrder(long orderId, long price, long quantity, Side side) {
+        final long sequence = claim();
+        final int offset = wrap(sequence, newOrder);
+        newOrder.setOrderId(orderId).setPrice(price).setQuantity(quantity).setSide(side);
+        publish(offset, sequence);
+        return sequence;
+    }
+
+    public long cancelOrder(long orderId) {
+        final long sequence = claim();
+        final int offset = wrap(sequence, cancelOrder);
+        cancelOrder.setOrderId(orderId);
+        publish(offset, sequence);
+        return sequence;
+    }
+
+    /**
+     * @param price new price, or {@link AmendOrderMessage#NULL_VALUE} to keep it
+     * @param quantity new quantity, or {@link AmendOrderMessage#NULL_VALUE} to keep it
+     */
+    public long amendOrder(long orderId, long price, long quantity) {
+        final long sequence = claim();
+        final int offset = wrap(sequence, amendOrder);
+        amendOrder.setOrderId(orderId).setPrice(price).setQuantity(quantity);
+        publish(offset, sequence);
+        return sequence;
+    }
+
+    /** Claim next command slot, waiting while the ring is full of commands not yet consumed */
+    private long claim() {
+        final IpcRingFile ringFile = this.ringFile;
+        int attempt = 0;
+        while (true) {
+            final long sequence = ringFile.getAcquire(COMMAND_CLAIM);
+            if (sequence - ringFile.getAcquire(COMMAND_CONSUMED) > capacity) {
+                waitStrategy.idle(attempt++);
+            } else if (ringFile.compareAndSet(COMMAND_CLAIM, sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    private int wrap(long sequence, MessageFlyweight message) {
+        final int offset = ringFile.commandOffset(sequence);
+        buffer.putInt(offset + SLOT_CLIENT_ID, clientId);
+        message.wrapAndApplyHeader(buffer, offset + SLOT_MESSAGE, header);
+        return offset;
+    }
+
+    private void publish(int offset, long sequence) {
+        ringFile.setRelease(offset + SLOT_SEQUENCE, sequence);
+    }
+
+    /**
+     * Dispatch published events of this client to the handler on the calling thread
+     * @param limit maximum number of events of any client to read
+     * @return number of events dispatched
+     */
+    public int poll(IIpcEventHandler handler, int limit) {
+        final IpcRingFile ringFile = this.ringFile;
+        final long cursor = ringFile.getAcquire(EVENT_CURSOR);
+        int read = 0;
+        int dispatched = 0;
+        while (read < limit && nextEventSequence <= cursor) {
+            if (cursor - nextEventSequence >= capacity) {
+                skipOverrun(cursor);
+                continue;
+            }
+            final long sequence = nextEventSequence;
+            final int offset = ringFile.eventOffset(sequence);
+            if (ringFile.getAcquire(offset + SLOT_SEQUENCE) != sequence) {
+                skipOverrun(ringFile.getAcquire(EVENT_CURSOR));
+                continue;
+            }
+            final int eventClientId = buffer.getInt(offset + SLOT_CLIENT_ID);
+            for (int i = 0; i < MAX_MESSAGE_LENGTH; i += Long.BYTES) {
+                event.putLong(i, buffer.getLong(offset + SLOT_MESSAGE + i));
+            }
+            // Fields must be read before checking the slot was not overwritten meanwhile
+            VarHandle.loadLoadFence();
+            if (ringFile.getOpaque(offset + SLOT_SEQUENCE) != sequence) {
+                skipOverrun(ringFile.getAcquire(EVENT_CURSOR));
+                continue;
+            }
+            nextEventSequence++;
+            read++;
+            if (eventClientId == clientId) {
+                dispatch(handler);
+                dispatched++;
+            }
+        }
+        return dispatched;
+    }
+
+    /** @return number of events of any client overwritten before they could be read */
+    public long getLostEvents() {
+        return lostEvents;
+    }
+
+    /** Jump to the oldest event still held by the ring */
+    private void skipOverrun(long cursor) {
+        final long oldestSequence = Math.max(nextEventSequence + 1, cursor - capacity + 1);
+        lostEvents += oldestSequence - nextEventSequence;
+        nextEventSequence = oldestSequence;
+    }
+
+    private void dispatch(IIpcEventHandler handler) {
+        final int body = MessageHeader.ENCODED_LENGTH;
+        switch (eventHeader.wrap(event, 0).getTemplateId()) {
+            case AckMessage.TEMPLATE_ID:
+                ack.wrap(event, body);
+                handler.onAck(ack.getOrderId(), ack.getCommandTemplateId());
+                break;
+            case RejectMessage.TEMPLATE_ID:
+                reject.wrap(event, body);
+                handler.onReject(
+                        reject.getOrderId(), reject.getResult(), reject.getCommandTemplateId());
+                break;
+            case FillMessage.TEMPLATE_ID:
+                fill.wrap(event, body);
+                handler.onFill(
+                        fill.getTakerOrderId(),
+                        fill.getMakerOrderId(),
+                        fill.getTakerSide(),
+                        fill.getPrice(),
+                        fill.getQuantity());
+                break;
+            default:
+                throw new IllegalStateException(
+                        "Unexpected template id: " + eventHeader.getTemplateId());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        ringFile.close();
+    }
+}
@@ -0,0 +1,277 @@
+package com.horacehylee.matching_engine.ipc;
+
+import com.horacehylee.matching_engine.codec.AckMessage;
+import com.horacehylee.matching_engine.codec.CommandDecoder;
+import com.horacehylee.matching_engine.codec.FillMessage;
+import com.horacehylee.matching_engine.codec.MessageFlyweight;
+import com.horacehylee.matching_engine.codec.MessageHeader;
+import com.horacehylee.matching_engine.codec.RejectMessage;
+import com.horacehylee.matching_engine.collection.LongIntHashMap;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+import com.horacehylee.matching_engine.orderbook.CommandBatch;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import com.horacehylee.matching_engine.sequencer.IWaitStrategy;
+import com.horacehylee.matching_engine.sequencer.YieldingWaitStrategy;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadFactory;
+
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.COMMAND_CONSUMED;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.EVENT_CURSOR;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.MAX_MESSAGE_LENGTH;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.NO_SEQUENCE;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.SLOT_CLIENT_ID;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.SLOT_MESSAGE;
+import static com.horacehylee.matching_engine.ipc.IpcRingFile.SLOT_SEQUENCE;
+
+/**
+ * Engine side of the shared memory transport, owning one order book. Its thread drains commands
+ * published by {@link IpcClient}s of any process into a {@link CommandBatch}, decoding them in
+ * place from the mapped file, and publishes acks, rejects and fills tagged with the client id.
+ *
+ * <p>The event ring never waits for clients: a client falling a full ring behind loses events,
+ * so size the ring to cover the longest expected client stall.
+ */
+public class IpcGateway implements IOrderBookListener, AutoCloseable {
+    private static final int BATCH_CAPACITY = 256;
+
+    private final IpcRingFile ringFile;
+    private final MappedByteBuffer buffer;
+    private final IOrderBook orderBook;
+    private final IWaitStrategy waitStrategy;
+    private final Thread thread;
+
+    private final MessageHeader header = new MessageHeader();
+    private final AckMessage ack = new AckMessage();
+    private final RejectMessage reject = new RejectMessage();
+    private final FillMessage fill = new FillMessage();
+    private final CommandDecoder decoder = new CommandDecoder();
+    private final CommandBatch batch = CommandBatch.of(BATCH_CAPACITY);
+    private final int[] results = new int[BATCH_CAPACITY];
+
+    /** Client id of each resting order */
+    private final LongIntHashMap owners;
+    /** Resting orders traded by the current batch, some of which may have left the book */
+    private long[] tradedMakers = new long[64];
+    private int tradedMakerCount;
+
+    /** Client of the commands of the current batch */
+    private int clientId;
+    private long nextCommandSequence;
+    private long nextEventSequence;
+    private long malformedCommands;
+
+    private volatile boolean running = true;
+
+    private IpcGateway(
+            Path file,
+            int capacity,
+            OrderBookConfig config,
+            IWaitStrategy waitStrategy,
+            ThreadFactory threadFactory)
+            throws IOException {
+        this.ringFile = IpcRingFile.create(file, capacity);
+        this.buffer = ringFile.getBuffer();
+        this.orderBook = OrderBookImpl.of(config, this);
+        this.owners = LongIntHashMap.of(config.getExpectedOrders());
+        this.waitStrategy = waitStrategy;
+        this.thread = threadFactory.newThread(this::run);
+    }
+
+    /**
+     * Create the ring file, leaving the gateway to be started
+     * @param capacity number of slots of the command and of the event ring, power of two
+     */
+    public static IpcGateway of(Path file, int capacity, OrderBookConfig config)
+            throws IOException {
+        return new IpcGateway(file, capacity, config, new YieldingWaitStrategy(), Thread::new);
+    }
+
+    /**
+     * @param waitStrategy for the gateway thread waiting for commands
+     * @param threadFactory to create the gateway thread, e.g. to name it or pin it to a core
+     */
+    public static IpcGateway of(
+            Path file,
+            int capacity,
+            OrderBookConfig config,
+            IWaitStrategy waitStrategy,
+            ThreadFactory threadFactory)
+            throws IOException {
+        return new IpcGateway(file, capacity, config, waitStrategy, threadFactory);
+    }
+
+    public IpcGateway start() {
+        thread.start();
+        return this;
+    }
+
+    /** @return book of the gateway, only to be read once the gateway is closed */
+    public IOrderBook getOrderBook() {
+        return orderBook;
+    }
+
+    /** @return number of commands skipped as not decodable, only read once closed */
+    public long getMalformedCommands() {
+        return malformedCommands;
+    }
+
+    /** Stop the gateway thread once the commands it is applying are answered */
+    @Override
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        if (thread.isAlive()) {
+            thread.join();
+        }
+        ringFile.close();
+    }
+
+    private void run() {
+        int idleCount = 0;
+        while (running) {
+            if (poll() > 0) {
+                idleCount = 0;
+            } else {
+                waitStrategy.idle(idleCount++);
+            }
+        }
+    }
+
+    /** @return number of commands consumed */
+    int poll() {
+        final IpcRingFile ringFile = this.ringFile;
+        final CommandBatch batch = this.batch;
+        int count = 0;
+        while (count < BATCH_CAPACITY) {
+            final long sequence = nextCommandSequence;
+            final int offset = ringFile.commandOffset(sequence);
+            if (ringFile.getAcquire(offset + SLOT_SEQUENCE) != sequence) {
+                break;
+            }
+            final int slotClientId = buffer.getInt(offset + SLOT_CLIENT_ID);
+            if (batch.size() > 0 && slotClientId != clientId) {
+                apply();
+            }
+            clientId = slotClientId;
+            decode(offset + SLOT_MESSAGE);
+            nextCommandSequence++;
+            count++;
+        }
+        if (batch.size() > 0) {
+            apply();
+        }
+        if (count > 0) {
+            // Slots are free for clients to claim again only once their commands are decoded
+            ringFile.setRelease(COMMAND_CONSUMED, nextCommandSequence - 1);
+        }
+        return count;
+    }
+
+    private void decode(int messageOffset) {
+        final int messageLength = header.wrap(buffer, messageOffset).getMessageLength();
+        final int limit = messageOffset + Math.min(messageLength, MAX_MESSAGE_LENGTH);
+        try {
+            if (decoder.decode(buffer, messageOffset, limit, batch) > 0) {
+                return;
+            }
+            if (batch.size() > 0) {
+                // Batch is full, make room for the command
+                apply();
+                if (decoder.decode(buffer, messageOffset, limit, batch) > 0) {
+                    return;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a command, fall through to skip it
+        }
+        malformedCommands++;
+    }
+
+    private void apply() {
+        final CommandBatch batch = this.batch;
+        final int[] results = this.results;
+        orderBook.tryApply(batch, results);
+
+        for (int i = 0; i < batch.size(); i++) {
+            final long orderId = batch.getOrderId(i);
+            final int templateId = CommandDecoder.getTemplateId(batch.getType(i));
+            if (results[i] == OrderBookResult.SUCCESS) {
+                if (orderBook.containsOrder(orderId)) {
+                    owners.put(orderId, clientId);
+                } else {
+                    owners.remove(orderId);
+                }
+                final int offset = claimEvent(clientId, ack);
+                ack.setOrderId(orderId).setCommandTemplateId(templateId);
+                publishEvent(offset);
+            } else {
+                final int offset = claimEvent(clientId, reject);
+                reject.setOrderId(orderId).setResult(results[i]).setCommandTemplateId(templateId);
+                publishEvent(offset);
+            }
+        }
+        for (int i = 0; i < tradedMakerCount; i++) {
+            final long makerOrderId = tradedMakers[i];
+            if (!orderBook.containsOrder(makerOrderId)) {
+                owners.remove(makerOrderId);
+            }
+        }
+        tradedMakerCount = 0;
+        batch.clear();
+    }
+
+    @Override
+    public void onTrade(
+            long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {
+        publishFill(clientId, takerOrderId, makerOrderId, takerSide, price, quantity);
+        final int makerClientId = owners.get(makerOrderId);
+        if (makerClientId != LongIntHashMap.NO_VALUE && makerClientId != clientId) {
+            publishFill(makerClientId, takerOrderId, makerOrderId, takerSide, price, quantity);
+        }
+        if (tradedMakerCount == tradedMakers.length) {
+            tradedMakers = Arrays.copyOf(tradedMakers, tradedMakerCount << 1);
+        }
+        tradedMakers[tradedMakerCount++] = makerOrderId;
+    }
+
+    private void publishFill(
+            int clientId,
+            long takerOrderId,
+            long makerOrderId,
+            Side takerSide,
+            long price,
+            long quantity) {
+        final int offset = claimEvent(clientId, fill);
+        fill.setTakerOrderId(takerOrderId)
+                .setMakerOrderId(makerOrderId)
+                .setPrice(price)
+                .setQuantity(quantity)
+                .setTakerSide(takerSide);
+        publishEvent(offset);
+    }
+
+    /** @return offset of the event slot, with the message wrapped for its fields to be set */
+    private int claimEvent(int clientId, MessageFlyweight message) {
+        final int offset = ringFile.eventOffset(nextEventSequence);
+        ringFile.setOpaque(offset + SLOT_SEQUENCE, NO_SEQUENCE);
+        // Clients must observe the slot as being written before any field changes
+        VarHandle.storeStoreFence();
+        buffer.putInt(offset + SLOT_CLIENT_ID, clientId);
+        message.wrapAndApplyHeader(buffer, offset + SLOT_MESSAGE, header);
+        return offset;
+    }
+
+    private void publishEvent(int offset) {
+        final long sequence = nextEventSequence++;
+        ringFile.setRelease(offset + SLOT_SEQUENCE, sequence);
+        ringFile.setRelease(EVENT_CURSOR, sequence);
+    }
+}
@@ -0,0 +1,170 @@
+package com.horacehylee.matching_engine.ipc;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory mapped file shared by the engine and client processes, holding a command ring written by
+ * clients and an event ring written by the engine. Counters sit on their own cache lines.
+ *
+ * <pre>
+ * header:  int magic, int version, int capacity
+ * 64       long next client id
+ * 128      long next command sequence to claim
+ * 256      long last command sequence consumed by the engine
+ * 384      long last event sequence published
+ * 512      command slots, then event slots, capacity of each
+ * slot:    long sequence, int client id, 4 bytes padding, codec message of up to 48 bytes
+ * </pre>
+ *
+ * All values are little endian, and counters and slot sequences are accessed atomically through
+ * byte buffer views, which work across processes mapping the same file.
+ */
+final class IpcRingFile implements AutoCloseable {
+    static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final int MAGIC = 0x49504352;
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    static final int NEXT_CLIENT_ID = 64;
+    static final int COMMAND_CLAIM = 128;
+    static final int COMMAND_CONSUMED = 256;
+    static final int EVENT_CURSOR = 384;
+    private static final int HEADER_LENGTH = 512;
+
+    static final int SLOT_SIZE = 64;
+    static final int SLOT_SEQUENCE = 0;
+    static final int SLOT_CLIENT_ID = 8;
+    static final int SLOT_MESSAGE = 16;
+    static final int MAX_MESSAGE_LENGTH = SLOT_SIZE - SLOT_MESSAGE;
+
+    /** Sequence of a slot never written, or of an event slot being written */
+    static final long NO_SEQUENCE = -1L;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+
+    private IpcRingFile(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Create or overwrite the file with empty rings
+     * @param capacity number of slots of each ring, power of two
+     */
+    static IpcRingFile create(Path file, int capacity) throws IOException {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        final FileChannel channel =
+                FileChannel.open(
+                        file,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer = map(channel, fileLength(capacity));
+        final IpcRingFile ringFile = new IpcRingFile(channel, buffer, capacity);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putLong(COMMAND_CONSUMED, NO_SEQUENCE);
+        buffer.putLong(EVENT_CURSOR, NO_SEQUENCE);
+        for (long sequence = 0; sequence < capacity; sequence++) {
+            buffer.putLong(ringFile.commandOffset(sequence) + SLOT_SEQUENCE, NO_SEQUENCE);
+            buffer.putLong(ringFile.eventOffset(sequence) + SLOT_SEQUENCE, NO_SEQUENCE);
+        }
+        // Clients opening the file check the magic, so it goes last
+        VarHandle.storeStoreFence();
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        return ringFile;
+    }
+
+    /** Map a file created by the engine */
+    static IpcRingFile open(Path file) throws IOException {
+        final FileChannel channel =
+                FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final MappedByteBuffer header = map(channel, HEADER_LENGTH);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC
+                    || header.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException("Not an IPC ring file of version " + VERSION + ": " + file);
+            }
+            final int capacity = header.getInt(CAPACITY_OFFSET);
+            return new IpcRingFile(channel, map(channel, fileLength(capacity)), capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long length) throws IOException {
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static long fileLength(int capacity) {
+        return HEADER_LENGTH + 2L * capacity * SLOT_SIZE;
+    }
+
+    MappedByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int commandOffset(long sequence) {
+        return HEADER_LENGTH + (int) (sequence & mask) * SLOT_SIZE;
+    }
+
+    int eventOffset(long sequence) {
+        return HEADER_LENGTH + (capacity + (int) (sequence & mask)) * SLOT_SIZE;
+    }
+
+    long getAcquire(int offset) {
+        return (long) LONGS.getAcquire(buffer, offset);
+    }
+
+    long getOpaque(int offset) {
+        return (long) LONGS.getOpaque(buffer, offset);
+    }
+
+    void setRelease(int offset, long value) {
+        LONGS.setRelease(buffer, offset, value);
+    }
+
+    void setOpaque(int offset, long value) {
+        LONGS.setOpaque(buffer, offset, value);
+    }
+
+    boolean compareAndSet(int offset, long expected, long value) {
+        return LONGS.compareAndSet(buffer, offset, expected, value);
+    }
+
+    long getAndAdd(int offset, long delta) {
+        return (long) LONGS.getAndAdd(buffer, offset, delta);
+    }
+
+    /** Close the file, the mapping itself is released once the buffer is collected */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
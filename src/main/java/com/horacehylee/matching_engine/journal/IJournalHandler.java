@@ -0,0 +1,16 @@
+package com.horacehylee.matching_engine.journal;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+/** Receives journal records in sequence order while the journal is read */
+public interface IJournalHandler {
+
+    void onAddOrder(
+            long sequence, long orderId, long price, long quantity, Side side, long filled);
+
+    void onCancelOrder(long sequence, long orderId);
+
+    void onChangeOrderPrice(long sequence, long orderId, long price);
+
+    void onChangeOrderQuantity(long sequence, long orderId, long quantity);
+}
@@ -0,0 +1,192 @@
+package com.horacehylee.matching_engine.journal;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.horacehylee.matching_engine.journal.JournalFormat.ADD_ORDER;
+import static com.horacehylee.matching_engine.journal.JournalFormat.CANCEL_ORDER;
+import static com.horacehylee.matching_engine.journal.JournalFormat.CHANGE_ORDER_PRICE;
+import static com.horacehylee.matching_engine.journal.JournalFormat.CHANGE_ORDER_QUANTITY;
+import static com.horacehylee.matching_engine.journal.JournalFormat.END_OF_JOURNAL;
+import static com.horacehylee.matching_engine.journal.JournalFormat.FILLED_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.ORDER_ID_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.PRICE_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.QUANTITY_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.RECORD_SIZE;
+import static com.horacehylee.matching_engine.journal.JournalFormat.SEQUENCE_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.SIDE_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.TYPE_OFFSET;
+
+/**
+ * Append-only journal of order book commands, written into memory-mapped segment files. Appending
+ * is a handful of stores into the mapped page, and is only slowed by forcing pages to the device
+ * as the {@link SyncPolicy} requires. Not thread safe, to be written by the matcher thread.
+ */
+public class Journal implements AutoCloseable {
+    private final Path directory;
+    private final JournalConfig config;
+
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private int position;
+    private long sequence;
+    private int unsyncedRecords;
+
+    private Journal(Path directory, JournalConfig config) {
+        this.directory = directory;
+        this.config = config;
+    }
+
+    /**
+     * Open journal in the directory, continuing after the last record of existing segments
+     * @param directory of segment files, created if missing
+     */
+    public static Journal open(Path directory, JournalConfig config) throws IOException {
+        Files.createDirectories(directory);
+        final Journal journal = new Journal(directory, config);
+        final long[] segmentIndexes = JournalFormat.segmentIndexes(directory);
+        final int last = segmentIndexes.length - 1;
+        journal.openSegment(last < 0 ? 0L : segmentIndexes[last]);
+        journal.seekEnd();
+        // Rollover maps the next segment before writing into it, so the last one may be empty
+        for (int i = last - 1; journal.sequence == 0L && i >= 0; i--) {
+            journal.sequence = lastSequence(directory, segmentIndexes[i]);
+        }
+        return journal;
+    }
+
+    /** @return sequence of the record */
+    public long appendAddOrder(Order order) {
+        return append(
+                ADD_ORDER,
+                order.getSide(),
+                order.getOrderId(),
+                order.getPrice(),
+                order.getQuantity(),
+                order.getFilled());
+    }
+
+    /** @return sequence of the record */
+    public long appendCancelOrder(long orderId) {
+        return append(CANCEL_ORDER, null, orderId, 0L, 0L, 0L);
+    }
+
+    /** @return sequence of the record */
+    public long appendChangeOrderPrice(long orderId, long price) {
+        return append(CHANGE_ORDER_PRICE, null, orderId, price, 0L, 0L);
+    }
+
+    /** @return sequence of the record */
+    public long appendChangeOrderQuantity(long orderId, long quantity) {
+        return append(CHANGE_ORDER_QUANTITY, null, orderId, 0L, quantity, 0L);
+    }
+
+    /** @return sequence of the last record, or 0 if journal is empty */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /** Force records appended so far to the storage device, unless sync policy is none */
+    public void flush() {
+        if (config.getSyncPolicy() != SyncPolicy.NONE && unsyncedRecords > 0) {
+            segment.force();
+            unsyncedRecords = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        segment = null;
+    }
+
+    private long append(
+            int type, Side side, long orderId, long price, long quantity, long filled) {
+        if (position + RECORD_SIZE > segment.capacity()) {
+            flush();
+            openSegment(segmentIndex + 1);
+        }
+        final MappedByteBuffer segment = this.segment;
+        final int position = this.position;
+        final long sequence = ++this.sequence;
+        segment.putLong(position + SEQUENCE_OFFSET, sequence);
+        segment.putInt(position + SIDE_OFFSET, side == null ? 0 : side.getCode());
+        segment.putLong(position + ORDER_ID_OFFSET, orderId);
+        segment.putLong(position + PRICE_OFFSET, price);
+        segment.putLong(position + QUANTITY_OFFSET, quantity);
+        segment.putLong(position + FILLED_OFFSET, filled);
+        // Type last, as a record without type marks the end of the journal
+        segment.putInt(position + TYPE_OFFSET, type);
+        this.position = position + RECORD_SIZE;
+
+        unsyncedRecords++;
+        switch (config.getSyncPolicy()) {
+            case EVERY_COMMAND:
+                flush();
+                break;
+            case BATCH:
+                if (unsyncedRecords >= config.getSyncBatchSize()) {
+                    flush();
+                }
+                break;
+            default:
+                break;
+        }
+        return sequence;
+    }
+
+    /** Move to the end of records of the current segment */
+    private void seekEnd() {
+        while (position + RECORD_SIZE <= segment.capacity()
+                && segment.getInt(position + TYPE_OFFSET) != END_OF_JOURNAL) {
+            sequence = segment.getLong(position + SEQUENCE_OFFSET);
+            position += RECORD_SIZE;
+        }
+    }
+
+    /** @return sequence of the last record of the segment, or 0 if it has none */
+    private static long lastSequence(Path directory, long segmentIndex) throws IOException {
+        try (FileChannel channel =
+                FileChannel.open(
+                        JournalFormat.segmentPath(directory, segmentIndex),
+                        StandardOpenOption.READ)) {
+            final MappedByteBuffer segment =
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            long sequence = 0L;
+            for (int position = 0;
+                    position + RECORD_SIZE <= segment.capacity()
+                            && segment.getInt(position + TYPE_OFFSET) != END_OF_JOURNAL;
+                    position += RECORD_SIZE) {
+                sequence = segment.getLong(position + SEQUENCE_OFFSET);
+            }
+            return sequence;
+        }
+    }
+
+    private void openSegment(long segmentIndex) {
+        final Path path = JournalFormat.segmentPath(directory, segmentIndex);
+        try (FileChannel channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, config.getSegmentSize());
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map journal segment " + path, e);
+        }
+        this.segmentIndex = segmentIndex;
+        this.position = 0;
+    }
+}
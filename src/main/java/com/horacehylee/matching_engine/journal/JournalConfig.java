@@ -0,0 +1,81 @@
+package com.horacehylee.matching_engine.journal;
+
+public class JournalConfig {
+    private final int segmentSize;
+    private final SyncPolicy syncPolicy;
+    private final int syncBatchSize;
+
+    private JournalConfig(int segmentSize, SyncPolicy syncPolicy, int syncBatchSize) {
+        if (segmentSize < JournalFormat.RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+        }
+        if (syncBatchSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Sync batch size must be positive: " + syncBatchSize);
+        }
+        this.segmentSize = segmentSize - segmentSize % JournalFormat.RECORD_SIZE;
+        this.syncPolicy = syncPolicy;
+        this.syncBatchSize = syncBatchSize;
+    }
+
+    public static JournalConfig defaults() {
+        return Builder.aConfig().build();
+    }
+
+    /** @return size of each memory-mapped segment file in bytes, rounded down to whole records */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    /** @return number of records between forces for {@link SyncPolicy#BATCH} */
+    public int getSyncBatchSize() {
+        return syncBatchSize;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalConfig{"
+                + "segmentSize="
+                + segmentSize
+                + ", syncPolicy="
+                + syncPolicy
+                + ", syncBatchSize="
+                + syncBatchSize
+                + '}';
+    }
+
+    public static final class Builder {
+        private int segmentSize = 64 << 20;
+        private SyncPolicy syncPolicy = SyncPolicy.BATCH;
+        private int syncBatchSize = 1 << 10;
+
+        private Builder() {}
+
+        public static Builder aConfig() {
+            return new Builder();
+        }
+
+        public Builder withSegmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        public Builder withSyncPolicy(SyncPolicy syncPolicy) {
+            this.syncPolicy = syncPolicy;
+            return this;
+        }
+
+        public Builder withSyncBatchSize(int syncBatchSize) {
+            this.syncBatchSize = syncBatchSize;
+            return this;
+        }
+
+        public JournalConfig build() {
+            return new JournalConfig(segmentSize, syncPolicy, syncBatchSize);
+        }
+    }
+}
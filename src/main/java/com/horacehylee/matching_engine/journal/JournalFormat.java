@@ -0,0 +1,76 @@
+package com.horacehylee.matching_engine.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Journal is a directory of segment files named by their index, each a sequence of fixed layout
+ * records in little endian byte order:
+ *
+ * <pre>
+ *  0: long sequence
+ *  8: int  type, written last so that a zero type marks the end of the journal
+ * 12: int  side code
+ * 16: long order id
+ * 24: long price
+ * 32: long quantity
+ * 40: long filled
+ * </pre>
+ */
+final class JournalFormat {
+    static final int RECORD_SIZE = 48;
+
+    static final int SEQUENCE_OFFSET = 0;
+    static final int TYPE_OFFSET = 8;
+    static final int SIDE_OFFSET = 12;
+    static final int ORDER_ID_OFFSET = 16;
+    static final int PRICE_OFFSET = 24;
+    static final int QUANTITY_OFFSET = 32;
+    static final int FILLED_OFFSET = 40;
+
+    static final int END_OF_JOURNAL = 0;
+    static final int ADD_ORDER = 1;
+    static final int CANCEL_ORDER = 2;
+    static final int CHANGE_ORDER_PRICE = 3;
+    static final int CHANGE_ORDER_QUANTITY = 4;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private JournalFormat() {}
+
+    static Path segmentPath(Path directory, long segmentIndex) {
+        return directory.resolve(
+                String.format("%s%020d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+    }
+
+    /** @return indexes of segment files in the directory, in ascending order */
+    static long[] segmentIndexes(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new long[0];
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.mapToLong(JournalFormat::segmentIndex)
+                    .filter(index -> index >= 0)
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    /** @return index of the segment file, or -1 if it is not a journal segment */
+    static long segmentIndex(Path path) {
+        final String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(
+                    name.substring(
+                            SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.horacehylee.matching_engine.journal;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.horacehylee.matching_engine.journal.JournalFormat.ADD_ORDER;
+import static com.horacehylee.matching_engine.journal.JournalFormat.CANCEL_ORDER;
+import static com.horacehylee.matching_engine.journal.JournalFormat.CHANGE_ORDER_PRICE;
+import static com.horacehylee.matching_engine.journal.JournalFormat.CHANGE_ORDER_QUANTITY;
+import static com.horacehylee.matching_engine.journal.JournalFormat.END_OF_JOURNAL;
+import static com.horacehylee.matching_engine.journal.JournalFormat.FILLED_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.ORDER_ID_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.PRICE_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.QUANTITY_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.RECORD_SIZE;
+import static com.horacehylee.matching_engine.journal.JournalFormat.SEQUENCE_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.SIDE_OFFSET;
+import static com.horacehylee.matching_engine.journal.JournalFormat.TYPE_OFFSET;
+
+/** Reads records of a journal directory in sequence order */
+public final class JournalReader {
+
+    private JournalReader() {}
+
+    /** @return sequence of the last record read, or 0 if journal is empty */
+    public static long read(Path directory, IJournalHandler handler) throws IOException {
+        return read(directory, 1L, handler);
+    }
+
+    /**
+     * Read records from the sequence onwards, skipping whole segments before it
+     * @return sequence of the last record read, or one less than the sequence if there is none
+     */
+    public static long read(Path directory, long fromSequence, IJournalHandler handler)
+            throws IOException {
+        final long[] segmentIndexes = JournalFormat.segmentIndexes(directory);
+        long lastSequence = fromSequence - 1;
+        MappedByteBuffer segment = null;
+        for (int i = 0; i < segmentIndexes.length; i++) {
+            if (segment == null) {
+                segment = map(directory, segmentIndexes[i]);
+            }
+            final MappedByteBuffer nextSegment =
+                    i + 1 < segmentIndexes.length ? map(directory, segmentIndexes[i + 1]) : null;
+            // Whole segment is before the sequence when the next one starts at or before it
+            if (nextSegment == null || firstSequence(nextSegment) > fromSequence) {
+                lastSequence = Math.max(lastSequence, read(segment, fromSequence, handler));
+            }
+            segment = nextSegment;
+        }
+        return lastSequence;
+    }
+
+    private static long read(MappedByteBuffer segment, long fromSequence, IJournalHandler handler) {
+        long lastSequence = 0L;
+        for (int position = 0;
+                position + RECORD_SIZE <= segment.capacity();
+                position += RECORD_SIZE) {
+            final int type = segment.getInt(position + TYPE_OFFSET);
+            if (type == END_OF_JOURNAL) {
+                break;
+            }
+            final long sequence = segment.getLong(position + SEQUENCE_OFFSET);
+            if (sequence < fromSequence) {
+                continue;
+            }
+            final long orderId = segment.getLong(position + ORDER_ID_OFFSET);
+            switch (type) {
+                case ADD_ORDER:
+                    handler.onAddOrder(
+                            sequence,
+                            orderId,
+                            segment.getLong(position + PRICE_OFFSET),
+                            segment.getLong(position + QUANTITY_OFFSET),
+                            Side.of((char) segment.getInt(position + SIDE_OFFSET)),
+                            segment.getLong(position + FILLED_OFFSET));
+                    break;
+                case CANCEL_ORDER:
+                    handler.onCancelOrder(sequence, orderId);
+                    break;
+                case CHANGE_ORDER_PRICE:
+                    handler.onChangeOrderPrice(
+                            sequence, orderId, segment.getLong(position + PRICE_OFFSET));
+                    break;
+                case CHANGE_ORDER_QUANTITY:
+                    handler.onChangeOrderQuantity(
+                            sequence, orderId, segment.getLong(position + QUANTITY_OFFSET));
+                    break;
+                default:
+                    throw new IllegalStateException(
+                            "Unexpected journal record type " + type + " at sequence " + sequence);
+            }
+            lastSequence = sequence;
+        }
+        return lastSequence;
+    }
+
+    /** @return sequence of the first record of the segment, or max value if it has none */
+    private static long firstSequence(MappedByteBuffer segment) {
+        if (segment.capacity() < RECORD_SIZE || segment.getInt(TYPE_OFFSET) == END_OF_JOURNAL) {
+            return Long.MAX_VALUE;
+        }
+        return segment.getLong(SEQUENCE_OFFSET);
+    }
+
+    private static MappedByteBuffer map(Path directory, long segmentIndex) throws IOException {
+        try (FileChannel channel =
+                FileChannel.open(
+                        JournalFormat.segmentPath(directory, segmentIndex),
+                        StandardOpenOption.READ)) {
+            final MappedByteBuffer segment =
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            return segment;
+        }
+    }
+}
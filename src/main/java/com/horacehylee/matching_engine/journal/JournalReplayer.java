@@ -0,0 +1,86 @@
+package com.horacehylee.matching_engine.journal;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import com.horacehylee.matching_engine.orderbook.OrderBookSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Re-apply journal records to an order book. As matching is deterministic, replaying the journal
+ * onto an empty book rebuilds the book state, rejecting the same commands as originally.
+ */
+public class JournalReplayer implements IJournalHandler {
+    private final IOrderBook orderBook;
+
+    private long rejectedCommands = 0;
+
+    public JournalReplayer(IOrderBook orderBook) {
+        this.orderBook = orderBook;
+    }
+
+    /**
+     * Replay whole journal onto the order book
+     * @return sequence of the last record replayed, or 0 if journal is empty
+     */
+    public static long replay(Path directory, IOrderBook orderBook) throws IOException {
+        return replay(directory, 1L, orderBook);
+    }
+
+    /**
+     * Replay journal records from the sequence onwards onto the order book
+     * @return sequence of the last record replayed
+     */
+    public static long replay(Path directory, long fromSequence, IOrderBook orderBook)
+            throws IOException {
+        return JournalReader.read(directory, fromSequence, new JournalReplayer(orderBook));
+    }
+
+    /** Restore order book from the snapshot, then replay journal records taken after it */
+    public static IOrderBook restore(
+            OrderBookSnapshot snapshot, Path directory, OrderBookConfig config)
+            throws IOException {
+        final IOrderBook orderBook = snapshot.restore(config);
+        replay(directory, snapshot.getSequence() + 1, orderBook);
+        return orderBook;
+    }
+
+    @Override
+    public void onAddOrder(
+            long sequence, long orderId, long price, long quantity, Side side, long filled) {
+        final Order order = Order.of(orderId, price, quantity, side, filled);
+        if (orderBook.tryAddOrder(order) != OrderBookResult.SUCCESS) {
+            rejectedCommands++;
+        }
+    }
+
+    @Override
+    public void onCancelOrder(long sequence, long orderId) {
+        if (orderBook.tryCancelOrder(orderId) != OrderBookResult.SUCCESS) {
+            rejectedCommands++;
+        }
+    }
+
+    @Override
+    public void onChangeOrderPrice(long sequence, long orderId, long price) {
+        if (orderBook.tryChangeOrderPrice(orderId, price) != OrderBookResult.SUCCESS) {
+            rejectedCommands++;
+        }
+    }
+
+    @Override
+    public void onChangeOrderQuantity(long sequence, long orderId, long quantity) {
+        if (orderBook.tryChangeOrderQuantity(orderId, quantity) != OrderBookResult.SUCCESS) {
+            rejectedCommands++;
+        }
+    }
+
+    /** @return number of replayed commands rejected by the order book */
+    public long getRejectedCommands() {
+        return rejectedCommands;
+    }
+}
@@ -0,0 +1,161 @@
+package com.horacehylee.matching_engine.journal;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ILevelCursor;
+import com.horacehylee.matching_engine.orderbook.ILevelVisitor;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.IOrderBookSlice;
+import com.horacehylee.matching_engine.orderbook.IOrderCursor;
+import com.horacehylee.matching_engine.orderbook.IOrderVisitor;
+import com.horacehylee.matching_engine.orderbook.OrderBookDepth;
+import com.horacehylee.matching_engine.orderbook.OrderBookSnapshot;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownPriceException;
+
+import java.util.List;
+
+/**
+ * Order book writing every command to the journal ahead of applying it. Rejected commands are
+ * journaled as well, and rejected again on replay.
+ */
+public class JournalingOrderBook implements IOrderBook {
+    private final IOrderBook orderBook;
+    private final Journal journal;
+
+    public JournalingOrderBook(IOrderBook orderBook, Journal journal) {
+        this.orderBook = orderBook;
+        this.journal = journal;
+    }
+
+    @Override
+    public int tryAddOrder(Order order) {
+        journal.appendAddOrder(order);
+        return orderBook.tryAddOrder(order);
+    }
+
+    @Override
+    public int tryCancelOrder(long orderId) {
+        journal.appendCancelOrder(orderId);
+        return orderBook.tryCancelOrder(orderId);
+    }
+
+    @Override
+    public int tryChangeOrderPrice(long orderId, long price) {
+        journal.appendChangeOrderPrice(orderId, price);
+        return orderBook.tryChangeOrderPrice(orderId, price);
+    }
+
+    @Override
+    public int tryChangeOrderQuantity(long orderId, long quantity) {
+        journal.appendChangeOrderQuantity(orderId, quantity);
+        return orderBook.tryChangeOrderQuantity(orderId, quantity);
+    }
+
+    @Override
+    public List<Order> getAskOrders() {
+        return orderBook.getAskOrders();
+    }
+
+    @Override
+    public List<Order> getBidOrders() {
+        return orderBook.getBidOrders();
+    }
+
+    @Override
+    public Order getOrder(long orderId) throws UnknownOrderIdException {
+        return orderBook.getOrder(orderId);
+    }
+
+    @Override
+    public boolean containsOrder(long orderId) {
+        return orderBook.containsOrder(orderId);
+    }
+
+    @Override
+    public void forEachLevel(Side side, ILevelVisitor visitor) {
+        orderBook.forEachLevel(side, visitor);
+    }
+
+    @Override
+    public void forEachOrder(Side side, IOrderVisitor visitor) {
+        orderBook.forEachOrder(side, visitor);
+    }
+
+    @Override
+    public void forEachOrder(Side side, long price, IOrderVisitor visitor) {
+        orderBook.forEachOrder(side, price, visitor);
+    }
+
+    @Override
+    public ILevelCursor newLevelCursor() {
+        return orderBook.newLevelCursor();
+    }
+
+    @Override
+    public IOrderCursor newOrderCursor() {
+        return orderBook.newOrderCursor();
+    }
+
+    @Override
+    public long getBestBidPrice() {
+        return orderBook.getBestBidPrice();
+    }
+
+    @Override
+    public long getBestAskPrice() {
+        return orderBook.getBestAskPrice();
+    }
+
+    @Override
+    public long getBestBidVolume() {
+        return orderBook.getBestBidVolume();
+    }
+
+    @Override
+    public long getBestAskVolume() {
+        return orderBook.getBestAskVolume();
+    }
+
+    @Override
+    public int getOrderCount(Side side) {
+        return orderBook.getOrderCount(side);
+    }
+
+    @Override
+    public int getLevelCount(Side side) {
+        return orderBook.getLevelCount(side);
+    }
+
+    @Override
+    public long getCumulativeVolume(Side side, long price) {
+        return orderBook.getCumulativeVolume(side, price);
+    }
+
+    @Override
+    public long getFillPrice(Side side, long quantity) {
+        return orderBook.getFillPrice(side, quantity);
+    }
+
+    @Override
+    public OrderBookDepth getDepth() {
+        return orderBook.getDepth();
+    }
+
+    @Override
+    public IOrderBookSlice getSlice(long price) throws UnknownPriceException {
+        return orderBook.getSlice(price);
+    }
+
+    /**
+     * Take snapshot of the book up to the last journaled command, to be called from the thread
+     * applying commands
+     */
+    public OrderBookSnapshot snapshot() {
+        return OrderBookSnapshot.take(orderBook, journal.getSequence());
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+}
@@ -0,0 +1,11 @@
+package com.horacehylee.matching_engine.journal;
+
+/** When journal records are forced from the page cache to the storage device */
+public enum SyncPolicy {
+    /** Left to the operating system, records survive a process crash but not a host crash */
+    NONE,
+    /** Forced once every configured number of records, and on flush */
+    BATCH,
+    /** Forced after every record */
+    EVERY_COMMAND
+}
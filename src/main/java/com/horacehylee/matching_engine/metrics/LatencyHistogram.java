@@ -0,0 +1,174 @@
+package com.horacehylee.matching_engine.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Histogram of non negative values, typically latencies in nanoseconds, with fixed memory and
+ * allocation free recording. Values below {@link #SUB_BUCKETS} are counted exactly, larger ones
+ * in buckets of relative width under 1/64, as each power of two range is split into 64 buckets.
+ *
+ * <p>Recorded by a single thread. Other threads must not read it directly, but may take a copy
+ * with {@link #copyInto} at any time without stopping the recording thread.
+ */
+public class LatencyHistogram {
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle COUNT;
+    private static final VarHandle SUM;
+    private static final VarHandle MIN;
+    private static final VarHandle MAX;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            COUNT = lookup.findVarHandle(LatencyHistogram.class, "count", long.class);
+            SUM = lookup.findVarHandle(LatencyHistogram.class, "sum", long.class);
+            MIN = lookup.findVarHandle(LatencyHistogram.class, "min", long.class);
+            MAX = lookup.findVarHandle(LatencyHistogram.class, "max", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS >> 1;
+    private static final int BUCKETS = indexOf(Long.MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        // Opaque writes cost as much as plain ones, but are never torn nor elided for copyInto
+        final int index = indexOf(value);
+        COUNTS.setOpaque(counts, index, counts[index] + 1);
+        COUNT.setOpaque(this, count + 1);
+        SUM.setOpaque(this, sum + value);
+        if (value < min) {
+            MIN.setOpaque(this, value);
+        }
+        if (value > max) {
+            MAX.setOpaque(this, value);
+        }
+    }
+
+    /**
+     * Replace values of the target with values recorded so far, can be called from any thread.
+     * Count of the copy is the sum of its buckets, which may include a value being recorded
+     * concurrently that is not in the copied sum yet.
+     */
+    public void copyInto(LatencyHistogram target) {
+        long copiedCount = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            final long bucketCount = (long) COUNTS.getOpaque(counts, i);
+            target.counts[i] = bucketCount;
+            copiedCount += bucketCount;
+        }
+        target.count = copiedCount;
+        target.sum = (long) SUM.getOpaque(this);
+        target.min = (long) MIN.getOpaque(this);
+        target.max = (long) MAX.getOpaque(this);
+    }
+
+    /** Add all values recorded by the other histogram */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /** @return smallest value recorded, or 0 if there is none */
+    public long getMin() {
+        return count == 0 ? 0L : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile within 0 and 100
+     * @return value at or below which the percentile of recorded values are, up to bucket
+     *     precision, or 0 if there is none
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+        final long target = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /** @return count, mean and common percentiles of values */
+    public String toSummary() {
+        return String.format(
+                "count=%d min=%d mean=%.1f p50=%d p90=%d p99=%d p99.9=%d p99.99=%d max=%d",
+                count,
+                getMin(),
+                getMean(),
+                getValueAtPercentile(50),
+                getValueAtPercentile(90),
+                getValueAtPercentile(99),
+                getValueAtPercentile(99.9),
+                getValueAtPercentile(99.99),
+                max);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" + toSummary() + '}';
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Keep the leading bit and the SUB_BUCKET_BITS - 1 bits below it
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / HALF_SUB_BUCKETS - 1;
+        final long subBucket = index - (long) shift * HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,260 @@
+package com.horacehylee.matching_engine.metrics;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.domain.TimeInForce;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+import com.horacehylee.matching_engine.orderbook.ILevelCursor;
+import com.horacehylee.matching_engine.orderbook.ILevelVisitor;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.IOrderBookSlice;
+import com.horacehylee.matching_engine.orderbook.IOrderCursor;
+import com.horacehylee.matching_engine.orderbook.IOrderVisitor;
+import com.horacehylee.matching_engine.orderbook.OrderBookDepth;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownPriceException;
+import com.horacehylee.matching_engine.sequencer.CommandType;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Order book timing every command of the book it wraps and recording it into {@link
+ * OrderBookMetrics}. Books created without it are not instrumented at all, so metrics cost nothing
+ * unless enabled.
+ */
+public class MeteredOrderBook implements IOrderBook {
+    private final IOrderBook orderBook;
+    private final OrderBookMetrics metrics;
+    private final SweepListener sweepListener;
+
+    private MeteredOrderBook(
+            IOrderBook orderBook, SweepListener sweepListener, OrderBookMetrics metrics) {
+        this.orderBook = orderBook;
+        this.sweepListener = sweepListener;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param orderBookFactory to create the book to meter, of any order store or decorator, with
+     *     the listener it must publish its events to so that sweeps are counted
+     */
+    public static MeteredOrderBook of(
+            Function<IOrderBookListener, IOrderBook> orderBookFactory, OrderBookMetrics metrics) {
+        return of(orderBookFactory, IOrderBookListener.NO_OP, metrics);
+    }
+
+    /** @param listener to be called on the matching thread for every event of the book */
+    public static MeteredOrderBook of(
+            Function<IOrderBookListener, IOrderBook> orderBookFactory,
+            IOrderBookListener listener,
+            OrderBookMetrics metrics) {
+        final SweepListener sweepListener = new SweepListener(listener);
+        return new MeteredOrderBook(orderBookFactory.apply(sweepListener), sweepListener, metrics);
+    }
+
+    @Override
+    public int tryAddOrder(Order order) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryAddOrder(order);
+        record(CommandType.ADD_ORDER, start, result);
+        return result;
+    }
+
+    @Override
+    public int tryAddOrder(Order order, TimeInForce timeInForce) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryAddOrder(order, timeInForce);
+        record(CommandType.ADD_ORDER, start, result);
+        return result;
+    }
+
+    @Override
+    public int tryAddOrder(long orderId, long price, long quantity, Side side, long filled) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryAddOrder(orderId, price, quantity, side, filled);
+        record(CommandType.ADD_ORDER, start, result);
+        return result;
+    }
+
+    @Override
+    public int tryCancelOrder(long orderId) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryCancelOrder(orderId);
+        record(CommandType.CANCEL_ORDER, start, result);
+        return result;
+    }
+
+    @Override
+    public int tryChangeOrderPrice(long orderId, long price) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryChangeOrderPrice(orderId, price);
+        record(CommandType.CHANGE_ORDER_PRICE, start, result);
+        return result;
+    }
+
+    @Override
+    public int tryChangeOrderQuantity(long orderId, long quantity) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryChangeOrderQuantity(orderId, quantity);
+        record(CommandType.CHANGE_ORDER_QUANTITY, start, result);
+        return result;
+    }
+
+    private void record(CommandType type, long start, int result) {
+        final long nanos = System.nanoTime() - start;
+        metrics.recordCommand(
+                type, nanos, result, sweepListener.trades, sweepListener.levels, orderBook);
+        sweepListener.reset();
+    }
+
+    @Override
+    public List<Order> getAskOrders() {
+        return orderBook.getAskOrders();
+    }
+
+    @Override
+    public List<Order> getBidOrders() {
+        return orderBook.getBidOrders();
+    }
+
+    @Override
+    public Order getOrder(long orderId) throws UnknownOrderIdException {
+        return orderBook.getOrder(orderId);
+    }
+
+    @Override
+    public boolean containsOrder(long orderId) {
+        return orderBook.containsOrder(orderId);
+    }
+
+    @Override
+    public void forEachLevel(Side side, ILevelVisitor visitor) {
+        orderBook.forEachLevel(side, visitor);
+    }
+
+    @Override
+    public void forEachOrder(Side side, IOrderVisitor visitor) {
+        orderBook.forEachOrder(side, visitor);
+    }
+
+    @Override
+    public void forEachOrder(Side side, long price, IOrderVisitor visitor) {
+        orderBook.forEachOrder(side, price, visitor);
+    }
+
+    @Override
+    public ILevelCursor newLevelCursor() {
+        return orderBook.newLevelCursor();
+    }
+
+    @Override
+    public IOrderCursor newOrderCursor() {
+        return orderBook.newOrderCursor();
+    }
+
+    @Override
+    public long getBestBidPrice() {
+        return orderBook.getBestBidPrice();
+    }
+
+    @Override
+    public long getBestAskPrice() {
+        return orderBook.getBestAskPrice();
+    }
+
+    @Override
+    public long getBestBidVolume() {
+        return orderBook.getBestBidVolume();
+    }
+
+    @Override
+    public long getBestAskVolume() {
+        return orderBook.getBestAskVolume();
+    }
+
+    @Override
+    public int getOrderCount(Side side) {
+        return orderBook.getOrderCount(side);
+    }
+
+    @Override
+    public int getLevelCount(Side side) {
+        return orderBook.getLevelCount(side);
+    }
+
+    @Override
+    public long getCumulativeVolume(Side side, long price) {
+        return orderBook.getCumulativeVolume(side, price);
+    }
+
+    @Override
+    public long getFillPrice(Side side, long quantity) {
+        return orderBook.getFillPrice(side, quantity);
+    }
+
+    @Override
+    public OrderBookDepth getDepth() {
+        return orderBook.getDepth();
+    }
+
+    @Override
+    public IOrderBookSlice getSlice(long price) throws UnknownPriceException {
+        return orderBook.getSlice(price);
+    }
+
+    public OrderBookMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Count trades of the current command and the levels they are at, forwarding every event.
+     * A sweep trades level by level, so each change of trade price is a new level.
+     */
+    private static class SweepListener implements IOrderBookListener {
+        private final IOrderBookListener listener;
+
+        private long trades;
+        private int levels;
+        private long lastPrice;
+
+        private SweepListener(IOrderBookListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onAccept(long orderId, Side side, long price, long quantity) {
+            listener.onAccept(orderId, side, price, quantity);
+        }
+
+        @Override
+        public void onTrade(
+                long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {
+            if (trades++ == 0 || price != lastPrice) {
+                levels++;
+                lastPrice = price;
+            }
+            listener.onTrade(takerOrderId, makerOrderId, takerSide, price, quantity);
+        }
+
+        @Override
+        public void onCancel(long orderId, Side side, long price, long remainingQuantity) {
+            listener.onCancel(orderId, side, price, remainingQuantity);
+        }
+
+        @Override
+        public void onAmend(long orderId, Side side, long price, long quantity, long filled) {
+            listener.onAmend(orderId, side, price, quantity, filled);
+        }
+
+        @Override
+        public void onLevelChange(Side side, long price, long volume, int orderCount) {
+            listener.onLevelChange(side, price, volume, orderCount);
+        }
+
+        private void reset() {
+            trades = 0;
+            levels = 0;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.horacehylee.matching_engine.metrics;
+
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.IReadOnlyOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import com.horacehylee.matching_engine.sequencer.CommandType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Latency histograms, counters and gauges of one order book, recorded by {@link
+ * MeteredOrderBook} on the matching thread without allocation nor locking.
+ *
+ * <p>Getters may be called from any thread. Counters and gauges are read individually, so values
+ * read one after another may come from different commands.
+ */
+public class OrderBookMetrics {
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final int ORDERS = 0;
+    private static final int TRADES = 1;
+    private static final int SWEEPS = 2;
+    private static final int LEVELS_SWEPT = 3;
+    private static final int REJECTS = 4;
+    private static final int BID_ORDERS = 5;
+    private static final int ASK_ORDERS = 6;
+    private static final int BID_LEVELS = 7;
+    private static final int ASK_LEVELS = 8;
+
+    private static final CommandType[] COMMAND_TYPES = CommandType.values();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[COMMAND_TYPES.length];
+    private final LatencyHistogram sweepLatency = new LatencyHistogram();
+    private final LatencyHistogram sweepLevels = new LatencyHistogram();
+    private final long[] values = new long[ASK_LEVELS + 1];
+
+    public OrderBookMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Record command applied to the book
+     * @param levels number of opposite levels traded with, 0 if the command did not trade
+     */
+    void recordCommand(
+            CommandType type,
+            long nanos,
+            int result,
+            long trades,
+            int levels,
+            IReadOnlyOrderBook orderBook) {
+        latencies[type.ordinal()].record(nanos);
+        if (result != OrderBookResult.SUCCESS) {
+            increment(REJECTS, 1);
+        } else if (type == CommandType.ADD_ORDER) {
+            increment(ORDERS, 1);
+        }
+        if (trades != 0) {
+            sweepLatency.record(nanos);
+            sweepLevels.record(levels);
+            increment(TRADES, trades);
+            increment(SWEEPS, 1);
+            increment(LEVELS_SWEPT, levels);
+        }
+        set(BID_ORDERS, orderBook.getOrderCount(Side.BID));
+        set(ASK_ORDERS, orderBook.getOrderCount(Side.ASK));
+        set(BID_LEVELS, orderBook.getLevelCount(Side.BID));
+        set(ASK_LEVELS, orderBook.getLevelCount(Side.ASK));
+    }
+
+    /** Copy nanoseconds taken to apply commands of the type into the target */
+    public void copyLatency(CommandType type, LatencyHistogram target) {
+        latencies[type.ordinal()].copyInto(target);
+    }
+
+    /** Copy nanoseconds taken to apply commands which traded into the target */
+    public void copySweepLatency(LatencyHistogram target) {
+        sweepLatency.copyInto(target);
+    }
+
+    /** Copy number of opposite levels traded with per command which traded into the target */
+    public void copySweepLevels(LatencyHistogram target) {
+        sweepLevels.copyInto(target);
+    }
+
+    /** @return number of orders accepted */
+    public long getOrders() {
+        return get(ORDERS);
+    }
+
+    public long getTrades() {
+        return get(TRADES);
+    }
+
+    /** @return number of commands which traded */
+    public long getSweeps() {
+        return get(SWEEPS);
+    }
+
+    /** @return number of opposite levels traded with, summed over all commands */
+    public long getLevelsSwept() {
+        return get(LEVELS_SWEPT);
+    }
+
+    /** @return number of commands rejected with a result code other than success */
+    public long getRejects() {
+        return get(REJECTS);
+    }
+
+    /** @return number of resting orders of the side after the last command */
+    public long getOrderCount(Side side) {
+        return get(side == Side.BID ? BID_ORDERS : ASK_ORDERS);
+    }
+
+    /** @return number of price levels of the side after the last command */
+    public long getLevelCount(Side side) {
+        return get(side == Side.BID ? BID_LEVELS : ASK_LEVELS);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("OrderBookMetrics{");
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (CommandType type : COMMAND_TYPES) {
+            copyLatency(type, histogram);
+            builder.append(type).append("={").append(histogram.toSummary()).append("}, ");
+        }
+        copySweepLatency(histogram);
+        builder.append("sweepLatency={").append(histogram.toSummary()).append("}, ");
+        copySweepLevels(histogram);
+        return builder.append("sweepLevels={")
+                .append(histogram.toSummary())
+                .append("}, orders=")
+                .append(getOrders())
+                .append(", trades=")
+                .append(getTrades())
+                .append(", sweeps=")
+                .append(getSweeps())
+                .append(", levelsSwept=")
+                .append(getLevelsSwept())
+                .append(", rejects=")
+                .append(getRejects())
+                .append(", bidOrders=")
+                .append(getOrderCount(Side.BID))
+                .append(", askOrders=")
+                .append(getOrderCount(Side.ASK))
+                .append(", bidLevels=")
+                .append(getLevelCount(Side.BID))
+                .append(", askLevels=")
+                .append(getLevelCount(Side.ASK))
+                .append('}')
+                .toString();
+    }
+
+    /** Single writer increment, no atomic read-modify-write needed */
+    private void increment(int index, long delta) {
+        VALUES.setOpaque(values, index, values[index] + delta);
+    }
+
+    private void set(int index, long value) {
+        VALUES.setOpaque(values, index, value);
+    }
+
+    private long get(int index) {
+        return (long) VALUES.getOpaque(values, index);
+    }
+}
@@ -0,0 +1,506 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownPriceException;
+import com.horacehylee.matching_engine.orderbook.ladder.ArrayPriceLadder;
+import com.horacehylee.matching_engine.orderbook.ladder.IPriceLadder;
+import com.horacehylee.matching_engine.orderbook.ladder.TreePriceLadder;
+import org.jetbrains.annotations.TestOnly;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Price levels of the book shared by the order stores: matching, level events, top of book, depth
+ * and volume index upkeep, and queries. Subclasses keep resting orders, queued in levels of type
+ * {@code B}, and the order id index.
+ */
+abstract class AbstractOrderBook<B extends AbstractOrdersBucket> implements IOrderBook {
+
+    final IOrderBookListener listener;
+
+    private final OrdersBucketPool<B> bidBucketPool;
+    private final OrdersBucketPool<B> askBucketPool;
+
+    /** Price levels of bid orders, in descending prices */
+    private final IPriceLadder<B> bidOrdersBuckets;
+
+    /** Price levels of ask orders, in ascending prices */
+    private final IPriceLadder<B> askOrdersBuckets;
+
+    private final BestLevel bestBid = new BestLevel(Side.BID);
+    private final BestLevel bestAsk = new BestLevel(Side.ASK);
+
+    private final OrderBookDepth depth;
+
+    private final PriceVolumeIndex bidVolumeIndex;
+    private final PriceVolumeIndex askVolumeIndex;
+
+    private int bidOrderCount;
+    private int askOrderCount;
+
+    /** Level the last order of the side rested at, reused by runs of orders at the same price */
+    private B lastBidBucket;
+
+    private B lastAskBucket;
+
+    /** @param bucketFactory to create level of a price when its pool is empty */
+    AbstractOrderBook(
+            OrderBookConfig config, IOrderBookListener listener, LongFunction<B> bucketFactory) {
+        this.listener = listener;
+        this.bidBucketPool = new OrdersBucketPool<>(config.getBucketPoolSize(), bucketFactory);
+        this.askBucketPool = new OrdersBucketPool<>(config.getBucketPoolSize(), bucketFactory);
+        this.bidOrdersBuckets = createPriceLadder(Side.BID, config, bidBucketPool::acquire);
+        this.askOrdersBuckets = createPriceLadder(Side.ASK, config, askBucketPool::acquire);
+        this.depth = new OrderBookDepth(config.getDepthLevels());
+        this.bidVolumeIndex = createVolumeIndex(Side.BID, config);
+        this.askVolumeIndex = createVolumeIndex(Side.ASK, config);
+    }
+
+    private static <B extends AbstractOrdersBucket> IPriceLadder<B> createPriceLadder(
+            Side side, OrderBookConfig config, LongFunction<B> levelFactory) {
+        switch (config.getPriceLadderType()) {
+            case TREE:
+                return TreePriceLadder.of(side, levelFactory);
+            case ARRAY:
+                return ArrayPriceLadder.of(
+                        side,
+                        config.getTickSize(),
+                        config.getPriceLadderCapacity(),
+                        levelFactory);
+            default:
+                throw new IllegalArgumentException(
+                        "Unexpected price ladder type: " + config.getPriceLadderType());
+        }
+    }
+
+    private static PriceVolumeIndex createVolumeIndex(Side side, OrderBookConfig config) {
+        return new PriceVolumeIndex(side, config.getTickSize(), config.getPriceLadderCapacity());
+    }
+
+    /**
+     * Unlink earliest order of the level once fully filled, and remove it from the order id index
+     * and the store
+     */
+    abstract void removeHead(B ordersBucket);
+
+    @Override
+    public final int tryAddOrder(Order order) {
+        return tryAddOrder(
+                order.getOrderId(),
+                order.getPrice(),
+                order.getQuantity(),
+                order.getSide(),
+                order.getFilled());
+    }
+
+    @Override
+    public abstract int tryAddOrder(
+            long orderId, long price, long quantity, Side side, long filled);
+
+    /**
+     * Fill order of the side against opposite resting orders crossing its price, in price then
+     * time priority, publishing trades and level changes
+     * @return quantity filled, at most the quantity
+     */
+    final long match(long orderId, Side side, long price, long quantity) {
+        long quantityLeft = quantity;
+        final Side oppositeSide = side.getOpposite();
+        final IPriceLadder<B> oppositeOrdersBuckets = getOrdersBucketBySide(oppositeSide);
+
+        // Always sweep from the best opposite level, as a fully filled level is removed
+        for (B ordersBucket = oppositeOrdersBuckets.best();
+                quantityLeft > 0
+                        && ordersBucket != null
+                        && isCrossed(side, price, ordersBucket.getPrice());
+                ordersBucket = oppositeOrdersBuckets.best()) {
+
+            while (!ordersBucket.isEmpty()) {
+                final long remainingQuantity = ordersBucket.getHeadRemainingQuantity();
+                final long filled = Math.min(quantityLeft, remainingQuantity);
+                listener.onTrade(
+                        orderId,
+                        ordersBucket.getHeadOrderId(),
+                        side,
+                        ordersBucket.getPrice(),
+                        filled);
+                quantityLeft -= filled;
+                if (filled == remainingQuantity) {
+                    removeHead(ordersBucket);
+                    onOrderRemoved(oppositeSide);
+                } else {
+                    ordersBucket.fillHead(filled);
+                }
+                if (quantityLeft == 0) {
+                    break;
+                }
+            }
+            onLevelLeft(oppositeSide, ordersBucket);
+        }
+        return quantity - quantityLeft;
+    }
+
+    /** @return whether order of the side at the price can trade with opposite level price */
+    private static boolean isCrossed(Side side, long price, long oppositePrice) {
+        return side == Side.BID ? oppositePrice <= price : oppositePrice >= price;
+    }
+
+    /**
+     * Reuse the level of the last resting order of the side for the same price. Empty levels are
+     * removed from the ladder as soon as they are emptied, so a non empty level is still in it,
+     * even once its pooled bucket has been reused for another price.
+     */
+    final B getOrCreateBucket(Side side, long price) {
+        if (side == Side.BID) {
+            final B lastBucket = lastBidBucket;
+            if (lastBucket != null && lastBucket.getPrice() == price && !lastBucket.isEmpty()) {
+                return lastBucket;
+            }
+            return lastBidBucket = bidOrdersBuckets.getOrCreate(price);
+        }
+        final B lastBucket = lastAskBucket;
+        if (lastBucket != null && lastBucket.getPrice() == price && !lastBucket.isEmpty()) {
+            return lastBucket;
+        }
+        return lastAskBucket = askOrdersBuckets.getOrCreate(price);
+    }
+
+    /** Publish change of the level, after an order was added to it or changed in place */
+    final void onLevelChange(Side side, B ordersBucket) {
+        updateTopOfBook(side, ordersBucket, getOrdersBucketBySide(side));
+        listener.onLevelChange(
+                side,
+                ordersBucket.getPrice(),
+                ordersBucket.getVolume(),
+                ordersBucket.getOrderCount());
+    }
+
+    /** Publish change of the level orders left, removing the level once it is empty */
+    final void onLevelLeft(Side side, B ordersBucket) {
+        onLevelChange(side, ordersBucket);
+        if (ordersBucket.isEmpty()) {
+            getOrdersBucketBySide(side).remove(ordersBucket);
+            (side == Side.BID ? bidBucketPool : askBucketPool).release(ordersBucket);
+        }
+    }
+
+    /** Apply change of the level to top of book, depth and volume index, without an event */
+    final void updateTopOfBook(Side side, B ordersBucket, IPriceLadder<B> ordersBuckets) {
+        (side == Side.BID ? bestBid : bestAsk).onLevelChange(ordersBucket, ordersBuckets);
+        depth.onLevelChange(side, ordersBucket, ordersBuckets);
+        getVolumeIndexBySide(side).onLevelChange(ordersBucket);
+    }
+
+    /** Count order of the side added to the order id index */
+    final void onOrderAdded(Side side) {
+        if (side == Side.BID) {
+            bidOrderCount++;
+        } else {
+            askOrderCount++;
+        }
+    }
+
+    /** Count order of the side removed from the order id index */
+    final void onOrderRemoved(Side side) {
+        if (side == Side.BID) {
+            bidOrderCount--;
+        } else {
+            askOrderCount--;
+        }
+    }
+
+    @Override
+    public List<Order> getAskOrders() {
+        return getOrders(askOrdersBuckets);
+    }
+
+    @Override
+    public List<Order> getBidOrders() {
+        return getOrders(bidOrdersBuckets);
+    }
+
+    private List<Order> getOrders(IPriceLadder<B> ordersBuckets) {
+        final List<Order> orders = new ArrayList<>();
+        for (B ordersBucket = ordersBuckets.best();
+                ordersBucket != null;
+                ordersBucket = ordersBuckets.next(ordersBucket.getPrice())) {
+            addOrders(ordersBucket, orders);
+        }
+        return orders;
+    }
+
+    private static void addOrders(AbstractOrdersBucket ordersBucket, List<Order> orders) {
+        ordersBucket.visitOrders(
+                (orderId, price, quantity, side, filled) ->
+                        orders.add(Order.of(orderId, price, quantity, side, filled)));
+    }
+
+    @Override
+    public void forEachLevel(Side side, ILevelVisitor visitor) {
+        final IPriceLadder<B> ordersBuckets = getOrdersBucketBySide(side);
+        for (B ordersBucket = ordersBuckets.best();
+                ordersBucket != null;
+                ordersBucket = ordersBuckets.next(ordersBucket.getPrice())) {
+            if (!visitor.visit(
+                    side,
+                    ordersBucket.getPrice(),
+                    ordersBucket.getVolume(),
+                    ordersBucket.getOrderCount())) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void forEachOrder(Side side, IOrderVisitor visitor) {
+        final IPriceLadder<B> ordersBuckets = getOrdersBucketBySide(side);
+        for (B ordersBucket = ordersBuckets.best();
+                ordersBucket != null;
+                ordersBucket = ordersBuckets.next(ordersBucket.getPrice())) {
+            if (!ordersBucket.visitOrders(visitor)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void forEachOrder(Side side, long price, IOrderVisitor visitor) {
+        final B ordersBucket = getOrdersBucketBySide(side).get(price);
+        if (ordersBucket != null) {
+            ordersBucket.visitOrders(visitor);
+        }
+    }
+
+    @Override
+    public ILevelCursor newLevelCursor() {
+        return new LevelCursor();
+    }
+
+    @Override
+    public long getBestBidPrice() {
+        return bestBid.getPrice();
+    }
+
+    @Override
+    public long getBestAskPrice() {
+        return bestAsk.getPrice();
+    }
+
+    @Override
+    public long getBestBidVolume() {
+        return bestBid.getVolume();
+    }
+
+    @Override
+    public long getBestAskVolume() {
+        return bestAsk.getVolume();
+    }
+
+    @Override
+    public int getOrderCount(Side side) {
+        return side == Side.BID ? bidOrderCount : askOrderCount;
+    }
+
+    @Override
+    public int getLevelCount(Side side) {
+        return getOrdersBucketBySide(side).size();
+    }
+
+    @Override
+    public long getCumulativeVolume(Side side, long price) {
+        return getVolumeIndexBySide(side).getVolume(price, getOrdersBucketBySide(side));
+    }
+
+    @Override
+    public long getFillPrice(Side side, long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+        return getVolumeIndexBySide(side).getFillPrice(quantity, getOrdersBucketBySide(side));
+    }
+
+    @Override
+    public OrderBookDepth getDepth() {
+        return depth;
+    }
+
+    @Override
+    public IOrderBookSlice getSlice(long price) throws UnknownPriceException {
+        B ordersBucket = bidOrdersBuckets.get(price);
+        Side side = Side.BID;
+        if (ordersBucket == null) {
+            ordersBucket = askOrdersBuckets.get(price);
+            side = Side.ASK;
+        }
+        if (ordersBucket == null) {
+            throw new UnknownPriceException(price);
+        }
+        final List<Order> orders = new ArrayList<>(ordersBucket.getOrderCount());
+        addOrders(ordersBucket, orders);
+        return new OrderBookSlice(
+                side, price, ordersBucket.getVolume(), Collections.unmodifiableList(orders));
+    }
+
+    /** @return number of price levels of both sides taken from the pools without allocation */
+    public long getBucketPoolHits() {
+        return bidBucketPool.getHits() + askBucketPool.getHits();
+    }
+
+    /** @return number of price levels of both sides allocated as their pool was empty */
+    public long getBucketPoolMisses() {
+        return bidBucketPool.getMisses() + askBucketPool.getMisses();
+    }
+
+    IPriceLadder<B> getOrdersBucketBySide(Side side) {
+        return side == Side.BID ? bidOrdersBuckets : askOrdersBuckets;
+    }
+
+    private PriceVolumeIndex getVolumeIndexBySide(Side side) {
+        return side == Side.BID ? bidVolumeIndex : askVolumeIndex;
+    }
+
+    private class LevelCursor implements ILevelCursor {
+        private IPriceLadder<B> ordersBuckets;
+        private B ordersBucket;
+        private boolean started;
+
+        @Override
+        public ILevelCursor reset(Side side) {
+            ordersBuckets = getOrdersBucketBySide(side);
+            ordersBucket = null;
+            started = false;
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            if (ordersBuckets == null) {
+                return false;
+            }
+            if (!started) {
+                ordersBucket = ordersBuckets.best();
+                started = true;
+            } else if (ordersBucket != null) {
+                ordersBucket = ordersBuckets.next(ordersBucket.getPrice());
+            }
+            return ordersBucket != null;
+        }
+
+        @Override
+        public long getPrice() {
+            return ordersBucket.getPrice();
+        }
+
+        @Override
+        public long getVolume() {
+            return ordersBucket.getVolume();
+        }
+
+        @Override
+        public int getOrderCount() {
+            return ordersBucket.getOrderCount();
+        }
+    }
+
+    /** Walks the levels of the cursor, subclasses step through the orders of a level */
+    abstract class AbstractOrderCursor implements IOrderCursor {
+        /** Ladder to move on to the next level, or null if walking a single level */
+        private IPriceLadder<B> ordersBuckets;
+        private B ordersBucket;
+        private boolean started;
+        private boolean onOrder;
+
+        /** @return false if the level has no order, otherwise move to its earliest order */
+        abstract boolean first(B ordersBucket);
+
+        /** @return false if there is no later order in the level, otherwise move to it */
+        abstract boolean advance();
+
+        @Override
+        public IOrderCursor reset(Side side) {
+            ordersBuckets = getOrdersBucketBySide(side);
+            ordersBucket = ordersBuckets.best();
+            started = false;
+            onOrder = false;
+            return this;
+        }
+
+        @Override
+        public IOrderCursor reset(Side side, long price) {
+            ordersBuckets = null;
+            ordersBucket = getOrdersBucketBySide(side).get(price);
+            started = false;
+            onOrder = false;
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            if (!started) {
+                onOrder = ordersBucket != null && first(ordersBucket);
+                started = true;
+            } else if (onOrder) {
+                onOrder = advance();
+            }
+            while (!onOrder && ordersBuckets != null && ordersBucket != null) {
+                ordersBucket = ordersBuckets.next(ordersBucket.getPrice());
+                onOrder = ordersBucket != null && first(ordersBucket);
+            }
+            return onOrder;
+        }
+    }
+
+    static class OrderBookSlice implements IOrderBookSlice {
+
+        private final Side side;
+        private final long price;
+        private final long volume;
+        private final List<Order> orders;
+
+        OrderBookSlice(Side side, long price, long volume, List<Order> orders) {
+            this.side = side;
+            this.price = price;
+            this.volume = volume;
+            this.orders = orders;
+        }
+
+        @Override
+        public Side getSide() {
+            return side;
+        }
+
+        @Override
+        public long getPrice() {
+            return price;
+        }
+
+        @Override
+        public List<Order> getOrders() {
+            return orders;
+        }
+
+        @Override
+        public long getVolume() {
+            return volume;
+        }
+
+        @TestOnly
+        @Override
+        public String toString() {
+            return "OrderBookSlice{"
+                    + "side="
+                    + side
+                    + ", price="
+                    + price
+                    + ", volume="
+                    + volume
+                    + ", orders="
+                    + orders
+                    + '}';
+        }
+    }
+}
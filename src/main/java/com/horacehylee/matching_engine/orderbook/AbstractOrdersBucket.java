@@ -0,0 +1,62 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.orderbook.ladder.IPriceLevel;
+
+/**
+ * Price level aggregates shared by the order stores, so that top of book, depth and volume index
+ * follow levels of either store. Subclasses keep the queue of orders and these totals with it,
+ * and expose the head of the queue for {@link AbstractOrderBook} to match against.
+ */
+abstract class AbstractOrdersBucket implements IPriceLevel {
+    private long price;
+
+    long volume = 0;
+    int orderCount = 0;
+
+    /** Volume last applied to {@link PriceVolumeIndex} */
+    long indexedVolume = 0;
+
+    AbstractOrdersBucket(long price) {
+        this.price = price;
+    }
+
+    /** Empty the level and move it to the price, for reuse once removed from the ladder */
+    void reset(long price) {
+        this.price = price;
+        volume = 0;
+        orderCount = 0;
+        indexedVolume = 0;
+    }
+
+    /** Release what the level holds outside of the heap, once its pool drops it */
+    void discard() {}
+
+    /** @return order id of earliest order, bucket must not be empty */
+    abstract long getHeadOrderId();
+
+    /** @return remaining quantity of earliest order, bucket must not be empty */
+    abstract long getHeadRemainingQuantity();
+
+    /** Fill earliest order in place, keeping it at the head of the queue */
+    abstract void fillHead(long quantity);
+
+    /** @return false if the visitor stopped */
+    abstract boolean visitOrders(IOrderVisitor visitor);
+
+    @Override
+    public long getPrice() {
+        return price;
+    }
+
+    public boolean isEmpty() {
+        return orderCount == 0;
+    }
+
+    public long getVolume() {
+        return volume;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+}
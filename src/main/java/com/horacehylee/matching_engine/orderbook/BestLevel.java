@@ -0,0 +1,49 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ladder.IPriceLadder;
+
+/**
+ * Cached price and volume of the best level of a side, so top of book is read without touching
+ * the price ladder. Only a removed best level needs the ladder to find the next one.
+ */
+final class BestLevel {
+    private final boolean bid;
+
+    private long price = IReadOnlyOrderBook.NO_PRICE;
+    private long volume = 0;
+
+    BestLevel(Side side) {
+        this.bid = side == Side.BID;
+    }
+
+    /** Apply change of a level of the ladder. Emptied level may still be in the ladder. */
+    void onLevelChange(
+            AbstractOrdersBucket ordersBucket,
+            IPriceLadder<? extends AbstractOrdersBucket> ladder) {
+        final long levelPrice = ordersBucket.getPrice();
+        if (ordersBucket.isEmpty()) {
+            if (levelPrice == price) {
+                AbstractOrdersBucket next = ladder.next(levelPrice);
+                while (next != null && next.isEmpty()) {
+                    next = ladder.next(next.getPrice());
+                }
+                price = next == null ? IReadOnlyOrderBook.NO_PRICE : next.getPrice();
+                volume = next == null ? 0L : next.getVolume();
+            }
+        } else if (levelPrice == price
+                || price == IReadOnlyOrderBook.NO_PRICE
+                || (bid ? levelPrice > price : levelPrice < price)) {
+            price = levelPrice;
+            volume = ordersBucket.getVolume();
+        }
+    }
+
+    long getPrice() {
+        return price;
+    }
+
+    long getVolume() {
+        return volume;
+    }
+}
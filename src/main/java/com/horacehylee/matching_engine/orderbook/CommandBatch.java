@@ -0,0 +1,139 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+
+/**
+ * Reusable buffer of commands to be applied in order with {@link IOrderBook#tryApply}. Commands
+ * are kept in parallel primitive arrays, so filling the batch and applying it to {@link
+ * OrderBookImpl} allocates nothing. Clear the batch to fill it again.
+ */
+public final class CommandBatch {
+    public static final int ADD_ORDER = 0;
+    public static final int CANCEL_ORDER = 1;
+    public static final int CHANGE_ORDER_PRICE = 2;
+    public static final int CHANGE_ORDER_QUANTITY = 3;
+
+    private final int[] types;
+    private final long[] orderIds;
+    private final long[] prices;
+    private final long[] quantities;
+    private final long[] filled;
+    private final Side[] sides;
+    private int size;
+
+    private CommandBatch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.types = new int[capacity];
+        this.orderIds = new long[capacity];
+        this.prices = new long[capacity];
+        this.quantities = new long[capacity];
+        this.filled = new long[capacity];
+        this.sides = new Side[capacity];
+    }
+
+    /** @param capacity maximum number of commands of the batch */
+    public static CommandBatch of(int capacity) {
+        return new CommandBatch(capacity);
+    }
+
+    public CommandBatch addOrder(Order order) {
+        return addOrder(
+                order.getOrderId(),
+                order.getPrice(),
+                order.getQuantity(),
+                order.getSide(),
+                order.getFilled());
+    }
+
+    public CommandBatch addOrder(long orderId, long price, long quantity, Side side) {
+        return addOrder(orderId, price, quantity, side, 0L);
+    }
+
+    public CommandBatch addOrder(long orderId, long price, long quantity, Side side, long filled) {
+        final int index = claim(ADD_ORDER, orderId);
+        prices[index] = price;
+        quantities[index] = quantity;
+        sides[index] = side;
+        this.filled[index] = filled;
+        return this;
+    }
+
+    public CommandBatch cancelOrder(long orderId) {
+        claim(CANCEL_ORDER, orderId);
+        return this;
+    }
+
+    public CommandBatch changeOrderPrice(long orderId, long price) {
+        prices[claim(CHANGE_ORDER_PRICE, orderId)] = price;
+        return this;
+    }
+
+    public CommandBatch changeOrderQuantity(long orderId, long quantity) {
+        quantities[claim(CHANGE_ORDER_QUANTITY, orderId)] = quantity;
+        return this;
+    }
+
+    private int claim(int type, long orderId) {
+        if (size == types.length) {
+            throw new IllegalStateException("Batch is full: " + size);
+        }
+        types[size] = type;
+        orderIds[size] = orderId;
+        return size++;
+    }
+
+    void checkResults(int[] results) {
+        if (results.length < size) {
+            throw new IllegalArgumentException(
+                    "Results length " + results.length + " is less than batch size " + size);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return types.length;
+    }
+
+    public boolean isFull() {
+        return size == types.length;
+    }
+
+    /** @return command type, one of the constants of this class */
+    public int getType(int index) {
+        return types[index];
+    }
+
+    public long getOrderId(int index) {
+        return orderIds[index];
+    }
+
+    /** @return price of added order, or new price of price change */
+    public long getPrice(int index) {
+        return prices[index];
+    }
+
+    /** @return quantity of added order, or new quantity of quantity change */
+    public long getQuantity(int index) {
+        return quantities[index];
+    }
+
+    /** @return side of added order */
+    public Side getSide(int index) {
+        return sides[index];
+    }
+
+    /** @return filled quantity of added order */
+    public long getFilled(int index) {
+        return filled[index];
+    }
+}
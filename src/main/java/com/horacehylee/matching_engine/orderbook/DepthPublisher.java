@@ -0,0 +1,115 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Top levels of a book published by the matching thread after each command, for any number of
+ * threads to copy into their own {@link DepthSnapshot} without locking.
+ *
+ * <p>Levels are kept in one array guarded by a version like a seqlock: odd while the matcher is
+ * writing, and bumped to the next even value once done. A reader copies the array between two
+ * reads of the version and retries if they differ or are odd, so it never sees a torn book and
+ * the matcher never waits for readers.
+ */
+public final class DepthPublisher {
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            VERSION =
+                    MethodHandles.lookup()
+                            .findVarHandle(DepthPublisher.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    static final int BID_COUNT = 0;
+    static final int ASK_COUNT = 1;
+    static final int HEADER_LONGS = 2;
+    /** Blocks of prices, volumes and order counts of levels of each side */
+    static final int LEVEL_LONGS = 3;
+
+    private final int levels;
+    private final long[] data;
+
+    /** Changes of the depth last published, to skip commands which left top levels unchanged */
+    private long publishedChanges = -1L;
+
+    @SuppressWarnings("unused")
+    private volatile long version = 0;
+
+    private DepthPublisher(int levels) {
+        if (levels <= 0 || levels > OrderBookDepth.MAX_LEVELS) {
+            throw new IllegalArgumentException(
+                    "Levels must be within 1 and " + OrderBookDepth.MAX_LEVELS + ": " + levels);
+        }
+        this.levels = levels;
+        this.data = new long[HEADER_LONGS + 2 * levels * LEVEL_LONGS];
+    }
+
+    /** @param levels number of top levels per side to publish, up to depth levels of the book */
+    public static DepthPublisher of(int levels) {
+        return new DepthPublisher(levels);
+    }
+
+    /** @return new snapshot to be reused by one reader thread */
+    public DepthSnapshot newSnapshot() {
+        return new DepthSnapshot(levels);
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * Publish top levels of the book, to be called from the matching thread only. Nothing is
+     * written if the depth of the book did not change since last published.
+     */
+    public void publish(IReadOnlyOrderBook orderBook) {
+        final OrderBookDepth depth = orderBook.getDepth();
+        final long changes = depth.getChanges();
+        if (changes == publishedChanges) {
+            return;
+        }
+        publishedChanges = changes;
+        final long version = (long) VERSION.getOpaque(this);
+        VERSION.setOpaque(this, version + 1);
+        // Readers must observe the odd version before any level changes
+        VarHandle.storeStoreFence();
+        final long[] data = this.data;
+        data[BID_COUNT] = depth.copyLevels(Side.BID, data, HEADER_LONGS, levels);
+        data[ASK_COUNT] =
+                depth.copyLevels(Side.ASK, data, HEADER_LONGS + levels * LEVEL_LONGS, levels);
+        VERSION.setRelease(this, version + 2);
+    }
+
+    /**
+     * Copy the last published levels into the snapshot, once
+     * @return false if the matcher was publishing meanwhile, leaving snapshot inconsistent
+     */
+    public boolean tryRead(DepthSnapshot snapshot) {
+        final long version = (long) VERSION.getAcquire(this);
+        if ((version & 1) != 0) {
+            return false;
+        }
+        System.arraycopy(data, 0, snapshot.getData(), 0, data.length);
+        // Levels must be read before checking they were not overwritten meanwhile
+        VarHandle.loadLoadFence();
+        if ((long) VERSION.getOpaque(this) != version) {
+            return false;
+        }
+        snapshot.setVersion(version >>> 1);
+        return true;
+    }
+
+    /** Copy the last published levels into the snapshot, retrying while the matcher publishes */
+    public void read(DepthSnapshot snapshot) {
+        while (!tryRead(snapshot)) {
+            Thread.onSpinWait();
+        }
+    }
+}
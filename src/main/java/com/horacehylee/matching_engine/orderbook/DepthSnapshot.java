@@ -0,0 +1,58 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+/** Copy of top levels read from a {@link DepthPublisher}, owned by one reader thread */
+public final class DepthSnapshot {
+    private final int levels;
+    private final long[] data;
+    private long version;
+
+    DepthSnapshot(int levels) {
+        this.levels = levels;
+        this.data = new long[DepthPublisher.HEADER_LONGS + 2 * levels * DepthPublisher.LEVEL_LONGS];
+    }
+
+    /** @return number of publishes before this copy, 0 if nothing was published yet */
+    public long getVersion() {
+        return version;
+    }
+
+    /** @return number of non empty levels of the side */
+    public int getLevelCount(Side side) {
+        return (int) data[side == Side.BID ? DepthPublisher.BID_COUNT : DepthPublisher.ASK_COUNT];
+    }
+
+    public long getPrice(Side side, int level) {
+        return data[offsetOf(side, level)];
+    }
+
+    public long getVolume(Side side, int level) {
+        return data[offsetOf(side, level) + levels];
+    }
+
+    public int getOrderCount(Side side, int level) {
+        return (int) data[offsetOf(side, level) + 2 * levels];
+    }
+
+    /** @return best price of the side, or {@link IReadOnlyOrderBook#NO_PRICE} if it is empty */
+    public long getBestPrice(Side side) {
+        return getLevelCount(side) == 0 ? IReadOnlyOrderBook.NO_PRICE : getPrice(side, 0);
+    }
+
+    private int offsetOf(Side side, int level) {
+        if (level < 0 || level >= getLevelCount(side)) {
+            throw new IndexOutOfBoundsException("Level " + level + " of " + side + " is empty");
+        }
+        final int sideOffset = side == Side.BID ? 0 : levels * DepthPublisher.LEVEL_LONGS;
+        return DepthPublisher.HEADER_LONGS + sideOffset + level;
+    }
+
+    long[] getData() {
+        return data;
+    }
+
+    void setVersion(long version) {
+        this.version = version;
+    }
+}
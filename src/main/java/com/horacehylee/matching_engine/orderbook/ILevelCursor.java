@@ -0,0 +1,22 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+/**
+ * Reusable cursor over price levels of a side in priority order. Fields are of the current level
+ * after {@link #next()} returns true. Any change of the book invalidates the cursor until reset.
+ */
+public interface ILevelCursor {
+
+    /** @return this cursor, positioned before the best level of the side */
+    ILevelCursor reset(Side side);
+
+    /** @return whether the cursor moved to another level */
+    boolean next();
+
+    long getPrice();
+
+    long getVolume();
+
+    int getOrderCount();
+}
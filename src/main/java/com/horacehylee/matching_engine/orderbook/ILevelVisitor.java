@@ -0,0 +1,11 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+/** Visits price levels of a side in priority order */
+@FunctionalInterface
+public interface ILevelVisitor {
+
+    /** @return false to stop visiting further levels */
+    boolean visit(Side side, long price, long volume, int orderCount);
+}
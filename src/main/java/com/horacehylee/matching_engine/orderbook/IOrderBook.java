@@ -1,15 +1,135 @@
 package com.horacehylee.matching_engine.orderbook;
 
 import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.domain.TimeInForce;
 import com.horacehylee.matching_engine.orderbook.exception.DuplicateOrderIdException;
 import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
 
+/**
+ * Mutations come in two variants. The {@code try} methods report expected rejects with an {@link
+ * OrderBookResult} code and never throw, for hot paths where rejects such as cancelling an already
+ * filled order are routine. The throwing methods wrap them.
+ */
 public interface IOrderBook extends IReadOnlyOrderBook {
-    void addOrder(Order order) throws DuplicateOrderIdException;
 
-    void cancelOrder(long orderId) throws UnknownOrderIdException;
+    /** @return {@link OrderBookResult#SUCCESS} or {@link OrderBookResult#DUPLICATE_ORDER_ID} */
+    int tryAddOrder(Order order);
 
-    void changeOrderPrice(long orderId, long price) throws UnknownOrderIdException;
+    /**
+     * Add order from its fields, for callers that have no {@link Order} at hand
+     * @return {@link OrderBookResult#SUCCESS} or {@link OrderBookResult#DUPLICATE_ORDER_ID}
+     */
+    default int tryAddOrder(long orderId, long price, long quantity, Side side, long filled) {
+        return tryAddOrder(Order.of(orderId, price, quantity, side, filled));
+    }
 
-    void changeOrderQuantity(long orderId, long quantity) throws UnknownOrderIdException;
+    /**
+     * Add order with its time in force. Immediate or cancel orders are trimmed to the opposite
+     * volume crossing their price, and fill or kill orders are rejected unless it covers their
+     * remaining quantity, both before the book is touched. The trimmed order is added as usual,
+     * so it fills completely without resting and events show the trimmed quantity.
+     * @return {@link OrderBookResult#SUCCESS}, {@link OrderBookResult#DUPLICATE_ORDER_ID} or
+     *     {@link OrderBookResult#NOT_FILLABLE} if nothing can be filled
+     */
+    default int tryAddOrder(Order order, TimeInForce timeInForce) {
+        if (timeInForce == TimeInForce.GOOD_TILL_CANCEL) {
+            return tryAddOrder(order);
+        }
+        if (containsOrder(order.getOrderId())) {
+            return OrderBookResult.DUPLICATE_ORDER_ID;
+        }
+        final long remainingQuantity = order.getRemainingQuantity();
+        final long available =
+                getCumulativeVolume(order.getSide().getOpposite(), order.getPrice());
+        if (available == 0
+                || (timeInForce == TimeInForce.FILL_OR_KILL && available < remainingQuantity)) {
+            return OrderBookResult.NOT_FILLABLE;
+        }
+        if (available >= remainingQuantity) {
+            return tryAddOrder(order);
+        }
+        return tryAddOrder(
+                order.getOrderId(),
+                order.getPrice(),
+                order.getFilled() + available,
+                order.getSide(),
+                order.getFilled());
+    }
+
+    /** @return {@link OrderBookResult#SUCCESS} or {@link OrderBookResult#UNKNOWN_ORDER_ID} */
+    int tryCancelOrder(long orderId);
+
+    /** @return {@link OrderBookResult#SUCCESS} or {@link OrderBookResult#UNKNOWN_ORDER_ID} */
+    int tryChangeOrderPrice(long orderId, long price);
+
+    /** @return {@link OrderBookResult#SUCCESS} or {@link OrderBookResult#UNKNOWN_ORDER_ID} */
+    int tryChangeOrderQuantity(long orderId, long quantity);
+
+    /**
+     * Apply commands of the batch in order, with the same outcome as calling the {@code try}
+     * methods one by one
+     * @param results to receive result code of every command at its index in the batch
+     * @return number of commands rejected
+     */
+    default int tryApply(CommandBatch batch, int[] results) {
+        final int size = batch.size();
+        batch.checkResults(results);
+        int rejected = 0;
+        for (int i = 0; i < size; i++) {
+            final long orderId = batch.getOrderId(i);
+            final int result;
+            switch (batch.getType(i)) {
+                case CommandBatch.ADD_ORDER:
+                    result =
+                            tryAddOrder(
+                                    orderId,
+                                    batch.getPrice(i),
+                                    batch.getQuantity(i),
+                                    batch.getSide(i),
+                                    batch.getFilled(i));
+                    break;
+                case CommandBatch.CANCEL_ORDER:
+                    result = tryCancelOrder(orderId);
+                    break;
+                case CommandBatch.CHANGE_ORDER_PRICE:
+                    result = tryChangeOrderPrice(orderId, batch.getPrice(i));
+                    break;
+                case CommandBatch.CHANGE_ORDER_QUANTITY:
+                    result = tryChangeOrderQuantity(orderId, batch.getQuantity(i));
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected command type: " + batch.getType(i));
+            }
+            results[i] = result;
+            if (result != OrderBookResult.SUCCESS) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    default void addOrder(Order order) throws DuplicateOrderIdException {
+        if (tryAddOrder(order) != OrderBookResult.SUCCESS) {
+            throw new DuplicateOrderIdException(order.getOrderId());
+        }
+    }
+
+    default void cancelOrder(long orderId) throws UnknownOrderIdException {
+        if (tryCancelOrder(orderId) != OrderBookResult.SUCCESS) {
+            throw new UnknownOrderIdException(orderId);
+        }
+    }
+
+    default void changeOrderPrice(long orderId, long price) throws UnknownOrderIdException {
+        if (tryChangeOrderPrice(orderId, price) != OrderBookResult.SUCCESS) {
+            throw new UnknownOrderIdException(orderId);
+        }
+    }
+
+    default void changeOrderQuantity(long orderId, long quantity) throws UnknownOrderIdException {
+        if (tryChangeOrderQuantity(orderId, quantity) != OrderBookResult.SUCCESS) {
+            throw new UnknownOrderIdException(orderId);
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+/**
+ * Reusable cursor over resting orders in priority order. Fields are of the current order after
+ * {@link #next()} returns true. Any change of the book invalidates the cursor until reset.
+ */
+public interface IOrderCursor {
+
+    /** @return this cursor, positioned before the first order of the side */
+    IOrderCursor reset(Side side);
+
+    /** @return this cursor, positioned before the first order of the level, if there is one */
+    IOrderCursor reset(Side side, long price);
+
+    /** @return whether the cursor moved to another order */
+    boolean next();
+
+    long getOrderId();
+
+    long getPrice();
+
+    long getQuantity();
+
+    Side getSide();
+
+    long getFilled();
+}
@@ -0,0 +1,11 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+/** Visits resting orders in priority order */
+@FunctionalInterface
+public interface IOrderVisitor {
+
+    /** @return false to stop visiting further orders */
+    boolean visit(long orderId, long price, long quantity, Side side, long filled);
+}
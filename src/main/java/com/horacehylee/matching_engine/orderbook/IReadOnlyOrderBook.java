@@ -1,6 +1,7 @@
 package com.horacehylee.matching_engine.orderbook;
 
 import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
 import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
 import com.horacehylee.matching_engine.orderbook.exception.UnknownPriceException;
 
@@ -8,6 +9,9 @@ import java.util.List;
 
 public interface IReadOnlyOrderBook {
 
+    /** Price returned for top of book of an empty side */
+    long NO_PRICE = Long.MIN_VALUE;
+
     /**
      * Get list of ask orders
      * @return List of order in ascending prices
@@ -24,6 +28,64 @@ public interface IReadOnlyOrderBook {
 
     boolean containsOrder(long orderId);
 
+    /** Visit levels of the side from the best price, until the visitor returns false */
+    void forEachLevel(Side side, ILevelVisitor visitor);
+
+    /** Visit orders of the side in priority order, until the visitor returns false */
+    void forEachOrder(Side side, IOrderVisitor visitor);
+
+    /** Visit orders of the level in time priority, until the visitor returns false */
+    void forEachOrder(Side side, long price, IOrderVisitor visitor);
+
+    /** @return new cursor over levels of this book, to be reset and reused for every walk */
+    ILevelCursor newLevelCursor();
+
+    /** @return new cursor over orders of this book, to be reset and reused for every walk */
+    IOrderCursor newOrderCursor();
+
+    /** @return highest bid price, or {@link #NO_PRICE} if there is no bid */
+    long getBestBidPrice();
+
+    /** @return lowest ask price, or {@link #NO_PRICE} if there is no ask */
+    long getBestAskPrice();
+
+    /** @return remaining quantity at the best bid price, or 0 if there is no bid */
+    long getBestBidVolume();
+
+    /** @return remaining quantity at the best ask price, or 0 if there is no ask */
+    long getBestAskVolume();
+
+    /** @return best ask price less best bid price, or {@link #NO_PRICE} if either side is empty */
+    default long getSpread() {
+        final long bestBidPrice = getBestBidPrice();
+        final long bestAskPrice = getBestAskPrice();
+        return bestBidPrice == NO_PRICE || bestAskPrice == NO_PRICE
+                ? NO_PRICE
+                : bestAskPrice - bestBidPrice;
+    }
+
+    /** @return number of resting orders of the side */
+    int getOrderCount(Side side);
+
+    /** @return number of price levels of the side */
+    int getLevelCount(Side side);
+
+    /**
+     * @return remaining quantity of the side at the price or better, which is what an opposite
+     *     order limited to the price can trade with
+     */
+    long getCumulativeVolume(Side side, long price);
+
+    /**
+     * @param quantity to be filled from the best level of the side, positive
+     * @return worst price of the side an opposite order needs to fill the quantity, or {@link
+     *     #NO_PRICE} if the side holds less
+     */
+    long getFillPrice(Side side, long quantity);
+
+    /** @return top levels aggregated by price, kept up to date as the book changes */
+    OrderBookDepth getDepth();
+
     /**
      * Get slice of OrderBook
      * @param price to be searched
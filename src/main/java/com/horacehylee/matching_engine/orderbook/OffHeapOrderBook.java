@@ -0,0 +1,206 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.collection.LongIntHashMap;
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
+
+import static com.horacehylee.matching_engine.orderbook.OffHeapOrderStore.NO_SLOT;
+
+/**
+ * Order book with the same matching, events and queries as {@link OrderBookImpl}, keeping resting
+ * orders as rows of {@link OffHeapOrderStore} instead of objects. The order id index maps to slot
+ * indexes in primitive arrays, so the heap holds no object per resting order, only price levels.
+ */
+public class OffHeapOrderBook extends AbstractOrderBook<OffHeapOrdersBucket> {
+
+    private final LongIntHashMap orderIdMap;
+
+    private final OffHeapOrderStore store;
+
+    private OffHeapOrderBook(
+            OrderBookConfig config, IOrderBookListener listener, OffHeapOrderStore store) {
+        super(config, listener, price -> new OffHeapOrdersBucket(price, store));
+        this.orderIdMap = LongIntHashMap.of(config.getExpectedOrders());
+        this.store = store;
+    }
+
+    public static OffHeapOrderBook of(OrderBookConfig config) {
+        return of(config, IOrderBookListener.NO_OP);
+    }
+
+    /** @param listener to be called on the matching thread for every event of the book */
+    public static OffHeapOrderBook of(OrderBookConfig config, IOrderBookListener listener) {
+        return new OffHeapOrderBook(
+                config, listener, new OffHeapOrderStore(config.getOffHeapChunkOrders()));
+    }
+
+    @Override
+    public int tryAddOrder(long orderId, long price, long quantity, Side side, long filled) {
+        if (orderIdMap.containsKey(orderId)) {
+            return OrderBookResult.DUPLICATE_ORDER_ID;
+        }
+
+        final int slot = store.allocate();
+        store.set(slot, orderId, price, quantity, side, filled);
+        listener.onAccept(orderId, side, price, quantity);
+        addSlot(slot, side, price);
+        return OrderBookResult.SUCCESS;
+    }
+
+    /** Match order row against opposite side, then rest whatever is left of it */
+    private void addSlot(int slot, Side side, long price) {
+        final long orderId = store.getOrderId(slot);
+        final long filled = match(orderId, side, price, store.getRemainingQuantity(slot));
+        store.setFilled(slot, store.getFilled(slot) + filled);
+        if (store.getRemainingQuantity(slot) <= 0) {
+            store.free(slot);
+            return;
+        }
+        final OffHeapOrdersBucket ordersBucket = getOrCreateBucket(side, price);
+        ordersBucket.add(slot);
+        orderIdMap.put(orderId, slot);
+        onOrderAdded(side);
+        onLevelChange(side, ordersBucket);
+    }
+
+    @Override
+    void removeHead(OffHeapOrdersBucket ordersBucket) {
+        final int slot = ordersBucket.getHead();
+        orderIdMap.remove(store.getOrderId(slot));
+        ordersBucket.remove(slot);
+        store.free(slot);
+    }
+
+    @Override
+    public int tryCancelOrder(long orderId) {
+        final int slot = orderIdMap.remove(orderId);
+        if (slot == LongIntHashMap.NO_VALUE) {
+            return OrderBookResult.UNKNOWN_ORDER_ID;
+        }
+        final Side side = store.getSide(slot);
+        onOrderRemoved(side);
+        listener.onCancel(orderId, side, store.getPrice(slot), store.getRemainingQuantity(slot));
+        removeSlot(slot, side);
+        store.free(slot);
+        return OrderBookResult.SUCCESS;
+    }
+
+    /** Unlink order row from its price level, removing the level once it is empty */
+    private void removeSlot(int slot, Side side) {
+        final OffHeapOrdersBucket ordersBucket = store.getLevel(slot);
+        ordersBucket.remove(slot);
+        onLevelLeft(side, ordersBucket);
+    }
+
+    @Override
+    public int tryChangeOrderPrice(long orderId, long price) {
+        final int slot = orderIdMap.remove(orderId);
+        if (slot == LongIntHashMap.NO_VALUE) {
+            return OrderBookResult.UNKNOWN_ORDER_ID;
+        }
+        final Side side = store.getSide(slot);
+        onOrderRemoved(side);
+        // Loses time priority and may trade at the new price, same as cancel and add again
+        removeSlot(slot, side);
+        store.setPrice(slot, price);
+        listener.onAmend(orderId, side, price, store.getQuantity(slot), store.getFilled(slot));
+        addSlot(slot, side, price);
+        return OrderBookResult.SUCCESS;
+    }
+
+    @Override
+    public int tryChangeOrderQuantity(long orderId, long quantity) {
+        final int slot = orderIdMap.get(orderId);
+        if (slot == LongIntHashMap.NO_VALUE) {
+            return OrderBookResult.UNKNOWN_ORDER_ID;
+        }
+        final Side side = store.getSide(slot);
+        final long filled = store.getFilled(slot);
+        listener.onAmend(orderId, side, store.getPrice(slot), quantity, filled);
+
+        if (quantity <= filled) {
+            // Nothing left to rest once quantity is reduced to filled quantity
+            orderIdMap.remove(orderId);
+            onOrderRemoved(side);
+            removeSlot(slot, side);
+            store.free(slot);
+            return OrderBookResult.SUCCESS;
+        }
+        final OffHeapOrdersBucket ordersBucket = store.getLevel(slot);
+        ordersBucket.changeQuantity(slot, quantity);
+        onLevelChange(side, ordersBucket);
+        return OrderBookResult.SUCCESS;
+    }
+
+    @Override
+    public Order getOrder(long orderId) throws UnknownOrderIdException {
+        final int slot = orderIdMap.get(orderId);
+        if (slot == LongIntHashMap.NO_VALUE) {
+            throw new UnknownOrderIdException(orderId);
+        }
+        return Order.of(
+                orderId,
+                store.getPrice(slot),
+                store.getQuantity(slot),
+                store.getSide(slot),
+                store.getFilled(slot));
+    }
+
+    @Override
+    public boolean containsOrder(long orderId) {
+        return orderIdMap.containsKey(orderId);
+    }
+
+    @Override
+    public IOrderCursor newOrderCursor() {
+        return new OrderCursor();
+    }
+
+    /** @return bytes of direct memory allocated for order rows */
+    public long getOffHeapBytes() {
+        return store.getAllocatedBytes();
+    }
+
+    private class OrderCursor extends AbstractOrderCursor {
+        private int slot = NO_SLOT;
+
+        @Override
+        boolean first(OffHeapOrdersBucket ordersBucket) {
+            slot = ordersBucket.getHead();
+            return slot != NO_SLOT;
+        }
+
+        @Override
+        boolean advance() {
+            slot = store.getNext(slot);
+            return slot != NO_SLOT;
+        }
+
+        @Override
+        public long getOrderId() {
+            return store.getOrderId(slot);
+        }
+
+        @Override
+        public long getPrice() {
+            return store.getPrice(slot);
+        }
+
+        @Override
+        public long getQuantity() {
+            return store.getQuantity(slot);
+        }
+
+        @Override
+        public Side getSide() {
+            return store.getSide(slot);
+        }
+
+        @Override
+        public long getFilled() {
+            return store.getFilled(slot);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Resting order records as fixed width rows of direct byte buffers, addressed by slot index, so
+ * that orders are invisible to the garbage collector. Rows are allocated in chunks as needed and
+ * freed slots are chained through their next field for reuse.
+ *
+ * <p>Row layout: order id, price, quantity and filled as longs, then previous and next slot of
+ * the level queue as ints, side code as a byte and id of the level as an int.
+ *
+ * <p>Levels are registered under an int id for rows to find their level without an object
+ * reference, as the heap book does through {@link OrderEntry#bucket}.
+ */
+final class OffHeapOrderStore {
+    static final int NO_SLOT = -1;
+
+    static final int ORDER_ID = 0;
+    static final int PRICE = 8;
+    static final int QUANTITY = 16;
+    static final int FILLED = 24;
+    static final int PREV = 32;
+    static final int NEXT = 36;
+    static final int SIDE = 40;
+    static final int LEVEL = 44;
+    static final int ROW_SIZE = 48;
+
+    private final int chunkShift;
+    private final int chunkMask;
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    /** First slot never allocated yet */
+    private int nextSlot = 0;
+    private int freeSlot = NO_SLOT;
+
+    private OffHeapOrdersBucket[] levels = new OffHeapOrdersBucket[16];
+    /** First level id never registered yet */
+    private int nextLevelId = 0;
+    /** Ids of unregistered levels, for reuse */
+    private int[] freeLevelIds = new int[16];
+    private int freeLevelIdCount = 0;
+
+    /** @param chunkOrders number of rows per chunk, power of two */
+    OffHeapOrderStore(int chunkOrders) {
+        if (chunkOrders <= 0 || Integer.bitCount(chunkOrders) != 1) {
+            throw new IllegalArgumentException(
+                    "Chunk orders must be a power of two: " + chunkOrders);
+        }
+        if ((long) chunkOrders * ROW_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk orders is too large: " + chunkOrders);
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkOrders);
+        this.chunkMask = chunkOrders - 1;
+    }
+
+    /** @return slot of a row to be filled in, its fields are left as they were */
+    int allocate() {
+        final int slot = freeSlot;
+        if (slot != NO_SLOT) {
+            freeSlot = getNext(slot);
+            return slot;
+        }
+        if (nextSlot == chunks.length << chunkShift) {
+            if (chunks.length == Integer.MAX_VALUE >> chunkShift) {
+                throw new IllegalStateException("Order store is full: " + nextSlot);
+            }
+            chunks = Arrays.copyOf(chunks, chunks.length + 1);
+            chunks[chunks.length - 1] =
+                    ByteBuffer.allocateDirect((chunkMask + 1) * ROW_SIZE)
+                            .order(ByteOrder.nativeOrder());
+        }
+        return nextSlot++;
+    }
+
+    void free(int slot) {
+        setNext(slot, freeSlot);
+        freeSlot = slot;
+    }
+
+    void set(int slot, long orderId, long price, long quantity, Side side, long filled) {
+        final ByteBuffer chunk = chunkOf(slot);
+        final int offset = offsetOf(slot);
+        chunk.putLong(offset + ORDER_ID, orderId);
+        chunk.putLong(offset + PRICE, price);
+        chunk.putLong(offset + QUANTITY, quantity);
+        chunk.putLong(offset + FILLED, filled);
+        chunk.put(offset + SIDE, (byte) side.getCode());
+    }
+
+    long getOrderId(int slot) {
+        return chunkOf(slot).getLong(offsetOf(slot) + ORDER_ID);
+    }
+
+    long getPrice(int slot) {
+        return chunkOf(slot).getLong(offsetOf(slot) + PRICE);
+    }
+
+    void setPrice(int slot, long price) {
+        chunkOf(slot).putLong(offsetOf(slot) + PRICE, price);
+    }
+
+    long getQuantity(int slot) {
+        return chunkOf(slot).getLong(offsetOf(slot) + QUANTITY);
+    }
+
+    void setQuantity(int slot, long quantity) {
+        chunkOf(slot).putLong(offsetOf(slot) + QUANTITY, quantity);
+    }
+
+    long getFilled(int slot) {
+        return chunkOf(slot).getLong(offsetOf(slot) + FILLED);
+    }
+
+    void setFilled(int slot, long filled) {
+        chunkOf(slot).putLong(offsetOf(slot) + FILLED, filled);
+    }
+
+    long getRemainingQuantity(int slot) {
+        final ByteBuffer chunk = chunkOf(slot);
+        final int offset = offsetOf(slot);
+        return chunk.getLong(offset + QUANTITY) - chunk.getLong(offset + FILLED);
+    }
+
+    Side getSide(int slot) {
+        return Side.of((char) chunkOf(slot).get(offsetOf(slot) + SIDE));
+    }
+
+    int getPrev(int slot) {
+        return chunkOf(slot).getInt(offsetOf(slot) + PREV);
+    }
+
+    void setPrev(int slot, int prev) {
+        chunkOf(slot).putInt(offsetOf(slot) + PREV, prev);
+    }
+
+    int getNext(int slot) {
+        return chunkOf(slot).getInt(offsetOf(slot) + NEXT);
+    }
+
+    void setNext(int slot, int next) {
+        chunkOf(slot).putInt(offsetOf(slot) + NEXT, next);
+    }
+
+    int getLevelId(int slot) {
+        return chunkOf(slot).getInt(offsetOf(slot) + LEVEL);
+    }
+
+    void setLevel(int slot, int levelId) {
+        chunkOf(slot).putInt(offsetOf(slot) + LEVEL, levelId);
+    }
+
+    /** @return level the order of the row rests at */
+    OffHeapOrdersBucket getLevel(int slot) {
+        return levels[getLevelId(slot)];
+    }
+
+    /** @return id to be recorded in rows of orders resting at the level */
+    int registerLevel(OffHeapOrdersBucket level) {
+        final int id;
+        if (freeLevelIdCount != 0) {
+            id = freeLevelIds[--freeLevelIdCount];
+        } else {
+            id = nextLevelId++;
+            if (id == levels.length) {
+                levels = Arrays.copyOf(levels, id << 1);
+            }
+        }
+        levels[id] = level;
+        return id;
+    }
+
+    void unregisterLevel(int id) {
+        levels[id] = null;
+        if (freeLevelIdCount == freeLevelIds.length) {
+            freeLevelIds = Arrays.copyOf(freeLevelIds, freeLevelIdCount << 1);
+        }
+        freeLevelIds[freeLevelIdCount++] = id;
+    }
+
+    /** @return bytes of direct memory allocated for rows */
+    long getAllocatedBytes() {
+        return (long) chunks.length * (chunkMask + 1) * ROW_SIZE;
+    }
+
+    private ByteBuffer chunkOf(int slot) {
+        return chunks[slot >>> chunkShift];
+    }
+
+    private int offsetOf(int slot) {
+        return (slot & chunkMask) * ROW_SIZE;
+    }
+}
@@ -0,0 +1,114 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import static com.horacehylee.matching_engine.orderbook.OffHeapOrderStore.NO_SLOT;
+
+/**
+ * Price level queueing its resting orders by slot index of {@link OffHeapOrderStore} rows. Rows
+ * cannot reference the level, so they record its id, under which the store keeps the level.
+ */
+final class OffHeapOrdersBucket extends AbstractOrdersBucket {
+    private final OffHeapOrderStore store;
+    private final int id;
+
+    private int head = NO_SLOT;
+    private int tail = NO_SLOT;
+
+    OffHeapOrdersBucket(long price, OffHeapOrderStore store) {
+        super(price);
+        this.store = store;
+        this.id = store.registerLevel(this);
+    }
+
+    @Override
+    void reset(long price) {
+        super.reset(price);
+        head = NO_SLOT;
+        tail = NO_SLOT;
+    }
+
+    @Override
+    void discard() {
+        store.unregisterLevel(id);
+    }
+
+    /** Append order row to the tail of the queue */
+    void add(int slot) {
+        store.setLevel(slot, id);
+        store.setPrev(slot, tail);
+        store.setNext(slot, NO_SLOT);
+        if (tail == NO_SLOT) {
+            head = slot;
+        } else {
+            store.setNext(tail, slot);
+        }
+        tail = slot;
+        orderCount++;
+        volume += store.getRemainingQuantity(slot);
+    }
+
+    /** Unlink order row from anywhere in the queue */
+    void remove(int slot) {
+        final int prev = store.getPrev(slot);
+        final int next = store.getNext(slot);
+        if (prev == NO_SLOT) {
+            head = next;
+        } else {
+            store.setNext(prev, next);
+        }
+        if (next == NO_SLOT) {
+            tail = prev;
+        } else {
+            store.setPrev(next, prev);
+        }
+        orderCount--;
+        volume -= store.getRemainingQuantity(slot);
+    }
+
+    /** Fill order in place, keeping its position in the queue */
+    void fill(int slot, long quantity) {
+        store.setFilled(slot, store.getFilled(slot) + quantity);
+        volume -= quantity;
+    }
+
+    /** Change quantity of order in place, keeping its position in the queue */
+    void changeQuantity(int slot, long quantity) {
+        volume += quantity - store.getQuantity(slot);
+        store.setQuantity(slot, quantity);
+    }
+
+    /** @return slot of earliest order, or {@link OffHeapOrderStore#NO_SLOT} if bucket is empty */
+    int getHead() {
+        return head;
+    }
+
+    @Override
+    long getHeadOrderId() {
+        return store.getOrderId(head);
+    }
+
+    @Override
+    long getHeadRemainingQuantity() {
+        return store.getRemainingQuantity(head);
+    }
+
+    @Override
+    void fillHead(long quantity) {
+        fill(head, quantity);
+    }
+
+    @Override
+    boolean visitOrders(IOrderVisitor visitor) {
+        final OffHeapOrderStore store = this.store;
+        for (int slot = head; slot != NO_SLOT; slot = store.getNext(slot)) {
+            if (!visitor.visit(
+                    store.getOrderId(slot),
+                    store.getPrice(slot),
+                    store.getQuantity(slot),
+                    store.getSide(slot),
+                    store.getFilled(slot))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,185 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.collection.LongObjectHashMap;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+
+public class OrderBookConfig {
+    private final int expectedOrders;
+    private final PriceLadderType priceLadderType;
+    private final long tickSize;
+    private final int priceLadderCapacity;
+    private final int orderPoolSize;
+    private final int bucketPoolSize;
+    private final int depthLevels;
+    private final OrderStoreType orderStoreType;
+    private final int offHeapChunkOrders;
+
+    private OrderBookConfig(
+            int expectedOrders,
+            PriceLadderType priceLadderType,
+            long tickSize,
+            int priceLadderCapacity,
+            int orderPoolSize,
+            int bucketPoolSize,
+            int depthLevels,
+            OrderStoreType orderStoreType,
+            int offHeapChunkOrders) {
+        this.expectedOrders = expectedOrders;
+        this.priceLadderType = priceLadderType;
+        this.tickSize = tickSize;
+        this.priceLadderCapacity = priceLadderCapacity;
+        this.orderPoolSize = orderPoolSize;
+        this.bucketPoolSize = bucketPoolSize;
+        this.depthLevels = depthLevels;
+        this.orderStoreType = orderStoreType;
+        this.offHeapChunkOrders = offHeapChunkOrders;
+    }
+
+    public static OrderBookConfig defaults() {
+        return Builder.aConfig().build();
+    }
+
+    /** @return number of resting orders expected, to avoid resizing order id index */
+    public int getExpectedOrders() {
+        return expectedOrders;
+    }
+
+    public PriceLadderType getPriceLadderType() {
+        return priceLadderType;
+    }
+
+    /** @return price increment between adjacent levels of array price ladder */
+    public long getTickSize() {
+        return tickSize;
+    }
+
+    /** @return number of ticks covered by the windows of array price ladder and volume index */
+    public int getPriceLadderCapacity() {
+        return priceLadderCapacity;
+    }
+
+    /** @return number of order records pre-allocated and kept for reuse once orders leave book */
+    public int getOrderPoolSize() {
+        return orderPoolSize;
+    }
+
+    /** @return number of price levels per side pre-allocated and kept for reuse once drained */
+    public int getBucketPoolSize() {
+        return bucketPoolSize;
+    }
+
+    /** @return number of top levels per side kept up to date in {@link OrderBookDepth} */
+    public int getDepthLevels() {
+        return depthLevels;
+    }
+
+    /** @return whether resting orders of books created by the engine live on or off heap */
+    public OrderStoreType getOrderStoreType() {
+        return orderStoreType;
+    }
+
+    /** @return number of order rows allocated at once by off heap order store, power of two */
+    public int getOffHeapChunkOrders() {
+        return offHeapChunkOrders;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderBookConfig{"
+                + "expectedOrders="
+                + expectedOrders
+                + ", priceLadderType="
+                + priceLadderType
+                + ", tickSize="
+                + tickSize
+                + ", priceLadderCapacity="
+                + priceLadderCapacity
+                + ", orderPoolSize="
+                + orderPoolSize
+                + ", bucketPoolSize="
+                + bucketPoolSize
+                + ", depthLevels="
+                + depthLevels
+                + ", orderStoreType="
+                + orderStoreType
+                + ", offHeapChunkOrders="
+                + offHeapChunkOrders
+                + '}';
+    }
+
+    public static final class Builder {
+        private int expectedOrders = LongObjectHashMap.DEFAULT_EXPECTED_SIZE;
+        private PriceLadderType priceLadderType = PriceLadderType.TREE;
+        private long tickSize = 1L;
+        private int priceLadderCapacity = 1 << 12;
+        private int orderPoolSize = 1 << 10;
+        private int bucketPoolSize = 1 << 6;
+        private int depthLevels = 10;
+        private OrderStoreType orderStoreType = OrderStoreType.HEAP;
+        private int offHeapChunkOrders = 1 << 16;
+
+        private Builder() {}
+
+        public static Builder aConfig() {
+            return new Builder();
+        }
+
+        public Builder withExpectedOrders(int expectedOrders) {
+            this.expectedOrders = expectedOrders;
+            return this;
+        }
+
+        public Builder withPriceLadderType(PriceLadderType priceLadderType) {
+            this.priceLadderType = priceLadderType;
+            return this;
+        }
+
+        public Builder withTickSize(long tickSize) {
+            this.tickSize = tickSize;
+            return this;
+        }
+
+        public Builder withPriceLadderCapacity(int priceLadderCapacity) {
+            this.priceLadderCapacity = priceLadderCapacity;
+            return this;
+        }
+
+        public Builder withOrderPoolSize(int orderPoolSize) {
+            this.orderPoolSize = orderPoolSize;
+            return this;
+        }
+
+        public Builder withBucketPoolSize(int bucketPoolSize) {
+            this.bucketPoolSize = bucketPoolSize;
+            return this;
+        }
+
+        public Builder withDepthLevels(int depthLevels) {
+            this.depthLevels = depthLevels;
+            return this;
+        }
+
+        public Builder withOrderStoreType(OrderStoreType orderStoreType) {
+            this.orderStoreType = orderStoreType;
+            return this;
+        }
+
+        public Builder withOffHeapChunkOrders(int offHeapChunkOrders) {
+            this.offHeapChunkOrders = offHeapChunkOrders;
+            return this;
+        }
+
+        public OrderBookConfig build() {
+            return new OrderBookConfig(
+                    expectedOrders,
+                    priceLadderType,
+                    tickSize,
+                    priceLadderCapacity,
+                    orderPoolSize,
+                    bucketPoolSize,
+                    depthLevels,
+                    orderStoreType,
+                    offHeapChunkOrders);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ladder.IPriceLadder;
+
+/**
+ * Top levels of each side aggregated by price, updated by the book on every level change so that
+ * reading the depth takes O(levels) without allocation. Level 0 is the best level, and indexes at
+ * or beyond the level count are empty.
+ *
+ * <p>Every level index changed is marked in a dirty bitmap per side, for publishers to send only
+ * the levels changed since they last drained it. Like the book, it is to be accessed from the
+ * matching thread only.
+ */
+public final class OrderBookDepth {
+    public static final int MAX_LEVELS = Long.SIZE;
+
+    private final SideDepth bids;
+    private final SideDepth asks;
+
+    private long changes;
+
+    OrderBookDepth(int levels) {
+        if (levels < 0 || levels > MAX_LEVELS) {
+            throw new IllegalArgumentException(
+                    "Depth levels must be within 0 and " + MAX_LEVELS + ": " + levels);
+        }
+        this.bids = new SideDepth(Side.BID, levels);
+        this.asks = new SideDepth(Side.ASK, levels);
+    }
+
+    /** @return number of levels kept per side */
+    public int getMaxLevels() {
+        return bids.prices.length;
+    }
+
+    /** @return number of non empty levels of the side, at most {@link #getMaxLevels()} */
+    public int getLevelCount(Side side) {
+        return sideDepth(side).count;
+    }
+
+    public long getPrice(Side side, int level) {
+        return sideDepth(side).prices[level];
+    }
+
+    public long getVolume(Side side, int level) {
+        return sideDepth(side).volumes[level];
+    }
+
+    public int getOrderCount(Side side, int level) {
+        return sideDepth(side).orderCounts[level];
+    }
+
+    /** @return bitmap of level indexes changed since last drained, bit i for level i */
+    public long getDirtyLevels(Side side) {
+        return sideDepth(side).dirtyLevels;
+    }
+
+    /** @return bitmap of level indexes changed since last drained, then clear it */
+    public long drainDirtyLevels(Side side) {
+        final SideDepth sideDepth = sideDepth(side);
+        final long dirtyLevels = sideDepth.dirtyLevels;
+        sideDepth.dirtyLevels = 0L;
+        return dirtyLevels;
+    }
+
+    /**
+     * Apply change of a level of the ladder. Emptied level may still be in the ladder.
+     * @param ladder of the side, to pull in the next level once a level leaves the depth
+     */
+    void onLevelChange(
+            Side side,
+            AbstractOrdersBucket ordersBucket,
+            IPriceLadder<? extends AbstractOrdersBucket> ladder) {
+        if (sideDepth(side).onLevelChange(ordersBucket, ladder)) {
+            changes++;
+        }
+    }
+
+    /** @return number of level changes applied, for publishers to skip unchanged depth */
+    long getChanges() {
+        return changes;
+    }
+
+    /**
+     * Copy top levels of the side as blocks of prices, volumes and order counts, each block
+     * maxLevels long
+     * @return number of levels copied
+     */
+    int copyLevels(Side side, long[] target, int offset, int maxLevels) {
+        final SideDepth sideDepth = sideDepth(side);
+        final int count = Math.min(maxLevels, sideDepth.count);
+        System.arraycopy(sideDepth.prices, 0, target, offset, count);
+        System.arraycopy(sideDepth.volumes, 0, target, offset + maxLevels, count);
+        final int[] orderCounts = sideDepth.orderCounts;
+        final int orderCountsOffset = offset + 2 * maxLevels;
+        for (int level = 0; level < count; level++) {
+            target[orderCountsOffset + level] = orderCounts[level];
+        }
+        return count;
+    }
+
+    private SideDepth sideDepth(Side side) {
+        return side == Side.BID ? bids : asks;
+    }
+
+    private static final class SideDepth {
+        private final boolean bid;
+        private final long[] prices;
+        private final long[] volumes;
+        private final int[] orderCounts;
+
+        private int count;
+        private long dirtyLevels;
+
+        private SideDepth(Side side, int levels) {
+            this.bid = side == Side.BID;
+            this.prices = new long[levels];
+            this.volumes = new long[levels];
+            this.orderCounts = new int[levels];
+        }
+
+        /** @return false if the level is not within the depth */
+        private boolean onLevelChange(
+                AbstractOrdersBucket ordersBucket,
+                IPriceLadder<? extends AbstractOrdersBucket> ladder) {
+            final long price = ordersBucket.getPrice();
+            final int index = indexOf(price);
+            if (index < count && prices[index] == price) {
+                if (ordersBucket.isEmpty()) {
+                    remove(index, ladder);
+                } else {
+                    set(index, ordersBucket);
+                    dirtyLevels |= 1L << index;
+                }
+                return true;
+            }
+            if (!ordersBucket.isEmpty() && index < prices.length) {
+                insert(index, ordersBucket);
+                return true;
+            }
+            return false;
+        }
+
+        /** @return index of the price, or of the first level worse than it */
+        private int indexOf(long price) {
+            final long[] prices = this.prices;
+            int index = 0;
+            while (index < count && (bid ? prices[index] > price : prices[index] < price)) {
+                index++;
+            }
+            return index;
+        }
+
+        private void insert(int index, AbstractOrdersBucket ordersBucket) {
+            final int newCount = Math.min(count + 1, prices.length);
+            final int shifted = newCount - 1 - index;
+            System.arraycopy(prices, index, prices, index + 1, shifted);
+            System.arraycopy(volumes, index, volumes, index + 1, shifted);
+            System.arraycopy(orderCounts, index, orderCounts, index + 1, shifted);
+            set(index, ordersBucket);
+            count = newCount;
+            dirtyLevels |= rangeMask(index, newCount);
+        }
+
+        private void remove(int index, IPriceLadder<? extends AbstractOrdersBucket> ladder) {
+            final int oldCount = count;
+            final int shifted = oldCount - 1 - index;
+            System.arraycopy(prices, index + 1, prices, index, shifted);
+            System.arraycopy(volumes, index + 1, volumes, index, shifted);
+            System.arraycopy(orderCounts, index + 1, orderCounts, index, shifted);
+            count = oldCount - 1;
+            if (oldCount == prices.length) {
+                // Depth was full, so the next level of the ladder, if any, moves into it
+                AbstractOrdersBucket next =
+                        count == 0 ? ladder.best() : ladder.next(prices[count - 1]);
+                while (next != null && next.isEmpty()) {
+                    next = ladder.next(next.getPrice());
+                }
+                if (next != null) {
+                    set(count++, next);
+                }
+            }
+            if (count < oldCount) {
+                prices[count] = 0L;
+                volumes[count] = 0L;
+                orderCounts[count] = 0;
+            }
+            dirtyLevels |= rangeMask(index, oldCount);
+        }
+
+        private void set(int index, AbstractOrdersBucket ordersBucket) {
+            prices[index] = ordersBucket.getPrice();
+            volumes[index] = ordersBucket.getVolume();
+            orderCounts[index] = ordersBucket.getOrderCount();
+        }
+
+        /** @return mask of bits from inclusive to exclusive */
+        private static long rangeMask(int from, int to) {
+            if (to <= from) {
+                return 0L;
+            }
+            final long upTo = to == Long.SIZE ? -1L : (1L << to) - 1L;
+            return upTo & (-1L << from);
+        }
+    }
+}
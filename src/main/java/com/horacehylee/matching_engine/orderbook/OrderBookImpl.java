@@ -1,189 +1,147 @@
 package com.horacehylee.matching_engine.orderbook;
 
+import com.horacehylee.matching_engine.collection.ILongObjectMap;
+import com.horacehylee.matching_engine.collection.LongObjectHashMap;
 import com.horacehylee.matching_engine.domain.Order;
 import com.horacehylee.matching_engine.domain.Side;
-import com.horacehylee.matching_engine.orderbook.exception.DuplicateOrderIdException;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
 import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
-import com.horacehylee.matching_engine.orderbook.exception.UnknownPriceException;
-import org.jetbrains.annotations.NotNull;
+import com.horacehylee.matching_engine.orderbook.ladder.IPriceLadder;
 import org.jetbrains.annotations.TestOnly;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+/** Order book keeping resting orders as pooled entries linked into the queues of their levels */
+public class OrderBookImpl extends AbstractOrderBook<OrdersBucket> {
 
-public class OrderBookImpl implements IOrderBook {
+    private final ILongObjectMap<OrderEntry> orderIdMap;
 
-    private final Map<Long, Order> orderIdMap;
+    private final OrderEntryPool orderEntryPool;
 
-    /** Key by price, value of list of orders */
-    private final NavigableMap<Long, OrdersBucket> bidOrdersBuckets;
+    private OrderBookImpl(OrderBookConfig config, IOrderBookListener listener) {
+        super(config, listener, OrdersBucket::new);
+        this.orderIdMap = LongObjectHashMap.of(config.getExpectedOrders());
+        this.orderEntryPool = new OrderEntryPool(config.getOrderPoolSize());
+    }
 
-    /** Key by price, value of list of orders */
-    private final NavigableMap<Long, OrdersBucket> askOrdersBuckets;
+    public static IOrderBook of() {
+        return new OrderBookImpl(OrderBookConfig.defaults(), IOrderBookListener.NO_OP);
+    }
 
-    private OrderBookImpl() {
-        this.orderIdMap = new HashMap<>();
-        this.bidOrdersBuckets = new TreeMap<>(Collections.reverseOrder());
-        this.askOrdersBuckets = new TreeMap<>();
+    /**
+     * Create order book pre-sized for the number of resting orders
+     * @param expectedOrders number of resting orders expected, to avoid resizing order id index
+     */
+    public static IOrderBook of(int expectedOrders) {
+        return new OrderBookImpl(
+                OrderBookConfig.Builder.aConfig().withExpectedOrders(expectedOrders).build(),
+                IOrderBookListener.NO_OP);
     }
 
-    public static IOrderBook of() {
-        return new OrderBookImpl();
+    public static IOrderBook of(OrderBookConfig config) {
+        return new OrderBookImpl(config, IOrderBookListener.NO_OP);
+    }
+
+    /**
+     * Create order book publishing its events
+     * @param listener to be called on the matching thread for every event of the book
+     */
+    public static IOrderBook of(OrderBookConfig config, IOrderBookListener listener) {
+        return new OrderBookImpl(config, listener);
     }
 
     @Override
-    public void addOrder(Order order) throws DuplicateOrderIdException {
-        final long orderId = order.getOrderId();
+    public int tryAddOrder(long orderId, long price, long quantity, Side side, long filled) {
         if (orderIdMap.containsKey(orderId)) {
-            throw new DuplicateOrderIdException(orderId);
-        }
-
-        final Side side = order.getSide();
-        final long price = order.getPrice();
-        final long quantity = order.getQuantity();
-
-        final long filled = getMatchedFilledQuantity(order);
-        if (filled == quantity) {
-            return;
-        } else if (filled > 0) {
-            order = Order.copyOfWithFilled(order, filled);
+            return OrderBookResult.DUPLICATE_ORDER_ID;
         }
 
-        getOrdersBucketBySide(side).computeIfAbsent(price, OrdersBucket::new).add(order);
-        orderIdMap.put(order.getOrderId(), order);
+        final OrderEntry entry = orderEntryPool.acquire();
+        entry.set(orderId, price, quantity, side, filled);
+        acceptEntry(entry);
+        return OrderBookResult.SUCCESS;
     }
 
-    private long getMatchedFilledQuantity(Order order) {
-        final long price = order.getPrice();
-        final Side side = order.getSide();
-        final long quantity = order.getQuantity();
-
-        long quantityLeft = quantity;
-        final NavigableMap<Long, OrdersBucket> oppositeSubBuckets =
-                getOrdersBucketBySide(side.getOpposite()).headMap(price, true);
-
-        for (Iterator<Map.Entry<Long, OrdersBucket>> bucketsIterator =
-                        oppositeSubBuckets.entrySet().iterator();
-                bucketsIterator.hasNext(); ) {
-            OrdersBucket ordersBucket = bucketsIterator.next().getValue();
-
-            for (Iterator<Map.Entry<Long, Order>> ordersIterator = ordersBucket.getIterator();
-                    ordersIterator.hasNext(); ) {
-                final Map.Entry<Long, Order> entry = ordersIterator.next();
-                final Order oppositeOrder = entry.getValue();
-
-                final long oppositeOrderId = oppositeOrder.getOrderId();
-                final long remainingQuantity = oppositeOrder.getRemainingQuantity();
-                final long filled = Math.min(quantityLeft, remainingQuantity);
-                if (filled == remainingQuantity) {
-                    orderIdMap.remove(oppositeOrderId);
-                    ordersBucket.remove(ordersIterator, oppositeOrder);
-                    if (ordersBucket.getVolume() == 0) {
-                        bucketsIterator.remove();
-                    }
-                } else {
-                    Order newOrder = Order.copyOfWithFilled(oppositeOrder, filled);
-                    orderIdMap.replace(oppositeOrderId, newOrder);
-                    ordersBucket.replace(entry, newOrder);
-                }
-                quantityLeft -= filled;
-                if (quantityLeft == 0) {
-                    // TODO: trade event
-                    return quantity;
-                }
-            }
-        }
-        return quantity - quantityLeft;
+    private void acceptEntry(OrderEntry entry) {
+        listener.onAccept(entry.orderId, entry.side, entry.price, entry.quantity);
+        addEntry(entry);
     }
 
-    @Override
-    public void cancelOrder(final long orderId) throws UnknownOrderIdException {
-        final Order order = getOrderById(orderId);
-        final Side side = order.getSide();
-        final long price = order.getPrice();
-
-        orderIdMap.remove(orderId);
-
-        NavigableMap<Long, OrdersBucket> ordersBuckets = getOrdersBucketBySide(side);
-        OrdersBucket ordersBucket = ordersBuckets.get(price);
-        if (ordersBucket == null) {
-            throw new IllegalStateException(
-                    "Orders bucket could not be found for "
-                            + price
-                            + " price for cancelling order "
-                            + orderId);
-        }
-        ordersBucket.remove(order);
-        if (ordersBucket.getVolume() == 0) {
-            ordersBuckets.remove(price);
+    /** Match entry against opposite side, then rest whatever is left of it */
+    private void addEntry(OrderEntry entry) {
+        entry.filled += match(entry.orderId, entry.side, entry.price, entry.getRemainingQuantity());
+        if (entry.getRemainingQuantity() <= 0) {
+            orderEntryPool.release(entry);
+            return;
         }
+        final OrdersBucket ordersBucket = getOrCreateBucket(entry.side, entry.price);
+        ordersBucket.add(entry);
+        putEntry(entry);
+        onLevelChange(entry.side, ordersBucket);
     }
 
     @Override
-    public void changeOrderPrice(long orderId, long price) throws UnknownOrderIdException {
-        final Order originalOrder = getOrderById(orderId);
-        cancelOrder(orderId);
-
-        final Order order = Order.copyOfWithPrice(originalOrder, price);
-        try {
-            addOrder(order);
-        } catch (DuplicateOrderIdException e) {
-            throw new IllegalStateException(
-                    "Duplicate order id \"" + orderId + "\" for changing order price", e);
-        }
+    void removeHead(OrdersBucket ordersBucket) {
+        final OrderEntry entry = ordersBucket.getHead();
+        orderIdMap.remove(entry.orderId);
+        ordersBucket.remove(entry);
+        orderEntryPool.release(entry);
     }
 
     @Override
-    public void changeOrderQuantity(long orderId, long quantity) throws UnknownOrderIdException {
-        final Order originalOrder = getOrderById(orderId);
-        final Side side = originalOrder.getSide();
-        final long price = originalOrder.getPrice();
-
-        final Order order = Order.copyOfWithQuantity(originalOrder, quantity);
-
-        NavigableMap<Long, OrdersBucket> ordersBuckets = getOrdersBucketBySide(side);
-        OrdersBucket ordersBucket = ordersBuckets.get(price);
-        if (ordersBucket == null) {
-            throw new IllegalStateException(
-                    "Orders bucket could not be found for "
-                            + price
-                            + " price for changing quantity for order "
-                            + orderId);
+    public int tryCancelOrder(final long orderId) {
+        final OrderEntry entry = removeEntryById(orderId);
+        if (entry == null) {
+            return OrderBookResult.UNKNOWN_ORDER_ID;
         }
+        listener.onCancel(orderId, entry.side, entry.price, entry.getRemainingQuantity());
+        removeEntry(entry);
+        orderEntryPool.release(entry);
+        return OrderBookResult.SUCCESS;
+    }
 
-        orderIdMap.replace(orderId, order);
-
-        ordersBucket.replace(originalOrder, order);
-        if (ordersBucket.getVolume() == 0) {
-            ordersBuckets.remove(price);
-        }
+    /** Unlink entry from its price level, removing the level once it is empty */
+    private void removeEntry(OrderEntry entry) {
+        final OrdersBucket ordersBucket = entry.bucket;
+        ordersBucket.remove(entry);
+        onLevelLeft(entry.side, ordersBucket);
     }
 
     @Override
-    public List<Order> getAskOrders() {
-        return askOrdersBuckets.values().stream()
-                .flatMap(OrdersBucket::getOrders)
-                .collect(Collectors.toList());
+    public int tryChangeOrderPrice(long orderId, long price) {
+        final OrderEntry entry = removeEntryById(orderId);
+        if (entry == null) {
+            return OrderBookResult.UNKNOWN_ORDER_ID;
+        }
+        // Loses time priority and may trade at the new price, same as cancel and add again
+        removeEntry(entry);
+        entry.price = price;
+        listener.onAmend(orderId, entry.side, price, entry.quantity, entry.filled);
+        addEntry(entry);
+        return OrderBookResult.SUCCESS;
     }
 
     @Override
-    public List<Order> getBidOrders() {
-        return bidOrdersBuckets.values().stream()
-                .flatMap(OrdersBucket::getOrders)
-                .collect(Collectors.toList());
+    public int tryChangeOrderQuantity(long orderId, long quantity) {
+        final OrderEntry entry = orderIdMap.get(orderId);
+        if (entry == null) {
+            return OrderBookResult.UNKNOWN_ORDER_ID;
+        }
+        listener.onAmend(orderId, entry.side, entry.price, quantity, entry.filled);
+
+        if (quantity <= entry.filled) {
+            // Nothing left to rest once quantity is reduced to filled quantity
+            removeEntryById(orderId);
+            removeEntry(entry);
+            orderEntryPool.release(entry);
+            return OrderBookResult.SUCCESS;
+        }
+        entry.bucket.changeQuantity(entry, quantity);
+        onLevelChange(entry.side, entry.bucket);
+        return OrderBookResult.SUCCESS;
     }
 
     @Override
     public Order getOrder(long orderId) throws UnknownOrderIdException {
-        return getOrderById(orderId);
+        return getEntryById(orderId).toOrder();
     }
 
     @Override
@@ -192,139 +150,98 @@ public class OrderBookImpl implements IOrderBook {
     }
 
     @Override
-    public IOrderBookSlice getSlice(long price) throws UnknownPriceException {
-        OrdersBucket ordersBucket;
-        Side side;
-        if (bidOrdersBuckets.containsKey(price)) {
-            ordersBucket = bidOrdersBuckets.get(price);
-            side = Side.BID;
-        } else if (askOrdersBuckets.containsKey(price)) {
-            ordersBucket = askOrdersBuckets.get(price);
-            side = Side.ASK;
-        } else {
-            throw new UnknownPriceException(price);
-        }
-        return new OrderBookSlice(
-                side,
-                price,
-                ordersBucket.getVolume(),
-                ordersBucket.getOrders().collect(Collectors.toUnmodifiableList()));
-    }
-
-    private NavigableMap<Long, OrdersBucket> getOrdersBucketBySide(Side side) {
-        return side == Side.BID ? bidOrdersBuckets : askOrdersBuckets;
+    public IOrderCursor newOrderCursor() {
+        return new OrderCursor();
     }
 
-    private Order getOrderById(long orderId) throws UnknownOrderIdException {
-        if (!orderIdMap.containsKey(orderId)) {
-            throw new UnknownOrderIdException(orderId);
+    /**
+     * Rest order behind orders of its level without matching nor publishing events, for
+     * restoring book state from {@link OrderBookSnapshot}
+     */
+    void restoreOrder(long orderId, long price, long quantity, long filled, Side side) {
+        if (orderIdMap.containsKey(orderId)) {
+            throw new IllegalStateException("Duplicate order id in snapshot: " + orderId);
         }
-        return orderIdMap.get(orderId);
+        final OrderEntry entry = orderEntryPool.acquire();
+        entry.orderId = orderId;
+        entry.price = price;
+        entry.quantity = quantity;
+        entry.filled = filled;
+        entry.side = side;
+        final IPriceLadder<OrdersBucket> ordersBuckets = getOrdersBucketBySide(side);
+        final OrdersBucket ordersBucket = ordersBuckets.getOrCreate(price);
+        ordersBucket.add(entry);
+        putEntry(entry);
+        updateTopOfBook(side, ordersBucket, ordersBuckets);
     }
 
-    private static class OrdersBucket implements Comparable<OrdersBucket> {
-        private final long price;
-        private long volume = 0;
-
-        // Key by price to value of order
-        private final LinkedHashMap<Long, Order> orders;
-
-        private OrdersBucket(long price) {
-            this.price = price;
-            orders = new LinkedHashMap<>();
-        }
-
-        @Override
-        public int compareTo(@NotNull OrderBookImpl.OrdersBucket o) {
-            return Long.compare(this.price, o.price);
-        }
-
-        public void add(Order order) {
-            orders.put(order.getOrderId(), order);
-            volume += order.getRemainingQuantity();
-        }
-
-        public void remove(Order order) {
-            orders.remove(order.getOrderId());
-            volume -= order.getRemainingQuantity();
-        }
-
-        public void remove(Iterator<Map.Entry<Long, Order>> iterator, Order order) {
-            iterator.remove();
-            volume -= order.getRemainingQuantity();
-        }
-
-        public void replace(Order originalOrder, Order newOrder) {
-            orders.replace(originalOrder.getOrderId(), newOrder);
-            volume += newOrder.getRemainingQuantity() - originalOrder.getRemainingQuantity();
-        }
-
-        public void replace(Map.Entry<Long, Order> entry, Order newOrder) {
-            final Order originalOrder = entry.getValue();
-            entry.setValue(newOrder);
-            volume += newOrder.getRemainingQuantity() - originalOrder.getRemainingQuantity();
-        }
+    /** @return number of order entries the pool holds for reuse */
+    @TestOnly
+    int getAvailableOrderEntries() {
+        return orderEntryPool.available();
+    }
 
-        public Stream<Order> getOrders() {
-            return orders.values().stream();
-        }
+    /** Index resting entry by its order id */
+    private void putEntry(OrderEntry entry) {
+        orderIdMap.put(entry.orderId, entry);
+        onOrderAdded(entry.side);
+    }
 
-        public Iterator<Map.Entry<Long, Order>> getIterator() {
-            return orders.entrySet().iterator();
+    /** @return entry no longer indexed by its order id, or null if there is none */
+    private OrderEntry removeEntryById(long orderId) {
+        final OrderEntry entry = orderIdMap.remove(orderId);
+        if (entry != null) {
+            onOrderRemoved(entry.side);
         }
+        return entry;
+    }
 
-        public long getVolume() {
-            return volume;
+    private OrderEntry getEntryById(long orderId) throws UnknownOrderIdException {
+        final OrderEntry entry = orderIdMap.get(orderId);
+        if (entry == null) {
+            throw new UnknownOrderIdException(orderId);
         }
+        return entry;
     }
 
-    private static class OrderBookSlice implements IOrderBookSlice {
+    private class OrderCursor extends AbstractOrderCursor {
+        private OrderEntry entry;
 
-        private final Side side;
-        private final long price;
-        private final long volume;
-        private final List<Order> orders;
+        @Override
+        boolean first(OrdersBucket ordersBucket) {
+            entry = ordersBucket.getHead();
+            return entry != null;
+        }
 
-        private OrderBookSlice(Side side, long price, long volume, List<Order> orders) {
-            this.side = side;
-            this.price = price;
-            this.volume = volume;
-            this.orders = orders;
+        @Override
+        boolean advance() {
+            entry = entry.next;
+            return entry != null;
         }
 
         @Override
-        public Side getSide() {
-            return side;
+        public long getOrderId() {
+            return entry.orderId;
         }
 
         @Override
         public long getPrice() {
-            return price;
+            return entry.price;
         }
 
         @Override
-        public List<Order> getOrders() {
-            return orders;
+        public long getQuantity() {
+            return entry.quantity;
         }
 
         @Override
-        public long getVolume() {
-            return volume;
+        public Side getSide() {
+            return entry.side;
         }
 
-        @TestOnly
         @Override
-        public String toString() {
-            return "OrderBookSlice{"
-                    + "side="
-                    + side
-                    + ", price="
-                    + price
-                    + ", volume="
-                    + volume
-                    + ", orders="
-                    + orders
-                    + '}';
+        public long getFilled() {
+            return entry.filled;
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.horacehylee.matching_engine.orderbook;
+
+/** Result codes of the status code variant of {@link IOrderBook} mutations */
+public final class OrderBookResult {
+    public static final int SUCCESS = 0;
+    public static final int DUPLICATE_ORDER_ID = 1;
+    public static final int UNKNOWN_ORDER_ID = 2;
+    /** Not enough opposite volume crossing the order price for its time in force */
+    public static final int NOT_FILLABLE = 3;
+
+    private OrderBookResult() {}
+
+    public static String toString(int result) {
+        switch (result) {
+            case SUCCESS:
+                return "SUCCESS";
+            case DUPLICATE_ORDER_ID:
+                return "DUPLICATE_ORDER_ID";
+            case UNKNOWN_ORDER_ID:
+                return "UNKNOWN_ORDER_ID";
+            case NOT_FILLABLE:
+                return "NOT_FILLABLE";
+            default:
+                return "UNKNOWN_RESULT(" + result + ")";
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Point-in-time binary image of the resting orders of an order book, in little endian byte order:
+ *
+ * <pre>
+ * header:  int magic, int version, long sequence, int order count
+ * order:   long order id, long price, long quantity, long filled, int side code
+ * </pre>
+ *
+ * Orders are written bids then asks, each side from best level to worst and each level in time
+ * priority, so restoring them in file order rebuilds the same levels and queues.
+ *
+ * <p>Taking a snapshot only copies resting orders into memory, so it is cheap enough to be done
+ * on the matching thread between two commands. Writing it to a file can then happen on any
+ * thread. Snapshots are taken of any book through its order cursor, and restored into an {@link
+ * OrderBookImpl}. Restoring takes time in proportion to resting orders, after which only journal
+ * records after {@link #getSequence()} are left to replay.
+ */
+public final class OrderBookSnapshot {
+    private static final int MAGIC = 0x4F42534E;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+    private static final int ORDER_SIZE = 36;
+
+    private final ByteBuffer buffer;
+
+    private OrderBookSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Copy resting orders of the book. Must be called from the thread applying commands to it.
+     * @param sequence of the last command applied to the book, usually its journal sequence
+     * @throws IllegalArgumentException if the book holds more orders than a snapshot can
+     */
+    public static OrderBookSnapshot take(IOrderBook orderBook, long sequence) {
+        final int orderCount =
+                orderBook.getOrderCount(Side.BID) + orderBook.getOrderCount(Side.ASK);
+        final ByteBuffer buffer =
+                ByteBuffer.allocate(getSize(orderCount)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(sequence).putInt(orderCount);
+        final IOrderCursor cursor = orderBook.newOrderCursor();
+        putOrders(buffer, cursor.reset(Side.BID));
+        putOrders(buffer, cursor.reset(Side.ASK));
+        buffer.flip();
+        return new OrderBookSnapshot(buffer);
+    }
+
+    /** @return bytes of snapshot of the number of orders */
+    static int getSize(int orderCount) {
+        final long size = HEADER_SIZE + (long) orderCount * ORDER_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Snapshot of "
+                            + orderCount
+                            + " orders takes "
+                            + size
+                            + " bytes, more than the "
+                            + Integer.MAX_VALUE
+                            + " a snapshot can hold");
+        }
+        return (int) size;
+    }
+
+    private static void putOrders(ByteBuffer buffer, IOrderCursor cursor) {
+        while (cursor.next()) {
+            buffer.putLong(cursor.getOrderId())
+                    .putLong(cursor.getPrice())
+                    .putLong(cursor.getQuantity())
+                    .putLong(cursor.getFilled())
+                    .putInt(cursor.getSide().getCode());
+        }
+    }
+
+    /** Read snapshot written by {@link #write(Path)} */
+    public static OrderBookSnapshot read(Path file) throws IOException {
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot size " + size + " of " + file);
+            }
+            buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of snapshot " + file);
+                }
+            }
+        }
+        buffer.flip();
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Unexpected snapshot format of " + file);
+        }
+        final OrderBookSnapshot snapshot = new OrderBookSnapshot(buffer);
+        if (buffer.limit() != HEADER_SIZE + (long) snapshot.getOrderCount() * ORDER_SIZE) {
+            throw new IOException("Truncated snapshot " + file);
+        }
+        return snapshot;
+    }
+
+    /** Write snapshot to a temporary file then move it over the file, so it is never partial */
+    public void write(Path file) throws IOException {
+        final Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel =
+                FileChannel.open(
+                        temporaryFile,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = this.buffer.duplicate();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public IOrderBook restore(OrderBookConfig config) {
+        return restore(config, IOrderBookListener.NO_OP);
+    }
+
+    /**
+     * Create order book holding the resting orders of the snapshot. No event is published for
+     * the restored orders.
+     */
+    public IOrderBook restore(OrderBookConfig config, IOrderBookListener listener) {
+        final OrderBookImpl orderBook = (OrderBookImpl) OrderBookImpl.of(config, listener);
+        final ByteBuffer buffer = this.buffer;
+        final int orderCount = getOrderCount();
+        for (int i = 0, position = HEADER_SIZE; i < orderCount; i++, position += ORDER_SIZE) {
+            orderBook.restoreOrder(
+                    buffer.getLong(position),
+                    buffer.getLong(position + 8),
+                    buffer.getLong(position + 16),
+                    buffer.getLong(position + 24),
+                    Side.of((char) buffer.getInt(position + 32)));
+        }
+        return orderBook;
+    }
+
+    /** @return sequence of the last command applied to the book when snapshot was taken */
+    public long getSequence() {
+        return buffer.getLong(8);
+    }
+
+    public int getOrderCount() {
+        return buffer.getInt(16);
+    }
+}
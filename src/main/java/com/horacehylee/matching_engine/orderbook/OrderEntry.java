@@ -0,0 +1,48 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+
+/**
+ * Mutable record of a resting order, recycled through {@link OrderEntryPool} so fills and amends
+ * update it in place. {@link Order} is only created as a snapshot when it is requested.
+ *
+ * <p>The entry carries its own links in the FIFO queue of its price level, so it can be unlinked
+ * in constant time once found through the order id index.
+ */
+final class OrderEntry {
+    long orderId;
+    long price;
+    long quantity;
+    long filled;
+    Side side;
+
+    /** Price level queue this entry is linked into, or null if it is not resting */
+    OrdersBucket bucket;
+
+    OrderEntry prev;
+    OrderEntry next;
+
+    void set(long orderId, long price, long quantity, Side side, long filled) {
+        this.orderId = orderId;
+        this.price = price;
+        this.quantity = quantity;
+        this.filled = filled;
+        this.side = side;
+    }
+
+    void reset() {
+        side = null;
+        bucket = null;
+        prev = null;
+        next = null;
+    }
+
+    long getRemainingQuantity() {
+        return quantity - filled;
+    }
+
+    Order toOrder() {
+        return Order.of(orderId, price, quantity, side, filled);
+    }
+}
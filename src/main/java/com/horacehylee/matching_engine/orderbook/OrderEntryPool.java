@@ -0,0 +1,37 @@
+package com.horacehylee.matching_engine.orderbook;
+
+/** Free list of order entries, so that steady state of adding and filling orders allocates none */
+final class OrderEntryPool {
+    private final OrderEntry[] entries;
+    private int size;
+
+    /** @param capacity number of entries to pre-allocate and retain once released */
+    OrderEntryPool(int capacity) {
+        this.entries = new OrderEntry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new OrderEntry();
+        }
+        this.size = capacity;
+    }
+
+    OrderEntry acquire() {
+        if (size == 0) {
+            return new OrderEntry();
+        }
+        final OrderEntry entry = entries[--size];
+        entries[size] = null;
+        return entry;
+    }
+
+    void release(OrderEntry entry) {
+        entry.reset();
+        if (size < entries.length) {
+            entries[size++] = entry;
+        }
+    }
+
+    /** @return number of entries available without allocation */
+    int available() {
+        return size;
+    }
+}
@@ -0,0 +1,8 @@
+package com.horacehylee.matching_engine.orderbook;
+
+public enum OrderStoreType {
+    /** Order records as pooled objects on the heap, see {@link OrderBookImpl} */
+    HEAP,
+    /** Order records as fixed width rows in direct memory, see {@link OffHeapOrderBook} */
+    OFF_HEAP
+}
@@ -0,0 +1,97 @@
+package com.horacehylee.matching_engine.orderbook;
+
+/** Price level holding its resting orders in an intrusive FIFO queue of time priority */
+final class OrdersBucket extends AbstractOrdersBucket {
+    private OrderEntry head;
+    private OrderEntry tail;
+
+    OrdersBucket(long price) {
+        super(price);
+    }
+
+    @Override
+    void reset(long price) {
+        super.reset(price);
+        head = null;
+        tail = null;
+    }
+
+    /** Append entry to the tail of the queue */
+    public void add(OrderEntry entry) {
+        entry.bucket = this;
+        entry.prev = tail;
+        entry.next = null;
+        if (tail == null) {
+            head = entry;
+        } else {
+            tail.next = entry;
+        }
+        tail = entry;
+        orderCount++;
+        volume += entry.getRemainingQuantity();
+    }
+
+    /** Unlink entry from anywhere in the queue */
+    public void remove(OrderEntry entry) {
+        final OrderEntry prev = entry.prev;
+        final OrderEntry next = entry.next;
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.prev = prev;
+        }
+        entry.bucket = null;
+        entry.prev = null;
+        entry.next = null;
+        orderCount--;
+        volume -= entry.getRemainingQuantity();
+    }
+
+    /** Fill entry in place, keeping its position in the queue */
+    public void fill(OrderEntry entry, long quantity) {
+        entry.filled += quantity;
+        volume -= quantity;
+    }
+
+    /** Change quantity of entry in place, keeping its position in the queue */
+    public void changeQuantity(OrderEntry entry, long quantity) {
+        volume += quantity - entry.quantity;
+        entry.quantity = quantity;
+    }
+
+    /** @return entry of earliest order, or null if bucket is empty */
+    public OrderEntry getHead() {
+        return head;
+    }
+
+    @Override
+    long getHeadOrderId() {
+        return head.orderId;
+    }
+
+    @Override
+    long getHeadRemainingQuantity() {
+        return head.getRemainingQuantity();
+    }
+
+    @Override
+    void fillHead(long quantity) {
+        fill(head, quantity);
+    }
+
+    @Override
+    boolean visitOrders(IOrderVisitor visitor) {
+        for (OrderEntry entry = head; entry != null; entry = entry.next) {
+            if (!visitor.visit(
+                    entry.orderId, entry.price, entry.quantity, entry.side, entry.filled)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
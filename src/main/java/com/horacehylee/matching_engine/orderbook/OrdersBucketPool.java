@@ -0,0 +1,67 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import java.util.function.LongFunction;
+
+/**
+ * Free list of price levels of a side, so that levels flickering in and out at the touch are
+ * reset and reused instead of allocated for every first order at a price
+ */
+final class OrdersBucketPool<B extends AbstractOrdersBucket> {
+    private final AbstractOrdersBucket[] buckets;
+    private final LongFunction<B> bucketFactory;
+    private int size;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity number of levels to pre-allocate and retain once released
+     * @param bucketFactory to create level of a price
+     */
+    OrdersBucketPool(int capacity, LongFunction<B> bucketFactory) {
+        this.buckets = new AbstractOrdersBucket[capacity];
+        this.bucketFactory = bucketFactory;
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = bucketFactory.apply(0L);
+        }
+        this.size = capacity;
+    }
+
+    /** @return empty level of the price, as level factory of the price ladder */
+    @SuppressWarnings("unchecked")
+    B acquire(long price) {
+        if (size == 0) {
+            misses++;
+            return bucketFactory.apply(price);
+        }
+        hits++;
+        final B bucket = (B) buckets[--size];
+        buckets[size] = null;
+        bucket.reset(price);
+        return bucket;
+    }
+
+    /** Retain level removed from the price ladder once it is empty, or discard it if full */
+    void release(B bucket) {
+        if (size < buckets.length) {
+            buckets[size++] = bucket;
+        } else {
+            bucket.discard();
+        }
+    }
+
+    /** @return number of levels available without allocation */
+    int available() {
+        return size;
+    }
+
+    /** @return number of levels acquired from the free list */
+    long getHits() {
+        return hits;
+    }
+
+    /** @return number of levels allocated as the free list was empty */
+    long getMisses() {
+        return misses;
+    }
+}
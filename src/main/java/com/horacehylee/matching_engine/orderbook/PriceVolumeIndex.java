@@ -0,0 +1,151 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ladder.IPriceLadder;
+
+/**
+ * Fenwick tree of level volumes of a side over a window of tick prices, answering cumulative
+ * volume from the best price in logarithmic time. Positions count from the best end of the
+ * window, descending prices for bids and ascending for asks, so both sides share the same
+ * prefix sums.
+ *
+ * <p>The window centers on the first price added while the side is empty. Levels outside the
+ * window, or off the tick grid, are only counted, and while there is any the queries walk the
+ * ladder instead.
+ */
+final class PriceVolumeIndex {
+    private final boolean bid;
+    private final long tickSize;
+    private final int capacity;
+    /** One based Fenwick tree, each node summing volumes of its range of positions */
+    private final long[] tree;
+    /** Largest power of two not more than capacity, to start descending the tree */
+    private final int topBit;
+
+    /** Price of position 0, the best end of the window */
+    private long basePrice;
+    private long windowVolume;
+    private int outsideLevels;
+
+    PriceVolumeIndex(Side side, long tickSize, int capacity) {
+        if (tickSize <= 0) {
+            throw new IllegalArgumentException("Tick size must be positive: " + tickSize);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.bid = side == Side.BID;
+        this.tickSize = tickSize;
+        this.capacity = capacity;
+        this.tree = new long[capacity + 1];
+        this.topBit = Integer.highestOneBit(capacity);
+    }
+
+    /** Apply change of volume of the level since it was last applied */
+    void onLevelChange(AbstractOrdersBucket ordersBucket) {
+        final long previousVolume = ordersBucket.indexedVolume;
+        final long volume = ordersBucket.getVolume();
+        if (volume == previousVolume) {
+            return;
+        }
+        ordersBucket.indexedVolume = volume;
+        final long price = ordersBucket.getPrice();
+        if (previousVolume == 0 && windowVolume == 0 && outsideLevels == 0) {
+            // Nothing is indexed, so the tree is all zeros and the window can move freely
+            final long halfWindow = (capacity / 2) * tickSize;
+            basePrice = bid ? price + halfWindow : price - halfWindow;
+        }
+        final int position = positionOf(price);
+        if (position < 0) {
+            if (previousVolume == 0) {
+                outsideLevels++;
+            } else if (volume == 0) {
+                outsideLevels--;
+            }
+            return;
+        }
+        final long delta = volume - previousVolume;
+        windowVolume += delta;
+        for (int i = position + 1; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /** @return volume of levels at the price or better */
+    long getVolume(long price, IPriceLadder<? extends AbstractOrdersBucket> ladder) {
+        if (outsideLevels != 0) {
+            long volume = 0;
+            for (AbstractOrdersBucket ordersBucket = ladder.best();
+                    ordersBucket != null && !isWorse(ordersBucket.getPrice(), price);
+                    ordersBucket = ladder.next(ordersBucket.getPrice())) {
+                volume += ordersBucket.getVolume();
+            }
+            return volume;
+        }
+        if (windowVolume == 0) {
+            return 0L;
+        }
+        // Last position at the price or better, prices between ticks round toward the best end
+        final long position = Math.floorDiv(bid ? basePrice - price : price - basePrice, tickSize);
+        if (position < 0) {
+            return 0L;
+        }
+        if (position >= capacity) {
+            return windowVolume;
+        }
+        long volume = 0;
+        for (int i = (int) position + 1; i > 0; i -= i & -i) {
+            volume += tree[i];
+        }
+        return volume;
+    }
+
+    /**
+     * @return worst price of levels from the best one needed to reach the quantity, or {@link
+     *     IReadOnlyOrderBook#NO_PRICE} if the side holds less
+     */
+    long getFillPrice(long quantity, IPriceLadder<? extends AbstractOrdersBucket> ladder) {
+        if (outsideLevels != 0) {
+            long volume = 0;
+            for (AbstractOrdersBucket ordersBucket = ladder.best();
+                    ordersBucket != null;
+                    ordersBucket = ladder.next(ordersBucket.getPrice())) {
+                volume += ordersBucket.getVolume();
+                if (volume >= quantity) {
+                    return ordersBucket.getPrice();
+                }
+            }
+            return IReadOnlyOrderBook.NO_PRICE;
+        }
+        if (windowVolume < quantity) {
+            return IReadOnlyOrderBook.NO_PRICE;
+        }
+        // Descend to the last position whose prefix volume is still less than the quantity
+        int position = 0;
+        long remaining = quantity;
+        for (int bit = topBit; bit != 0; bit >>= 1) {
+            final int next = position + bit;
+            if (next <= capacity && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        // One based position found is the zero based position reaching the quantity
+        final long offset = position * tickSize;
+        return bid ? basePrice - offset : basePrice + offset;
+    }
+
+    /** @return position of the price in the window, or -1 if it is outside or off the grid */
+    private int positionOf(long price) {
+        final long offset = bid ? basePrice - price : price - basePrice;
+        if (offset < 0 || offset % tickSize != 0) {
+            return -1;
+        }
+        final long position = offset / tickSize;
+        return position < capacity ? (int) position : -1;
+    }
+
+    private boolean isWorse(long levelPrice, long price) {
+        return bid ? levelPrice < price : levelPrice > price;
+    }
+}
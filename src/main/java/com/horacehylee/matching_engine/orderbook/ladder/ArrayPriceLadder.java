@@ -0,0 +1,193 @@
+package com.horacehylee.matching_engine.orderbook.ladder;
+
+import com.horacehylee.matching_engine.collection.OccupancyBitmap;
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.util.function.LongFunction;
+
+/**
+ * Price ladder storing levels in an array window indexed by {@code (price - basePrice) / tickSize},
+ * giving constant time level access and a tracked best index. An {@link OccupancyBitmap} over the
+ * slots finds the next occupied slot in a few bit operations however sparse the window is.
+ *
+ * <p>Prices outside the window, or not on the tick grid, fall back to a {@link TreePriceLadder}.
+ * The window re-centers on the next added price whenever it holds no levels, pulling in any
+ * fallback levels which then fit.
+ */
+public class ArrayPriceLadder<L extends IPriceLevel> implements IPriceLadder<L> {
+
+    private static final int NO_INDEX = -1;
+
+    private final boolean bid;
+    private final long tickSize;
+    private final L[] slots;
+    private final OccupancyBitmap occupied;
+    private final TreePriceLadder<L> fallback;
+    private final LongFunction<L> levelFactory;
+
+    private long basePrice;
+    private int bestIndex = NO_INDEX;
+    private int slotLevels;
+
+    @SuppressWarnings("unchecked")
+    private ArrayPriceLadder(
+            Side side, long tickSize, int capacity, LongFunction<L> levelFactory) {
+        if (tickSize <= 0) {
+            throw new IllegalArgumentException("Tick size must be positive: " + tickSize);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.bid = side == Side.BID;
+        this.tickSize = tickSize;
+        this.slots = (L[]) new IPriceLevel[capacity];
+        this.occupied = OccupancyBitmap.of(capacity);
+        this.fallback = TreePriceLadder.of(side, levelFactory);
+        this.levelFactory = levelFactory;
+    }
+
+    /**
+     * Create array price ladder
+     * @param side of the book, deciding priority of prices
+     * @param tickSize price increment between adjacent slots
+     * @param capacity number of slots in the window
+     * @param levelFactory to create level of a price
+     */
+    public static <L extends IPriceLevel> ArrayPriceLadder<L> of(
+            Side side, long tickSize, int capacity, LongFunction<L> levelFactory) {
+        return new ArrayPriceLadder<>(side, tickSize, capacity, levelFactory);
+    }
+
+    @Override
+    public L get(long price) {
+        final int index = indexOf(price);
+        return index == NO_INDEX ? fallback.get(price) : slots[index];
+    }
+
+    @Override
+    public L getOrCreate(long price) {
+        int index = indexOf(price);
+        if (index == NO_INDEX) {
+            if (slotLevels != 0 || Math.floorMod(price, tickSize) != 0) {
+                return fallback.getOrCreate(price);
+            }
+            recenter(price);
+            index = indexOf(price);
+        }
+        L level = slots[index];
+        if (level == null) {
+            level = levelFactory.apply(price);
+            occupy(index, level);
+        }
+        return level;
+    }
+
+    @Override
+    public void remove(L level) {
+        final int index = indexOf(level.getPrice());
+        if (index == NO_INDEX || slots[index] != level) {
+            fallback.remove(level);
+            return;
+        }
+        slots[index] = null;
+        occupied.clear(index);
+        slotLevels--;
+        if (index == bestIndex) {
+            bestIndex = slotLevels == 0 ? NO_INDEX : scanFrom(index);
+        }
+    }
+
+    @Override
+    public L best() {
+        final L level = bestIndex == NO_INDEX ? null : slots[bestIndex];
+        return better(level, fallback.best());
+    }
+
+    @Override
+    public L next(long price) {
+        L level = null;
+        if (bestIndex != NO_INDEX) {
+            // First slot strictly worse than the price, clamped to the best occupied slot
+            final long offset = price - basePrice;
+            final long start =
+                    bid
+                            ? Math.min(Math.floorDiv(offset - 1, tickSize), bestIndex)
+                            : Math.max(Math.floorDiv(offset, tickSize) + 1, bestIndex);
+            if (start >= 0 && start < slots.length) {
+                final int index = scanFrom((int) start);
+                level = index == NO_INDEX ? null : slots[index];
+            }
+        }
+        return better(level, fallback.next(price));
+    }
+
+    @Override
+    public int size() {
+        return slotLevels + fallback.size();
+    }
+
+    /** @return price of the first slot in the window */
+    public long getBasePrice() {
+        return basePrice;
+    }
+
+    private void occupy(int index, L level) {
+        slots[index] = level;
+        occupied.set(index);
+        slotLevels++;
+        if (bestIndex == NO_INDEX || (bid ? index > bestIndex : index < bestIndex)) {
+            bestIndex = index;
+        }
+    }
+
+    /**
+     * Move window so that the price sits in the middle, then move fallback levels inside the new
+     * window into their slots. Only called when there is no level in the window.
+     */
+    private void recenter(long price) {
+        basePrice = price - (slots.length / 2) * tickSize;
+        final long lastPrice = basePrice + (slots.length - 1) * tickSize;
+        L level = fallback.best();
+        while (level != null) {
+            final long levelPrice = level.getPrice();
+            final int index = indexOf(levelPrice);
+            if (index != NO_INDEX) {
+                fallback.remove(level);
+                occupy(index, level);
+            } else if (bid ? levelPrice < basePrice : levelPrice > lastPrice) {
+                break;
+            }
+            level = fallback.next(levelPrice);
+        }
+    }
+
+    /**
+     * Find occupied slot from the index in the direction of worse prices
+     * @return index of first occupied slot, or NO_INDEX if there is none
+     */
+    private int scanFrom(int index) {
+        return bid ? occupied.previousSetBit(index) : occupied.nextSetBit(index);
+    }
+
+    /** @return slot index of the price, or NO_INDEX if price is off the tick grid or window */
+    private int indexOf(long price) {
+        final long offset = price - basePrice;
+        if (offset < 0 || offset % tickSize != 0) {
+            return NO_INDEX;
+        }
+        final long index = offset / tickSize;
+        return index < slots.length ? (int) index : NO_INDEX;
+    }
+
+    private L better(L level, L other) {
+        if (level == null) {
+            return other;
+        }
+        if (other == null) {
+            return level;
+        }
+        final boolean levelIsBetter =
+                bid ? level.getPrice() > other.getPrice() : level.getPrice() < other.getPrice();
+        return levelIsBetter ? level : other;
+    }
+}
@@ -0,0 +1,38 @@
+package com.horacehylee.matching_engine.orderbook.ladder;
+
+/**
+ * Price levels of one side of the book, navigated in priority order. Best level is the highest
+ * price for bid side and the lowest price for ask side.
+ *
+ * @param <L> type of price level
+ */
+public interface IPriceLadder<L extends IPriceLevel> {
+
+    /**
+     * Get level of the price
+     * @return level, or null if there is no level at the price
+     */
+    L get(long price);
+
+    /** Get level of the price, creating it if there is no level at the price yet */
+    L getOrCreate(long price);
+
+    /** Remove level from the ladder, usually once it has no orders left */
+    void remove(L level);
+
+    /**
+     * Get best level
+     * @return level of best price, or null if ladder is empty
+     */
+    L best();
+
+    /**
+     * Get next level in priority order
+     * @param price to be searched from, not required to have a level
+     * @return first level of price worse than the given price, or null if there is none
+     */
+    L next(long price);
+
+    /** @return number of levels */
+    int size();
+}
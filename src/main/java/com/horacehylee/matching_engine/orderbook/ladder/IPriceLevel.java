@@ -0,0 +1,6 @@
+package com.horacehylee.matching_engine.orderbook.ladder;
+
+public interface IPriceLevel {
+
+    long getPrice();
+}
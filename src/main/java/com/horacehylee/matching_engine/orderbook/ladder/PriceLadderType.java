@@ -0,0 +1,8 @@
+package com.horacehylee.matching_engine.orderbook.ladder;
+
+public enum PriceLadderType {
+    /** Levels kept in a tree, supporting any spread of prices */
+    TREE,
+    /** Levels kept in a tick-indexed array window, for instruments trading in a narrow band */
+    ARRAY
+}
@@ -0,0 +1,91 @@
+package com.horacehylee.matching_engine.orderbook.ladder;
+
+import com.horacehylee.matching_engine.collection.LongObjectHashMap;
+import com.horacehylee.matching_engine.domain.Side;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+
+public class TreePriceLadder<L extends IPriceLevel> implements IPriceLadder<L> {
+
+    /** Key by price, ordered by priority of the side */
+    private final NavigableMap<Long, L> levels;
+
+    /** Same levels by primitive price, so that looking a level up by price does not box it */
+    private final LongObjectHashMap<L> levelsByPrice = LongObjectHashMap.of();
+
+    private final LongFunction<L> levelFactory;
+
+    /**
+     * Key of the level last returned, reused to look up the level after it so that walking the
+     * ladder does not box prices. Map entries are avoided too, as exporting them allocates.
+     */
+    private Long lastKey;
+
+    private TreePriceLadder(Side side, LongFunction<L> levelFactory) {
+        this.levels =
+                side == Side.BID ? new TreeMap<>(Collections.reverseOrder()) : new TreeMap<>();
+        this.levelFactory = levelFactory;
+    }
+
+    public static <L extends IPriceLevel> TreePriceLadder<L> of(
+            Side side, LongFunction<L> levelFactory) {
+        return new TreePriceLadder<>(side, levelFactory);
+    }
+
+    @Override
+    public L get(long price) {
+        return levelsByPrice.get(price);
+    }
+
+    @Override
+    public L getOrCreate(long price) {
+        L level = levelsByPrice.get(price);
+        if (level == null) {
+            level = levelFactory.apply(price);
+            levels.put(price, level);
+            levelsByPrice.put(price, level);
+        }
+        return level;
+    }
+
+    @Override
+    public void remove(L level) {
+        final long price = level.getPrice();
+        levels.remove(price);
+        levelsByPrice.remove(price);
+    }
+
+    @Override
+    public L best() {
+        if (levels.isEmpty()) {
+            return null;
+        }
+        final Long key = levels.firstKey();
+        lastKey = key;
+        return levels.get(key);
+    }
+
+    @Override
+    public L next(long price) {
+        if (levels.isEmpty()) {
+            return null;
+        }
+        final Long lastKey = this.lastKey;
+        final Long fromKey =
+                lastKey != null && lastKey == price ? lastKey : Long.valueOf(price);
+        final Long key = levels.higherKey(fromKey);
+        if (key == null) {
+            return null;
+        }
+        this.lastKey = key;
+        return levels.get(key);
+    }
+
+    @Override
+    public int size() {
+        return levels.size();
+    }
+}
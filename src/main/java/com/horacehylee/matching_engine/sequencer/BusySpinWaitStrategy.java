@@ -0,0 +1,10 @@
+package com.horacehylee.matching_engine.sequencer;
+
+/** Lowest latency by burning the core, for threads pinned to an isolated core */
+public class BusySpinWaitStrategy implements IWaitStrategy {
+
+    @Override
+    public void idle(int attempt) {
+        Thread.onSpinWait();
+    }
+}
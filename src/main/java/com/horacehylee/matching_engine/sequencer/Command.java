@@ -0,0 +1,98 @@
+package com.horacehylee.matching_engine.sequencer;
+
+import com.horacehylee.matching_engine.domain.Order;
+import org.jetbrains.annotations.TestOnly;
+
+/** Preallocated slot of {@link CommandRingBuffer}, overwritten by every command claiming it */
+public final class Command {
+    private CommandType type;
+    private long instrumentId;
+    private Order order;
+    private long orderId;
+    private long price;
+    private long quantity;
+
+    Command() {}
+
+    void setAddOrder(long instrumentId, Order order) {
+        this.type = CommandType.ADD_ORDER;
+        this.instrumentId = instrumentId;
+        this.order = order;
+        this.orderId = order.getOrderId();
+    }
+
+    void setCancelOrder(long instrumentId, long orderId) {
+        this.type = CommandType.CANCEL_ORDER;
+        this.instrumentId = instrumentId;
+        this.order = null;
+        this.orderId = orderId;
+    }
+
+    void setChangeOrderPrice(long instrumentId, long orderId, long price) {
+        this.type = CommandType.CHANGE_ORDER_PRICE;
+        this.instrumentId = instrumentId;
+        this.order = null;
+        this.orderId = orderId;
+        this.price = price;
+    }
+
+    void setChangeOrderQuantity(long instrumentId, long orderId, long quantity) {
+        this.type = CommandType.CHANGE_ORDER_QUANTITY;
+        this.instrumentId = instrumentId;
+        this.order = null;
+        this.orderId = orderId;
+        this.quantity = quantity;
+    }
+
+    /** Drop reference to order once processed, so that the ring does not keep it alive */
+    void clear() {
+        this.order = null;
+    }
+
+    public CommandType getType() {
+        return type;
+    }
+
+    /** @return instrument of the order book the command is for */
+    public long getInstrumentId() {
+        return instrumentId;
+    }
+
+    /** @return order to be added, only for {@link CommandType#ADD_ORDER} */
+    public Order getOrder() {
+        return order;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    /** @return new price, only for {@link CommandType#CHANGE_ORDER_PRICE} */
+    public long getPrice() {
+        return price;
+    }
+
+    /** @return new quantity, only for {@link CommandType#CHANGE_ORDER_QUANTITY} */
+    public long getQuantity() {
+        return quantity;
+    }
+
+    @TestOnly
+    @Override
+    public String toString() {
+        return "Command{"
+                + "type="
+                + type
+                + ", instrumentId="
+                + instrumentId
+                + ", order="
+                + order
+                + ", orderId="
+                + orderId
+                + ", price="
+                + price
+                + ", quantity="
+                + quantity
+                + '}';
+    }
+}
@@ -0,0 +1,127 @@
+package com.horacehylee.matching_engine.sequencer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Multi producer, single consumer ring of preallocated {@link Command} slots.
+ *
+ * <p>Producers claim sequences with an atomic increment, fill the slot and publish it by marking
+ * the slot available for the lap of the sequence. The consumer processes slots strictly in
+ * sequence order and releases them by advancing the gating sequence, which producers wait on once
+ * the ring is full.
+ */
+public final class CommandRingBuffer {
+
+    private static final VarHandle CLAIM_SEQUENCE;
+    private static final VarHandle GATING_SEQUENCE;
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CLAIM_SEQUENCE =
+                    lookup.findVarHandle(CommandRingBuffer.class, "claimSequence", long.class);
+            GATING_SEQUENCE =
+                    lookup.findVarHandle(CommandRingBuffer.class, "gatingSequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Command[] commands;
+    private final int mask;
+    private final int indexShift;
+
+    /** Lap of the sequence last published to each slot */
+    private final int[] available;
+
+    private final IWaitStrategy producerWaitStrategy;
+
+    /** Last sequence claimed by producers */
+    @SuppressWarnings("unused")
+    private volatile long claimSequence = -1L;
+
+    /** Last sequence released by the consumer */
+    @SuppressWarnings("unused")
+    private volatile long gatingSequence = -1L;
+
+    private CommandRingBuffer(int capacity, IWaitStrategy producerWaitStrategy) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.commands = new Command[capacity];
+        for (int i = 0; i < capacity; i++) {
+            commands[i] = new Command();
+        }
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.available = new int[capacity];
+        Arrays.fill(available, -1);
+        this.producerWaitStrategy = producerWaitStrategy;
+    }
+
+    /**
+     * Create command ring buffer
+     * @param capacity number of slots, power of two
+     * @param producerWaitStrategy for producers waiting on a full ring
+     */
+    public static CommandRingBuffer of(int capacity, IWaitStrategy producerWaitStrategy) {
+        return new CommandRingBuffer(capacity, producerWaitStrategy);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /** Claim next sequence for a producer, waiting while the ring is full */
+    public long next() {
+        final long sequence = (long) CLAIM_SEQUENCE.getAndAdd(this, 1L) + 1L;
+        final long wrapPoint = sequence - commands.length;
+        int attempt = 0;
+        while (wrapPoint > (long) GATING_SEQUENCE.getAcquire(this)) {
+            producerWaitStrategy.idle(attempt++);
+        }
+        return sequence;
+    }
+
+    /** Get slot of a claimed sequence */
+    public Command get(long sequence) {
+        return commands[(int) sequence & mask];
+    }
+
+    /** Make slot of a claimed sequence visible to the consumer */
+    public void publish(long sequence) {
+        AVAILABLE.setRelease(available, (int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    /** @return last sequence claimed by producers, which may not be published yet */
+    public long getClaimSequence() {
+        return (long) CLAIM_SEQUENCE.getVolatile(this);
+    }
+
+    /** @return last sequence released by the consumer */
+    public long getGatingSequence() {
+        return (long) GATING_SEQUENCE.getAcquire(this);
+    }
+
+    /**
+     * Find contiguous published sequences
+     * @return highest sequence from the given sequence which is published with all before it, or
+     *     one less than given sequence if it is not published yet
+     */
+    long getHighestPublished(long sequence, long claimSequence) {
+        for (long s = sequence; s <= claimSequence; s++) {
+            if ((int) AVAILABLE.getAcquire(available, (int) s & mask) != (int) (s >>> indexShift)) {
+                return s - 1;
+            }
+        }
+        return claimSequence;
+    }
+
+    /** Let producers reuse slots up to the sequence */
+    void release(long sequence) {
+        GATING_SEQUENCE.setRelease(this, sequence);
+    }
+}
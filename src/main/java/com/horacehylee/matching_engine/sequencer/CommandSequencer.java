@@ -0,0 +1,183 @@
+package com.horacehylee.matching_engine.sequencer;
+
+import com.horacehylee.matching_engine.domain.Order;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Single writer in front of a non thread safe order book. Any number of producer threads submit
+ * commands through a {@link CommandRingBuffer}, and one dedicated matcher thread drains them in
+ * sequence order into the {@link ICommandHandler}.
+ *
+ * <p>A command the handler throws on is counted as failed and skipped, so that the matcher thread
+ * keeps draining the ring and producers waiting for room are never stuck behind it.
+ */
+public class CommandSequencer implements AutoCloseable {
+    /** Instrument id of commands submitted without one, for sequencers of a single order book */
+    public static final long SINGLE_INSTRUMENT_ID = 0L;
+
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final CommandRingBuffer ringBuffer;
+    private final ICommandHandler handler;
+    private final IWaitStrategy waitStrategy;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    private volatile long failedCommands = 0;
+    private volatile RuntimeException lastFailure;
+
+    private CommandSequencer(
+            int capacity,
+            IWaitStrategy waitStrategy,
+            ICommandHandler handler,
+            ThreadFactory threadFactory) {
+        this.ringBuffer = CommandRingBuffer.of(capacity, waitStrategy);
+        this.handler = handler;
+        this.waitStrategy = waitStrategy;
+        this.thread = threadFactory.newThread(this::run);
+    }
+
+    /**
+     * Create sequencer, not started yet
+     * @param capacity number of commands the ring holds, power of two
+     * @param waitStrategy for the matcher thread waiting for commands, and producers waiting on a
+     *     full ring
+     * @param handler to process commands on the matcher thread
+     * @param threadFactory to create the matcher thread, e.g. to name it or pin it to a core
+     */
+    public static CommandSequencer of(
+            int capacity,
+            IWaitStrategy waitStrategy,
+            ICommandHandler handler,
+            ThreadFactory threadFactory) {
+        return new CommandSequencer(capacity, waitStrategy, handler, threadFactory);
+    }
+
+    public static CommandSequencer of(
+            int capacity, IWaitStrategy waitStrategy, ICommandHandler handler) {
+        return of(capacity, waitStrategy, handler, r -> new Thread(r, "matcher"));
+    }
+
+    public CommandSequencer start() {
+        thread.start();
+        return this;
+    }
+
+    /** @return sequence of the command */
+    public long addOrder(Order order) {
+        return addOrder(SINGLE_INSTRUMENT_ID, order);
+    }
+
+    /** @return sequence of the command */
+    public long cancelOrder(long orderId) {
+        return cancelOrder(SINGLE_INSTRUMENT_ID, orderId);
+    }
+
+    /** @return sequence of the command */
+    public long changeOrderPrice(long orderId, long price) {
+        return changeOrderPrice(SINGLE_INSTRUMENT_ID, orderId, price);
+    }
+
+    /** @return sequence of the command */
+    public long changeOrderQuantity(long orderId, long quantity) {
+        return changeOrderQuantity(SINGLE_INSTRUMENT_ID, orderId, quantity);
+    }
+
+    /** @return sequence of the command */
+    public long addOrder(long instrumentId, Order order) {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence).setAddOrder(instrumentId, order);
+        ringBuffer.publish(sequence);
+        return sequence;
+    }
+
+    /** @return sequence of the command */
+    public long cancelOrder(long instrumentId, long orderId) {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence).setCancelOrder(instrumentId, orderId);
+        ringBuffer.publish(sequence);
+        return sequence;
+    }
+
+    /** @return sequence of the command */
+    public long changeOrderPrice(long instrumentId, long orderId, long price) {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence).setChangeOrderPrice(instrumentId, orderId, price);
+        ringBuffer.publish(sequence);
+        return sequence;
+    }
+
+    /** @return sequence of the command */
+    public long changeOrderQuantity(long instrumentId, long orderId, long quantity) {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence).setChangeOrderQuantity(instrumentId, orderId, quantity);
+        ringBuffer.publish(sequence);
+        return sequence;
+    }
+
+    /** @return last sequence processed by the matcher thread */
+    public long getProcessedSequence() {
+        return ringBuffer.getGatingSequence();
+    }
+
+    /** @return number of commands the handler threw on, written by the matcher thread */
+    public long getFailedCommands() {
+        return failedCommands;
+    }
+
+    /** @return exception thrown by the handler for the last failed command, or null if none */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /** Wait until the command of the sequence is processed by the matcher thread */
+    public void awaitProcessed(long sequence) {
+        int attempt = 0;
+        while (getProcessedSequence() < sequence) {
+            waitStrategy.idle(attempt++);
+        }
+    }
+
+    /** Stop the matcher thread once every command claimed so far is processed */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+
+    private void run() {
+        long nextSequence = ringBuffer.getGatingSequence() + 1;
+        int attempt = 0;
+        while (true) {
+            // Read ahead of claim sequence, so commands claimed before close are seen once stopped
+            final boolean stopped = !running;
+            final long claimSequence = ringBuffer.getClaimSequence();
+            final long availableSequence =
+                    ringBuffer.getHighestPublished(
+                            nextSequence,
+                            Math.min(claimSequence, nextSequence + MAX_BATCH_SIZE - 1));
+            if (availableSequence < nextSequence) {
+                if (stopped && claimSequence < nextSequence) {
+                    return;
+                }
+                waitStrategy.idle(attempt++);
+                continue;
+            }
+            attempt = 0;
+            for (long sequence = nextSequence; sequence <= availableSequence; sequence++) {
+                final Command command = ringBuffer.get(sequence);
+                try {
+                    handler.onCommand(sequence, command);
+                } catch (RuntimeException e) {
+                    lastFailure = e;
+                    failedCommands++;
+                }
+                command.clear();
+            }
+            ringBuffer.release(availableSequence);
+            nextSequence = availableSequence + 1;
+        }
+    }
+}
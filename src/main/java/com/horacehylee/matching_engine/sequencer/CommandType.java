@@ -0,0 +1,8 @@
+package com.horacehylee.matching_engine.sequencer;
+
+public enum CommandType {
+    ADD_ORDER,
+    CANCEL_ORDER,
+    CHANGE_ORDER_PRICE,
+    CHANGE_ORDER_QUANTITY
+}
@@ -0,0 +1,7 @@
+package com.horacehylee.matching_engine.sequencer;
+
+/** Processes commands in sequence order on the single consumer thread of the sequencer */
+public interface ICommandHandler {
+
+    void onCommand(long sequence, Command command);
+}
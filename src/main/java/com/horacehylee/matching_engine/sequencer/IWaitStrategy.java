@@ -0,0 +1,11 @@
+package com.horacehylee.matching_engine.sequencer;
+
+/** Decides how a thread waits while there is no command to process or no slot to claim */
+public interface IWaitStrategy {
+
+    /**
+     * Wait once
+     * @param attempt number of consecutive waits without progress, starting from zero
+     */
+    void idle(int attempt);
+}
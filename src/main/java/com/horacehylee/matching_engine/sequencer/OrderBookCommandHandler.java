@@ -0,0 +1,65 @@
+package com.horacehylee.matching_engine.sequencer;
+
+import com.horacehylee.matching_engine.orderbook.DepthPublisher;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+
+/** Apply commands to the order book, counting rejected ones */
+public class OrderBookCommandHandler implements ICommandHandler {
+    private final IOrderBook orderBook;
+    private final DepthPublisher depthPublisher;
+
+    private volatile long rejectedCommands = 0;
+
+    public OrderBookCommandHandler(IOrderBook orderBook) {
+        this(orderBook, null);
+    }
+
+    /** @param depthPublisher to publish top levels of the book after every command, or null */
+    public OrderBookCommandHandler(IOrderBook orderBook, DepthPublisher depthPublisher) {
+        this.orderBook = orderBook;
+        this.depthPublisher = depthPublisher;
+    }
+
+    @Override
+    public void onCommand(long sequence, Command command) {
+        if (!apply(orderBook, command)) {
+            rejectedCommands++;
+        }
+        if (depthPublisher != null) {
+            depthPublisher.publish(orderBook);
+        }
+    }
+
+    /**
+     * Apply command to the order book
+     * @return false if command is rejected by the order book
+     */
+    public static boolean apply(IOrderBook orderBook, Command command) {
+        final int result;
+        switch (command.getType()) {
+            case ADD_ORDER:
+                result = orderBook.tryAddOrder(command.getOrder());
+                break;
+            case CANCEL_ORDER:
+                result = orderBook.tryCancelOrder(command.getOrderId());
+                break;
+            case CHANGE_ORDER_PRICE:
+                result = orderBook.tryChangeOrderPrice(command.getOrderId(), command.getPrice());
+                break;
+            case CHANGE_ORDER_QUANTITY:
+                result =
+                        orderBook.tryChangeOrderQuantity(
+                                command.getOrderId(), command.getQuantity());
+                break;
+            default:
+                throw new IllegalStateException("Unexpected command type: " + command);
+        }
+        return result == OrderBookResult.SUCCESS;
+    }
+
+    /** @return number of commands rejected by the order book, readable from any thread */
+    public long getRejectedCommands() {
+        return rejectedCommands;
+    }
+}
@@ -0,0 +1,28 @@
+package com.horacehylee.matching_engine.sequencer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/** Spin, then yield, then park for growing periods, trading wake up latency for idle CPU */
+public class ParkingWaitStrategy implements IWaitStrategy {
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long MIN_PARK_NANOS = 1_000L;
+
+    private final long maxParkNanos;
+
+    public ParkingWaitStrategy(long maxParkNanos) {
+        this.maxParkNanos = Math.max(MIN_PARK_NANOS, maxParkNanos);
+    }
+
+    @Override
+    public void idle(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            final int shift = Math.min(attempt - YIELD_TRIES, 20);
+            LockSupport.parkNanos(Math.min(MIN_PARK_NANOS << shift, maxParkNanos));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.horacehylee.matching_engine.sequencer;
+
+/** Spin for a while, then yield the core to other threads between checks */
+public class YieldingWaitStrategy implements IWaitStrategy {
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public void idle(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+}
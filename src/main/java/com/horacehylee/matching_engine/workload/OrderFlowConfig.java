@@ -0,0 +1,230 @@
+package com.horacehylee.matching_engine.workload;
+
+/**
+ * Shape of the synthetic order flow. Commands arrive as passive orders, aggressive orders,
+ * cancels and amends in proportion to their weights, where the cancel weight follows from the
+ * cancel to trade ratio. Mid price walks one tick up or down with the walk probability before
+ * every command.
+ */
+public class OrderFlowConfig {
+    private final long seed;
+    private final int commandCount;
+    private final int passiveWeight;
+    private final int aggressiveWeight;
+    private final int amendWeight;
+    private final double cancelToTradeRatio;
+    private final long midPrice;
+    private final long tickSize;
+    private final double walkProbability;
+    private final double meanLevelOffset;
+    private final int maxLevelOffset;
+    private final long lotSize;
+    private final double meanLots;
+    private final long maxLots;
+
+    private OrderFlowConfig(Builder builder) {
+        if (builder.passiveWeight < 0 || builder.aggressiveWeight < 0 || builder.amendWeight < 0) {
+            throw new IllegalArgumentException("Arrival weights must not be negative");
+        }
+        if (builder.cancelToTradeRatio < 0) {
+            throw new IllegalArgumentException(
+                    "Cancel to trade ratio must not be negative: " + builder.cancelToTradeRatio);
+        }
+        if (builder.passiveWeight + builder.aggressiveWeight == 0) {
+            throw new IllegalArgumentException("Order flow must have passive or aggressive orders");
+        }
+        this.seed = builder.seed;
+        this.commandCount = builder.commandCount;
+        this.passiveWeight = builder.passiveWeight;
+        this.aggressiveWeight = builder.aggressiveWeight;
+        this.amendWeight = builder.amendWeight;
+        this.cancelToTradeRatio = builder.cancelToTradeRatio;
+        this.midPrice = builder.midPrice;
+        this.tickSize = builder.tickSize;
+        this.walkProbability = builder.walkProbability;
+        this.meanLevelOffset = builder.meanLevelOffset;
+        this.maxLevelOffset = builder.maxLevelOffset;
+        this.lotSize = builder.lotSize;
+        this.meanLots = builder.meanLots;
+        this.maxLots = builder.maxLots;
+    }
+
+    public static OrderFlowConfig defaults() {
+        return Builder.aConfig().build();
+    }
+
+    /** @return seed of the random generator, the same seed generates the same commands */
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    /** @return weight of orders resting away from mid price */
+    public int getPassiveWeight() {
+        return passiveWeight;
+    }
+
+    /** @return weight of orders priced through mid price, which trade on arrival */
+    public int getAggressiveWeight() {
+        return aggressiveWeight;
+    }
+
+    /** @return weight of price or quantity amends of live orders */
+    public int getAmendWeight() {
+        return amendWeight;
+    }
+
+    /** @return cancels per aggressive order */
+    public double getCancelToTradeRatio() {
+        return cancelToTradeRatio;
+    }
+
+    /** @return mid price at the start of the flow */
+    public long getMidPrice() {
+        return midPrice;
+    }
+
+    public long getTickSize() {
+        return tickSize;
+    }
+
+    public double getWalkProbability() {
+        return walkProbability;
+    }
+
+    /** @return mean ticks between mid price and price of passive orders, exponentially spread */
+    public double getMeanLevelOffset() {
+        return meanLevelOffset;
+    }
+
+    public int getMaxLevelOffset() {
+        return maxLevelOffset;
+    }
+
+    public long getLotSize() {
+        return lotSize;
+    }
+
+    /** @return mean lots of order quantity, exponentially spread */
+    public double getMeanLots() {
+        return meanLots;
+    }
+
+    public long getMaxLots() {
+        return maxLots;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderFlowConfig{"
+                + "seed="
+                + seed
+                + ", commandCount="
+                + commandCount
+                + ", passiveWeight="
+                + passiveWeight
+                + ", aggressiveWeight="
+                + aggressiveWeight
+                + ", amendWeight="
+                + amendWeight
+                + ", cancelToTradeRatio="
+                + cancelToTradeRatio
+                + ", midPrice="
+                + midPrice
+                + ", tickSize="
+                + tickSize
+                + ", walkProbability="
+                + walkProbability
+                + ", meanLevelOffset="
+                + meanLevelOffset
+                + ", maxLevelOffset="
+                + maxLevelOffset
+                + ", lotSize="
+                + lotSize
+                + ", meanLots="
+                + meanLots
+                + ", maxLots="
+                + maxLots
+                + '}';
+    }
+
+    public static final class Builder {
+        private long seed = 1L;
+        private int commandCount = 1_000_000;
+        private int passiveWeight = 60;
+        private int aggressiveWeight = 5;
+        private int amendWeight = 10;
+        private double cancelToTradeRatio = 5.0;
+        private long midPrice = 100_000L;
+        private long tickSize = 1L;
+        private double walkProbability = 0.05;
+        private double meanLevelOffset = 5.0;
+        private int maxLevelOffset = 100;
+        private long lotSize = 100L;
+        private double meanLots = 3.0;
+        private long maxLots = 100L;
+
+        private Builder() {}
+
+        public static Builder aConfig() {
+            return new Builder();
+        }
+
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder withCommandCount(int commandCount) {
+            this.commandCount = commandCount;
+            return this;
+        }
+
+        public Builder withArrivalMix(int passiveWeight, int aggressiveWeight, int amendWeight) {
+            this.passiveWeight = passiveWeight;
+            this.aggressiveWeight = aggressiveWeight;
+            this.amendWeight = amendWeight;
+            return this;
+        }
+
+        public Builder withCancelToTradeRatio(double cancelToTradeRatio) {
+            this.cancelToTradeRatio = cancelToTradeRatio;
+            return this;
+        }
+
+        public Builder withMidPrice(long midPrice) {
+            this.midPrice = midPrice;
+            return this;
+        }
+
+        public Builder withTickSize(long tickSize) {
+            this.tickSize = tickSize;
+            return this;
+        }
+
+        public Builder withWalkProbability(double walkProbability) {
+            this.walkProbability = walkProbability;
+            return this;
+        }
+
+        public Builder withLevelOffset(double meanLevelOffset, int maxLevelOffset) {
+            this.meanLevelOffset = meanLevelOffset;
+            this.maxLevelOffset = maxLevelOffset;
+            return this;
+        }
+
+        public Builder withQuantity(long lotSize, double meanLots, long maxLots) {
+            this.lotSize = lotSize;
+            this.meanLots = meanLots;
+            this.maxLots = maxLots;
+            return this;
+        }
+
+        public OrderFlowConfig build() {
+            return new OrderFlowConfig(this);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.horacehylee.matching_engine.workload;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.journal.Journal;
+import com.horacehylee.matching_engine.journal.JournalConfig;
+import com.horacehylee.matching_engine.journal.JournalReplayer;
+import com.horacehylee.matching_engine.journal.SyncPolicy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic synthetic order flow, written as a command file in the journal format so it can
+ * be replayed by {@link ReplayRunner} or {@link JournalReplayer}.
+ *
+ * <p>The generator tracks orders it has added but not cancelled as live. It does not match them,
+ * so cancels and amends of orders already traded away are part of the flow, as they are in real
+ * cancel races, and are rejected by the book.
+ */
+public class OrderFlowGenerator {
+    private static final int MAX_LIVE_ORDERS = 1 << 20;
+
+    private final OrderFlowConfig config;
+    private final Random random;
+
+    private final long[] liveOrderIds = new long[MAX_LIVE_ORDERS];
+    private final boolean[] liveBids = new boolean[MAX_LIVE_ORDERS];
+    private int liveOrders;
+
+    private long midPrice;
+    private long nextOrderId = 1;
+
+    private OrderFlowGenerator(OrderFlowConfig config) {
+        this.config = config;
+        this.random = new Random(config.getSeed());
+        this.midPrice = config.getMidPrice();
+    }
+
+    /**
+     * Write order flow as a command file
+     * @param directory to write the command file into, which must hold no journal yet
+     * @return number of commands written
+     */
+    public static long generate(OrderFlowConfig config, Path directory) throws IOException {
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> paths = Files.list(directory)) {
+                if (paths.findAny().isPresent()) {
+                    throw new IllegalArgumentException("Directory is not empty: " + directory);
+                }
+            }
+        }
+        try (Journal journal =
+                Journal.open(
+                        directory,
+                        JournalConfig.Builder.aConfig().withSyncPolicy(SyncPolicy.NONE).build())) {
+            new OrderFlowGenerator(config).generate(journal);
+            return journal.getSequence();
+        }
+    }
+
+    /** Usage: {@code OrderFlowGenerator <directory> [commandCount] [seed]} */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: OrderFlowGenerator <directory> [commandCount] [seed]");
+            System.exit(1);
+        }
+        final OrderFlowConfig.Builder builder = OrderFlowConfig.Builder.aConfig();
+        if (args.length > 1) {
+            builder.withCommandCount(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            builder.withSeed(Long.parseLong(args[2]));
+        }
+        final OrderFlowConfig config = builder.build();
+        final long commands = generate(config, Paths.get(args[0]));
+        System.out.println("Generated " + commands + " commands of " + config);
+    }
+
+    private void generate(Journal journal) {
+        final int passiveWeight = config.getPassiveWeight();
+        final int aggressiveWeight = config.getAggressiveWeight();
+        final int amendWeight = config.getAmendWeight();
+        final int cancelWeight =
+                (int) Math.round(aggressiveWeight * config.getCancelToTradeRatio());
+        final int totalWeight = passiveWeight + aggressiveWeight + amendWeight + cancelWeight;
+
+        for (int i = 0; i < config.getCommandCount(); i++) {
+            walkMidPrice();
+            int choice = random.nextInt(totalWeight);
+            if (liveOrders == 0 && choice >= passiveWeight + aggressiveWeight) {
+                // Nothing to amend or cancel yet
+                choice = random.nextInt(passiveWeight + aggressiveWeight);
+            }
+            if (choice < passiveWeight) {
+                addOrder(journal, false);
+            } else if ((choice -= passiveWeight) < aggressiveWeight) {
+                addOrder(journal, true);
+            } else if (choice - aggressiveWeight < amendWeight) {
+                amendOrder(journal);
+            } else {
+                cancelOrder(journal);
+            }
+        }
+    }
+
+    private void walkMidPrice() {
+        if (random.nextDouble() < config.getWalkProbability()) {
+            final long step = random.nextBoolean() ? config.getTickSize() : -config.getTickSize();
+            // Keep mid price clear of zero so every level stays positive
+            if (midPrice + step > (config.getMaxLevelOffset() + 1) * config.getTickSize()) {
+                midPrice += step;
+            }
+        }
+    }
+
+    private void addOrder(Journal journal, boolean aggressive) {
+        final boolean bid = random.nextBoolean();
+        final long ticks = aggressive ? -levelOffset() : levelOffset();
+        final long price = midPrice + (bid ? -ticks : ticks) * config.getTickSize();
+        final long orderId = nextOrderId++;
+        journal.appendAddOrder(
+                Order.of(orderId, price, quantity(), bid ? Side.BID : Side.ASK, 0L));
+
+        final int index = liveOrders < MAX_LIVE_ORDERS ? liveOrders++ : random.nextInt(liveOrders);
+        liveOrderIds[index] = orderId;
+        liveBids[index] = bid;
+    }
+
+    private void amendOrder(Journal journal) {
+        final int index = random.nextInt(liveOrders);
+        if (random.nextBoolean()) {
+            journal.appendChangeOrderQuantity(liveOrderIds[index], quantity());
+        } else {
+            final long ticks = levelOffset();
+            final long price = midPrice + (liveBids[index] ? -ticks : ticks) * config.getTickSize();
+            journal.appendChangeOrderPrice(liveOrderIds[index], price);
+        }
+    }
+
+    private void cancelOrder(Journal journal) {
+        final int index = random.nextInt(liveOrders);
+        journal.appendCancelOrder(liveOrderIds[index]);
+        final int last = --liveOrders;
+        liveOrderIds[index] = liveOrderIds[last];
+        liveBids[index] = liveBids[last];
+    }
+
+    /** @return ticks from mid price, at least one */
+    private long levelOffset() {
+        final double offset = -Math.log(1.0 - random.nextDouble()) * config.getMeanLevelOffset();
+        return 1L + Math.min((long) offset, config.getMaxLevelOffset() - 1L);
+    }
+
+    private long quantity() {
+        final double lots = -Math.log(1.0 - random.nextDouble()) * config.getMeanLots();
+        return config.getLotSize() * Math.max(1L, Math.min(Math.round(lots), config.getMaxLots()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.horacehylee.matching_engine.workload;
+
+import com.horacehylee.matching_engine.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/** Outcome of replaying a command file through an order book */
+public class ReplayResult {
+    private final long commands;
+    private final long orders;
+    private final long trades;
+    private final long rejectedCommands;
+    private final long elapsedNanos;
+    private final LatencyHistogram latency;
+
+    ReplayResult(
+            long commands,
+            long orders,
+            long trades,
+            long rejectedCommands,
+            long elapsedNanos,
+            LatencyHistogram latency) {
+        this.commands = commands;
+        this.orders = orders;
+        this.trades = trades;
+        this.rejectedCommands = rejectedCommands;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+    }
+
+    public long getCommands() {
+        return commands;
+    }
+
+    /** @return number of add order commands */
+    public long getOrders() {
+        return orders;
+    }
+
+    public long getTrades() {
+        return trades;
+    }
+
+    public long getRejectedCommands() {
+        return rejectedCommands;
+    }
+
+    /** @return wall time of the replay, including reading the command file */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** @return nanoseconds the book took to apply each command */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public double getCommandsPerSecond() {
+        return perSecond(commands);
+    }
+
+    public double getOrdersPerSecond() {
+        return perSecond(orders);
+    }
+
+    public double getTradesPerSecond() {
+        return perSecond(trades);
+    }
+
+    private double perSecond(long count) {
+        final double nanosPerSecond = TimeUnit.SECONDS.toNanos(1);
+        return elapsedNanos == 0 ? 0.0 : count * nanosPerSecond / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "commands=%d orders=%d trades=%d rejected=%d elapsed=%.3fs%n"
+                        + "commands/s=%.0f orders/s=%.0f trades/s=%.0f%n"
+                        + "latency ns: %s",
+                commands,
+                orders,
+                trades,
+                rejectedCommands,
+                elapsedNanos / 1e9,
+                getCommandsPerSecond(),
+                getOrdersPerSecond(),
+                getTradesPerSecond(),
+                latency.toSummary());
+    }
+}
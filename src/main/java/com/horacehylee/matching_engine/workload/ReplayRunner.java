@@ -0,0 +1,117 @@
+package com.horacehylee.matching_engine.workload;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+import com.horacehylee.matching_engine.journal.IJournalHandler;
+import com.horacehylee.matching_engine.journal.JournalReader;
+import com.horacehylee.matching_engine.metrics.LatencyHistogram;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Stream a command file through a fresh order book as fast as it goes, timing every command. Warm
+ * up runs on their own books let the JIT compile the matching path before the measured run.
+ */
+public class ReplayRunner implements IJournalHandler, IOrderBookListener {
+    private final IOrderBook orderBook;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private long orders;
+    private long trades;
+    private long rejectedCommands;
+
+    private ReplayRunner(OrderBookConfig config) {
+        this.orderBook = OrderBookImpl.of(config, this);
+    }
+
+    /** Replay the command file once on a book of the config */
+    public static ReplayResult run(Path directory, OrderBookConfig config) throws IOException {
+        final ReplayRunner runner = new ReplayRunner(config);
+        final long start = System.nanoTime();
+        final long commands = JournalReader.read(directory, runner);
+        final long elapsedNanos = System.nanoTime() - start;
+        return new ReplayResult(
+                commands,
+                runner.orders,
+                runner.trades,
+                runner.rejectedCommands,
+                elapsedNanos,
+                runner.latency);
+    }
+
+    /**
+     * Replay the command file on fresh books, for warm up runs and then the measured run
+     * @return result of the measured run
+     */
+    public static ReplayResult run(Path directory, OrderBookConfig config, int warmUpRuns)
+            throws IOException {
+        for (int i = 0; i < warmUpRuns; i++) {
+            run(directory, config);
+        }
+        return run(directory, config);
+    }
+
+    /** Usage: {@code ReplayRunner <directory> [warmUpRuns]} */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <directory> [warmUpRuns]");
+            System.exit(1);
+        }
+        final int warmUpRuns = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        System.out.println(run(Paths.get(args[0]), OrderBookConfig.defaults(), warmUpRuns));
+    }
+
+    @Override
+    public void onAddOrder(
+            long sequence, long orderId, long price, long quantity, Side side, long filled) {
+        final Order order = Order.of(orderId, price, quantity, side, filled);
+        final long start = System.nanoTime();
+        final int result = orderBook.tryAddOrder(order);
+        latency.record(System.nanoTime() - start);
+        orders++;
+        count(result);
+    }
+
+    @Override
+    public void onCancelOrder(long sequence, long orderId) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryCancelOrder(orderId);
+        latency.record(System.nanoTime() - start);
+        count(result);
+    }
+
+    @Override
+    public void onChangeOrderPrice(long sequence, long orderId, long price) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryChangeOrderPrice(orderId, price);
+        latency.record(System.nanoTime() - start);
+        count(result);
+    }
+
+    @Override
+    public void onChangeOrderQuantity(long sequence, long orderId, long quantity) {
+        final long start = System.nanoTime();
+        final int result = orderBook.tryChangeOrderQuantity(orderId, quantity);
+        latency.record(System.nanoTime() - start);
+        count(result);
+    }
+
+    @Override
+    public void onTrade(
+            long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {
+        trades++;
+    }
+
+    private void count(int result) {
+        if (result != OrderBookResult.SUCCESS) {
+            rejectedCommands++;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.horacehylee.matching_engine;
+
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.event.IOrderBookListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Records events of the order book as readable strings */
+public final class RecordingOrderBookListener implements IOrderBookListener {
+
+    private final List<String> events = new ArrayList<>();
+
+    public List<String> getEvents() {
+        return events;
+    }
+
+    public void clear() {
+        events.clear();
+    }
+
+    @Override
+    public void onAccept(long orderId, Side side, long price, long quantity) {
+        events.add("ACCEPT " + orderId + " " + side + " " + price + " " + quantity);
+    }
+
+    @Override
+    public void onTrade(
+            long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {
+        events.add(
+                "TRADE "
+                        + takerOrderId
+                        + " "
+                        + makerOrderId
+                        + " "
+                        + takerSide
+                        + " "
+                        + price
+                        + " "
+                        + quantity);
+    }
+
+    @Override
+    public void onCancel(long orderId, Side side, long price, long remainingQuantity) {
+        events.add("CANCEL " + orderId + " " + side + " " + price + " " + remainingQuantity);
+    }
+
+    @Override
+    public void onAmend(long orderId, Side side, long price, long quantity, long filled) {
+        events.add(
+                "AMEND " + orderId + " " + side + " " + price + " " + quantity + " " + filled);
+    }
+
+    @Override
+    public void onLevelChange(Side side, long price, long volume, int orderCount) {
+        events.add("LEVEL " + side + " " + price + " " + volume + " " + orderCount);
+    }
+}
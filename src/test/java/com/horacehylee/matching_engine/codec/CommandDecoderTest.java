@@ -0,0 +1,183 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.codec.exception.MalformedFrameException;
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.CommandBatch;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CommandDecoderTest {
+
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderMessage newOrder = new NewOrderMessage();
+    private final CancelOrderMessage cancelOrder = new CancelOrderMessage();
+    private final AmendOrderMessage amendOrder = new AmendOrderMessage();
+    private final CommandDecoder decoder = new CommandDecoder();
+
+    private ByteBuffer buffer;
+    private int limit;
+
+    @BeforeEach
+    public void setup() {
+        buffer = ByteBuffer.allocateDirect(1024).order(ByteOrder.LITTLE_ENDIAN);
+        limit = 0;
+    }
+
+    private void addOrder(long orderId, long price, long quantity, Side side) {
+        limit += newOrder.wrapAndApplyHeader(buffer, limit, header);
+        newOrder.setOrderId(orderId).setPrice(price).setQuantity(quantity).setSide(side);
+    }
+
+    private void cancelOrder(long orderId) {
+        limit += cancelOrder.wrapAndApplyHeader(buffer, limit, header);
+        cancelOrder.setOrderId(orderId);
+    }
+
+    private void amendOrder(long orderId, long price, long quantity) {
+        limit += amendOrder.wrapAndApplyHeader(buffer, limit, header);
+        amendOrder.setOrderId(orderId).setPrice(price).setQuantity(quantity);
+    }
+
+    @Test
+    public void testEncodedFields() {
+        addOrder(1L, 100L, 10L, Side.BID);
+
+        header.wrap(buffer, 0);
+        assertEquals(NewOrderMessage.BLOCK_LENGTH, header.getBlockLength());
+        assertEquals(NewOrderMessage.TEMPLATE_ID, header.getTemplateId());
+        assertEquals(MessageHeader.SCHEMA_ID, header.getSchemaId());
+        assertEquals(MessageHeader.SCHEMA_VERSION, header.getVersion());
+        assertEquals(MessageHeader.ENCODED_LENGTH + NewOrderMessage.BLOCK_LENGTH, limit);
+
+        final NewOrderMessage decoded =
+                new NewOrderMessage().wrap(buffer, MessageHeader.ENCODED_LENGTH);
+        assertEquals(1L, decoded.getOrderId());
+        assertEquals(100L, decoded.getPrice());
+        assertEquals(10L, decoded.getQuantity());
+        assertEquals(Side.BID, decoded.getSide());
+    }
+
+    @Test
+    public void testDecodedBatchMatchesCommands() {
+        final IOrderBook expected = OrderBookImpl.of();
+        final int[] expectedResults = {
+            expected.tryAddOrder(Order.of(1L, 100L, 10L, Side.BID, 0L)),
+            expected.tryAddOrder(Order.of(2L, 101L, 5L, Side.ASK, 0L)),
+            expected.tryChangeOrderQuantity(1L, 8L),
+            // Fills order 2, so that its amend is rejected
+            expected.tryChangeOrderPrice(1L, 101L),
+            expected.tryChangeOrderPrice(2L, 102L),
+            expected.tryCancelOrder(9L)
+        };
+
+        addOrder(1L, 100L, 10L, Side.BID);
+        addOrder(2L, 101L, 5L, Side.ASK);
+        amendOrder(1L, 101L, 8L);
+        amendOrder(2L, 102L, AmendOrderMessage.NULL_VALUE);
+        cancelOrder(9L);
+
+        final CommandBatch batch = CommandBatch.of(16);
+        assertEquals(limit, decoder.decode(buffer, 0, limit, batch));
+        assertEquals(6, batch.size());
+
+        final IOrderBook orderBook = OrderBookImpl.of();
+        final int[] results = new int[batch.size()];
+        assertEquals(2, orderBook.tryApply(batch, results));
+        assertArrayEquals(expectedResults, results);
+        assertEquals(OrderBookResult.UNKNOWN_ORDER_ID, results[4]);
+
+        final int cancelType = batch.getType(5);
+        assertEquals(CancelOrderMessage.TEMPLATE_ID, CommandDecoder.getTemplateId(cancelType));
+        final int amendType = batch.getType(2);
+        assertEquals(AmendOrderMessage.TEMPLATE_ID, CommandDecoder.getTemplateId(amendType));
+        assertIterableEquals(expected.getBidOrders(), orderBook.getBidOrders());
+        assertIterableEquals(expected.getAskOrders(), orderBook.getAskOrders());
+    }
+
+    @Test
+    public void testStopAtPartialMessageAndFullBatch() {
+        addOrder(1L, 100L, 10L, Side.BID);
+        final int firstLength = limit;
+        amendOrder(1L, 101L, 8L);
+
+        final CommandBatch batch = CommandBatch.of(2);
+        assertEquals(firstLength, decoder.decode(buffer, 0, limit - 1, batch));
+        assertEquals(1, batch.size());
+        // Amend of both fields takes two commands, and only one is left
+        assertEquals(0, decoder.decode(buffer, firstLength, limit, batch));
+
+        batch.clear();
+        assertEquals(limit - firstLength, decoder.decode(buffer, firstLength, limit, batch));
+        assertEquals(CommandBatch.CHANGE_ORDER_QUANTITY, batch.getType(0));
+        assertEquals(CommandBatch.CHANGE_ORDER_PRICE, batch.getType(1));
+    }
+
+    @Test
+    public void testSkipUnknownTrailingFields() {
+        addOrder(1L, 100L, 10L, Side.BID);
+        // Newer writer appended a field to the message
+        header.wrap(buffer, 0).setBlockLength(NewOrderMessage.BLOCK_LENGTH + 8);
+        limit += 8;
+        cancelOrder(1L);
+
+        final CommandBatch batch = CommandBatch.of(4);
+        assertEquals(limit, decoder.decode(buffer, 0, limit, batch));
+        assertEquals(CommandBatch.ADD_ORDER, batch.getType(0));
+        assertEquals(CommandBatch.CANCEL_ORDER, batch.getType(1));
+    }
+
+    @Test
+    public void testInvalidMessages() {
+        amendOrder(1L, AmendOrderMessage.NULL_VALUE, AmendOrderMessage.NULL_VALUE);
+        assertThrows(
+                MalformedFrameException.class,
+                () -> decoder.decode(buffer, 0, limit, CommandBatch.of(4)));
+
+        header.wrap(buffer, 0).setTemplateId(RejectMessage.TEMPLATE_ID);
+        assertThrows(
+                MalformedFrameException.class,
+                () -> decoder.decode(buffer, 0, limit, CommandBatch.of(4)));
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new MessageHeader().wrap(ByteBuffer.allocate(16), 0));
+    }
+
+    @Test
+    public void testRejectForeignSchemaAndShortBody() {
+        addOrder(1L, 100L, 10L, Side.BID);
+        header.wrap(buffer, 0).setSchemaId(MessageHeader.SCHEMA_ID + 1);
+        assertThrows(
+                MalformedFrameException.class,
+                () -> decoder.decode(buffer, 0, limit, CommandBatch.of(4)));
+
+        // Body of the new order would be read out of the cancel following it
+        limit = 0;
+        addOrder(1L, 100L, 10L, Side.BID);
+        header.wrap(buffer, 0).setBlockLength(0);
+        limit = MessageHeader.ENCODED_LENGTH;
+        cancelOrder(2L);
+        final CommandBatch batch = CommandBatch.of(4);
+        assertThrows(MalformedFrameException.class, () -> decoder.decode(buffer, 0, limit, batch));
+        assertEquals(0, batch.size());
+
+        limit = 0;
+        addOrder(1L, 100L, 10L, Side.BID);
+        buffer.put(MessageHeader.ENCODED_LENGTH + 24, (byte) 'X');
+        assertThrows(
+                MalformedFrameException.class,
+                () -> decoder.decode(buffer, 0, limit, CommandBatch.of(4)));
+    }
+}
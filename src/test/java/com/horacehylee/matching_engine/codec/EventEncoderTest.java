@@ -0,0 +1,80 @@
+package com.horacehylee.matching_engine.codec;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventEncoderTest {
+
+    @Test
+    public void testEncodeBookEvents() {
+        final ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        final EventEncoder encoder = new EventEncoder().wrap(buffer, 16);
+        final IOrderBook orderBook = OrderBookImpl.of(OrderBookConfig.defaults(), encoder);
+        orderBook.tryAddOrder(Order.of(1L, 100L, 10L, Side.ASK, 0L));
+        orderBook.tryAddOrder(Order.of(2L, 100L, 4L, Side.BID, 0L));
+        encoder.onReject(1L, OrderBookResult.DUPLICATE_ORDER_ID, NewOrderMessage.TEMPLATE_ID);
+
+        final MessageHeader header = new MessageHeader();
+        final LevelUpdateMessage levelUpdate = new LevelUpdateMessage();
+        int position = 16;
+
+        header.wrap(buffer, position);
+        assertEquals(LevelUpdateMessage.TEMPLATE_ID, header.getTemplateId());
+        levelUpdate.wrap(buffer, position + MessageHeader.ENCODED_LENGTH);
+        assertEquals(Side.ASK, levelUpdate.getSide());
+        assertEquals(100L, levelUpdate.getPrice());
+        assertEquals(10L, levelUpdate.getVolume());
+        assertEquals(1, levelUpdate.getOrderCount());
+        position += header.getMessageLength();
+
+        header.wrap(buffer, position);
+        assertEquals(FillMessage.TEMPLATE_ID, header.getTemplateId());
+        final FillMessage fill = new FillMessage().wrap(buffer, position + 8);
+        assertEquals(2L, fill.getTakerOrderId());
+        assertEquals(1L, fill.getMakerOrderId());
+        assertEquals(Side.BID, fill.getTakerSide());
+        assertEquals(100L, fill.getPrice());
+        assertEquals(4L, fill.getQuantity());
+        position += header.getMessageLength();
+
+        header.wrap(buffer, position);
+        assertEquals(LevelUpdateMessage.TEMPLATE_ID, header.getTemplateId());
+        levelUpdate.wrap(buffer, position + MessageHeader.ENCODED_LENGTH);
+        assertEquals(6L, levelUpdate.getVolume());
+        position += header.getMessageLength();
+
+        header.wrap(buffer, position);
+        assertEquals(RejectMessage.TEMPLATE_ID, header.getTemplateId());
+        final RejectMessage reject = new RejectMessage().wrap(buffer, position + 8);
+        assertEquals(1L, reject.getOrderId());
+        assertEquals(OrderBookResult.DUPLICATE_ORDER_ID, reject.getResult());
+        assertEquals(NewOrderMessage.TEMPLATE_ID, reject.getCommandTemplateId());
+        position += header.getMessageLength();
+
+        assertEquals(position - 16, encoder.getLength());
+        encoder.reset();
+        assertEquals(0, encoder.getLength());
+    }
+
+    @Test
+    public void testFullBuffer() {
+        final ByteBuffer buffer = ByteBuffer.allocate(40).order(ByteOrder.LITTLE_ENDIAN);
+        final EventEncoder encoder = new EventEncoder().wrap(buffer, 0);
+        encoder.onLevelChange(Side.BID, 100L, 10L, 1);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> encoder.onLevelChange(Side.BID, 100L, 0L, 0));
+    }
+}
@@ -0,0 +1,63 @@
+package com.horacehylee.matching_engine.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+    @Test
+    public void testPutGetAndRemove() {
+        final LongIntHashMap map = LongIntHashMap.of(4);
+
+        assertEquals(LongIntHashMap.NO_VALUE, map.put(1L, 0));
+        assertEquals(LongIntHashMap.NO_VALUE, map.put(-1L, 7));
+        assertEquals(0, map.put(1L, 3));
+        assertEquals(3, map.get(1L));
+        assertEquals(7, map.get(-1L));
+        assertEquals(LongIntHashMap.NO_VALUE, map.get(2L));
+        assertEquals(2, map.size());
+
+        assertEquals(3, map.remove(1L));
+        assertEquals(LongIntHashMap.NO_VALUE, map.remove(1L));
+        assertFalse(map.containsKey(1L));
+        assertTrue(map.containsKey(-1L));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(-1L));
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, -1));
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        final Random random = new Random(42L);
+        final Map<Long, Integer> expected = new HashMap<>();
+        final LongIntHashMap actual = LongIntHashMap.of(16);
+
+        for (int i = 0; i < 200_000; i++) {
+            final long key = random.nextInt(512) - 256;
+            if (random.nextBoolean()) {
+                final Integer previous = expected.put(key, i);
+                assertEquals(orNoValue(previous), actual.put(key, i));
+            } else {
+                assertEquals(orNoValue(expected.remove(key)), actual.remove(key));
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        for (long key = -256; key < 256; key++) {
+            assertEquals(expected.getOrDefault(key, LongIntHashMap.NO_VALUE), actual.get(key));
+        }
+    }
+
+    private static int orNoValue(Integer value) {
+        return value == null ? LongIntHashMap.NO_VALUE : value;
+    }
+}
@@ -0,0 +1,105 @@
+package com.horacehylee.matching_engine.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongObjectHashMapTest {
+
+    private ILongObjectMap<String> map;
+
+    @BeforeEach
+    public void setup() {
+        map = LongObjectHashMap.of(4);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertNull(map.put(1L, "a"));
+        assertNull(map.put(0L, "zero"));
+        assertNull(map.put(-1L, "negative"));
+
+        assertEquals("a", map.get(1L));
+        assertEquals("zero", map.get(0L));
+        assertEquals("negative", map.get(-1L));
+        assertNull(map.get(2L));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testPutReplacesExistingValue() {
+        map.put(1L, "a");
+
+        assertEquals("a", map.put(1L, "b"));
+        assertEquals("b", map.get(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRemove() {
+        map.put(1L, "a");
+        map.put(2L, "b");
+
+        assertEquals("a", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertFalse(map.containsKey(1L));
+        assertTrue(map.containsKey(2L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testGrowBeyondExpectedSize() {
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key, Long.toString(key));
+        }
+        assertEquals(10_000, map.size());
+        for (long key = 0; key < 10_000; key++) {
+            assertEquals(Long.toString(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        map.put(1L, "a");
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(1L));
+    }
+
+    @Test
+    public void testInvalidNullValue() {
+        assertThrows(NullPointerException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        final Random random = new Random(42L);
+        final Map<Long, String> expected = new HashMap<>();
+        final ILongObjectMap<String> actual = LongObjectHashMap.of(16);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Narrow key range forces long probe clusters and removals in the middle of them
+            final long key = random.nextInt(512) - 256;
+            if (random.nextBoolean()) {
+                final String value = Integer.toString(i);
+                assertEquals(expected.put(key, value), actual.put(key, value));
+            } else {
+                assertEquals(expected.remove(key), actual.remove(key));
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        for (long key = -256; key < 256; key++) {
+            assertEquals(expected.get(key), actual.get(key));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.horacehylee.matching_engine.collection;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OccupancyBitmapTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 64, 100, 4096, 1 << 13, 300_000})
+    public void testEmptyBitmapHasNoSetBit(int size) {
+        final OccupancyBitmap bitmap = OccupancyBitmap.of(size);
+
+        assertEquals(OccupancyBitmap.NO_INDEX, bitmap.nextSetBit(0));
+        assertEquals(OccupancyBitmap.NO_INDEX, bitmap.previousSetBit(size - 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 64, 100, 4096, 1 << 13, 300_000})
+    public void testFindsSingleBitAcrossWholeRange(int size) {
+        final OccupancyBitmap bitmap = OccupancyBitmap.of(size);
+        final int index = size / 3;
+        bitmap.set(index);
+
+        assertTrue(bitmap.get(index));
+        assertEquals(index, bitmap.nextSetBit(0));
+        assertEquals(index, bitmap.previousSetBit(size - 1));
+        assertEquals(OccupancyBitmap.NO_INDEX, bitmap.nextSetBit(index + 1));
+        assertEquals(OccupancyBitmap.NO_INDEX, bitmap.previousSetBit(index - 1));
+
+        bitmap.clear(index);
+        assertFalse(bitmap.get(index));
+        assertEquals(OccupancyBitmap.NO_INDEX, bitmap.nextSetBit(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 4096, 300_000})
+    public void testRandomOperationsMatchBitSet(int size) {
+        final Random random = new Random(42L);
+        final BitSet expected = new BitSet(size);
+        final OccupancyBitmap actual = OccupancyBitmap.of(size);
+
+        for (int i = 0; i < 100_000; i++) {
+            // Few set bits keep gaps wide enough to cross summary words
+            final int index = random.nextInt(size);
+            if (random.nextInt(4) == 0) {
+                expected.set(index);
+                actual.set(index);
+            } else {
+                expected.clear(index);
+                actual.clear(index);
+            }
+            final int from = random.nextInt(size);
+            assertEquals(expected.nextSetBit(from), actual.nextSetBit(from));
+            assertEquals(expected.previousSetBit(from), actual.previousSetBit(from));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.horacehylee.matching_engine.engine;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.metrics.OrderBookMetrics;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderStoreType;
+import com.horacehylee.matching_engine.sequencer.BusySpinWaitStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MatchingEngineTest {
+
+    @Test
+    public void testOrdersRoutedToBookOfInstrument() throws Exception {
+        final MatchingEngine engine =
+                MatchingEngine.Builder.aMatchingEngine()
+                        .withShardCount(2)
+                        .withInstruments(10L, 11L)
+                        .build()
+                        .start();
+
+        final Order order = anOrder(1L, Side.BID, 100L, 10L);
+        engine.addOrder(10L, order);
+        engine.addOrder(11L, anOrder(1L, Side.ASK, 100L, 10L));
+        engine.addOrder(11L, anOrder(2L, Side.BID, 100L, 4L));
+        engine.close();
+
+        assertEquals(0, engine.shardOf(10L));
+        assertEquals(1, engine.shardOf(11L));
+        assertIterableEquals(List.of(order), engine.getOrderBook(10L).getBidOrders());
+        assertIterableEquals(
+                List.of(Order.of(1L, 100L, 10L, Side.ASK, 4L)),
+                engine.getOrderBook(11L).getAskOrders());
+        assertEquals(3L, engine.getProcessedCommands());
+        assertEquals(0L, engine.getRejectedCommands());
+    }
+
+    @Test
+    public void testMeteredOffHeapBooks() throws Exception {
+        final OrderBookMetrics metrics = new OrderBookMetrics();
+        final MatchingEngine engine =
+                MatchingEngine.Builder.aMatchingEngine()
+                        .withOrderBookConfig(
+                                OrderBookConfig.Builder.aConfig()
+                                        .withOrderStoreType(OrderStoreType.OFF_HEAP)
+                                        .build())
+                        .withMetricsFactory(instrumentId -> metrics)
+                        .withInstrument(10L)
+                        .build()
+                        .start();
+
+        engine.addOrder(10L, anOrder(1L, Side.ASK, 100L, 10L));
+        engine.addOrder(10L, anOrder(2L, Side.BID, 100L, 4L));
+        engine.close();
+
+        assertEquals(2L, metrics.getOrders());
+        assertEquals(1L, metrics.getTrades());
+        assertEquals(1L, metrics.getOrderCount(Side.ASK));
+        assertIterableEquals(
+                List.of(Order.of(1L, 100L, 10L, Side.ASK, 4L)),
+                engine.getOrderBook(10L).getAskOrders());
+    }
+
+    @Test
+    public void testUnknownInstrumentIsRejected() throws Exception {
+        final MatchingEngine engine =
+                MatchingEngine.Builder.aMatchingEngine().withInstrument(1L).build().start();
+
+        engine.addOrder(2L, anOrder(1L, Side.BID, 100L, 10L));
+        engine.close();
+
+        assertNull(engine.getOrderBook(2L));
+        assertEquals(1L, engine.getRejectedCommands());
+    }
+
+    @Test
+    public void testFixedShardingPolicy() {
+        final MatchingEngine engine =
+                MatchingEngine.Builder.aMatchingEngine()
+                        .withShardCount(4)
+                        .withShardingPolicy(
+                                new FixedShardingPolicy(new ModuloShardingPolicy()).assign(7L, 0))
+                        .withInstruments(1L, 2L, 3L, 7L)
+                        .build();
+
+        assertEquals(0, engine.shardOf(7L));
+        assertEquals(3, engine.shardOf(3L));
+        assertEquals(2, engine.getOrderBookCount(0) + engine.getOrderBookCount(3));
+    }
+
+    @Test
+    public void testInvalidDuplicateInstrument() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> MatchingEngine.Builder.aMatchingEngine().withInstruments(1L, 1L).build());
+    }
+
+    @Test
+    public void testConcurrentProducersAcrossShards() throws Exception {
+        final int instruments = 16;
+        final int producers = 4;
+        final int ordersPerProducer = 10_000;
+        final MatchingEngine.Builder builder =
+                MatchingEngine.Builder.aMatchingEngine()
+                        .withShardCount(4)
+                        .withRingCapacity(1 << 10)
+                        .withWaitStrategy(new BusySpinWaitStrategy());
+        for (long instrumentId = 0; instrumentId < instruments; instrumentId++) {
+            builder.withInstrument(instrumentId);
+        }
+        final MatchingEngine engine = builder.build().start();
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final long firstOrderId = (long) p * ordersPerProducer;
+            final Thread thread =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < ordersPerProducer; i++) {
+                                    final long orderId = firstOrderId + i;
+                                    final long instrumentId = orderId % instruments;
+                                    engine.addOrder(
+                                            instrumentId, anOrder(orderId, Side.BID, 100L, 1L));
+                                    engine.cancelOrder(instrumentId, orderId);
+                                }
+                            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        engine.close();
+
+        assertEquals(2L * producers * ordersPerProducer, engine.getProcessedCommands());
+        assertEquals(0L, engine.getRejectedCommands());
+        for (long instrumentId = 0; instrumentId < instruments; instrumentId++) {
+            assertIterableEquals(List.of(), engine.getOrderBook(instrumentId).getBidOrders());
+        }
+    }
+
+    private static Order anOrder(long orderId, Side side, long price, long quantity) {
+        return Order.Builder.anOrder()
+                .withOrderId(orderId)
+                .withPrice(price)
+                .withQuantity(quantity)
+                .withSide(side)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.horacehylee.matching_engine.event;
+
+import com.horacehylee.matching_engine.RecordingOrderBookListener;
+import com.horacehylee.matching_engine.domain.Side;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventRingBufferTest {
+
+    @Test
+    public void testPollPublishedEvents() {
+        final EventRingBuffer ringBuffer = EventRingBuffer.of(8);
+        final EventSubscriber subscriber = ringBuffer.newSubscriber();
+        final RecordingOrderBookListener listener = new RecordingOrderBookListener();
+
+        ringBuffer.onAccept(1L, Side.BID, 100L, 10L);
+        ringBuffer.onTrade(1L, 2L, Side.BID, 99L, 5L);
+        ringBuffer.onCancel(1L, Side.BID, 100L, 5L);
+        ringBuffer.onAmend(3L, Side.ASK, 101L, 20L, 2L);
+        ringBuffer.onLevelChange(Side.ASK, 101L, 18L, 1);
+
+        assertEquals(5, subscriber.poll(listener, Integer.MAX_VALUE));
+        assertIterableEquals(
+                List.of(
+                        "ACCEPT 1 BID 100 10",
+                        "TRADE 1 2 BID 99 5",
+                        "CANCEL 1 BID 100 5",
+                        "AMEND 3 ASK 101 20 2",
+                        "LEVEL ASK 101 18 1"),
+                listener.getEvents());
+        assertEquals(0, subscriber.poll(listener, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testPollWithLimit() {
+        final EventRingBuffer ringBuffer = EventRingBuffer.of(8);
+        final EventSubscriber subscriber = ringBuffer.newSubscriber();
+        final RecordingOrderBookListener listener = new RecordingOrderBookListener();
+
+        for (int i = 0; i < 3; i++) {
+            ringBuffer.onAccept(i, Side.ASK, 100L, 10L);
+        }
+
+        assertEquals(2, subscriber.poll(listener, 2));
+        assertEquals(1, subscriber.poll(listener, 2));
+        assertEquals(3, listener.getEvents().size());
+    }
+
+    @Test
+    public void testSubscribersReadIndependently() {
+        final EventRingBuffer ringBuffer = EventRingBuffer.of(8);
+        final EventSubscriber subscriber = ringBuffer.newSubscriber();
+        ringBuffer.onAccept(1L, Side.ASK, 100L, 10L);
+        final EventSubscriber lateSubscriber = ringBuffer.newSubscriber();
+        ringBuffer.onAccept(2L, Side.ASK, 100L, 10L);
+
+        final RecordingOrderBookListener listener = new RecordingOrderBookListener();
+        final RecordingOrderBookListener lateListener = new RecordingOrderBookListener();
+
+        assertEquals(2, subscriber.poll(listener, Integer.MAX_VALUE));
+        assertEquals(1, lateSubscriber.poll(lateListener, Integer.MAX_VALUE));
+        assertIterableEquals(List.of("ACCEPT 2 ASK 100 10"), lateListener.getEvents());
+    }
+
+    @Test
+    public void testOverrunSubscriberSkipsLostEvents() {
+        final EventRingBuffer ringBuffer = EventRingBuffer.of(4);
+        final EventSubscriber subscriber = ringBuffer.newSubscriber();
+        final RecordingOrderBookListener listener = new RecordingOrderBookListener();
+
+        for (int i = 0; i < 10; i++) {
+            ringBuffer.onAccept(i, Side.ASK, 100L, 10L);
+        }
+
+        assertEquals(4, subscriber.poll(listener, Integer.MAX_VALUE));
+        assertEquals(6, subscriber.getLostEvents());
+        assertEquals("ACCEPT 6 ASK 100 10", listener.getEvents().get(0));
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> EventRingBuffer.of(3));
+    }
+
+    @Test
+    public void testConcurrentSubscriberReadsEventsInOrder() throws Exception {
+        final int events = 1_000_000;
+        final EventRingBuffer ringBuffer = EventRingBuffer.of(1 << 14);
+        final EventSubscriber subscriber = ringBuffer.newSubscriber();
+
+        final AtomicLong received = new AtomicLong();
+        final AtomicLong outOfOrder = new AtomicLong();
+        final IOrderBookListener listener =
+                new IOrderBookListener() {
+                    @Override
+                    public void onTrade(
+                            long takerOrderId,
+                            long makerOrderId,
+                            Side takerSide,
+                            long price,
+                            long quantity) {
+                        final long expected = received.getAndIncrement();
+                        if (takerOrderId != expected
+                                || makerOrderId != expected + 1
+                                || price != expected * 2
+                                || quantity != expected * 3) {
+                            outOfOrder.incrementAndGet();
+                        }
+                    }
+                };
+
+        final Thread consumer =
+                new Thread(
+                        () -> {
+                            while (received.get() < events) {
+                                subscriber.poll(listener, 1024);
+                            }
+                        });
+        consumer.start();
+        for (long i = 0; i < events; i++) {
+            // Keep within half of the ring so that the subscriber is never overrun
+            while (i - received.get() > ringBuffer.getCapacity() / 2) {
+                Thread.onSpinWait();
+            }
+            ringBuffer.onTrade(i, i + 1, Side.BID, i * 2, i * 3);
+        }
+        consumer.join(10_000L);
+
+        assertEquals(events, received.get());
+        assertEquals(0L, outOfOrder.get());
+        assertEquals(0L, subscriber.getLostEvents());
+    }
+}
@@ -0,0 +1,285 @@
+package com.horacehylee.matching_engine.gateway;
+
+import com.horacehylee.matching_engine.codec.AckMessage;
+import com.horacehylee.matching_engine.codec.CancelOrderMessage;
+import com.horacehylee.matching_engine.codec.FillMessage;
+import com.horacehylee.matching_engine.codec.MessageHeader;
+import com.horacehylee.matching_engine.codec.NewOrderMessage;
+import com.horacehylee.matching_engine.codec.RejectMessage;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.metrics.LatencyHistogram;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+@Timeout(30)
+class OrderGatewayTest {
+
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+    private OrderGateway gateway;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        final GatewayConfig config = GatewayConfig.Builder.aConfig().withBatchCapacity(4).build();
+        final IGatewayErrorHandler errorHandler =
+                new IGatewayErrorHandler() {
+                    @Override
+                    public void onSessionError(int sessionId, Throwable error) {
+                        errors.add(error);
+                    }
+
+                    @Override
+                    public void onGatewayError(Throwable error) {
+                        errors.add(error);
+                    }
+                };
+        gateway =
+                OrderGateway.of(OrderBookConfig.defaults(), config, Thread::new, errorHandler)
+                        .start();
+        address = new InetSocketAddress(config.getHost(), gateway.getPort());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        gateway.close();
+    }
+
+    @Test
+    public void testAcksRejectsAndFillsToBothSessions() throws IOException {
+        try (TestClient maker = new TestClient(address);
+                TestClient taker = new TestClient(address)) {
+            maker.addOrder(1L, 100L, 10L, Side.ASK).send();
+            assertIterableEquals(List.of("ACK 1 1"), maker.receive(1));
+
+            taker.addOrder(2L, 100L, 4L, Side.BID).addOrder(1L, 99L, 1L, Side.BID).send();
+            assertIterableEquals(
+                    List.of(
+                            "FILL 2 1 BID 100 4",
+                            "ACK 2 1",
+                            "REJECT 1 " + OrderBookResult.DUPLICATE_ORDER_ID + " 1"),
+                    taker.receive(3));
+            assertIterableEquals(List.of("FILL 2 1 BID 100 4"), maker.receive(1));
+
+            maker.cancelOrder(1L).cancelOrder(1L).send();
+            assertIterableEquals(
+                    List.of("ACK 1 2", "REJECT 1 " + OrderBookResult.UNKNOWN_ORDER_ID + " 2"),
+                    maker.receive(2));
+        }
+    }
+
+    @Test
+    public void testFramesSplitAndJoinedAcrossReads() throws IOException {
+        try (TestClient client = new TestClient(address)) {
+            // More commands than batch capacity, in frames sent byte by byte
+            for (long orderId = 1; orderId <= 6; orderId++) {
+                client.addOrder(orderId, 100L + orderId, 1L, Side.ASK);
+                if (orderId % 2 == 0) {
+                    client.nextFrame();
+                }
+            }
+            client.sendByteByByte();
+
+            final List<String> expected = new ArrayList<>();
+            for (long orderId = 1; orderId <= 6; orderId++) {
+                expected.add("ACK " + orderId + " 1");
+            }
+            assertIterableEquals(expected, client.receive(6));
+        }
+    }
+
+    @Test
+    public void testMalformedFrameClosesSession() throws IOException {
+        try (TestClient client = new TestClient(address)) {
+            client.addOrder(1L, 100L, 1L, Side.ASK).nextFrame();
+            // Frame length cutting the message short
+            client.sendBuffer.putInt(0, NewOrderMessage.BLOCK_LENGTH);
+            client.send();
+
+            assertEquals(-1, client.channel.read(ByteBuffer.allocate(16)));
+        }
+        try (TestClient client = new TestClient(address)) {
+            client.cancelOrder(1L).send();
+            assertIterableEquals(
+                    List.of("REJECT 1 " + OrderBookResult.UNKNOWN_ORDER_ID + " 2"),
+                    client.receive(1));
+        }
+    }
+
+    @Test
+    public void testMessageShorterThanTemplateClosesSession() throws IOException {
+        try (TestClient client = new TestClient(address)) {
+            client.addOrder(1L, 100L, 1L, Side.ASK).nextFrame();
+            // Header claims an empty body, leaving the order fields to be read as next message
+            new MessageHeader()
+                    .wrap(client.sendBuffer, OrderGateway.FRAME_HEADER_LENGTH)
+                    .setBlockLength(0);
+            client.send();
+
+            assertEquals(-1, client.channel.read(ByteBuffer.allocate(16)));
+        }
+        try (TestClient client = new TestClient(address)) {
+            client.addOrder(2L, 100L, 1L, Side.ASK).send();
+            assertIterableEquals(List.of("ACK 2 1"), client.receive(1));
+        }
+        // Malformed frames only close their session, they are not gateway failures
+        assertIterableEquals(List.of(), errors);
+    }
+
+    @Test
+    public void testLoadClient() throws Exception {
+        final LatencyHistogram latency = new LatencyHistogram();
+        try (LoadClient first = LoadClient.connect(address, 1L, 1L);
+                LoadClient second = LoadClient.connect(address, 1_000_000L, 2L)) {
+            first.run(500, 4, latency);
+            second.run(500, 4, latency);
+            assertEquals(1000, latency.getCount());
+        }
+        gateway.close();
+        assertEquals(
+                gateway.getOrderBook().getBidOrders().size(),
+                gateway.getOrderBook().getOrderCount(Side.BID));
+    }
+
+    /** Blocking client encoding frames by hand and decoding answers as text */
+    private static class TestClient implements AutoCloseable {
+        private final SocketChannel channel;
+        private final ByteBuffer sendBuffer =
+                ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteBuffer receiveBuffer =
+                ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        private final MessageHeader header = new MessageHeader();
+        private final List<String> received = new ArrayList<>();
+        private int frameStart;
+        private int position = OrderGateway.FRAME_HEADER_LENGTH;
+
+        private TestClient(InetSocketAddress address) throws IOException {
+            this.channel = SocketChannel.open(address);
+        }
+
+        private TestClient addOrder(long orderId, long price, long quantity, Side side) {
+            final NewOrderMessage message = new NewOrderMessage();
+            position += message.wrapAndApplyHeader(sendBuffer, position, header);
+            message.setOrderId(orderId).setPrice(price).setQuantity(quantity).setSide(side);
+            return this;
+        }
+
+        private TestClient cancelOrder(long orderId) {
+            final CancelOrderMessage message = new CancelOrderMessage();
+            position += message.wrapAndApplyHeader(sendBuffer, position, header);
+            message.setOrderId(orderId);
+            return this;
+        }
+
+        private TestClient nextFrame() {
+            sendBuffer.putInt(
+                    frameStart, position - frameStart - OrderGateway.FRAME_HEADER_LENGTH);
+            frameStart = position;
+            position += OrderGateway.FRAME_HEADER_LENGTH;
+            return this;
+        }
+
+        private ByteBuffer frames() {
+            if (position - frameStart > OrderGateway.FRAME_HEADER_LENGTH) {
+                nextFrame();
+            }
+            final ByteBuffer frames = sendBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            frames.limit(frameStart).position(0);
+            frameStart = 0;
+            position = OrderGateway.FRAME_HEADER_LENGTH;
+            return frames;
+        }
+
+        private void send() throws IOException {
+            final ByteBuffer frames = frames();
+            while (frames.hasRemaining()) {
+                channel.write(frames);
+            }
+        }
+
+        private void sendByteByByte() throws IOException {
+            final ByteBuffer frames = frames();
+            while (frames.hasRemaining()) {
+                channel.write(ByteBuffer.wrap(new byte[] {frames.get()}));
+            }
+        }
+
+        private List<String> receive(int messages) throws IOException {
+            while (received.size() < messages) {
+                channel.read(receiveBuffer);
+                final int limit = receiveBuffer.position();
+                int position = 0;
+                while (limit - position >= OrderGateway.FRAME_HEADER_LENGTH) {
+                    final int frameEnd =
+                            position
+                                    + OrderGateway.FRAME_HEADER_LENGTH
+                                    + receiveBuffer.getInt(position);
+                    if (frameEnd > limit) {
+                        break;
+                    }
+                    position += OrderGateway.FRAME_HEADER_LENGTH;
+                    while (position < frameEnd) {
+                        received.add(decode(position));
+                        position += header.wrap(receiveBuffer, position).getMessageLength();
+                    }
+                }
+                receiveBuffer.limit(limit).position(position);
+                receiveBuffer.compact();
+            }
+            final List<String> messagesReceived = new ArrayList<>(received.subList(0, messages));
+            received.subList(0, messages).clear();
+            return messagesReceived;
+        }
+
+        private String decode(int position) {
+            final int body = position + MessageHeader.ENCODED_LENGTH;
+            switch (header.wrap(receiveBuffer, position).getTemplateId()) {
+                case AckMessage.TEMPLATE_ID:
+                    final AckMessage ack = new AckMessage().wrap(receiveBuffer, body);
+                    return "ACK " + ack.getOrderId() + " " + ack.getCommandTemplateId();
+                case RejectMessage.TEMPLATE_ID:
+                    final RejectMessage reject = new RejectMessage().wrap(receiveBuffer, body);
+                    return "REJECT "
+                            + reject.getOrderId()
+                            + " "
+                            + reject.getResult()
+                            + " "
+                            + reject.getCommandTemplateId();
+                case FillMessage.TEMPLATE_ID:
+                    final FillMessage fill = new FillMessage().wrap(receiveBuffer, body);
+                    return "FILL "
+                            + fill.getTakerOrderId()
+                            + " "
+                            + fill.getMakerOrderId()
+                            + " "
+                            + fill.getTakerSide()
+                            + " "
+                            + fill.getPrice()
+                            + " "
+                            + fill.getQuantity();
+                default:
+                    return "UNEXPECTED " + header.getTemplateId();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.horacehylee.matching_engine.ipc;
+
+import com.horacehylee.matching_engine.codec.AmendOrderMessage;
+import com.horacehylee.matching_engine.codec.CancelOrderMessage;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(30)
+class IpcGatewayTest {
+
+    @TempDir Path directory;
+
+    private Path file;
+    private IpcGateway gateway;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        file = directory.resolve("engine.ring");
+        gateway = IpcGateway.of(file, 8, OrderBookConfig.defaults()).start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        gateway.close();
+    }
+
+    @Test
+    public void testAcksRejectsAndFillsToBothClients() throws IOException {
+        try (IpcClient maker = IpcClient.open(file);
+                IpcClient taker = IpcClient.open(file)) {
+            assertNotEquals(maker.getClientId(), taker.getClientId());
+            final RecordingHandler makerEvents = new RecordingHandler();
+            final RecordingHandler takerEvents = new RecordingHandler();
+
+            maker.addOrder(1L, 100L, 10L, Side.ASK);
+            assertIterableEquals(List.of("ACK 1 1"), makerEvents.await(maker, 1));
+
+            taker.addOrder(2L, 100L, 4L, Side.BID);
+            taker.addOrder(1L, 99L, 1L, Side.BID);
+            assertIterableEquals(
+                    List.of(
+                            "FILL 2 1 BID 100 4",
+                            "ACK 2 1",
+                            "REJECT 1 " + OrderBookResult.DUPLICATE_ORDER_ID + " 1"),
+                    takerEvents.await(taker, 3));
+            assertIterableEquals(List.of("FILL 2 1 BID 100 4"), makerEvents.await(maker, 1));
+
+            maker.amendOrder(1L, AmendOrderMessage.NULL_VALUE, 8L);
+            maker.cancelOrder(1L);
+            maker.cancelOrder(1L);
+            assertIterableEquals(
+                    List.of(
+                            "ACK 1 " + AmendOrderMessage.TEMPLATE_ID,
+                            "ACK 1 " + CancelOrderMessage.TEMPLATE_ID,
+                            "REJECT 1 "
+                                    + OrderBookResult.UNKNOWN_ORDER_ID
+                                    + " "
+                                    + CancelOrderMessage.TEMPLATE_ID),
+                    makerEvents.await(maker, 3));
+        }
+    }
+
+    @Test
+    public void testClientsPublishConcurrentlyAcrossRingWraps() throws Exception {
+        final int clients = 3;
+        final int ordersPerClient = 2_000;
+        final List<Thread> threads = new ArrayList<>();
+        final long[] acks = new long[clients];
+        for (int c = 0; c < clients; c++) {
+            final int index = c;
+            threads.add(
+                    new Thread(
+                            () -> {
+                                try (IpcClient client = IpcClient.open(file)) {
+                                    final RecordingHandler events = new RecordingHandler();
+                                    for (int i = 0; i < ordersPerClient; i++) {
+                                        final long orderId = index * 1_000_000L + i;
+                                        client.addOrder(orderId, 100L + i % 5, 1L, Side.BID);
+                                        // Await each answer, as the event ring is small
+                                        events.await(client, 1);
+                                    }
+                                    acks[index] = events.acks;
+                                } catch (IOException e) {
+                                    throw new RuntimeException(e);
+                                }
+                            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        gateway.close();
+
+        for (int c = 0; c < clients; c++) {
+            assertEquals(ordersPerClient, acks[c]);
+        }
+        assertEquals(clients * ordersPerClient, gateway.getOrderBook().getOrderCount(Side.BID));
+        assertEquals(0, gateway.getMalformedCommands());
+    }
+
+    @Test
+    public void testLostEventsOfSlowClient() throws IOException {
+        try (IpcClient slow = IpcClient.open(file);
+                IpcClient fast = IpcClient.open(file)) {
+            final RecordingHandler events = new RecordingHandler();
+            for (long orderId = 1; orderId <= 20; orderId++) {
+                fast.addOrder(orderId, 100L, 1L, Side.ASK);
+                events.await(fast, 1);
+            }
+            slow.addOrder(100L, 100L, 1L, Side.ASK);
+            // Answer of the slow client is still within the ring
+            assertIterableEquals(List.of("ACK 100 1"), events.await(slow, 1));
+            assertTrue(slow.getLostEvents() > 0);
+            assertEquals(0, fast.getLostEvents());
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        assertThrows(IOException.class, () -> IpcClient.open(directory.resolve("missing")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> IpcGateway.of(directory.resolve("other"), 3, OrderBookConfig.defaults()));
+    }
+
+    private static class RecordingHandler implements IIpcEventHandler {
+        private final List<String> events = new ArrayList<>();
+        private long acks;
+
+        @Override
+        public void onAck(long orderId, int commandTemplateId) {
+            acks++;
+            events.add("ACK " + orderId + " " + commandTemplateId);
+        }
+
+        @Override
+        public void onReject(long orderId, int result, int commandTemplateId) {
+            events.add("REJECT " + orderId + " " + result + " " + commandTemplateId);
+        }
+
+        @Override
+        public void onFill(
+                long takerOrderId, long makerOrderId, Side takerSide, long price, long quantity) {
+            events.add(
+                    "FILL "
+                            + takerOrderId
+                            + " "
+                            + makerOrderId
+                            + " "
+                            + takerSide
+                            + " "
+                            + price
+                            + " "
+                            + quantity);
+        }
+
+        private List<String> await(IpcClient client, int count) {
+            while (events.size() < count) {
+                if (client.poll(this, 16) == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+            final List<String> received = new ArrayList<>(events.subList(0, count));
+            events.subList(0, count).clear();
+            return received;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.horacehylee.matching_engine.journal;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.orderbook.OrderBookSnapshot;
+import com.horacehylee.matching_engine.orderbook.exception.DuplicateOrderIdException;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalTest {
+
+    @TempDir Path directory;
+
+    @Test
+    public void testReplayRebuildsOrderBook() throws Exception {
+        final IOrderBook orderBook = OrderBookImpl.of();
+        try (Journal journal = Journal.open(directory, JournalConfig.defaults())) {
+            applyRandomCommands(new JournalingOrderBook(orderBook, journal), 5_000);
+        }
+
+        final IOrderBook replayedOrderBook = OrderBookImpl.of();
+        assertEquals(5_000L, JournalReplayer.replay(directory, replayedOrderBook));
+
+        assertIterableEquals(orderBook.getBidOrders(), replayedOrderBook.getBidOrders());
+        assertIterableEquals(orderBook.getAskOrders(), replayedOrderBook.getAskOrders());
+    }
+
+    @Test
+    public void testRestoreSnapshotAndJournalTail() throws Exception {
+        final IOrderBook orderBook = OrderBookImpl.of();
+        final OrderBookSnapshot snapshot;
+        try (Journal journal = Journal.open(directory, JournalConfig.defaults())) {
+            final JournalingOrderBook journalingOrderBook =
+                    new JournalingOrderBook(orderBook, journal);
+            applyRandomCommands(journalingOrderBook, 3_000);
+            snapshot = journalingOrderBook.snapshot();
+            journalingOrderBook.addOrder(Order.of(100_000L, 200L, 10L, Side.ASK, 0L));
+            journalingOrderBook.addOrder(Order.of(100_001L, 1L, 10L, Side.BID, 0L));
+            journalingOrderBook.cancelOrder(100_000L);
+        }
+
+        final IOrderBook restoredOrderBook =
+                JournalReplayer.restore(snapshot, directory, OrderBookConfig.defaults());
+
+        assertEquals(3_000L, snapshot.getSequence());
+        assertIterableEquals(orderBook.getBidOrders(), restoredOrderBook.getBidOrders());
+        assertIterableEquals(orderBook.getAskOrders(), restoredOrderBook.getAskOrders());
+    }
+
+    @Test
+    public void testRolloverSegments() throws Exception {
+        final JournalConfig config =
+                JournalConfig.Builder.aConfig()
+                        .withSegmentSize(JournalFormat.RECORD_SIZE * 10)
+                        .withSyncPolicy(SyncPolicy.EVERY_COMMAND)
+                        .build();
+        try (Journal journal = Journal.open(directory, config)) {
+            for (long orderId = 1; orderId <= 25; orderId++) {
+                journal.appendAddOrder(Order.of(orderId, 100L + orderId, 10L, Side.ASK, 0L));
+            }
+        }
+        assertEquals(3, JournalFormat.segmentIndexes(directory).length);
+
+        final IOrderBook orderBook = OrderBookImpl.of();
+        assertEquals(25L, JournalReplayer.replay(directory, orderBook));
+        assertEquals(25, orderBook.getAskOrders().size());
+    }
+
+    @Test
+    public void testReopenContinuesSequence() throws Exception {
+        final JournalConfig config =
+                JournalConfig.Builder.aConfig()
+                        .withSegmentSize(JournalFormat.RECORD_SIZE * 4)
+                        .build();
+        try (Journal journal = Journal.open(directory, config)) {
+            journal.appendAddOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+            journal.appendAddOrder(Order.of(2L, 101L, 10L, Side.BID, 0L));
+            journal.appendAddOrder(Order.of(3L, 102L, 10L, Side.BID, 0L));
+        }
+        try (Journal journal = Journal.open(directory, config)) {
+            assertEquals(3L, journal.getSequence());
+            assertEquals(4L, journal.appendCancelOrder(2L));
+            assertEquals(5L, journal.appendChangeOrderQuantity(3L, 4L));
+            assertEquals(6L, journal.appendChangeOrderPrice(1L, 99L));
+        }
+
+        final IOrderBook orderBook = OrderBookImpl.of();
+        assertEquals(6L, JournalReplayer.replay(directory, orderBook));
+        assertIterableEquals(
+                List.of(Order.of(3L, 102L, 4L, Side.BID, 0L), Order.of(1L, 99L, 10L, Side.BID, 0L)),
+                orderBook.getBidOrders());
+    }
+
+    @Test
+    public void testReopenAfterRolloverToEmptySegment() throws Exception {
+        final JournalConfig config =
+                JournalConfig.Builder.aConfig()
+                        .withSegmentSize(JournalFormat.RECORD_SIZE * 2)
+                        .build();
+        try (Journal journal = Journal.open(directory, config)) {
+            for (long orderId = 1; orderId <= 4; orderId++) {
+                journal.appendAddOrder(Order.of(orderId, 100L + orderId, 10L, Side.ASK, 0L));
+            }
+        }
+        // Segment mapped by a rollover that stopped before its first record was written
+        Files.createFile(JournalFormat.segmentPath(directory, 2L));
+
+        try (Journal journal = Journal.open(directory, config)) {
+            assertEquals(4L, journal.getSequence());
+            assertEquals(5L, journal.appendCancelOrder(4L));
+        }
+
+        final IOrderBook orderBook = OrderBookImpl.of();
+        assertEquals(5L, JournalReplayer.replay(directory, orderBook));
+        assertEquals(3, orderBook.getAskOrders().size());
+    }
+
+    @Test
+    public void testReplayFromSequence() throws Exception {
+        final JournalConfig config =
+                JournalConfig.Builder.aConfig()
+                        .withSegmentSize(JournalFormat.RECORD_SIZE * 3)
+                        .build();
+        try (Journal journal = Journal.open(directory, config)) {
+            for (long orderId = 1; orderId <= 10; orderId++) {
+                journal.appendAddOrder(Order.of(orderId, 100L, 10L, Side.ASK, 0L));
+            }
+        }
+
+        final List<Long> orderIds = new ArrayList<>();
+        final long lastSequence =
+                JournalReader.read(
+                        directory,
+                        5L,
+                        new IJournalHandler() {
+                            @Override
+                            public void onAddOrder(
+                                    long sequence,
+                                    long orderId,
+                                    long price,
+                                    long quantity,
+                                    Side side,
+                                    long filled) {
+                                orderIds.add(orderId);
+                            }
+
+                            @Override
+                            public void onCancelOrder(long sequence, long orderId) {}
+
+                            @Override
+                            public void onChangeOrderPrice(
+                                    long sequence, long orderId, long price) {}
+
+                            @Override
+                            public void onChangeOrderQuantity(
+                                    long sequence, long orderId, long quantity) {}
+                        });
+
+        assertEquals(10L, lastSequence);
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L), orderIds);
+    }
+
+    @Test
+    public void testReplayEmptyJournal() throws Exception {
+        assertEquals(0L, JournalReplayer.replay(directory.resolve("missing"), OrderBookImpl.of()));
+        try (Journal journal = Journal.open(directory, JournalConfig.defaults())) {
+            assertEquals(0L, journal.getSequence());
+        }
+        assertTrue(JournalFormat.segmentIndexes(directory).length > 0);
+    }
+
+    private static void applyRandomCommands(IOrderBook orderBook, int commands) throws Exception {
+        final Random random = new Random(11L);
+        final List<Long> orderIds = new ArrayList<>();
+        long nextOrderId = 1;
+        for (int i = 0; i < commands; i++) {
+            final int action = random.nextInt(10);
+            try {
+                if (action < 5 || orderIds.isEmpty()) {
+                    final long orderId = nextOrderId++;
+                    final Side side = random.nextBoolean() ? Side.BID : Side.ASK;
+                    final long price = 90L + random.nextInt(20);
+                    orderBook.addOrder(
+                            Order.of(orderId, price, 1L + random.nextInt(50), side, 0L));
+                    orderIds.add(orderId);
+                } else {
+                    final long orderId = orderIds.get(random.nextInt(orderIds.size()));
+                    if (action < 7) {
+                        orderBook.cancelOrder(orderId);
+                    } else if (action < 9) {
+                        orderBook.changeOrderQuantity(orderId, 1L + random.nextInt(50));
+                    } else {
+                        orderBook.changeOrderPrice(orderId, 90L + random.nextInt(20));
+                    }
+                }
+            } catch (DuplicateOrderIdException | UnknownOrderIdException e) {
+                // Orders traded away or cancelled are rejected, and rejected again on replay
+            }
+        }
+    }
+}
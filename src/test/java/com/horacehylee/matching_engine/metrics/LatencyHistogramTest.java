@@ -0,0 +1,82 @@
+package com.horacehylee.matching_engine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1L, histogram.getMin());
+        assertEquals(100L, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+        assertEquals(50L, histogram.getValueAtPercentile(50));
+        assertEquals(99L, histogram.getValueAtPercentile(99));
+        assertEquals(100L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final Random random = new Random(5L);
+        final long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {10, 50, 90, 99, 99.9}) {
+            final long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected, percentile + ": " + actual + " < " + expected);
+            assertTrue(actual <= expected + expected / 64, percentile + ": " + actual);
+        }
+    }
+
+    @Test
+    public void testAddAndReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LatencyHistogram other = new LatencyHistogram();
+        histogram.record(10L);
+        other.record(Long.MAX_VALUE);
+        other.record(-1L);
+
+        histogram.add(other);
+        assertEquals(3, histogram.getCount());
+        assertEquals(0L, histogram.getMin());
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0L, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testCopyInto() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LatencyHistogram copy = new LatencyHistogram();
+        copy.record(1_000L);
+        histogram.record(5L);
+        histogram.record(300L);
+
+        histogram.copyInto(copy);
+
+        assertEquals(2, copy.getCount());
+        assertEquals(5L, copy.getMin());
+        assertEquals(300L, copy.getMax());
+        assertEquals(152.5, copy.getMean(), 1e-9);
+        assertEquals(histogram.getValueAtPercentile(50), copy.getValueAtPercentile(50));
+    }
+}
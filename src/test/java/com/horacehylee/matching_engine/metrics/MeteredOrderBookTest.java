@@ -0,0 +1,162 @@
+package com.horacehylee.matching_engine.metrics;
+
+import com.horacehylee.matching_engine.RecordingOrderBookListener;
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.domain.TimeInForce;
+import com.horacehylee.matching_engine.orderbook.OffHeapOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import com.horacehylee.matching_engine.orderbook.OrderBookResult;
+import com.horacehylee.matching_engine.sequencer.CommandType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeteredOrderBookTest {
+
+    private OrderBookMetrics metrics;
+    private RecordingOrderBookListener listener;
+    private MeteredOrderBook orderBook;
+
+    @BeforeEach
+    public void setup() {
+        metrics = new OrderBookMetrics();
+        listener = new RecordingOrderBookListener();
+        orderBook =
+                MeteredOrderBook.of(
+                        bookListener -> OrderBookImpl.of(OrderBookConfig.defaults(), bookListener),
+                        listener,
+                        metrics);
+    }
+
+    @Test
+    public void testMetrics() {
+        orderBook.tryAddOrder(order(1L, 100L, 10L, Side.ASK));
+        orderBook.tryAddOrder(order(2L, 100L, 10L, Side.ASK));
+        orderBook.tryAddOrder(order(3L, 101L, 10L, Side.ASK));
+        orderBook.tryAddOrder(order(4L, 102L, 10L, Side.ASK));
+        orderBook.tryAddOrder(order(5L, 90L, 10L, Side.BID));
+        orderBook.tryChangeOrderQuantity(5L, 20L);
+
+        // Sweeps two orders at 100 and one at 101, then the rest of 101 and one at 102
+        orderBook.tryAddOrder(order(6L, 101L, 25L, Side.BID));
+        orderBook.tryChangeOrderPrice(5L, 102L);
+        assertEquals(OrderBookResult.UNKNOWN_ORDER_ID, orderBook.tryCancelOrder(7L));
+        assertEquals(
+                OrderBookResult.DUPLICATE_ORDER_ID,
+                orderBook.tryAddOrder(order(5L, 1L, 1L, Side.BID)));
+
+        assertEquals(6L, metrics.getOrders());
+        assertEquals(5L, metrics.getTrades());
+        assertEquals(2L, metrics.getSweeps());
+        assertEquals(4L, metrics.getLevelsSwept());
+        assertEquals(2L, metrics.getRejects());
+        assertEquals(1L, metrics.getOrderCount(Side.BID));
+        assertEquals(0L, metrics.getOrderCount(Side.ASK));
+        assertEquals(1L, metrics.getLevelCount(Side.BID));
+        assertEquals(0L, metrics.getLevelCount(Side.ASK));
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        metrics.copyLatency(CommandType.ADD_ORDER, histogram);
+        assertEquals(7L, histogram.getCount());
+        metrics.copyLatency(CommandType.CANCEL_ORDER, histogram);
+        assertEquals(1L, histogram.getCount());
+        metrics.copyLatency(CommandType.CHANGE_ORDER_PRICE, histogram);
+        assertEquals(1L, histogram.getCount());
+        metrics.copyLatency(CommandType.CHANGE_ORDER_QUANTITY, histogram);
+        assertEquals(1L, histogram.getCount());
+        metrics.copySweepLatency(histogram);
+        assertEquals(2L, histogram.getCount());
+        metrics.copySweepLevels(histogram);
+        assertEquals(2L, histogram.getCount());
+        assertEquals(2L, histogram.getMin());
+        assertEquals(2L, histogram.getMax());
+
+        // Events still reach the listener
+        assertFalse(listener.getEvents().isEmpty());
+    }
+
+    @Test
+    public void testTimeInForceMetrics() {
+        orderBook.tryAddOrder(order(1L, 100L, 10L, Side.ASK));
+        assertEquals(
+                OrderBookResult.NOT_FILLABLE,
+                orderBook.tryAddOrder(order(2L, 100L, 20L, Side.BID), TimeInForce.FILL_OR_KILL));
+        assertEquals(
+                OrderBookResult.SUCCESS,
+                orderBook.tryAddOrder(
+                        order(3L, 100L, 20L, Side.BID), TimeInForce.IMMEDIATE_OR_CANCEL));
+
+        assertEquals(2L, metrics.getOrders());
+        assertEquals(1L, metrics.getRejects());
+        assertEquals(1L, metrics.getTrades());
+        assertEquals(0L, metrics.getOrderCount(Side.BID));
+        final LatencyHistogram histogram = new LatencyHistogram();
+        metrics.copyLatency(CommandType.ADD_ORDER, histogram);
+        assertEquals(3L, histogram.getCount());
+    }
+
+    @Test
+    public void testMeterOffHeapBook() {
+        final OrderBookMetrics offHeapMetrics = new OrderBookMetrics();
+        final MeteredOrderBook offHeapOrderBook =
+                MeteredOrderBook.of(
+                        bookListener ->
+                                OffHeapOrderBook.of(OrderBookConfig.defaults(), bookListener),
+                        offHeapMetrics);
+        offHeapOrderBook.tryAddOrder(order(1L, 100L, 10L, Side.ASK));
+        offHeapOrderBook.tryAddOrder(order(2L, 101L, 10L, Side.ASK));
+        offHeapOrderBook.tryAddOrder(order(3L, 101L, 15L, Side.BID));
+
+        assertEquals(3L, offHeapMetrics.getOrders());
+        assertEquals(2L, offHeapMetrics.getTrades());
+        assertEquals(1L, offHeapMetrics.getSweeps());
+        assertEquals(2L, offHeapMetrics.getLevelsSwept());
+        assertEquals(1L, offHeapMetrics.getOrderCount(Side.ASK));
+    }
+
+    @Test
+    public void testReadFromAnotherThread() throws Exception {
+        final int orders = 100_000;
+        final AtomicBoolean decreased = new AtomicBoolean();
+        final Thread reader =
+                new Thread(
+                        () -> {
+                            final LatencyHistogram histogram = new LatencyHistogram();
+                            long lastCount = 0;
+                            while (lastCount < orders) {
+                                metrics.copyLatency(CommandType.ADD_ORDER, histogram);
+                                if (histogram.getCount() < lastCount
+                                        || metrics.getOrders() > orders) {
+                                    decreased.set(true);
+                                }
+                                lastCount = histogram.getCount();
+                            }
+                        });
+        reader.start();
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            orderBook.tryAddOrder(order(orderId, 100L + orderId % 10, 1L, Side.BID));
+        }
+        reader.join(10_000L);
+
+        assertFalse(reader.isAlive());
+        assertFalse(decreased.get());
+        assertEquals(orders, metrics.getOrders());
+        assertTrue(metrics.toString().contains("bidOrders=" + orders));
+    }
+
+    private static Order order(long orderId, long price, long quantity, Side side) {
+        return Order.Builder.anOrder()
+                .withOrderId(orderId)
+                .withPrice(price)
+                .withQuantity(quantity)
+                .withSide(side)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepthPublisherTest {
+
+    private static final int LEVELS = 10;
+
+    @Test
+    public void testPublishAndRead() {
+        final IOrderBook orderBook = OrderBookImpl.of();
+        final DepthPublisher publisher = DepthPublisher.of(2);
+        final DepthSnapshot snapshot = publisher.newSnapshot();
+
+        assertTrue(publisher.tryRead(snapshot));
+        assertEquals(0L, snapshot.getVersion());
+        assertEquals(IReadOnlyOrderBook.NO_PRICE, snapshot.getBestPrice(Side.BID));
+
+        orderBook.tryAddOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(2L, 100L, 5L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(3L, 99L, 5L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(4L, 98L, 5L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(5L, 102L, 7L, Side.ASK, 0L));
+        publisher.publish(orderBook);
+        publisher.read(snapshot);
+
+        assertEquals(1L, snapshot.getVersion());
+        assertEquals(2, snapshot.getLevelCount(Side.BID));
+        assertEquals(100L, snapshot.getBestPrice(Side.BID));
+        assertEquals(15L, snapshot.getVolume(Side.BID, 0));
+        assertEquals(2, snapshot.getOrderCount(Side.BID, 0));
+        assertEquals(99L, snapshot.getPrice(Side.BID, 1));
+        assertEquals(1, snapshot.getLevelCount(Side.ASK));
+        assertEquals(102L, snapshot.getBestPrice(Side.ASK));
+        assertEquals(7L, snapshot.getVolume(Side.ASK, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getPrice(Side.ASK, 1));
+    }
+
+    /**
+     * Every level rests one order with quantity equal to its price, while the matcher keeps
+     * removing and restoring levels, so a torn copy pairs a price with a volume of another level
+     */
+    @Test
+    public void testConcurrentReadsAreNeverTorn() throws Exception {
+        final IOrderBook orderBook = OrderBookImpl.of();
+        final DepthPublisher publisher = DepthPublisher.of(LEVELS);
+        final long[] bidOrderIds = new long[LEVELS];
+        final long[] askOrderIds = new long[LEVELS];
+        long orderId = 0;
+        for (int level = 0; level < LEVELS; level++) {
+            final long bidPrice = bidPrice(level);
+            final long askPrice = askPrice(level);
+            bidOrderIds[level] = ++orderId;
+            orderBook.tryAddOrder(Order.of(orderId, bidPrice, bidPrice, Side.BID, 0L));
+            askOrderIds[level] = ++orderId;
+            orderBook.tryAddOrder(Order.of(orderId, askPrice, askPrice, Side.ASK, 0L));
+        }
+        publisher.publish(orderBook);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong tornReads = new AtomicLong();
+        final AtomicLong reads = new AtomicLong();
+        final List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Thread reader =
+                    new Thread(
+                            () -> {
+                                final DepthSnapshot snapshot = publisher.newSnapshot();
+                                long lastVersion = 0;
+                                while (running.get()) {
+                                    publisher.read(snapshot);
+                                    if (snapshot.getVersion() < lastVersion
+                                            || !isConsistent(snapshot)) {
+                                        tornReads.incrementAndGet();
+                                    }
+                                    lastVersion = snapshot.getVersion();
+                                    reads.incrementAndGet();
+                                }
+                            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        final Random random = new Random(1L);
+        for (int i = 0; i < 200_000; i++) {
+            final int level = random.nextInt(LEVELS);
+            final boolean bid = random.nextBoolean();
+            final long[] orderIds = bid ? bidOrderIds : askOrderIds;
+            final long price = bid ? bidPrice(level) : askPrice(level);
+            orderBook.tryCancelOrder(orderIds[level]);
+            publisher.publish(orderBook);
+            orderIds[level] = ++orderId;
+            orderBook.tryAddOrder(Order.of(orderId, price, price, bid ? Side.BID : Side.ASK, 0L));
+            publisher.publish(orderBook);
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0L, tornReads.get());
+        assertTrue(reads.get() > 0);
+    }
+
+    private static boolean isConsistent(DepthSnapshot snapshot) {
+        final int bidLevels = snapshot.getLevelCount(Side.BID);
+        final int askLevels = snapshot.getLevelCount(Side.ASK);
+        // At most one level is missing at a time
+        if (bidLevels + askLevels < 2 * LEVELS - 1) {
+            return false;
+        }
+        for (Side side : Side.values()) {
+            long lastPrice = side == Side.BID ? Long.MAX_VALUE : Long.MIN_VALUE;
+            for (int level = 0; level < snapshot.getLevelCount(side); level++) {
+                final long price = snapshot.getPrice(side, level);
+                if (snapshot.getVolume(side, level) != price
+                        || snapshot.getOrderCount(side, level) != 1
+                        || (side == Side.BID ? price >= lastPrice : price <= lastPrice)) {
+                    return false;
+                }
+                lastPrice = price;
+            }
+        }
+        return true;
+    }
+
+    private static long bidPrice(int level) {
+        return 1_000L - level;
+    }
+
+    private static long askPrice(int level) {
+        return 2_000L + level;
+    }
+}
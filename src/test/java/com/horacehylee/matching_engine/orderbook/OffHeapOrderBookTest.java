@@ -0,0 +1,155 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.RecordingOrderBookListener;
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownOrderIdException;
+import com.horacehylee.matching_engine.orderbook.exception.UnknownPriceException;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapOrderBookTest {
+
+    @ParameterizedTest
+    @EnumSource(PriceLadderType.class)
+    public void testRandomCommandsMatchOrderBookImpl(PriceLadderType priceLadderType) {
+        // Small chunks so that the store grows several times and reuses freed rows, and a small
+        // level pool so that dropped levels give their ids back to the store for reuse
+        final OrderBookConfig config =
+                OrderBookConfig.Builder.aConfig()
+                        .withPriceLadderType(priceLadderType)
+                        .withPriceLadderCapacity(32)
+                        .withOffHeapChunkOrders(16)
+                        .withBucketPoolSize(2)
+                        .build();
+        final RecordingOrderBookListener expectedListener = new RecordingOrderBookListener();
+        final RecordingOrderBookListener listener = new RecordingOrderBookListener();
+        final IOrderBook expected = OrderBookImpl.of(config, expectedListener);
+        final OffHeapOrderBook orderBook = OffHeapOrderBook.of(config, listener);
+
+        final Random random = new Random(7L);
+        long nextOrderId = 1;
+        for (int i = 0; i < 20_000; i++) {
+            final long orderId = Math.max(1L, nextOrderId - random.nextInt(200));
+            // Wide enough for prices to fall outside the array window
+            final long price = 1_000L + random.nextInt(60) - 30;
+            final int action = random.nextInt(10);
+            if (action < 5) {
+                final Side side = random.nextBoolean() ? Side.BID : Side.ASK;
+                final long id = random.nextInt(50) == 0 ? orderId : nextOrderId++;
+                final long addPrice = price + (side == Side.BID ? -5 : 5);
+                final Order order = Order.of(id, addPrice, 1L + random.nextInt(20), side, 0L);
+                assertEquals(expected.tryAddOrder(order), orderBook.tryAddOrder(order));
+            } else if (action < 7) {
+                assertEquals(expected.tryCancelOrder(orderId), orderBook.tryCancelOrder(orderId));
+            } else if (action < 9) {
+                assertEquals(
+                        expected.tryChangeOrderPrice(orderId, price),
+                        orderBook.tryChangeOrderPrice(orderId, price));
+            } else {
+                final long quantity = random.nextInt(25);
+                assertEquals(
+                        expected.tryChangeOrderQuantity(orderId, quantity),
+                        orderBook.tryChangeOrderQuantity(orderId, quantity));
+            }
+            if (i % 100 == 0) {
+                assertSameBook(expected, orderBook, price);
+            }
+        }
+
+        assertIterableEquals(expectedListener.getEvents(), listener.getEvents());
+        assertSameBook(expected, orderBook, 1_000L);
+    }
+
+    private static void assertSameBook(IOrderBook expected, IOrderBook actual, long price) {
+        assertIterableEquals(expected.getBidOrders(), actual.getBidOrders());
+        assertIterableEquals(expected.getAskOrders(), actual.getAskOrders());
+        assertEquals(expected.getBestBidPrice(), actual.getBestBidPrice());
+        assertEquals(expected.getBestAskPrice(), actual.getBestAskPrice());
+        assertEquals(expected.getBestBidVolume(), actual.getBestBidVolume());
+        assertEquals(expected.getBestAskVolume(), actual.getBestAskVolume());
+        for (Side side : Side.values()) {
+            assertEquals(expected.getOrderCount(side), actual.getOrderCount(side));
+            assertEquals(expected.getLevelCount(side), actual.getLevelCount(side));
+            assertEquals(
+                    expected.getCumulativeVolume(side, price),
+                    actual.getCumulativeVolume(side, price));
+            assertEquals(expected.getFillPrice(side, 50L), actual.getFillPrice(side, 50L));
+            assertIterableEquals(levelsOf(expected, side), levelsOf(actual, side));
+            assertIterableEquals(ordersOf(expected, side), ordersOf(actual, side));
+
+            final OrderBookDepth expectedDepth = expected.getDepth();
+            final OrderBookDepth depth = actual.getDepth();
+            assertEquals(expectedDepth.getLevelCount(side), depth.getLevelCount(side));
+            for (int level = 0; level < depth.getLevelCount(side); level++) {
+                assertEquals(expectedDepth.getPrice(side, level), depth.getPrice(side, level));
+                assertEquals(expectedDepth.getVolume(side, level), depth.getVolume(side, level));
+                assertEquals(
+                        expectedDepth.getOrderCount(side, level),
+                        depth.getOrderCount(side, level));
+            }
+        }
+    }
+
+    private static List<String> levelsOf(IOrderBook orderBook, Side side) {
+        final List<String> levels = new ArrayList<>();
+        final ILevelCursor cursor = orderBook.newLevelCursor().reset(side);
+        while (cursor.next()) {
+            levels.add(cursor.getPrice() + "@" + cursor.getVolume() + "/" + cursor.getOrderCount());
+        }
+        return levels;
+    }
+
+    private static List<Order> ordersOf(IOrderBook orderBook, Side side) {
+        final List<Order> orders = new ArrayList<>();
+        final IOrderCursor cursor = orderBook.newOrderCursor().reset(side);
+        while (cursor.next()) {
+            orders.add(
+                    Order.of(
+                            cursor.getOrderId(),
+                            cursor.getPrice(),
+                            cursor.getQuantity(),
+                            cursor.getSide(),
+                            cursor.getFilled()));
+        }
+        return orders;
+    }
+
+    @Test
+    public void testQueries() throws UnknownOrderIdException, UnknownPriceException {
+        final OffHeapOrderBook orderBook = OffHeapOrderBook.of(OrderBookConfig.defaults());
+        orderBook.tryAddOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(2L, 100L, 5L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(3L, 99L, 4L, Side.ASK, 0L));
+
+        assertEquals(Order.of(1L, 100L, 10L, Side.BID, 4L), orderBook.getOrder(1L));
+        assertFalse(orderBook.containsOrder(3L));
+        assertThrows(UnknownOrderIdException.class, () -> orderBook.getOrder(3L));
+
+        final IOrderBookSlice slice = orderBook.getSlice(100L);
+        assertEquals(Side.BID, slice.getSide());
+        assertEquals(11L, slice.getVolume());
+        assertIterableEquals(orderBook.getBidOrders(), slice.getOrders());
+        assertThrows(UnknownPriceException.class, () -> orderBook.getSlice(99L));
+
+        final List<Long> orderIds = new ArrayList<>();
+        orderBook.forEachOrder(
+                Side.BID,
+                100L,
+                (orderId, price, quantity, side, filled) -> orderIds.add(orderId));
+        assertIterableEquals(List.of(1L, 2L), orderIds);
+        assertTrue(orderBook.getOffHeapBytes() > 0);
+    }
+}
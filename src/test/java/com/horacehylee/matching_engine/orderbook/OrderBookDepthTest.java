@@ -0,0 +1,155 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+class OrderBookDepthTest {
+
+    @Test
+    public void testDepthOfLevels() throws Exception {
+        final IOrderBook orderBook =
+                OrderBookImpl.of(OrderBookConfig.Builder.aConfig().withDepthLevels(2).build());
+        final OrderBookDepth depth = orderBook.getDepth();
+        orderBook.addOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(2L, 99L, 10L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(3L, 99L, 5L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(4L, 98L, 10L, Side.BID, 0L));
+        depth.drainDirtyLevels(Side.BID);
+
+        assertEquals(2, depth.getLevelCount(Side.BID));
+        assertEquals(99L, depth.getPrice(Side.BID, 1));
+        assertEquals(15L, depth.getVolume(Side.BID, 1));
+        assertEquals(2, depth.getOrderCount(Side.BID, 1));
+
+        // Level 98 moves into the depth once level 100 is filled
+        orderBook.addOrder(Order.of(5L, 100L, 10L, Side.ASK, 0L));
+
+        assertEquals(2, depth.getLevelCount(Side.BID));
+        assertEquals(99L, depth.getPrice(Side.BID, 0));
+        assertEquals(98L, depth.getPrice(Side.BID, 1));
+        assertEquals(0b11L, depth.drainDirtyLevels(Side.BID));
+        assertEquals(0L, depth.getDirtyLevels(Side.ASK));
+
+        orderBook.changeOrderQuantity(4L, 4L);
+        assertEquals(4L, depth.getVolume(Side.BID, 1));
+        assertEquals(0b10L, depth.drainDirtyLevels(Side.BID));
+    }
+
+    @Test
+    public void testDepthMatchesOrders() throws Exception {
+        testDepthMatchesOrders(OrderBookConfig.Builder.aConfig().withDepthLevels(5).build());
+        testDepthMatchesOrders(
+                OrderBookConfig.Builder.aConfig()
+                        .withDepthLevels(5)
+                        .withPriceLadderType(PriceLadderType.ARRAY)
+                        .withPriceLadderCapacity(16)
+                        .build());
+    }
+
+    private static void testDepthMatchesOrders(OrderBookConfig config) throws Exception {
+        final IOrderBook orderBook = OrderBookImpl.of(config);
+        final OrderBookDepth depth = orderBook.getDepth();
+        final Random random = new Random(3L);
+        final List<Long> orderIds = new ArrayList<>();
+        // Levels as last published from dirty bitmaps, per side
+        final List<List<String>> published = List.of(new ArrayList<>(), new ArrayList<>());
+
+        for (int i = 0; i < 20_000; i++) {
+            final int action = random.nextInt(10);
+            if (action < 5 || orderIds.isEmpty()) {
+                final long orderId = i;
+                final Side side = random.nextBoolean() ? Side.BID : Side.ASK;
+                final long price = 90L + random.nextInt(20);
+                orderBook.tryAddOrder(Order.of(orderId, price, 1L + random.nextInt(20), side, 0L));
+                orderIds.add(orderId);
+            } else {
+                final long orderId = orderIds.remove(random.nextInt(orderIds.size()));
+                if (action < 7) {
+                    orderBook.tryCancelOrder(orderId);
+                } else if (action < 9) {
+                    orderBook.tryChangeOrderQuantity(orderId, 1L + random.nextInt(20));
+                    orderIds.add(orderId);
+                } else {
+                    orderBook.tryChangeOrderPrice(orderId, 90L + random.nextInt(20));
+                    orderIds.add(orderId);
+                }
+            }
+
+            for (Side side : Side.values()) {
+                final List<String> expected =
+                        expectedLevels(
+                                side == Side.BID
+                                        ? orderBook.getBidOrders()
+                                        : orderBook.getAskOrders(),
+                                depth.getMaxLevels());
+                final String expectedBest = expected.get(0);
+                assertEquals(
+                        expectedBest.isEmpty()
+                                ? ""
+                                : expectedBest.substring(0, expectedBest.lastIndexOf(' ')),
+                        side == Side.BID
+                                ? describeBest(
+                                        orderBook.getBestBidPrice(),
+                                        orderBook.getBestBidVolume())
+                                : describeBest(
+                                        orderBook.getBestAskPrice(),
+                                        orderBook.getBestAskVolume()));
+                final List<String> levels = published.get(side.ordinal());
+                final long dirtyLevels = depth.drainDirtyLevels(side);
+                for (int level = 0; level < depth.getMaxLevels(); level++) {
+                    while (levels.size() <= level) {
+                        levels.add("");
+                    }
+                    if ((dirtyLevels & (1L << level)) != 0) {
+                        levels.set(level, describe(depth, side, level));
+                    }
+                }
+                assertIterableEquals(expected, levels);
+            }
+        }
+    }
+
+    private static String describe(OrderBookDepth depth, Side side, int level) {
+        if (level >= depth.getLevelCount(side)) {
+            return "";
+        }
+        return depth.getPrice(side, level)
+                + " "
+                + depth.getVolume(side, level)
+                + " "
+                + depth.getOrderCount(side, level);
+    }
+
+    /** @return best level described as expected levels, without order count */
+    private static String describeBest(long price, long volume) {
+        return price == IReadOnlyOrderBook.NO_PRICE ? "" : price + " " + volume;
+    }
+
+    private static List<String> expectedLevels(List<Order> orders, int maxLevels) {
+        final List<String> levels = new ArrayList<>();
+        int index = 0;
+        while (index < orders.size() && levels.size() < maxLevels) {
+            final long price = orders.get(index).getPrice();
+            long volume = 0;
+            int orderCount = 0;
+            for (; index < orders.size() && orders.get(index).getPrice() == price; index++) {
+                volume += orders.get(index).getQuantity() - orders.get(index).getFilled();
+                orderCount++;
+            }
+            levels.add(price + " " + volume + " " + orderCount);
+        }
+        while (levels.size() < maxLevels) {
+            levels.add("");
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,105 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.RecordingOrderBookListener;
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.metrics.MeteredOrderBook;
+import com.horacehylee.matching_engine.metrics.OrderBookMetrics;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderBookImplBatchTest {
+
+    @ParameterizedTest
+    @EnumSource(PriceLadderType.class)
+    public void testBatchMatchesSingleCommands(PriceLadderType priceLadderType) {
+        final OrderBookConfig config =
+                OrderBookConfig.Builder.aConfig()
+                        .withPriceLadderType(priceLadderType)
+                        .withPriceLadderCapacity(64)
+                        .build();
+        final RecordingOrderBookListener listener = new RecordingOrderBookListener();
+        final RecordingOrderBookListener batchListener = new RecordingOrderBookListener();
+        final IOrderBook orderBook = OrderBookImpl.of(config, listener);
+        final IOrderBook batchOrderBook = OrderBookImpl.of(config, batchListener);
+        // Decorators fall back to applying the batch command by command
+        final IOrderBook meteredOrderBook =
+                MeteredOrderBook.of(
+                        meteredListener -> OrderBookImpl.of(config, meteredListener),
+                        new OrderBookMetrics());
+
+        final Random random = new Random(11L);
+        final CommandBatch batch = CommandBatch.of(64);
+        final int[] expectedResults = new int[batch.getCapacity()];
+        final int[] results = new int[batch.getCapacity()];
+        final int[] meteredResults = new int[batch.getCapacity()];
+        long nextOrderId = 1;
+        for (int round = 0; round < 500; round++) {
+            batch.clear();
+            int expectedRejected = 0;
+            while (!batch.isFull()) {
+                final int index = batch.size();
+                // Ids reach back into the past, so that some commands target filled orders
+                final long orderId = Math.max(1L, nextOrderId - random.nextInt(100));
+                final long price = 1_000L + random.nextInt(20) - 10;
+                final int action = random.nextInt(10);
+                if (action < 5) {
+                    // Runs of orders at the same price and side
+                    final Side side = random.nextInt(4) == 0 ? Side.BID : Side.ASK;
+                    final long quantity = 1L + random.nextInt(10);
+                    final long id = random.nextInt(50) == 0 ? orderId : nextOrderId++;
+                    final long addPrice = price + (side == Side.BID ? -10 : 10);
+                    batch.addOrder(id, addPrice, quantity, side);
+                    expectedResults[index] =
+                            orderBook.tryAddOrder(Order.of(id, addPrice, quantity, side, 0L));
+                } else if (action < 7) {
+                    batch.cancelOrder(orderId);
+                    expectedResults[index] = orderBook.tryCancelOrder(orderId);
+                } else if (action < 9) {
+                    batch.changeOrderPrice(orderId, price);
+                    expectedResults[index] = orderBook.tryChangeOrderPrice(orderId, price);
+                } else {
+                    final long quantity = random.nextInt(12);
+                    batch.changeOrderQuantity(orderId, quantity);
+                    expectedResults[index] = orderBook.tryChangeOrderQuantity(orderId, quantity);
+                }
+                if (expectedResults[index] != OrderBookResult.SUCCESS) {
+                    expectedRejected++;
+                }
+            }
+
+            assertEquals(expectedRejected, batchOrderBook.tryApply(batch, results));
+            assertArrayEquals(expectedResults, results);
+            assertEquals(expectedRejected, meteredOrderBook.tryApply(batch, meteredResults));
+            assertArrayEquals(expectedResults, meteredResults);
+        }
+
+        assertIterableEquals(listener.getEvents(), batchListener.getEvents());
+        assertIterableEquals(orderBook.getBidOrders(), batchOrderBook.getBidOrders());
+        assertIterableEquals(orderBook.getAskOrders(), batchOrderBook.getAskOrders());
+        assertIterableEquals(orderBook.getBidOrders(), meteredOrderBook.getBidOrders());
+        assertIterableEquals(orderBook.getAskOrders(), meteredOrderBook.getAskOrders());
+        assertEquals(orderBook.getBestBidPrice(), batchOrderBook.getBestBidPrice());
+        assertEquals(orderBook.getBestAskPrice(), batchOrderBook.getBestAskPrice());
+    }
+
+    @Test
+    public void testInvalidBatch() {
+        final CommandBatch batch = CommandBatch.of(2);
+        batch.cancelOrder(1L).cancelOrder(2L);
+
+        assertThrows(IllegalStateException.class, () -> batch.cancelOrder(3L));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> OrderBookImpl.of().tryApply(batch, new int[1]));
+    }
+}
@@ -0,0 +1,76 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderBookImplBucketPoolTest {
+
+    private static OrderBookImpl createOrderBook(PriceLadderType type, int bucketPoolSize) {
+        return (OrderBookImpl)
+                OrderBookImpl.of(
+                        OrderBookConfig.Builder.aConfig()
+                                .withPriceLadderType(type)
+                                .withBucketPoolSize(bucketPoolSize)
+                                .build());
+    }
+
+    @ParameterizedTest
+    @EnumSource(PriceLadderType.class)
+    public void testFlickeringLevelReusesBucket(PriceLadderType type) {
+        final OrderBookImpl orderBook = createOrderBook(type, 2);
+        orderBook.tryAddOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+
+        for (long orderId = 2; orderId < 1_000; orderId++) {
+            orderBook.tryAddOrder(Order.of(orderId, 101L, 5L, Side.BID, 0L));
+            orderBook.tryAddOrder(Order.of(-orderId, 101L, 5L, Side.ASK, 0L));
+        }
+
+        assertEquals(0L, orderBook.getBucketPoolMisses());
+        assertEquals(999L, orderBook.getBucketPoolHits());
+        assertEquals(1, orderBook.getLevelCount(Side.BID));
+        assertEquals(0, orderBook.getLevelCount(Side.ASK));
+        assertEquals(100L, orderBook.getBestBidPrice());
+        assertEquals(10L, orderBook.getBestBidVolume());
+    }
+
+    @ParameterizedTest
+    @EnumSource(PriceLadderType.class)
+    public void testReusedBucketStartsEmptyAtNewPrice(PriceLadderType type) {
+        final OrderBookImpl orderBook = createOrderBook(type, 1);
+        orderBook.tryAddOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(2L, 100L, 20L, Side.BID, 0L));
+        orderBook.tryCancelOrder(1L);
+        orderBook.tryCancelOrder(2L);
+
+        // Last bid level is now the released bucket, reused for another price
+        orderBook.tryAddOrder(Order.of(3L, 99L, 7L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(4L, 100L, 3L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(5L, 99L, 1L, Side.BID, 0L));
+
+        assertEquals(2L, orderBook.getBucketPoolHits());
+        assertEquals(1L, orderBook.getBucketPoolMisses());
+        assertEquals(2, orderBook.getLevelCount(Side.BID));
+        assertEquals(100L, orderBook.getBestBidPrice());
+        assertEquals(3L, orderBook.getBestBidVolume());
+        assertEquals(11L, orderBook.getCumulativeVolume(Side.BID, 99L));
+        assertEquals(3, orderBook.getOrderCount(Side.BID));
+    }
+
+    @Test
+    public void testEmptyPoolAllocatesEveryLevel() {
+        final OrderBookImpl orderBook = createOrderBook(PriceLadderType.TREE, 0);
+        for (long orderId = 1; orderId <= 10; orderId++) {
+            orderBook.tryAddOrder(Order.of(orderId, 100L, 10L, Side.ASK, 0L));
+            orderBook.tryCancelOrder(orderId);
+        }
+
+        assertEquals(0L, orderBook.getBucketPoolHits());
+        assertEquals(10L, orderBook.getBucketPoolMisses());
+    }
+}
@@ -0,0 +1,119 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+class OrderBookImplCursorTest {
+
+    private IOrderBook orderBook;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        orderBook = OrderBookImpl.of();
+        orderBook.addOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(2L, 99L, 20L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(3L, 100L, 30L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(4L, 98L, 40L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(5L, 101L, 50L, Side.ASK, 0L));
+        // Partially fill order 1
+        orderBook.addOrder(Order.of(6L, 100L, 4L, Side.ASK, 0L));
+    }
+
+    @Test
+    public void testForEachLevel() {
+        final List<String> levels = new ArrayList<>();
+        orderBook.forEachLevel(
+                Side.BID,
+                (side, price, volume, orderCount) ->
+                        levels.add(side + " " + price + " " + volume + " " + orderCount));
+
+        assertIterableEquals(List.of("BID 100 36 2", "BID 99 20 1", "BID 98 40 1"), levels);
+    }
+
+    @Test
+    public void testForEachOrder() {
+        final List<Order> orders = new ArrayList<>();
+        orderBook.forEachOrder(
+                Side.BID,
+                (orderId, price, quantity, side, filled) ->
+                        orders.add(Order.of(orderId, price, quantity, side, filled)));
+
+        assertIterableEquals(orderBook.getBidOrders(), orders);
+    }
+
+    @Test
+    public void testForEachOrderStopsEarly() {
+        final List<Long> orderIds = new ArrayList<>();
+        orderBook.forEachOrder(
+                Side.BID,
+                (orderId, price, quantity, side, filled) -> {
+                    orderIds.add(orderId);
+                    return orderIds.size() < 3;
+                });
+
+        assertIterableEquals(List.of(1L, 3L, 2L), orderIds);
+    }
+
+    @Test
+    public void testForEachOrderOfLevel() {
+        final List<Long> orderIds = new ArrayList<>();
+        orderBook.forEachOrder(
+                Side.BID, 100L, (orderId, price, quantity, side, filled) -> orderIds.add(orderId));
+        orderBook.forEachOrder(
+                Side.ASK, 100L, (orderId, price, quantity, side, filled) -> orderIds.add(orderId));
+
+        assertIterableEquals(List.of(1L, 3L), orderIds);
+    }
+
+    @Test
+    public void testLevelCursor() {
+        final ILevelCursor cursor = orderBook.newLevelCursor();
+        final List<String> levels = new ArrayList<>();
+        for (Side side : Side.values()) {
+            cursor.reset(side);
+            while (cursor.next()) {
+                final String level = cursor.getPrice() + " " + cursor.getVolume();
+                levels.add(level + " " + cursor.getOrderCount());
+            }
+        }
+
+        assertIterableEquals(List.of("100 36 2", "99 20 1", "98 40 1", "101 50 1"), levels);
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testOrderCursor() {
+        final IOrderCursor cursor = orderBook.newOrderCursor();
+        final List<Order> orders = new ArrayList<>();
+        cursor.reset(Side.BID);
+        while (cursor.next()) {
+            orders.add(
+                    Order.of(
+                            cursor.getOrderId(),
+                            cursor.getPrice(),
+                            cursor.getQuantity(),
+                            cursor.getSide(),
+                            cursor.getFilled()));
+        }
+        assertIterableEquals(orderBook.getBidOrders(), orders);
+
+        final List<Long> orderIds = new ArrayList<>();
+        cursor.reset(Side.BID, 100L);
+        while (cursor.next()) {
+            orderIds.add(cursor.getOrderId());
+        }
+        cursor.reset(Side.BID, 97L);
+        while (cursor.next()) {
+            orderIds.add(cursor.getOrderId());
+        }
+        assertIterableEquals(List.of(1L, 3L), orderIds);
+    }
+}
@@ -0,0 +1,98 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.OrderIdCounter;
+import com.horacehylee.matching_engine.RecordingOrderBookListener;
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+class OrderBookImplEventTest {
+
+    private RecordingOrderBookListener listener;
+    private IOrderBook orderBook;
+
+    @BeforeEach
+    public void setup() {
+        OrderIdCounter.reset();
+        listener = new RecordingOrderBookListener();
+        orderBook = OrderBookImpl.of(OrderBookConfig.defaults(), listener);
+    }
+
+    @Test
+    public void testAddRestingOrder() throws Exception {
+        orderBook.addOrder(anOrder(Side.ASK, 100L, 10L));
+
+        assertIterableEquals(
+                List.of("ACCEPT 1 ASK 100 10", "LEVEL ASK 100 10 1"), listener.getEvents());
+    }
+
+    @Test
+    public void testTradesAcrossLevels() throws Exception {
+        orderBook.addOrder(anOrder(Side.ASK, 100L, 10L));
+        orderBook.addOrder(anOrder(Side.ASK, 101L, 10L));
+        listener.clear();
+
+        orderBook.addOrder(anOrder(Side.BID, 101L, 15L));
+
+        assertIterableEquals(
+                List.of(
+                        "ACCEPT 3 BID 101 15",
+                        "TRADE 3 1 BID 100 10",
+                        "LEVEL ASK 100 0 0",
+                        "TRADE 3 2 BID 101 5",
+                        "LEVEL ASK 101 5 1"),
+                listener.getEvents());
+    }
+
+    @Test
+    public void testAggressiveOrderRestsRemainingQuantity() throws Exception {
+        orderBook.addOrder(anOrder(Side.ASK, 100L, 10L));
+        listener.clear();
+
+        orderBook.addOrder(anOrder(Side.BID, 100L, 15L));
+
+        assertIterableEquals(
+                List.of(
+                        "ACCEPT 2 BID 100 15",
+                        "TRADE 2 1 BID 100 10",
+                        "LEVEL ASK 100 0 0",
+                        "LEVEL BID 100 5 1"),
+                listener.getEvents());
+    }
+
+    @Test
+    public void testCancelAndAmend() throws Exception {
+        orderBook.addOrder(anOrder(Side.BID, 100L, 10L));
+        orderBook.addOrder(anOrder(Side.BID, 100L, 20L));
+        listener.clear();
+
+        orderBook.changeOrderQuantity(1L, 5L);
+        orderBook.changeOrderPrice(2L, 99L);
+        orderBook.cancelOrder(1L);
+
+        assertIterableEquals(
+                List.of(
+                        "AMEND 1 BID 100 5 0",
+                        "LEVEL BID 100 25 2",
+                        "LEVEL BID 100 5 1",
+                        "AMEND 2 BID 99 20 0",
+                        "LEVEL BID 99 20 1",
+                        "CANCEL 1 BID 100 5",
+                        "LEVEL BID 100 0 0"),
+                listener.getEvents());
+    }
+
+    private static Order anOrder(Side side, long price, long quantity) {
+        return Order.Builder.anOrder()
+                .withOrderId(OrderIdCounter.get())
+                .withPrice(price)
+                .withQuantity(quantity)
+                .withSide(side)
+                .build();
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -298,12 +299,106 @@ class OrderBookImplMatchingTest {
         orderBook.changeOrderQuantity(askOrder.getOrderId(), askQuantity - bidQuantity);
 
         assertIterableEquals(List.of(), orderBook.getAskOrders());
+        assertFalse(orderBook.containsOrder(askOrder.getOrderId()));
         assertThrows(
                 UnknownPriceException.class,
                 () -> orderBook.getSlice(price),
                 "Unknown price \"100\" is given");
     }
 
+    @Test
+    public void testReduceQuantityToFilledReleasesEntry() throws Exception {
+        final OrderBookImpl orderBook =
+                (OrderBookImpl)
+                        OrderBookImpl.of(
+                                OrderBookConfig.Builder.aConfig().withOrderPoolSize(4).build());
+        orderBook.addOrder(Order.of(1L, 100L, 10L, Side.ASK, 0L));
+        orderBook.addOrder(Order.of(2L, 100L, 4L, Side.BID, 0L));
+        assertEquals(3, orderBook.getAvailableOrderEntries());
+
+        // Only order of its level, reduced to its filled quantity
+        assertEquals(OrderBookResult.SUCCESS, orderBook.tryChangeOrderQuantity(1L, 4L));
+
+        assertFalse(orderBook.containsOrder(1L));
+        assertEquals(OrderBookResult.UNKNOWN_ORDER_ID, orderBook.tryCancelOrder(1L));
+        assertEquals(0, orderBook.getOrderCount(Side.ASK));
+        assertEquals(0, orderBook.getLevelCount(Side.ASK));
+        assertEquals(IReadOnlyOrderBook.NO_PRICE, orderBook.getBestAskPrice());
+        assertThrows(UnknownPriceException.class, () -> orderBook.getSlice(100L));
+        assertEquals(4, orderBook.getAvailableOrderEntries());
+
+        // Next order takes the released entry, without the filled quantity or links of order 1
+        orderBook.addOrder(Order.of(3L, 100L, 7L, Side.ASK, 0L));
+        assertEquals(3, orderBook.getAvailableOrderEntries());
+        assertEquals(Order.of(3L, 100L, 7L, Side.ASK, 0L), orderBook.getOrder(3L));
+        assertEquals(7L, orderBook.getBestAskVolume());
+        orderBook.addOrder(Order.of(4L, 100L, 7L, Side.BID, 0L));
+        assertIterableEquals(List.of(), orderBook.getAskOrders());
+        assertIterableEquals(List.of(), orderBook.getBidOrders());
+        assertEquals(4, orderBook.getAvailableOrderEntries());
+    }
+
+    @Test
+    public void testReduceQuantityBelowFilledKeepsRestOfLevel() throws Exception {
+        orderBook.addOrder(Order.of(1L, 100L, 10L, Side.ASK, 0L));
+        orderBook.addOrder(Order.of(2L, 100L, 10L, Side.ASK, 0L));
+        orderBook.addOrder(Order.of(3L, 100L, 4L, Side.BID, 0L));
+
+        orderBook.changeOrderQuantity(1L, 2L);
+
+        assertFalse(orderBook.containsOrder(1L));
+        assertIterableEquals(
+                List.of(Order.of(2L, 100L, 10L, Side.ASK, 0L)), orderBook.getAskOrders());
+        assertEquals(10L, orderBook.getSlice(100L).getVolume());
+        assertEquals(1, orderBook.getLevelCount(Side.ASK));
+    }
+
+    @Test
+    public void testChangeOrderPriceAfterPartialFilled() throws Exception {
+        final Order askOrder =
+                Order.Builder.anOrder()
+                        .withOrderId(OrderIdCounter.get())
+                        .withPrice(100L)
+                        .withQuantity(10L)
+                        .withSide(Side.ASK)
+                        .build();
+        orderBook.addOrder(askOrder);
+
+        final Order bidOrder =
+                Order.Builder.anOrder()
+                        .withOrderId(OrderIdCounter.get())
+                        .withPrice(100L)
+                        .withQuantity(5L)
+                        .withSide(Side.BID)
+                        .build();
+        orderBook.addOrder(bidOrder);
+
+        orderBook.changeOrderPrice(askOrder.getOrderId(), 90L);
+
+        final Order expectedRemainingAskOrder =
+                Order.Builder.anOrder()
+                        .withOrderId(askOrder.getOrderId())
+                        .withPrice(90L)
+                        .withQuantity(10L)
+                        .withSide(Side.ASK)
+                        .withFilled(5L)
+                        .build();
+        assertIterableEquals(List.of(expectedRemainingAskOrder), orderBook.getAskOrders());
+
+        final Order bidOrder2 =
+                Order.Builder.anOrder()
+                        .withOrderId(OrderIdCounter.get())
+                        .withPrice(95L)
+                        .withQuantity(10L)
+                        .withSide(Side.BID)
+                        .build();
+        orderBook.addOrder(bidOrder2);
+
+        assertIterableEquals(List.of(), orderBook.getAskOrders());
+        assertIterableEquals(
+                List.of(Order.copyOfWithFilled(bidOrder2, 5L)), orderBook.getBidOrders());
+    }
+
     @Test
     public void testMatchingWithMultiplePrices() throws Exception {
         final Order askOrder =
@@ -0,0 +1,68 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+class OrderBookImplPriceLadderTest {
+
+    @Test
+    public void testArrayLadderMatchesTreeLadder() throws Exception {
+        final IOrderBook treeOrderBook = OrderBookImpl.of();
+        // Narrow window so that orders keep falling back to the tree and re-centering the window
+        final IOrderBook arrayOrderBook =
+                OrderBookImpl.of(
+                        OrderBookConfig.Builder.aConfig()
+                                .withPriceLadderType(PriceLadderType.ARRAY)
+                                .withTickSize(5L)
+                                .withPriceLadderCapacity(16)
+                                .build());
+
+        final Random random = new Random(7L);
+        final List<Long> orderIds = new ArrayList<>();
+        long mid = 1_000L;
+        for (long orderId = 1; orderId <= 20_000; orderId++) {
+            mid += (random.nextInt(3) - 1) * 5L;
+            final int action = random.nextInt(10);
+            if (action < 6 || orderIds.isEmpty()) {
+                final Side side = random.nextBoolean() ? Side.BID : Side.ASK;
+                final long offset = random.nextInt(30) * 5L + (random.nextInt(20) == 0 ? 2L : 0L);
+                final Order order =
+                        Order.Builder.anOrder()
+                                .withOrderId(orderId)
+                                .withPrice(side == Side.BID ? mid - offset : mid + offset)
+                                .withQuantity(1 + random.nextInt(50))
+                                .withSide(side)
+                                .build();
+                treeOrderBook.addOrder(order);
+                arrayOrderBook.addOrder(order);
+                orderIds.add(orderId);
+            } else {
+                final long restingOrderId = orderIds.remove(random.nextInt(orderIds.size()));
+                assertEquals(
+                        treeOrderBook.containsOrder(restingOrderId),
+                        arrayOrderBook.containsOrder(restingOrderId));
+                if (treeOrderBook.containsOrder(restingOrderId)) {
+                    if (action < 9) {
+                        treeOrderBook.cancelOrder(restingOrderId);
+                        arrayOrderBook.cancelOrder(restingOrderId);
+                    } else {
+                        treeOrderBook.changeOrderPrice(restingOrderId, mid);
+                        arrayOrderBook.changeOrderPrice(restingOrderId, mid);
+                        orderIds.add(restingOrderId);
+                    }
+                }
+            }
+            assertIterableEquals(treeOrderBook.getBidOrders(), arrayOrderBook.getBidOrders());
+            assertIterableEquals(treeOrderBook.getAskOrders(), arrayOrderBook.getAskOrders());
+        }
+    }
+}
@@ -182,6 +182,45 @@ class OrderBookImplTest {
                 "Unknown price is \"" + 100L + "\"given");
     }
 
+    @Test
+    public void testCancelOrderInMiddleOfLevel() throws Exception {
+        final Order order =
+                Order.Builder.anOrder()
+                        .withOrderId(OrderIdCounter.get())
+                        .withPrice(100L)
+                        .withQuantity(10L)
+                        .withSide(Side.BID)
+                        .build();
+
+        final Order order2 =
+                Order.Builder.anOrder()
+                        .withOrderId(OrderIdCounter.get())
+                        .withPrice(100L)
+                        .withQuantity(20L)
+                        .withSide(Side.BID)
+                        .build();
+
+        final Order order3 =
+                Order.Builder.anOrder()
+                        .withOrderId(OrderIdCounter.get())
+                        .withPrice(100L)
+                        .withQuantity(30L)
+                        .withSide(Side.BID)
+                        .build();
+
+        orderBook.addOrder(order);
+        orderBook.addOrder(order2);
+        orderBook.addOrder(order3);
+        orderBook.cancelOrder(order2.getOrderId());
+
+        assertIterableEquals(List.of(order, order3), orderBook.getBidOrders());
+        assertFalse(orderBook.containsOrder(order2.getOrderId()));
+
+        final IOrderBookSlice slice = orderBook.getSlice(100L);
+        assertEquals(40L, slice.getVolume());
+        assertIterableEquals(List.of(order, order3), slice.getOrders());
+    }
+
     @Test
     public void testInvalidCancelOrderWithUnknownOrderId() {
         final long id = OrderIdCounter.get();
@@ -348,4 +387,57 @@ class OrderBookImplTest {
         final IOrderBookSlice slice = orderBook.getSlice(price);
         assertEquals(15L, slice.getVolume());
     }
+
+    @Test
+    public void testResultCodes() {
+        final long id = OrderIdCounter.get();
+        final Order order =
+                Order.Builder.anOrder()
+                        .withOrderId(id)
+                        .withPrice(100L)
+                        .withQuantity(10L)
+                        .withSide(Side.BID)
+                        .build();
+
+        assertEquals(OrderBookResult.SUCCESS, orderBook.tryAddOrder(order));
+        assertEquals(OrderBookResult.DUPLICATE_ORDER_ID, orderBook.tryAddOrder(order));
+        assertEquals(OrderBookResult.SUCCESS, orderBook.tryChangeOrderQuantity(id, 20L));
+        assertEquals(OrderBookResult.SUCCESS, orderBook.tryChangeOrderPrice(id, 101L));
+        assertEquals(OrderBookResult.SUCCESS, orderBook.tryCancelOrder(id));
+
+        assertEquals(OrderBookResult.UNKNOWN_ORDER_ID, orderBook.tryCancelOrder(id));
+        assertEquals(OrderBookResult.UNKNOWN_ORDER_ID, orderBook.tryChangeOrderPrice(id, 100L));
+        assertEquals(OrderBookResult.UNKNOWN_ORDER_ID, orderBook.tryChangeOrderQuantity(id, 5L));
+        assertIterableEquals(List.of(), orderBook.getBidOrders());
+    }
+
+    @Test
+    public void testTopOfBook() throws Exception {
+        assertEquals(IReadOnlyOrderBook.NO_PRICE, orderBook.getBestBidPrice());
+        assertEquals(IReadOnlyOrderBook.NO_PRICE, orderBook.getSpread());
+
+        orderBook.addOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(2L, 99L, 10L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(3L, 100L, 5L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(4L, 102L, 7L, Side.ASK, 0L));
+
+        assertEquals(100L, orderBook.getBestBidPrice());
+        assertEquals(15L, orderBook.getBestBidVolume());
+        assertEquals(102L, orderBook.getBestAskPrice());
+        assertEquals(7L, orderBook.getBestAskVolume());
+        assertEquals(2L, orderBook.getSpread());
+
+        orderBook.addOrder(Order.of(5L, 100L, 12L, Side.ASK, 0L));
+        assertEquals(100L, orderBook.getBestBidPrice());
+        assertEquals(3L, orderBook.getBestBidVolume());
+
+        orderBook.cancelOrder(3L);
+        assertEquals(99L, orderBook.getBestBidPrice());
+        assertEquals(10L, orderBook.getBestBidVolume());
+
+        orderBook.cancelOrder(4L);
+        assertEquals(IReadOnlyOrderBook.NO_PRICE, orderBook.getBestAskPrice());
+        assertEquals(0L, orderBook.getBestAskVolume());
+        assertEquals(IReadOnlyOrderBook.NO_PRICE, orderBook.getSpread());
+    }
 }
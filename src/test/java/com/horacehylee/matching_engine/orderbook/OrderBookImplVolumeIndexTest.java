@@ -0,0 +1,168 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.RecordingOrderBookListener;
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.domain.TimeInForce;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderBookImplVolumeIndexTest {
+
+    private RecordingOrderBookListener listener;
+    private IOrderBook orderBook;
+
+    @BeforeEach
+    public void setup() {
+        listener = new RecordingOrderBookListener();
+        orderBook = OrderBookImpl.of(OrderBookConfig.defaults(), listener);
+        orderBook.tryAddOrder(Order.of(1L, 100L, 10L, Side.ASK, 0L));
+        orderBook.tryAddOrder(Order.of(2L, 100L, 5L, Side.ASK, 0L));
+        orderBook.tryAddOrder(Order.of(3L, 102L, 10L, Side.ASK, 0L));
+        orderBook.tryAddOrder(Order.of(4L, 98L, 20L, Side.BID, 0L));
+        listener.clear();
+    }
+
+    @Test
+    public void testCumulativeVolume() {
+        assertEquals(0L, orderBook.getCumulativeVolume(Side.ASK, 99L));
+        assertEquals(15L, orderBook.getCumulativeVolume(Side.ASK, 100L));
+        assertEquals(15L, orderBook.getCumulativeVolume(Side.ASK, 101L));
+        assertEquals(25L, orderBook.getCumulativeVolume(Side.ASK, 102L));
+        assertEquals(25L, orderBook.getCumulativeVolume(Side.ASK, Long.MAX_VALUE / 2));
+        assertEquals(20L, orderBook.getCumulativeVolume(Side.BID, 98L));
+        assertEquals(0L, orderBook.getCumulativeVolume(Side.BID, 99L));
+
+        assertEquals(100L, orderBook.getFillPrice(Side.ASK, 15L));
+        assertEquals(102L, orderBook.getFillPrice(Side.ASK, 16L));
+        assertEquals(IReadOnlyOrderBook.NO_PRICE, orderBook.getFillPrice(Side.ASK, 26L));
+        assertEquals(98L, orderBook.getFillPrice(Side.BID, 1L));
+        assertThrows(IllegalArgumentException.class, () -> orderBook.getFillPrice(Side.BID, 0L));
+    }
+
+    @Test
+    public void testFillOrKill() {
+        assertEquals(
+                OrderBookResult.NOT_FILLABLE,
+                orderBook.tryAddOrder(
+                        Order.of(5L, 101L, 16L, Side.BID, 0L), TimeInForce.FILL_OR_KILL));
+        assertIterableEquals(List.of(), listener.getEvents());
+        assertEquals(25L, orderBook.getCumulativeVolume(Side.ASK, 102L));
+
+        assertEquals(
+                OrderBookResult.SUCCESS,
+                orderBook.tryAddOrder(
+                        Order.of(5L, 102L, 16L, Side.BID, 0L), TimeInForce.FILL_OR_KILL));
+        assertEquals(9L, orderBook.getCumulativeVolume(Side.ASK, 102L));
+        assertEquals(98L, orderBook.getBestBidPrice());
+        assertEquals(
+                OrderBookResult.DUPLICATE_ORDER_ID,
+                orderBook.tryAddOrder(
+                        Order.of(4L, 102L, 100L, Side.BID, 0L), TimeInForce.FILL_OR_KILL));
+    }
+
+    @Test
+    public void testImmediateOrCancel() {
+        assertEquals(
+                OrderBookResult.SUCCESS,
+                orderBook.tryAddOrder(
+                        Order.of(5L, 101L, 20L, Side.BID, 0L), TimeInForce.IMMEDIATE_OR_CANCEL));
+
+        assertIterableEquals(
+                List.of(
+                        "ACCEPT 5 BID 101 15",
+                        "TRADE 5 1 BID 100 10",
+                        "TRADE 5 2 BID 100 5",
+                        "LEVEL ASK 100 0 0"),
+                listener.getEvents());
+        assertEquals(98L, orderBook.getBestBidPrice());
+        assertEquals(102L, orderBook.getBestAskPrice());
+        assertEquals(
+                OrderBookResult.NOT_FILLABLE,
+                orderBook.tryAddOrder(
+                        Order.of(6L, 101L, 20L, Side.BID, 0L), TimeInForce.IMMEDIATE_OR_CANCEL));
+        assertEquals(
+                OrderBookResult.SUCCESS,
+                orderBook.tryAddOrder(
+                        Order.of(7L, 99L, 20L, Side.BID, 0L), TimeInForce.GOOD_TILL_CANCEL));
+        assertEquals(99L, orderBook.getBestBidPrice());
+    }
+
+    @Test
+    public void testIndexMatchesLevelWalk() {
+        // Narrow window off the tick grid keeps levels falling outside of the index
+        final OrderBookConfig[] configs = {
+            OrderBookConfig.defaults(),
+            OrderBookConfig.Builder.aConfig()
+                    .withPriceLadderType(PriceLadderType.ARRAY)
+                    .withTickSize(5L)
+                    .withPriceLadderCapacity(16)
+                    .build()
+        };
+        for (OrderBookConfig config : configs) {
+            final IOrderBook orderBook = OrderBookImpl.of(config);
+            final Random random = new Random(3L);
+            final List<Long> orderIds = new ArrayList<>();
+            long mid = 1_000L;
+            for (long orderId = 1; orderId <= 20_000; orderId++) {
+                mid += (random.nextInt(3) - 1) * 5L;
+                if (random.nextInt(10) < 6 || orderIds.isEmpty()) {
+                    final Side side = random.nextBoolean() ? Side.BID : Side.ASK;
+                    final long offset =
+                            random.nextInt(30) * 5L + (random.nextInt(50) == 0 ? 2L : 0L);
+                    final long price = side == Side.BID ? mid - offset : mid + offset;
+                    orderBook.tryAddOrder(
+                            Order.of(orderId, price, 1L + random.nextInt(20), side, 0L));
+                    orderIds.add(orderId);
+                } else {
+                    orderBook.tryCancelOrder(orderIds.remove(random.nextInt(orderIds.size())));
+                }
+                if (orderId % 100 == 0) {
+                    for (Side side : Side.values()) {
+                        assertIndexMatchesLevelWalk(orderBook, side, mid, random);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertIndexMatchesLevelWalk(
+            IOrderBook orderBook, Side side, long mid, Random random) {
+        final long price = mid + random.nextInt(400) - 200;
+        final long[] volume = {0L};
+        orderBook.forEachLevel(
+                side,
+                (levelSide, levelPrice, levelVolume, orderCount) -> {
+                    if (side == Side.BID ? levelPrice < price : levelPrice > price) {
+                        return false;
+                    }
+                    volume[0] += levelVolume;
+                    return true;
+                });
+        assertEquals(volume[0], orderBook.getCumulativeVolume(side, price));
+
+        final long quantity = 1L + random.nextInt(2_000);
+        final long[] fillPrice = {IReadOnlyOrderBook.NO_PRICE};
+        final long[] filled = {0L};
+        orderBook.forEachLevel(
+                side,
+                (levelSide, levelPrice, levelVolume, orderCount) -> {
+                    filled[0] += levelVolume;
+                    if (filled[0] >= quantity) {
+                        fillPrice[0] = levelPrice;
+                        return false;
+                    }
+                    return true;
+                });
+        assertEquals(fillPrice[0], orderBook.getFillPrice(side, quantity));
+    }
+}
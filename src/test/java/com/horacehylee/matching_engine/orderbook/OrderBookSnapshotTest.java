@@ -0,0 +1,110 @@
+package com.horacehylee.matching_engine.orderbook;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.ladder.PriceLadderType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderBookSnapshotTest {
+
+    @TempDir Path directory;
+
+    @Test
+    public void testRestoreKeepsLevelsAndTimePriority() throws Exception {
+        final IOrderBook orderBook = OrderBookImpl.of();
+        orderBook.addOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(2L, 101L, 10L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(3L, 100L, 20L, Side.BID, 0L));
+        orderBook.addOrder(Order.of(4L, 102L, 10L, Side.ASK, 0L));
+        orderBook.addOrder(Order.of(5L, 103L, 10L, Side.ASK, 0L));
+        // Partially fill order 4
+        orderBook.addOrder(Order.of(6L, 102L, 4L, Side.BID, 0L));
+
+        final OrderBookSnapshot snapshot = OrderBookSnapshot.take(orderBook, 6L);
+        final IOrderBook restoredOrderBook = snapshot.restore(OrderBookConfig.defaults());
+
+        assertEquals(6L, snapshot.getSequence());
+        assertEquals(5, snapshot.getOrderCount());
+        assertIterableEquals(orderBook.getBidOrders(), restoredOrderBook.getBidOrders());
+        assertIterableEquals(orderBook.getAskOrders(), restoredOrderBook.getAskOrders());
+        assertEquals(
+                Order.of(4L, 102L, 10L, Side.ASK, 4L), restoredOrderBook.getOrder(4L));
+
+        // Restored book keeps matching in time priority
+        restoredOrderBook.addOrder(Order.of(7L, 100L, 25L, Side.ASK, 0L));
+        assertIterableEquals(
+                List.of(Order.of(3L, 100L, 20L, Side.BID, 5L)), restoredOrderBook.getBidOrders());
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        final IOrderBook orderBook = OrderBookImpl.of();
+        for (long orderId = 1; orderId <= 1_000; orderId++) {
+            final Side side = orderId % 2 == 0 ? Side.BID : Side.ASK;
+            final long price = side == Side.BID ? 100L - orderId % 50 : 101L + orderId % 50;
+            orderBook.addOrder(Order.of(orderId, price, orderId, side, 0L));
+        }
+        final Path file = directory.resolve("book.snapshot");
+        OrderBookSnapshot.take(orderBook, 1_000L).write(file);
+
+        final OrderBookSnapshot snapshot = OrderBookSnapshot.read(file);
+        // Array ladder restores the same book as the tree ladder
+        final IOrderBook restoredOrderBook =
+                snapshot.restore(
+                        OrderBookConfig.Builder.aConfig()
+                                .withPriceLadderType(PriceLadderType.ARRAY)
+                                .withPriceLadderCapacity(64)
+                                .build());
+
+        assertEquals(1_000L, snapshot.getSequence());
+        assertIterableEquals(orderBook.getBidOrders(), restoredOrderBook.getBidOrders());
+        assertIterableEquals(orderBook.getAskOrders(), restoredOrderBook.getAskOrders());
+    }
+
+    @Test
+    public void testTakeFromOffHeapBook() {
+        final IOrderBook orderBook = OffHeapOrderBook.of(OrderBookConfig.defaults());
+        orderBook.tryAddOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(2L, 100L, 20L, Side.BID, 0L));
+        orderBook.tryAddOrder(Order.of(3L, 102L, 10L, Side.ASK, 0L));
+        orderBook.tryAddOrder(Order.of(4L, 100L, 5L, Side.ASK, 0L));
+
+        final OrderBookSnapshot snapshot = OrderBookSnapshot.take(orderBook, 4L);
+        final IOrderBook restoredOrderBook = snapshot.restore(OrderBookConfig.defaults());
+
+        assertEquals(3, snapshot.getOrderCount());
+        assertIterableEquals(orderBook.getBidOrders(), restoredOrderBook.getBidOrders());
+        assertIterableEquals(orderBook.getAskOrders(), restoredOrderBook.getAskOrders());
+    }
+
+    @Test
+    public void testSizeBeyondBuffer() {
+        assertEquals(20 + 36 * 1_000_000, OrderBookSnapshot.getSize(1_000_000));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> OrderBookSnapshot.getSize(Integer.MAX_VALUE / 36));
+    }
+
+    @Test
+    public void testReadTruncatedSnapshot() throws Exception {
+        final IOrderBook orderBook = OrderBookImpl.of();
+        orderBook.addOrder(Order.of(1L, 100L, 10L, Side.BID, 0L));
+        final Path file = directory.resolve("book.snapshot");
+        OrderBookSnapshot.take(orderBook, 1L).write(file);
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IOException.class, () -> OrderBookSnapshot.read(file));
+    }
+}
@@ -0,0 +1,124 @@
+package com.horacehylee.matching_engine.orderbook.ladder;
+
+import com.horacehylee.matching_engine.domain.Side;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ArrayPriceLadderTest {
+
+    @Test
+    public void testBestOfAskLadderIsLowestPrice() {
+        final IPriceLadder<Level> ladder = ArrayPriceLadder.of(Side.ASK, 5L, 16, Level::new);
+        ladder.getOrCreate(110L);
+        ladder.getOrCreate(100L);
+        ladder.getOrCreate(120L);
+
+        assertEquals(100L, ladder.best().getPrice());
+        assertIterableEquals(List.of(100L, 110L, 120L), prices(ladder));
+    }
+
+    @Test
+    public void testBestOfBidLadderIsHighestPrice() {
+        final IPriceLadder<Level> ladder = ArrayPriceLadder.of(Side.BID, 5L, 16, Level::new);
+        ladder.getOrCreate(110L);
+        ladder.getOrCreate(100L);
+        ladder.getOrCreate(120L);
+
+        assertEquals(120L, ladder.best().getPrice());
+        assertIterableEquals(List.of(120L, 110L, 100L), prices(ladder));
+    }
+
+    @Test
+    public void testGetOrCreateReturnsSameLevel() {
+        final IPriceLadder<Level> ladder = ArrayPriceLadder.of(Side.ASK, 1L, 16, Level::new);
+        final Level level = ladder.getOrCreate(100L);
+
+        assertSame(level, ladder.getOrCreate(100L));
+        assertSame(level, ladder.get(100L));
+        assertNull(ladder.get(101L));
+        assertEquals(1, ladder.size());
+    }
+
+    @Test
+    public void testRemoveBestMovesToNextLevel() {
+        final IPriceLadder<Level> ladder = ArrayPriceLadder.of(Side.ASK, 1L, 16, Level::new);
+        final Level level = ladder.getOrCreate(100L);
+        ladder.getOrCreate(103L);
+
+        ladder.remove(level);
+
+        assertEquals(103L, ladder.best().getPrice());
+        assertNull(ladder.get(100L));
+        assertEquals(1, ladder.size());
+    }
+
+    @Test
+    public void testPricesOutsideWindowFallBack() {
+        final IPriceLadder<Level> ladder = ArrayPriceLadder.of(Side.BID, 1L, 8, Level::new);
+        ladder.getOrCreate(100L);
+        ladder.getOrCreate(1_000L);
+        ladder.getOrCreate(10L);
+        // Off the tick grid of the window is kept in fallback as well
+        final IPriceLadder<Level> offGrid = ArrayPriceLadder.of(Side.BID, 10L, 8, Level::new);
+        offGrid.getOrCreate(100L);
+        offGrid.getOrCreate(105L);
+
+        assertEquals(1_000L, ladder.best().getPrice());
+        assertIterableEquals(List.of(1_000L, 100L, 10L), prices(ladder));
+        assertIterableEquals(List.of(105L, 100L), prices(offGrid));
+    }
+
+    @Test
+    public void testRecenterPullsFallbackLevelsIntoWindow() {
+        final ArrayPriceLadder<Level> ladder = ArrayPriceLadder.of(Side.ASK, 1L, 8, Level::new);
+        final Level level = ladder.getOrCreate(100L);
+        ladder.getOrCreate(1_000L);
+        ladder.getOrCreate(1_002L);
+
+        ladder.remove(level);
+        ladder.getOrCreate(1_001L);
+
+        assertEquals(997L, ladder.getBasePrice());
+        assertIterableEquals(List.of(1_000L, 1_001L, 1_002L), prices(ladder));
+        assertEquals(3, ladder.size());
+    }
+
+    @Test
+    public void testNextFromPriceWithoutLevel() {
+        final IPriceLadder<Level> ladder = ArrayPriceLadder.of(Side.ASK, 1L, 16, Level::new);
+        ladder.getOrCreate(100L);
+        ladder.getOrCreate(105L);
+
+        assertEquals(100L, ladder.next(50L).getPrice());
+        assertEquals(105L, ladder.next(101L).getPrice());
+        assertNull(ladder.next(105L));
+    }
+
+    private static List<Long> prices(IPriceLadder<Level> ladder) {
+        final List<Long> prices = new ArrayList<>();
+        for (Level level = ladder.best(); level != null; level = ladder.next(level.getPrice())) {
+            prices.add(level.getPrice());
+        }
+        return prices;
+    }
+
+    private static class Level implements IPriceLevel {
+        private final long price;
+
+        private Level(long price) {
+            this.price = price;
+        }
+
+        @Override
+        public long getPrice() {
+            return price;
+        }
+    }
+}
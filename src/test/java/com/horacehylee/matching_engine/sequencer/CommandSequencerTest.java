@@ -0,0 +1,155 @@
+package com.horacehylee.matching_engine.sequencer;
+
+import com.horacehylee.matching_engine.domain.Order;
+import com.horacehylee.matching_engine.domain.Side;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandSequencerTest {
+
+    @Test
+    public void testCommandsAppliedInOrder() throws Exception {
+        final IOrderBook orderBook = OrderBookImpl.of();
+        final OrderBookCommandHandler handler = new OrderBookCommandHandler(orderBook);
+        final CommandSequencer sequencer =
+                CommandSequencer.of(4, new BusySpinWaitStrategy(), handler).start();
+
+        sequencer.addOrder(anOrder(1L, Side.BID, 100L, 10L));
+        sequencer.changeOrderQuantity(1L, 20L);
+        sequencer.addOrder(anOrder(2L, Side.BID, 100L, 10L));
+        sequencer.changeOrderPrice(2L, 101L);
+        sequencer.addOrder(anOrder(3L, Side.ASK, 101L, 5L));
+        final long sequence = sequencer.cancelOrder(1L);
+        sequencer.awaitProcessed(sequence);
+        sequencer.close();
+
+        assertEquals(sequence, sequencer.getProcessedSequence());
+        assertFalse(orderBook.containsOrder(1L));
+        assertEquals(
+                List.of(
+                        Order.Builder.anOrder()
+                                .withOrderId(2L)
+                                .withPrice(101L)
+                                .withQuantity(10L)
+                                .withSide(Side.BID)
+                                .withFilled(5L)
+                                .build()),
+                orderBook.getBidOrders());
+        assertEquals(0L, handler.getRejectedCommands());
+    }
+
+    @Test
+    public void testRejectedCommandsAreCounted() throws Exception {
+        final OrderBookCommandHandler handler = new OrderBookCommandHandler(OrderBookImpl.of());
+        final CommandSequencer sequencer =
+                CommandSequencer.of(4, new YieldingWaitStrategy(), handler).start();
+
+        sequencer.addOrder(anOrder(1L, Side.BID, 100L, 10L));
+        sequencer.addOrder(anOrder(1L, Side.BID, 100L, 10L));
+        sequencer.cancelOrder(2L);
+        sequencer.close();
+
+        assertEquals(2L, handler.getRejectedCommands());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testHandlerFailureSkipsCommand() throws Exception {
+        final List<Long> handled = new ArrayList<>();
+        final ICommandHandler handler =
+                (sequence, command) -> {
+                    if (sequence % 2 == 1) {
+                        throw new IllegalStateException("Failed at " + sequence);
+                    }
+                    handled.add(command.getOrderId());
+                };
+        final CommandSequencer sequencer =
+                CommandSequencer.of(4, new YieldingWaitStrategy(), handler).start();
+
+        // More commands than the ring holds, which producers only claim if failures are skipped
+        long sequence = -1L;
+        for (long orderId = 0; orderId < 20; orderId++) {
+            sequence = sequencer.cancelOrder(orderId);
+        }
+        sequencer.awaitProcessed(sequence);
+        sequencer.close();
+
+        assertEquals(10L, sequencer.getFailedCommands());
+        assertEquals("Failed at " + sequence, sequencer.getLastFailure().getMessage());
+        assertEquals(List.of(0L, 2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L), handled);
+    }
+
+    @Test
+    public void testMultipleProducersWithBusySpin() throws Exception {
+        assertMultipleProducers(new BusySpinWaitStrategy());
+    }
+
+    @Test
+    public void testMultipleProducersWithYielding() throws Exception {
+        assertMultipleProducers(new YieldingWaitStrategy());
+    }
+
+    @Test
+    public void testMultipleProducersWithParking() throws Exception {
+        assertMultipleProducers(new ParkingWaitStrategy(100_000L));
+    }
+
+    /** Each producer adds then cancels its own orders, which is only valid in producer order */
+    private static void assertMultipleProducers(IWaitStrategy waitStrategy) throws Exception {
+        final int producers = 4;
+        final int ordersPerProducer = 10_000;
+        final IOrderBook orderBook = OrderBookImpl.of();
+        final OrderBookCommandHandler handler = new OrderBookCommandHandler(orderBook);
+        final CommandSequencer sequencer =
+                CommandSequencer.of(1 << 10, waitStrategy, handler).start();
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final long firstOrderId = (long) p * ordersPerProducer;
+            final Side side = p % 2 == 0 ? Side.BID : Side.ASK;
+            final long price = side == Side.BID ? 100L : 200L;
+            final Thread thread =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < ordersPerProducer; i++) {
+                                    final long orderId = firstOrderId + i;
+                                    sequencer.addOrder(anOrder(orderId, side, price, 1L));
+                                    if (i % 2 == 0) {
+                                        sequencer.cancelOrder(orderId);
+                                    }
+                                }
+                            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sequencer.close();
+
+        assertEquals(0L, handler.getRejectedCommands());
+        final int restingOrders =
+                orderBook.getBidOrders().size() + orderBook.getAskOrders().size();
+        assertEquals(producers * ordersPerProducer / 2, restingOrders);
+        assertTrue(orderBook.containsOrder(1L));
+        assertFalse(orderBook.containsOrder(0L));
+    }
+
+    private static Order anOrder(long orderId, Side side, long price, long quantity) {
+        return Order.Builder.anOrder()
+                .withOrderId(orderId)
+                .withPrice(price)
+                .withQuantity(quantity)
+                .withSide(side)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.horacehylee.matching_engine.workload;
+
+import com.horacehylee.matching_engine.journal.JournalReplayer;
+import com.horacehylee.matching_engine.orderbook.IOrderBook;
+import com.horacehylee.matching_engine.orderbook.OrderBookConfig;
+import com.horacehylee.matching_engine.orderbook.OrderBookImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderFlowGeneratorTest {
+
+    @TempDir Path directory;
+
+    private final OrderFlowConfig config =
+            OrderFlowConfig.Builder.aConfig().withCommandCount(50_000).withSeed(9L).build();
+
+    @Test
+    public void testSameSeedGeneratesSameCommands() throws Exception {
+        assertEquals(50_000L, OrderFlowGenerator.generate(config, directory.resolve("a")));
+        OrderFlowGenerator.generate(config, directory.resolve("b"));
+
+        assertArrayEquals(
+                readSegments(directory.resolve("a")), readSegments(directory.resolve("b")));
+    }
+
+    @Test
+    public void testGenerateIntoNonEmptyDirectory() throws Exception {
+        OrderFlowGenerator.generate(config, directory);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> OrderFlowGenerator.generate(config, directory));
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        OrderFlowGenerator.generate(config, directory);
+
+        final ReplayResult result = ReplayRunner.run(directory, OrderBookConfig.defaults(), 1);
+
+        assertEquals(50_000L, result.getCommands());
+        assertEquals(50_000L, result.getLatency().getCount());
+        assertTrue(result.getOrders() > 0);
+        assertTrue(result.getTrades() > 0);
+        // Cancels of orders traded away are rejected
+        assertTrue(result.getRejectedCommands() > 0);
+        assertTrue(result.getOrdersPerSecond() > 0);
+
+        // Replay is deterministic
+        final IOrderBook orderBook = OrderBookImpl.of();
+        final IOrderBook otherOrderBook = OrderBookImpl.of();
+        JournalReplayer.replay(directory, orderBook);
+        JournalReplayer.replay(directory, otherOrderBook);
+        assertFalse(orderBook.getBidOrders().isEmpty());
+        assertIterableEquals(orderBook.getBidOrders(), otherOrderBook.getBidOrders());
+        assertIterableEquals(orderBook.getAskOrders(), otherOrderBook.getAskOrders());
+    }
+
+    private static byte[] readSegments(Path directory) throws Exception {
+        try (var paths = Files.list(directory)) {
+            final Path[] segments = paths.sorted().toArray(Path[]::new);
+            assertEquals(1, segments.length);
+            return Files.readAllBytes(segments[0]);
+        }
+    }
+}